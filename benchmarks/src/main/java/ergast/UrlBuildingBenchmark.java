@@ -0,0 +1,34 @@
+package ergast;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures building a query and its URL, which happens once per page requested.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class UrlBuildingBenchmark {
+
+    private static final String BASE_URL = "http://ergast.com/api/f1";
+
+    @Benchmark
+    public String seasonAndRound() {
+        return Query.results().season(2016).round(21).toUrl(BASE_URL);
+    }
+
+    @Benchmark
+    public String currentSeason() {
+        return Query.drivers().currentSeason().limit(1000).offset(2000).toUrl(BASE_URL);
+    }
+
+    @Benchmark
+    public String filtered() {
+        return Query.results().season(2016).driver("hamilton").position(1).limit(100).toUrl(BASE_URL);
+    }
+}
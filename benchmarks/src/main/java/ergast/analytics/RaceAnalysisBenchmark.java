@@ -0,0 +1,63 @@
+package ergast.analytics;
+
+import ergast.objects.*;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures analysing a season of 22 synthetic races with 20 drivers over 60 laps, each driver stopping twice,
+ * from the parsed objects to a {@link RaceAnalysis} per round.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RaceAnalysisBenchmark {
+
+    private static final int ROUNDS = 22;
+    private static final int DRIVERS = 20;
+    private static final int LAPS = 60;
+
+    private final Map<Integer, List<LapTimes>> lapTimes = new HashMap<>();
+    private final Map<Integer, List<RacePitStops>> pitStops = new HashMap<>();
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        for (int round = 1; round <= ROUNDS; round++) {
+            List<Lap> laps = new ArrayList<>(LAPS);
+            List<PitStop> stops = new ArrayList<>();
+            for (int d = 0; d < DRIVERS; d++) {
+                stops.add(new PitStop("driver" + d, 1, 15 + random.nextInt(10), "14:00:00", "22.500"));
+                stops.add(new PitStop("driver" + d, 2, 35 + random.nextInt(10), "14:40:00", "22.500"));
+            }
+            for (int lap = 1; lap <= LAPS; lap++) {
+                List<Timing> timings = new ArrayList<>(DRIVERS);
+                for (int d = 0; d < DRIVERS; d++) {
+                    int millis = 90_000 + random.nextInt(2_000);
+                    timings.add(new Timing("driver" + d, (d + lap / 10) % DRIVERS + 1,
+                            "1:" + (millis / 1000 - 60) + "." + String.format("%03d", millis % 1000)));
+                }
+                laps.add(new Lap(lap, timings));
+            }
+            lapTimes.put(round, Collections.singletonList(
+                    new LapTimes(2021, round, null, null, null, null, null, laps)));
+            pitStops.put(round, Collections.singletonList(
+                    new RacePitStops(2021, round, null, null, null, null, null, stops)));
+        }
+    }
+
+    @Benchmark
+    public SortedMap<Integer, RaceAnalysis> season() {
+        return RaceAnalysis.ofRounds(lapTimes, pitStops);
+    }
+
+    @Benchmark
+    public RaceAnalysis race() {
+        return RaceAnalysis.of(lapTimes.get(1), pitStops.get(1));
+    }
+}
@@ -0,0 +1,73 @@
+package ergast.index;
+
+import ergast.HistoricalRow;
+import ergast.objects.Circuit;
+import ergast.objects.Constructor;
+import ergast.objects.Driver;
+import ergast.objects.RaceResult;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares a compound query on a {@link ResultIndex} with a scan of the same rows, over a synthetic history
+ * of 74 seasons with 20 races of 20 drivers each (29,600 results).
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ResultIndexBenchmark {
+
+    private static final int DRIVERS = 20;
+    private static final int CIRCUITS = 20;
+
+    private final List<HistoricalRow<RaceResult>> rows = new ArrayList<>();
+    private final ResultIndex index = new ResultIndex();
+
+    @Setup
+    public void setUp() {
+        for (int season = 1950; season < 2024; season++) {
+            for (int round = 1; round <= CIRCUITS; round++) {
+                Circuit circuit = new Circuit("circuit" + round, null, null, null);
+                for (int i = 0; i < DRIVERS; i++) {
+                    int position = (i * 7 + season + round) % DRIVERS + 1;
+                    RaceResult result = new RaceResult(i, position, Integer.toString(position), 0,
+                            Driver.builder().driverId("driver" + (i + season / 10)).build(),
+                            new Constructor("team" + i / 2, null, null, null), (i + round) % DRIVERS + 1, 60,
+                            position <= 15 ? "Finished" : "Engine", null, null);
+                    rows.add(new HistoricalRow<>(season, round, null, circuit, result));
+                }
+            }
+        }
+        index.addAll(rows);
+    }
+
+    @Benchmark
+    public int podiumsIndexed() {
+        return index.results().driver("driver200").circuit("circuit7").positionBetween(1, 3).count();
+    }
+
+    @Benchmark
+    public int podiumsScanned() {
+        int count = 0;
+        for (HistoricalRow<RaceResult> row : rows) {
+            RaceResult result = row.getValue();
+            if (result.getDriver().getDriverId().equals("driver200") && row.getCircuitId().equals("circuit7")
+                    && result.getPosition() >= 1 && result.getPosition() <= 3) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @Benchmark
+    public Map<String, Integer> statusesOfADecade() {
+        return index.results().seasons(1990, 1999).countByStatus();
+    }
+}
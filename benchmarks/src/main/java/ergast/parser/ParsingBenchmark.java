@@ -0,0 +1,138 @@
+package ergast.parser;
+
+import com.google.gson.*;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import ergast.Endpoint;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the parsing pipeline per endpoint on recorded responses from {@code src/test/resources/fixtures}.
+ * The array holding the rows of a fixture is repeated until it has {@code rows} elements, so each
+ * endpoint is measured at several payload sizes. Three stages are compared:
+ * <ul>
+ *     <li>{@code scan} only tokenizes the response,</li>
+ *     <li>{@code tree} runs the {@link Parser} but maps rows to {@link JsonObject}s,</li>
+ *     <li>{@code objects} runs the {@link Parser} with the endpoint's classes from {@code ergast.objects}.</li>
+ * </ul>
+ * The difference between {@code tree} and {@code objects} is the cost of object mapping. Run with
+ * {@code -prof gc} for allocation rates; the SampleTime mode reports latency percentiles.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ParsingBenchmark {
+
+    @Param({"drivers", "results", "qualifying", "driverStandings", "constructorStandings", "laps", "pitstops"})
+    public String endpoint;
+
+    @Param({"10", "100", "1000"})
+    public int rows;
+
+    private String json;
+    private Endpoint<?> target;
+    private String[] path;
+
+    @Setup
+    public void setUp() {
+        Fixture fixture = Fixture.valueOf(endpoint.toUpperCase());
+        target = fixture.endpoint;
+        path = target.getJsonPath();
+        JsonObject response = JsonParser.parseString(read(fixture.file)).getAsJsonObject();
+        grow(response.getAsJsonObject("MRData"), fixture.rowsPath, rows);
+        json = response.toString();
+    }
+
+    @Benchmark
+    public int scan() throws IOException {
+        int tokens = 0;
+        try (JsonReader reader = new JsonReader(new StringReader(json))) {
+            while (reader.peek() != JsonToken.END_DOCUMENT) {
+                switch (reader.peek()) {
+                    case BEGIN_OBJECT: reader.beginObject(); break;
+                    case END_OBJECT: reader.endObject(); break;
+                    case BEGIN_ARRAY: reader.beginArray(); break;
+                    case END_ARRAY: reader.endArray(); break;
+                    case NAME: reader.nextName(); break;
+                    default: reader.skipValue(); break;
+                }
+                tokens++;
+            }
+        }
+        return tokens;
+    }
+
+    @Benchmark
+    public List<JsonObject> tree() {
+        return new Parser<>(json, path, JsonObject.class).parse();
+    }
+
+    @Benchmark
+    public List<?> objects() {
+        return new Parser<>(json, path, target.getType()).parse();
+    }
+
+    // Repeats the elements of the array at the path below MRData until it holds the given number of rows.
+    private static void grow(JsonObject root, String[] rowsPath, int rows) {
+        JsonElement current = root;
+        for (int i = 0; i < rowsPath.length - 1; i++) {
+            current = current.isJsonArray()
+                    ? current.getAsJsonArray().get(Integer.parseInt(rowsPath[i]))
+                    : current.getAsJsonObject().get(rowsPath[i]);
+        }
+        JsonArray recorded = current.getAsJsonObject().getAsJsonArray(rowsPath[rowsPath.length - 1]);
+        JsonArray grown = new JsonArray(rows);
+        for (int i = 0; i < rows; i++) {
+            grown.add(recorded.get(i % recorded.size()).deepCopy());
+        }
+        current.getAsJsonObject().add(rowsPath[rowsPath.length - 1], grown);
+    }
+
+    private static String read(String file) {
+        try (InputStream in = ParsingBenchmark.class.getResourceAsStream("/fixtures/" + file)) {
+            if (in == null) {
+                throw new IllegalStateException("Missing fixture " + file);
+            }
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * The recorded response of each endpoint and the path to the array that is repeated to grow it.
+     * Lap times and pit stops return a single race, so their inner arrays are grown instead.
+     */
+    private enum Fixture {
+        DRIVERS(Endpoint.DRIVERS, "drivers_2016.json", "DriverTable", "Drivers"),
+        RESULTS(Endpoint.RESULTS, "results_2016_21.json", "RaceTable", "Races", "0", "Results"),
+        QUALIFYING(Endpoint.QUALIFYING, "qualifying_2016_21.json", "RaceTable", "Races", "0", "QualifyingResults"),
+        DRIVERSTANDINGS(Endpoint.DRIVER_STANDINGS, "driverStandings_2016_21.json",
+                "StandingsTable", "StandingsLists", "0", "DriverStandings"),
+        CONSTRUCTORSTANDINGS(Endpoint.CONSTRUCTOR_STANDINGS, "constructorStandings_2016_21.json",
+                "StandingsTable", "StandingsLists", "0", "ConstructorStandings"),
+        LAPS(Endpoint.LAP_TIMES, "laps_2016_21.json", "RaceTable", "Races", "0", "Laps"),
+        PITSTOPS(Endpoint.PIT_STOPS, "pitstops_2016_21.json", "RaceTable", "Races", "0", "PitStops");
+
+        private final Endpoint<?> endpoint;
+        private final String file;
+        private final String[] rowsPath;
+
+        Fixture(Endpoint<?> endpoint, String file, String... rowsPath) {
+            this.endpoint = endpoint;
+            this.file = file;
+            this.rowsPath = rowsPath;
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package ergast.parser;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Compares {@link TimeParser} with the parsing consumers used to write by hand. Run with {@code -prof gc}
+ * to see the allocation rate of each approach.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TimeParserBenchmark {
+
+    private static final Pattern LAP_TIME = Pattern.compile("[+-]?(?:(\\d+):)?(?:(\\d+):)?(\\d+)\\.(\\d+)");
+
+    // Lap times, a race time, a gap and a pit stop duration, as they appear in responses.
+    private final String[] values = {"1:32.456", "1:44.127", "1:38:04.013", "+12.345", "22.123", "1:51.214"};
+
+    @Benchmark
+    public void timeParser(Blackhole blackhole) {
+        for (String value : values) {
+            blackhole.consume(TimeParser.parseMillis(value));
+        }
+    }
+
+    @Benchmark
+    public void splitAndParseDouble(Blackhole blackhole) {
+        for (String value : values) {
+            String[] fields = value.replace("+", "").split(":");
+            double seconds = 0;
+            for (String field : fields) {
+                seconds = seconds * 60 + Double.parseDouble(field);
+            }
+            blackhole.consume(Math.round(seconds * 1000));
+        }
+    }
+
+    @Benchmark
+    public void regex(Blackhole blackhole) {
+        for (String value : values) {
+            Matcher matcher = LAP_TIME.matcher(value);
+            if (matcher.matches()) {
+                long seconds = 0;
+                for (int group = 1; group <= 3; group++) {
+                    if (matcher.group(group) != null) {
+                        seconds = seconds * 60 + Long.parseLong(matcher.group(group));
+                    }
+                }
+                blackhole.consume(seconds * 1000 + Long.parseLong(matcher.group(4)));
+            }
+        }
+    }
+
+    @Benchmark
+    public void durationParse(Blackhole blackhole) {
+        for (String value : values) {
+            String[] fields = value.replace("+", "").split(":");
+            StringBuilder iso = new StringBuilder("PT");
+            if (fields.length == 3) {
+                iso.append(fields[0]).append('H');
+            }
+            if (fields.length >= 2) {
+                iso.append(fields[fields.length - 2]).append('M');
+            }
+            iso.append(fields[fields.length - 1]).append('S');
+            blackhole.consume(Duration.parse(iso).toMillis());
+        }
+    }
+}
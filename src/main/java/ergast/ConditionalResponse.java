@@ -0,0 +1,41 @@
+package ergast;
+
+import java.net.http.HttpResponse;
+
+/**
+ * Outcome of a conditional GET: either a new body with the validators to send next time, or
+ * "not modified" when the server answered 304.
+ */
+final class ConditionalResponse {
+    private final String body; // Null when not modified.
+    private final String etag;
+    private final String lastModified;
+
+    private ConditionalResponse(String body, String etag, String lastModified) {
+        this.body = body;
+        this.etag = etag;
+        this.lastModified = lastModified;
+    }
+
+    static ConditionalResponse of(HttpResponse<String> response) {
+        String etag = response.headers().firstValue("ETag").orElse(null);
+        String lastModified = response.headers().firstValue("Last-Modified").orElse(null);
+        return new ConditionalResponse(response.statusCode() == 304 ? null : response.body(), etag, lastModified);
+    }
+
+    boolean isModified() {
+        return body != null;
+    }
+
+    String getBody() {
+        return body;
+    }
+
+    String getEtag() {
+        return etag;
+    }
+
+    String getLastModified() {
+        return lastModified;
+    }
+}
@@ -0,0 +1,93 @@
+package ergast;
+
+import ergast.objects.*;
+
+import java.util.Objects;
+
+/**
+ * Describes one Ergast API endpoint: the request segment of the URL, the JSON path to the array
+ * holding the rows, the class the rows are mapped to and which of season and round the request needs.
+ * The constants cover every endpoint exposed by {@link Ergast}.
+ */
+public final class Endpoint<T> {
+
+    /**
+     * Which of season and round an endpoint requires.
+     */
+    public enum Scope {
+        ANY, // Neither season nor round is required.
+        SEASON_IF_ROUND, // A round may only be given together with a season.
+        SEASON, // A season is required, the round is optional.
+        SEASON_AND_ROUND // Both season and round are required.
+    }
+
+    public static final Endpoint<Driver> DRIVERS =
+            new Endpoint<>("drivers", Driver.class, Scope.ANY, "DriverTable", "Drivers");
+    public static final Endpoint<Schedule> SCHEDULE =
+            new Endpoint<>("races", Schedule.class, Scope.ANY, "RaceTable", "Races");
+    public static final Endpoint<Circuit> CIRCUITS =
+            new Endpoint<>("circuits", Circuit.class, Scope.ANY, "CircuitTable", "Circuits");
+    public static final Endpoint<Season> SEASONS =
+            new Endpoint<>("seasons", Season.class, Scope.ANY, "SeasonTable", "Seasons");
+    public static final Endpoint<Constructor> CONSTRUCTORS =
+            new Endpoint<>("constructors", Constructor.class, Scope.ANY, "ConstructorTable", "Constructors");
+    public static final Endpoint<RaceResult> RESULTS =
+            new Endpoint<>("results", RaceResult.class, Scope.SEASON, "RaceTable", "Races", "Results");
+    public static final Endpoint<Qualification> QUALIFYING =
+            new Endpoint<>("qualifying", Qualification.class, Scope.SEASON, "RaceTable", "Races", "QualifyingResults");
+    public static final Endpoint<DriverStandings> DRIVER_STANDINGS =
+            new Endpoint<>("driverStandings", DriverStandings.class, Scope.SEASON, "StandingsTable", "StandingsLists", "DriverStandings");
+    public static final Endpoint<ConstructorStandings> CONSTRUCTOR_STANDINGS =
+            new Endpoint<>("constructorStandings", ConstructorStandings.class, Scope.SEASON, "StandingsTable", "StandingsLists", "ConstructorStandings");
+    public static final Endpoint<FinishingStatus> FINISHING_STATUS =
+            new Endpoint<>("status", FinishingStatus.class, Scope.SEASON_IF_ROUND, "StatusTable", "Status");
+    public static final Endpoint<LapTimes> LAP_TIMES =
+            new Endpoint<>("laps", LapTimes.class, Scope.SEASON_AND_ROUND, "RaceTable", "Races");
+    public static final Endpoint<RacePitStops> PIT_STOPS =
+            new Endpoint<>("pitstops", RacePitStops.class, Scope.SEASON_AND_ROUND, "RaceTable", "Races");
+
+    private final String request; // The request segment of the URL, e.g. "results".
+    private final Class<T> type; // The class rows are mapped to.
+    private final Scope scope; // Which of season and round must be specified.
+    private final String[] jsonPath; // Path below MRData to the array holding the rows.
+
+    private Endpoint(String request, Class<T> type, Scope scope, String... jsonPath) {
+        this.request = request;
+        this.type = type;
+        this.scope = scope;
+        this.jsonPath = jsonPath;
+    }
+
+    /**
+     * Returns the same endpoint with its rows mapped to another class.
+     */
+    public <R> Endpoint<R> as(Class<R> type) {
+        return new Endpoint<>(request, Objects.requireNonNull(type, "type"), scope, jsonPath);
+    }
+
+    public String getRequest() {
+        return request;
+    }
+
+    public Class<T> getType() {
+        return type;
+    }
+
+    public Scope getScope() {
+        return scope;
+    }
+
+    public String[] getJsonPath() {
+        return jsonPath.clone();
+    }
+
+    // Shared array for the parser, which never modifies it.
+    String[] jsonPath() {
+        return jsonPath;
+    }
+
+    @Override
+    public String toString() {
+        return request + "(" + type.getSimpleName() + ")";
+    }
+}
@@ -3,56 +3,46 @@ package ergast;
 import ergast.exceptions.QueryLimitException;
 import ergast.exceptions.QueryOffsetException;
 import ergast.exceptions.SeasonException;
+import ergast.metrics.ErgastMetrics;
+import ergast.metrics.Phase;
 import ergast.objects.*;
 import ergast.parser.Parser;
 
-import java.io.BufferedReader;
 import java.io.IOException;
-import java.io.InputStreamReader;
-import java.net.HttpURLConnection;
-import java.net.URI;
-import java.net.URL;
-import java.net.http.HttpClient;
-import java.net.http.HttpRequest;
-import java.net.http.HttpResponse;
+import java.io.InterruptedIOException;
+import java.io.Reader;
 import java.util.List;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Flow;
+import java.util.function.Consumer;
 import java.util.logging.Logger;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * Ergast API Wrapper Class.
  * This class provides methods to access and parse data from the Ergast API for different categories
  * like drivers, circuits, and race results.
+ *
+ * <p>The getters return rows of their own unless the client was built with {@code internEntities(true)}; the
+ * drivers, constructors and circuits in them are then shared JVM-wide and must not be modified. Rows of
+ * concurrent identical requests are shared when the client is built with {@code coalesceRequests(true)}.</p>
  */
 
-public class Ergast {
+public class Ergast implements ErgastSource {
 
     // Logger to log information, warnings, or errors.
     private static final Logger LOG = Logger.getLogger(Ergast.class.getName());
 
-    // User-Agent header value to be used in HTTP requests to simulate a web browser request.
-    private static final String USER_AGENT = "Mozilla/5.0";
-
-    // Template for the base URL used to construct Ergast API endpoint URLs.
-    private static final String BASE_URL_TEMPLATE = "http://ergast.com/api/f1/{SEASON}/{ROUND}/{REQUEST}.json?limit={LIMIT}&offset={OFFSET}";
-
-    // Constant strings representing different parts of the API endpoints.
-    private static final String DRIVERS = "drivers";
-    private static final String CIRCUITS = "circuits";
-    private static final String CONSTRUCTORS = "constructors";
-    private static final String SEASONS = "seasons";
-    private static final String RESULTS = "results";
-    private static final String QUALIFYING = "qualifying";
-    private static final String DRIVER_STANDINGS = "driverStandings";
-    private static final String CONSTRUCTOR_STANDINGS = "constructorStandings";
-    private static final String FINISHING_STATUS = "status";
-    private static final String LAP_TIMES = "laps";
-    private static final String PIT_STOPS = "pitstops";
-
-
     // Parameters for the API request.
     private final int season; // The season year to query data for.
     private int limit; // The limit on the number of records to fetch.
     private int offset; // The offset for pagination of the results.
+    private final ErgastClient client; // Shared HTTP transport used for every request.
 
 
     // Constants for default or undefined values.
@@ -60,13 +50,20 @@ public class Ergast {
     public static final int DEFAULT_LIMIT = 30; // Default limit for API responses.
     public static final int DEFAULT_OFFSET = 0; // Default offset for API responses.
     public static final int NO_ROUND = -1; // Sentinel value for no specific round.
+    public static final int DEFAULT_PAGE_PARALLELISM = 4; // Pages kept in flight by fetchAll.
 
 
     // Constructors to initialize the Ergast API wrapper instance.
-    public Ergast(int season, int limit, int offset) {
+    public Ergast(int season, int limit, int offset, ErgastClient client) {
         setLimit(limit); // Validate and set the limit.
         setOffset(offset); // Validate and set the offset.
         this.season = season; // Set the season for the instance.
+        this.client = Objects.requireNonNull(client, "client");
+    }
+
+    // Constructor using the JVM-wide shared client.
+    public Ergast(int season, int limit, int offset) {
+        this(season, limit, offset, ErgastClient.getDefault());
     }
 
     // Default constructor with default values.
@@ -76,110 +73,377 @@ public class Ergast {
 
     // Methods to retrieve data from the API, parsing JSON responses into lists of objects.
     public List<Driver> getDrivers() throws IOException {
-        return parseResponse(DRIVERS, NO_ROUND, Driver.class, new String[]{"DriverTable", "Drivers"});
+        return get(Endpoint.DRIVERS, NO_ROUND);
+    }
+
+    public List<Schedule> getSchedule() throws IOException {
+        return get(Endpoint.SCHEDULE, NO_ROUND);
     }
 
     public List<Circuit> getCircuits() throws IOException {
-        return parseResponse(CIRCUITS, NO_ROUND, Circuit.class, new String[]{"CircuitTable", "Circuits"});
+        return get(Endpoint.CIRCUITS, NO_ROUND);
     }
 
     public List<Season> getSeasons() throws IOException {
-        return parseResponse(SEASONS, NO_ROUND, Season.class, new String[]{"SeasonTable", "Seasons"});
+        return get(Endpoint.SEASONS, NO_ROUND);
     }
 
     public List<Constructor> getConstructors() throws IOException {
-        return parseResponse(CONSTRUCTORS, NO_ROUND, Constructor.class, new String[]{"ConstructorTable", "constructors"});
+        return get(Endpoint.CONSTRUCTORS, NO_ROUND);
     }
 
     public List<RaceResult> getRaceResults(int round) throws IOException {
-        requireSeason();
-        return parseResponse(RESULTS, round, RaceResult.class, new String[]{"RaceTable", "Races", "Results"});
+        return get(Endpoint.RESULTS, round);
     }
 
     public List<Qualification> getQualificationResults(int round) throws IOException {
-        requireSeason();
-        return parseResponse(QUALIFYING, round, Qualification.class, new String[]{"RaceTable", "Races", "QualifyingResults"});
+        return get(Endpoint.QUALIFYING, round);
     }
 
     public List<DriverStandings> getDriverStandings(int round) throws IOException {
-        requireSeason();
-        return parseResponse(DRIVER_STANDINGS, round, DriverStandings.class, new String[]{"StandingsTable", "StandingsLists", "DriverStandings"});
+        return get(Endpoint.DRIVER_STANDINGS, round);
     }
 
     public List<ConstructorStandings> getConstructorStandings(int round) throws IOException {
-        requireSeason();
-        return parseResponse(CONSTRUCTOR_STANDINGS, round, ConstructorStandings.class, new String[]{"StandingsTable", "StandingsLists", "ConstructorStandings"});
+        return get(Endpoint.CONSTRUCTOR_STANDINGS, round);
     }
 
     public List<FinishingStatus> getFinishingstatuses(int round) throws IOException {
-        if (season == NO_SEASON && round != NO_ROUND) {
-            throw new SeasonException("Season must be specified if round is specified.");
-        }
-        return parseResponse(FINISHING_STATUS, round, FinishingStatus.class, new String[]{"StatusTable", "Status"});
+        return get(Endpoint.FINISHING_STATUS, round);
     }
 
     public List<LapTimes> getLapTimes(int round) throws IOException {
-        requireSeasonAndRound(round);
-        return parseResponse(LAP_TIMES, round, LapTimes.class, new String[]{"RaceTable", "Races"});
+        return get(Endpoint.LAP_TIMES, round);
     }
 
     public List<RacePitStops> getRacePitStops(int round) throws IOException {
-        requireSeasonAndRound(round);
-        return parseResponse(PIT_STOPS, round, RacePitStops.class, new String[]{"RaceTable", "Races"});
+        return get(Endpoint.PIT_STOPS, round);
     }
 
-    // Helper method to construct the API URL.
-    private String buildUrl(String request, int round) {
-        String seasonStr = season == NO_SEASON ? "current" : Integer.toString(season);
-        String roundStr = round == NO_ROUND ? "" : Integer.toString(round);
-        return BASE_URL_TEMPLATE
-                .replace("{SEASON}", seasonStr)
-                .replace("{ROUND}", roundStr)
-                .replace("{REQUEST}", request)
-                .replace("{LIMIT}", Integer.toString(limit))
-                .replace("{OFFSET}", Integer.toString(offset));
+    // Non-blocking variants of the methods above. Parsing runs on the client's parse executor and
+    // cancelling a returned future aborts the HTTP exchange behind it.
+    public CompletableFuture<List<Driver>> getDriversAsync() {
+        return getAsync(Endpoint.DRIVERS, NO_ROUND);
+    }
+
+    public CompletableFuture<List<Schedule>> getScheduleAsync() {
+        return getAsync(Endpoint.SCHEDULE, NO_ROUND);
+    }
+
+    public CompletableFuture<List<Circuit>> getCircuitsAsync() {
+        return getAsync(Endpoint.CIRCUITS, NO_ROUND);
+    }
+
+    public CompletableFuture<List<Season>> getSeasonsAsync() {
+        return getAsync(Endpoint.SEASONS, NO_ROUND);
+    }
+
+    public CompletableFuture<List<Constructor>> getConstructorsAsync() {
+        return getAsync(Endpoint.CONSTRUCTORS, NO_ROUND);
+    }
+
+    public CompletableFuture<List<RaceResult>> getRaceResultsAsync(int round) {
+        return getAsync(Endpoint.RESULTS, round);
+    }
+
+    public CompletableFuture<List<Qualification>> getQualificationResultsAsync(int round) {
+        return getAsync(Endpoint.QUALIFYING, round);
+    }
+
+    public CompletableFuture<List<DriverStandings>> getDriverStandingsAsync(int round) {
+        return getAsync(Endpoint.DRIVER_STANDINGS, round);
+    }
+
+    public CompletableFuture<List<ConstructorStandings>> getConstructorStandingsAsync(int round) {
+        return getAsync(Endpoint.CONSTRUCTOR_STANDINGS, round);
+    }
+
+    public CompletableFuture<List<FinishingStatus>> getFinishingstatusesAsync(int round) {
+        return getAsync(Endpoint.FINISHING_STATUS, round);
+    }
+
+    public CompletableFuture<List<LapTimes>> getLapTimesAsync(int round) {
+        return getAsync(Endpoint.LAP_TIMES, round);
+    }
+
+    public CompletableFuture<List<RacePitStops>> getRacePitStopsAsync(int round) {
+        return getAsync(Endpoint.PIT_STOPS, round);
+    }
+
+    // Publishers of every row, page after page from this instance's offset, decoded while the responses
+    // arrive; see publish(Query).
+    public Flow.Publisher<Driver> getDriversPublisher() {
+        return publish(Endpoint.DRIVERS, NO_ROUND);
+    }
+
+    public Flow.Publisher<Schedule> getSchedulePublisher() {
+        return publish(Endpoint.SCHEDULE, NO_ROUND);
+    }
+
+    public Flow.Publisher<Circuit> getCircuitsPublisher() {
+        return publish(Endpoint.CIRCUITS, NO_ROUND);
+    }
+
+    public Flow.Publisher<Season> getSeasonsPublisher() {
+        return publish(Endpoint.SEASONS, NO_ROUND);
+    }
+
+    public Flow.Publisher<Constructor> getConstructorsPublisher() {
+        return publish(Endpoint.CONSTRUCTORS, NO_ROUND);
+    }
+
+    public Flow.Publisher<RaceResult> getRaceResultsPublisher(int round) {
+        return publish(Endpoint.RESULTS, round);
+    }
+
+    public Flow.Publisher<Qualification> getQualificationResultsPublisher(int round) {
+        return publish(Endpoint.QUALIFYING, round);
+    }
+
+    public Flow.Publisher<DriverStandings> getDriverStandingsPublisher(int round) {
+        return publish(Endpoint.DRIVER_STANDINGS, round);
+    }
+
+    public Flow.Publisher<ConstructorStandings> getConstructorStandingsPublisher(int round) {
+        return publish(Endpoint.CONSTRUCTOR_STANDINGS, round);
+    }
+
+    public Flow.Publisher<FinishingStatus> getFinishingstatusesPublisher(int round) {
+        return publish(Endpoint.FINISHING_STATUS, round);
+    }
+
+    public Flow.Publisher<LapTimes> getLapTimesPublisher(int round) {
+        return publish(Endpoint.LAP_TIMES, round);
+    }
+
+    public Flow.Publisher<RacePitStops> getRacePitStopsPublisher(int round) {
+        return publish(Endpoint.PIT_STOPS, round);
+    }
+
+    /**
+     * Fetches one page (this instance's limit and offset) of any endpoint.
+     *
+     * @param endpoint The endpoint to query.
+     * @param round    The round number within the season, or {@link #NO_ROUND}.
+     * @return A list of parsed objects of the endpoint's type.
+     * @throws IOException If an I/O exception occurs.
+     */
+    public <T> List<T> get(Endpoint<T> endpoint, int round) throws IOException {
+        return get(query(endpoint, round));
+    }
+
+    // Non-blocking variant of get(Endpoint, int).
+    public <T> CompletableFuture<List<T>> getAsync(Endpoint<T> endpoint, int round) {
+        return getAsync(query(endpoint, round));
+    }
+
+    /**
+     * Fetches the page at this instance's limit and offset together with the total reported by the server,
+     * so that callers can schedule the remaining pages themselves.
+     */
+    public <T> CompletableFuture<Page<T>> getPageAsync(Endpoint<T> endpoint, int round) {
+        return getPageAsync(query(endpoint, round));
+    }
+
+    /**
+     * Fetches every row of a query, starting at this instance's offset and requesting pages of this
+     * instance's limit. The first page's {@code MRData.total} determines how many pages follow; up to
+     * {@link #DEFAULT_PAGE_PARALLELISM} of them are fetched concurrently while earlier rows are consumed.
+     *
+     * @see #fetchAll(Endpoint, int, int)
+     */
+    public <T> Stream<T> fetchAll(Endpoint<T> endpoint, int round) {
+        return fetchAll(endpoint, round, DEFAULT_PAGE_PARALLELISM);
+    }
+
+    /**
+     * Fetches every row of a query as a lazily consumed stream. Requests start when the stream is first
+     * consumed, rows arrive in server order, and closing the stream cancels the pages still in flight.
+     * I/O failures are rethrown as {@link java.io.UncheckedIOException}.
+     *
+     * <p>Note that lap-time totals count individual timings, so a lap-times query yields one
+     * {@link LapTimes} per page, each holding the laps of that page.</p>
+     *
+     * @param endpoint    The endpoint to query.
+     * @param round       The round number within the season, or {@link #NO_ROUND}.
+     * @param parallelism The maximum number of pages requested at the same time.
+     * @return A stream over all rows of the query.
+     */
+    public <T> Stream<T> fetchAll(Endpoint<T> endpoint, int round, int parallelism) {
+        return fetchAll(query(endpoint, round), parallelism);
+    }
+
+    /**
+     * Fetches one page of a query. The query carries its own season, filters, limit and offset; only the
+     * client of this instance is used.
+     *
+     * @param query The query to run.
+     * @return A list of parsed objects of the query's type.
+     * @throws IOException If an I/O exception occurs.
+     */
+    public <T> List<T> get(Query<T> query) throws IOException {
+        query.checkScope();
+        return parseResponse(query);
+    }
+
+    // Non-blocking variant of get(Query).
+    public <T> CompletableFuture<List<T>> getAsync(Query<T> query) {
+        query.checkScope();
+        CompletableFuture<Page<T>> page = parseResponseAsync(query);
+        CompletableFuture<List<T>> rows = page.thenApply(Page::getRows);
+        ErgastClient.propagateCancellation(rows, page);
+        return rows;
+    }
+
+    // The page of a query together with the total reported by the server.
+    public <T> CompletableFuture<Page<T>> getPageAsync(Query<T> query) {
+        query.checkScope();
+        return parseResponseAsync(query);
+    }
+
+    // Every row of a query from its offset on, in pages of its limit; see fetchAll(Endpoint, int, int).
+    public <T> Stream<T> fetchAll(Query<T> query) {
+        return fetchAll(query, DEFAULT_PAGE_PARALLELISM);
+    }
+
+    public <T> Stream<T> fetchAll(Query<T> query, int parallelism) {
+        query.checkScope();
+        PageIterator<T> pages = new PageIterator<>(
+                pageOffset -> parseResponseAsync(query.offset(pageOffset)), query.getOffset(), query.getLimit(),
+                parallelism);
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(pages, Spliterator.ORDERED), false)
+                .onClose(pages::close);
+    }
+
+    // Every row of a query from this instance's offset on, as a publisher; see publish(Query).
+    public <T> Flow.Publisher<T> publish(Endpoint<T> endpoint, int round) {
+        return publish(query(endpoint, round));
+    }
+
+    /**
+     * Publishes every row of a query from its offset on, in pages of its limit. Rows are handed to the
+     * subscriber as they are decoded from the response, a page is only requested while the subscriber wants
+     * more rows than are waiting, and cancelling the subscription aborts the request in flight. Each subscriber
+     * runs the query anew; requests start with its first {@code request(n)}.
+     *
+     * <p>Unlike the other methods, the publisher does not share requests through the client's request
+     * coalescing, as its rows are never collected into a page.</p>
+     *
+     * @param query The query to run.
+     * @return A publisher of all rows of the query.
+     */
+    public <T> Flow.Publisher<T> publish(Query<T> query) {
+        query.checkScope();
+        return new PagePublisher<>((pageOffset, sink) -> streamPage(query.offset(pageOffset), sink),
+                query.getOffset(), query.getLimit());
+    }
+
+    // The query behind the per-instance methods, validated the way they always have been.
+    private <T> Query<T> query(Endpoint<T> endpoint, int round) {
+        checkScope(endpoint, round);
+        return Query.of(endpoint).at(season, round).limit(limit).offset(offset);
     }
 
 
     /**
      * Generic method to parse the JSON response from the API request.
      *
-     * @param request  The specific API request endpoint.
-     * @param round    The round number within a season.
-     * @param type     The class type of the expected response objects.
-     * @param jsonPath The JSON path to extract the desired array from the response.
+     * @param query The query describing the request, the JSON path and the response type.
      * @return A list of parsed objects of the specified type.
-     * @throws IOException If an I/O exception occurs.
+     * @throws IOException If an I/O exception occurs, or {@link InterruptedIOException} if the calling
+     *                     thread is interrupted while waiting for the response (its interrupt flag is restored).
      */
 
-    private <T> List<T> parseResponse(String request, int round, Class<T> type, String... jsonPath) throws IOException {
-        String url = buildUrl(request, round);
-        String jsonResponse = null;
+    private <T> List<T> parseResponse(Query<T> query) throws IOException {
+        CompletableFuture<Page<T>> page = parseResponseAsync(query);
         try {
-            jsonResponse = getJson(url);
+            return page.get().getRows();
         } catch (InterruptedException e) {
-            throw new RuntimeException(e);
+            page.cancel(true);
+            Thread.currentThread().interrupt();
+            InterruptedIOException interrupted = new InterruptedIOException(
+                    "Interrupted while waiting for " + query.toUrl(client.getBaseUrl()));
+            interrupted.initCause(e);
+            throw interrupted;
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            } else if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            } else if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IOException(cause);
+        }
+    }
+
+    // Asynchronous counterpart of parseResponse; parsing runs on the client's parse executor.
+    // Concurrent requests for the same URL and type share one call when the client coalesces requests.
+    private <T> CompletableFuture<Page<T>> parseResponseAsync(Query<T> query) {
+        String url = query.toUrl(client.getBaseUrl());
+        SingleFlight singleFlight = client.getSingleFlight();
+        if (singleFlight == null) {
+            return fetchPage(query, url);
         }
-        Parser<T> parser = new Parser<>(jsonResponse, jsonPath, type); // Instantiating with required arguments
-        return parser.parse();
+        return singleFlight.execute(url + '#' + query.getEndpoint().getType().getName(),
+                () -> fetchPage(query, url), Page::copy);
     }
 
-    // Helper method to perform the actual HTTP request and retrieve the JSON string.
-    private String getJson(String urlStr) throws IOException, InterruptedException {
-        HttpClient client = HttpClient.newHttpClient();
-        HttpRequest request = HttpRequest.newBuilder()
-                .uri(URI.create(urlStr))
-                .header("User-Agent", USER_AGENT)
-                .GET()
-                .build();
+    // The body is parsed while it arrives, on the client's parse executor.
+    private <T> CompletableFuture<Page<T>> fetchPage(Query<T> query, String url) {
+        Endpoint<T> endpoint = query.getEndpoint();
+        return client.getPageAsync(url, query.getSeason(), endpoint.getRequest(),
+                json -> parse(endpoint, json, query.getLimit(), query.getOffset()), client.getParseExecutor());
+    }
 
-        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+    // Hands the rows of a page to the sink while its body is parsed and completes with the total of the query.
+    private <T> CompletableFuture<Integer> streamPage(Query<T> query, Consumer<? super T> sink) {
+        Endpoint<T> endpoint = query.getEndpoint();
+        String name = endpoint.getRequest();
+        ErgastMetrics metrics = client.getMetrics();
+        long start = System.nanoTime();
+        return client.getJsonAsync(query.toUrl(client.getBaseUrl()), query.getSeason(), name, json -> {
+            Parser<T> parser = new Parser<>(json, endpoint.jsonPath(), endpoint.getType(), client.getEntityRegistry());
+            if (!metrics.isEnabled()) {
+                parser.forEach(sink);
+                return parser.getTotal();
+            }
+            // The parse phase is not recorded: it would include the time the subscriber took for the rows.
+            int[] rows = new int[1];
+            parser.forEach(row -> {
+                rows[0]++;
+                sink.accept(row);
+            });
+            metrics.recordRows(name, rows[0]);
+            metrics.recordTime(name, Phase.TOTAL, System.nanoTime() - start);
+            return parser.getTotal();
+        }, client.getParseExecutor());
+    }
 
-        if (response.statusCode() != HttpURLConnection.HTTP_OK) {
-            throw new IOException("HTTP request not successful. Response Code: " + response.statusCode());
-        }
+    private <T> Page<T> parse(Endpoint<T> endpoint, Reader json, int limit, int offset) {
+        Parser<T> parser = new Parser<>(json, endpoint.jsonPath(), endpoint.getType(), client.getEntityRegistry());
+        List<T> rows = parser.parse();
+        return new Page<>(rows, offset, limit, parser.getTotal());
+    }
 
-        return response.body();
+    // Validates season and round against the endpoint's requirements.
+    private void checkScope(Endpoint<?> endpoint, int round) {
+        switch (endpoint.getScope()) {
+            case SEASON_IF_ROUND:
+                if (season == NO_SEASON && round != NO_ROUND) {
+                    throw new SeasonException("Season must be specified if round is specified.");
+                }
+                break;
+            case SEASON:
+                requireSeason();
+                break;
+            case SEASON_AND_ROUND:
+                requireSeasonAndRound(round);
+                break;
+            default:
+                break;
+        }
     }
 
     // Helper methods to ensure required parameters like season and round are set before making certain API requests.
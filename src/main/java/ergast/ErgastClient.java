@@ -0,0 +1,529 @@
+package ergast;
+
+import com.google.gson.JsonIOException;
+import ergast.cache.CachedResponse;
+import ergast.cache.ResponseCache;
+import ergast.cache.TtlPolicy;
+import ergast.exceptions.ErgastHttpException;
+import ergast.metrics.ErgastMetrics;
+import ergast.metrics.Phase;
+import ergast.parser.EntityRegistry;
+import ergast.scheduler.Priority;
+import ergast.scheduler.RequestScheduler;
+import ergast.scheduler.RetryListener;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.io.StringReader;
+import java.lang.reflect.Method;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Objects;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Long-lived HTTP transport shared by {@link Ergast} instances.
+ * A single {@link HttpClient} owns the selector thread and the connection pool, so keeping one
+ * ErgastClient around for the lifetime of the application lets consecutive requests reuse
+ * already-open keep-alive connections instead of paying for a fresh TCP connect every time.
+ *
+ * <p>Instances are immutable and thread-safe. Use {@link #builder()} to configure one, or
+ * {@link #getDefault()} for the JVM-wide shared client.</p>
+ *
+ * <p>Idle connections are kept in the pool for the period configured by the JDK system property
+ * {@code jdk.httpclient.keepalive.timeout} (1200 seconds by default).</p>
+ */
+public class ErgastClient {
+
+    // Base URL of the Ergast API, without a trailing slash.
+    public static final String DEFAULT_BASE_URL = "http://ergast.com/api/f1";
+
+    // Default timeouts used when the builder is not told otherwise.
+    public static final Duration DEFAULT_CONNECT_TIMEOUT = Duration.ofSeconds(10);
+    public static final Duration DEFAULT_REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    // User-Agent header value to be used in HTTP requests to simulate a web browser request.
+    private static final String USER_AGENT = "Mozilla/5.0";
+
+    private final HttpClient httpClient;
+    private final String baseUrl;
+    private final Duration requestTimeout;
+    private final Executor parseExecutor;
+    private final ResponseCache responseCache; // Null when responses are not cached.
+    private final TtlPolicy ttlPolicy;
+    private final RequestScheduler scheduler;
+    private final Priority priority;
+    private final SingleFlight singleFlight; // Null when identical requests are not coalesced.
+    private final ErgastMetrics metrics;
+    private final EntityRegistry entityRegistry; // Null when parsed entities are not interned.
+
+    private ErgastClient(Builder builder) {
+        HttpClient.Builder httpBuilder = HttpClient.newBuilder()
+                .version(builder.version)
+                .connectTimeout(builder.connectTimeout)
+                .followRedirects(HttpClient.Redirect.NORMAL);
+        if (builder.executor != null) {
+            httpBuilder.executor(builder.executor);
+        }
+        this.httpClient = httpBuilder.build();
+        this.baseUrl = builder.baseUrl;
+        this.requestTimeout = builder.requestTimeout;
+        this.parseExecutor = builder.parseExecutor;
+        this.responseCache = builder.responseCache;
+        this.ttlPolicy = builder.ttlPolicy;
+        this.scheduler = builder.scheduler;
+        this.priority = builder.priority;
+        this.singleFlight = builder.coalesceRequests ? new SingleFlight() : null;
+        this.metrics = builder.metrics;
+        this.entityRegistry = builder.internEntities ? EntityRegistry.shared() : null;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Returns the client shared by every {@link Ergast} created without an explicit client.
+     */
+    public static ErgastClient getDefault() {
+        return DefaultHolder.INSTANCE;
+    }
+
+    public String getBaseUrl() {
+        return baseUrl;
+    }
+
+    public Duration getRequestTimeout() {
+        return requestTimeout;
+    }
+
+    public HttpClient getHttpClient() {
+        return httpClient;
+    }
+
+    public Executor getParseExecutor() {
+        return parseExecutor;
+    }
+
+    /**
+     * Returns the cache consulted before every request, or null if responses are not cached.
+     */
+    public ResponseCache getResponseCache() {
+        return responseCache;
+    }
+
+    public TtlPolicy getTtlPolicy() {
+        return ttlPolicy;
+    }
+
+    public RequestScheduler getScheduler() {
+        return scheduler;
+    }
+
+    public Priority getPriority() {
+        return priority;
+    }
+
+    /**
+     * Returns the deduplicator shared by all {@link Ergast} instances using this client, whose counters report
+     * how many calls were coalesced, or null if coalescing is disabled.
+     */
+    public SingleFlight getSingleFlight() {
+        return singleFlight;
+    }
+
+    /**
+     * Returns the metrics every request is reported to, {@link ErgastMetrics#none()} unless configured.
+     */
+    public ErgastMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Returns the registry parsed drivers, constructors and circuits are interned in, or null if every row gets
+     * its own instances.
+     */
+    public EntityRegistry getEntityRegistry() {
+        return entityRegistry;
+    }
+
+    /**
+     * Retrieves the JSON body of a URL and hands it to {@code parse} on the given executor, consulting the response
+     * cache first; the season decides how long the response may be cached, the endpoint names the request in the
+     * metrics. The request asks for a gzip-encoded body and waits in the scheduler's lane for this client's priority
+     * until the rate limit allows it.
+     *
+     * <p>The body is parsed while it arrives rather than after it has been buffered, so a request takes the same
+     * memory whatever the size of the response, except for the copy kept when responses are cached. The returned
+     * future completes exceptionally with a {@link CompletionException} wrapping an {@link IOException} when the
+     * server does not answer with 200 after the retries allowed by the scheduler or the body cannot be read.
+     * Cancelling the returned future aborts the underlying exchange, also while the body is being parsed.</p>
+     */
+    <R> CompletableFuture<R> getJsonAsync(String urlStr, int season, String endpoint,
+                                          Function<? super Reader, ? extends R> parse, Executor executor) {
+        boolean measured = metrics.isEnabled();
+        CachedResponse cached = lookup(urlStr);
+        if (measured && responseCache != null) {
+            metrics.recordCache(endpoint, cached != null);
+        }
+        if (cached != null) {
+            return CompletableFuture.supplyAsync(() -> parse.apply(new StringReader(cached.getBody())), executor);
+        }
+        HttpRequest request = requestBuilder(urlStr).header("Accept-Encoding", "gzip").build();
+        CompletableFuture<HttpResponse<InputStream>> exchange;
+        if (measured) {
+            MeasuredSend send = new MeasuredSend(request, endpoint);
+            CompletableFuture<HttpResponse<InputStream>> submitted = scheduler.submit(priority, send, send);
+            exchange = submitted.whenComplete((response, failure) -> recordFailure(endpoint, failure));
+            propagateCancellation(exchange, submitted);
+        } else {
+            exchange = scheduler.submit(priority, () -> httpClient.sendAsync(request, StreamingBody::subscriber));
+        }
+        CompletableFuture<R> result = exchange.thenApplyAsync(
+                response -> read(response, urlStr, season, endpoint, parse), executor);
+        propagateCancellation(result, exchange);
+        // Once the headers are in, cancelling means closing the body, which aborts the transfer.
+        result.whenComplete((ignored, failure) -> {
+            if (result.isCancelled() && exchange.isDone() && !exchange.isCompletedExceptionally()) {
+                closeQuietly(exchange.join().body());
+            }
+        });
+        return result;
+    }
+
+    // Parses a streamed body, keeping a copy for the cache if there is one.
+    private <R> R read(HttpResponse<InputStream> response, String urlStr, int season, String endpoint,
+                       Function<? super Reader, ? extends R> parse) {
+        StreamingBody body = null;
+        try {
+            body = StreamingBody.open(response, responseCache != null);
+            R parsed = parse.apply(body.reader());
+            String text = body.finish();
+            if (text != null) {
+                store(urlStr, season, text);
+            }
+            return parsed;
+        } catch (IOException e) {
+            throw new CompletionException(e);
+        } catch (JsonIOException e) {
+            // The parser reports the failures of the reader it was given, i.e. of the connection.
+            throw e.getCause() instanceof IOException ? new CompletionException(e.getCause()) : e;
+        } finally {
+            if (body != null) {
+                if (metrics.isEnabled()) {
+                    metrics.recordPayload(endpoint, body.bytesReceived());
+                }
+                closeQuietly(body);
+            }
+        }
+    }
+
+    /**
+     * Retrieves a URL with a conditional GET: the request carries the validators of the response previously seen,
+     * if any, and completes with a not-modified response when the server answers 304. Bypasses the response cache,
+     * since the point is to learn whether the server has something new.
+     */
+    CompletableFuture<ConditionalResponse> getIfModifiedAsync(String urlStr, String etag, String lastModified) {
+        HttpRequest.Builder builder = requestBuilder(urlStr);
+        if (etag != null) {
+            builder.header("If-None-Match", etag);
+        }
+        if (lastModified != null) {
+            builder.header("If-Modified-Since", lastModified);
+        }
+        HttpRequest request = builder.build();
+        CompletableFuture<HttpResponse<String>> exchange = scheduler.submit(priority,
+                () -> httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofString()));
+        CompletableFuture<ConditionalResponse> response = exchange.thenApply(ConditionalResponse::of);
+        propagateCancellation(response, exchange);
+        return response;
+    }
+
+    private void recordFailure(String endpoint, Throwable failure) {
+        if (failure == null) {
+            return;
+        }
+        Throwable cause = failure instanceof CompletionException && failure.getCause() != null
+                ? failure.getCause() : failure;
+        if (!(cause instanceof CancellationException)) {
+            metrics.recordError(endpoint, cause instanceof ErgastHttpException
+                    ? ((ErgastHttpException) cause).getStatusCode() : -1);
+        }
+    }
+
+    /**
+     * Retrieves a page like {@link #getJsonAsync}, additionally reporting parse time, rows and the total time of
+     * the page when metrics are enabled.
+     */
+    <T> CompletableFuture<Page<T>> getPageAsync(String urlStr, int season, String endpoint,
+                                                Function<? super Reader, Page<T>> parse, Executor executor) {
+        if (!metrics.isEnabled()) {
+            return getJsonAsync(urlStr, season, endpoint, parse, executor);
+        }
+        long start = System.nanoTime();
+        return getJsonAsync(urlStr, season, endpoint, json -> {
+            long parseStart = System.nanoTime();
+            Page<T> page = parse.apply(json);
+            long end = System.nanoTime();
+            metrics.recordTime(endpoint, Phase.PARSE, end - parseStart);
+            metrics.recordRows(endpoint, page.getRows().size());
+            metrics.recordTime(endpoint, Phase.TOTAL, end - start);
+            return page;
+        }, executor);
+    }
+
+    // Cancels the upstream future when the downstream one is cancelled by the caller.
+    static void propagateCancellation(CompletableFuture<?> downstream, CompletableFuture<?> upstream) {
+        downstream.whenComplete((ignored, failure) -> {
+            if (downstream.isCancelled()) {
+                upstream.cancel(true);
+            }
+        });
+    }
+
+    private CachedResponse lookup(String urlStr) {
+        return responseCache == null ? null : responseCache.get(urlStr);
+    }
+
+    private void store(String urlStr, int season, String body) {
+        Duration ttl = ttlPolicy.ttlFor(season);
+        if (!ttl.isNegative() && !ttl.isZero()) {
+            responseCache.put(urlStr, new CachedResponse(body, Instant.now().plus(ttl)));
+        }
+    }
+
+    private HttpRequest.Builder requestBuilder(String urlStr) {
+        return HttpRequest.newBuilder()
+                .uri(URI.create(urlStr))
+                .timeout(requestTimeout)
+                .header("User-Agent", USER_AGENT)
+                .GET();
+    }
+
+    private static void closeQuietly(Closeable closeable) {
+        try {
+            closeable.close();
+        } catch (IOException e) {
+            // Nothing more can be read from it either way.
+        }
+    }
+
+    /**
+     * Starts the attempts of one request for the scheduler and reports how long each waited in the queue and on
+     * the network until the response headers arrived; the JDK client does not expose connect and first byte
+     * separately, so both count as HTTP time. The body is streamed into the parser and counts as parse time.
+     */
+    private final class MeasuredSend implements Supplier<CompletableFuture<HttpResponse<InputStream>>>, RetryListener {
+        private final HttpRequest request;
+        private final String endpoint;
+        private volatile long queuedAt = System.nanoTime(); // Submission, then the end of the last attempt.
+
+        MeasuredSend(HttpRequest request, String endpoint) {
+            this.request = request;
+            this.endpoint = endpoint;
+        }
+
+        @Override
+        public CompletableFuture<HttpResponse<InputStream>> get() {
+            long sentAt = System.nanoTime();
+            metrics.recordTime(endpoint, Phase.QUEUE, sentAt - queuedAt);
+            CompletableFuture<HttpResponse<InputStream>> exchange =
+                    httpClient.sendAsync(request, StreamingBody::subscriber);
+            // Recorded before the scheduler sees the outcome, so the metrics are complete when the request is.
+            CompletableFuture<HttpResponse<InputStream>> measured = exchange.whenComplete((response, failure) -> {
+                long now = System.nanoTime();
+                metrics.recordTime(endpoint, Phase.HTTP, now - sentAt);
+                queuedAt = now;
+                // Bodies of other statuses arrive in full; successful ones are counted as they are read.
+                if (response != null && response.statusCode() != 200) {
+                    try {
+                        metrics.recordPayload(endpoint, response.body().available());
+                    } catch (IOException e) {
+                        // An in-memory body cannot fail.
+                    }
+                }
+            });
+            propagateCancellation(measured, exchange);
+            return measured;
+        }
+
+        @Override
+        public void onRetry(int statusCode) {
+            metrics.recordRetry(endpoint, statusCode);
+        }
+    }
+
+    // Lazily created so that merely loading the class does not start the HttpClient selector thread.
+    private static final class DefaultHolder {
+        private static final ErgastClient INSTANCE = builder().build();
+    }
+
+    /**
+     * Builder for {@link ErgastClient}. Every setting is optional.
+     */
+    public static class Builder {
+        private Executor executor;
+        private Duration connectTimeout = DEFAULT_CONNECT_TIMEOUT;
+        private Duration requestTimeout = DEFAULT_REQUEST_TIMEOUT;
+        private HttpClient.Version version = HttpClient.Version.HTTP_2;
+        private String baseUrl = DEFAULT_BASE_URL;
+        private Executor parseExecutor = ForkJoinPool.commonPool();
+        private ResponseCache responseCache;
+        private TtlPolicy ttlPolicy = TtlPolicy.defaults();
+        private RequestScheduler scheduler;
+        private Priority priority = Priority.INTERACTIVE;
+        private boolean coalesceRequests;
+        private boolean internEntities;
+        private ErgastMetrics metrics = ErgastMetrics.none();
+
+        private Builder() {
+        }
+
+        /**
+         * Executor used by the HttpClient for asynchronous tasks. Defaults to the HttpClient's own pool.
+         */
+        public Builder executor(Executor executor) {
+            this.executor = Objects.requireNonNull(executor, "executor");
+            return this;
+        }
+
+        /**
+         * Uses a virtual-thread-per-task executor when running on JDK 21 or newer.
+         * On older runtimes the HttpClient's default executor is kept.
+         */
+        public Builder virtualThreads() {
+            try {
+                Method factory = java.util.concurrent.Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+                this.executor = (Executor) factory.invoke(null);
+            } catch (ReflectiveOperationException e) {
+                // Virtual threads are not available on this runtime, keep the default executor.
+            }
+            return this;
+        }
+
+        /**
+         * Executor that runs JSON parsing for the asynchronous getters. Defaults to the common fork/join pool.
+         */
+        public Builder parseExecutor(Executor parseExecutor) {
+            this.parseExecutor = Objects.requireNonNull(parseExecutor, "parseExecutor");
+            return this;
+        }
+
+        /**
+         * Cache consulted before every request and filled with every successful response. Not set by default.
+         */
+        public Builder responseCache(ResponseCache responseCache) {
+            this.responseCache = Objects.requireNonNull(responseCache, "responseCache");
+            return this;
+        }
+
+        /**
+         * Decides how long responses stay cached. Defaults to {@link TtlPolicy#defaults()}.
+         */
+        public Builder ttlPolicy(TtlPolicy ttlPolicy) {
+            this.ttlPolicy = Objects.requireNonNull(ttlPolicy, "ttlPolicy");
+            return this;
+        }
+
+        /**
+         * Scheduler that rate-limits and retries the requests. Defaults to {@link RequestScheduler#shared()},
+         * so that every client in the JVM stays within one rate limit.
+         */
+        public Builder scheduler(RequestScheduler scheduler) {
+            this.scheduler = Objects.requireNonNull(scheduler, "scheduler");
+            return this;
+        }
+
+        /**
+         * Lane this client's requests wait in; interactive requests overtake bulk ones. Defaults to interactive.
+         */
+        public Builder priority(Priority priority) {
+            this.priority = Objects.requireNonNull(priority, "priority");
+            return this;
+        }
+
+        /**
+         * Whether concurrent requests for the same URL share one HTTP call and its parsed result. Each caller gets
+         * its own list, but the rows in it are the same objects for every caller, so only enable this when
+         * returned rows are not modified. Disabled by default.
+         */
+        public Builder coalesceRequests(boolean coalesceRequests) {
+            this.coalesceRequests = coalesceRequests;
+            return this;
+        }
+
+        /**
+         * Whether parsed drivers, constructors and circuits are interned in {@link EntityRegistry#shared()}, so
+         * that every row references one instance of each. Saves memory when many rows are kept, but the
+         * instances are then shared JVM-wide and must not be modified. Disabled by default.
+         */
+        public Builder internEntities(boolean internEntities) {
+            this.internEntities = internEntities;
+            return this;
+        }
+
+        /**
+         * Receives timings and counters of every request. Defaults to {@link ErgastMetrics#none()}, which skips
+         * the measurements altogether.
+         */
+        public Builder metrics(ErgastMetrics metrics) {
+            this.metrics = Objects.requireNonNull(metrics, "metrics");
+            return this;
+        }
+
+        public Builder connectTimeout(Duration connectTimeout) {
+            this.connectTimeout = requirePositive(connectTimeout, "connectTimeout");
+            return this;
+        }
+
+        public Builder requestTimeout(Duration requestTimeout) {
+            this.requestTimeout = requirePositive(requestTimeout, "requestTimeout");
+            return this;
+        }
+
+        /**
+         * Preferred HTTP version. HTTP/2 is attempted by default and the client falls back to HTTP/1.1
+         * when the server does not support it; keep-alive connections are reused either way.
+         */
+        public Builder version(HttpClient.Version version) {
+            this.version = Objects.requireNonNull(version, "version");
+            return this;
+        }
+
+        /**
+         * Base URL of the API, e.g. {@code http://ergast.com/api/f1}. Mostly useful for mirrors and local stand-ins.
+         */
+        public Builder baseUrl(String baseUrl) {
+            Objects.requireNonNull(baseUrl, "baseUrl");
+            this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+            return this;
+        }
+
+        public ErgastClient build() {
+            if (scheduler == null) {
+                scheduler = RequestScheduler.shared();
+            }
+            return new ErgastClient(this);
+        }
+
+        private static Duration requirePositive(Duration duration, String name) {
+            Objects.requireNonNull(duration, name);
+            if (duration.isNegative() || duration.isZero()) {
+                throw new IllegalArgumentException(name + " must be positive.");
+            }
+            return duration;
+        }
+    }
+}
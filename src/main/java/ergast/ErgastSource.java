@@ -0,0 +1,43 @@
+package ergast;
+
+import ergast.objects.*;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * The queries answered both by the Ergast API through {@link Ergast} and by offline sources such as
+ * {@code ergast.offline.OfflineErgast}, so that analysis code can run against either. Season and round
+ * follow the rules of the API: the season is fixed per instance, and endpoints that need a season or
+ * round throw {@link ergast.exceptions.SeasonException} or {@link IllegalArgumentException} without one.
+ *
+ * <p>Points are whole numbers in these types. Half points, as awarded for shortened races such as Malaysia
+ * 2009 or Belgium 2021, are rounded, so totals involving them can differ from the published tables by up to a
+ * point per half-points race; the {@code ergast.model} types keep them exactly.</p>
+ */
+public interface ErgastSource {
+
+    List<Driver> getDrivers() throws IOException;
+
+    List<Schedule> getSchedule() throws IOException;
+
+    List<Circuit> getCircuits() throws IOException;
+
+    List<Season> getSeasons() throws IOException;
+
+    List<Constructor> getConstructors() throws IOException;
+
+    List<RaceResult> getRaceResults(int round) throws IOException;
+
+    List<Qualification> getQualificationResults(int round) throws IOException;
+
+    List<DriverStandings> getDriverStandings(int round) throws IOException;
+
+    List<ConstructorStandings> getConstructorStandings(int round) throws IOException;
+
+    List<FinishingStatus> getFinishingstatuses(int round) throws IOException;
+
+    List<LapTimes> getLapTimes(int round) throws IOException;
+
+    List<RacePitStops> getRacePitStops(int round) throws IOException;
+}
@@ -0,0 +1,262 @@
+package ergast;
+
+import ergast.objects.Schedule;
+import ergast.parser.EntityRegistry;
+import ergast.parser.Parser;
+
+import java.io.InterruptedIOException;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
+
+/**
+ * Queries one endpoint over a range of seasons, e.g. every race result from 1950 to 2023. Every season, and
+ * every page of it, is requested at once; the requests wait in the client's scheduler, so they still go out at
+ * the rate it allows. Responses are parsed on a fork/join pool, and the {@link HistoricalResult} reduces the
+ * rows in parallel on the same pool.
+ *
+ * <p>Endpoints that need a round, such as lap times, are queried for every round of the season's schedule
+ * unless rounds are given. A season that fails is reported in {@link HistoricalResult#getErrors()} and does not
+ * fail the query.</p>
+ *
+ * <p>Drivers, constructors and circuits are interned in {@link EntityRegistry#shared()}, so the rows of the
+ * whole history share one instance of each; they must not be modified.</p>
+ *
+ * <pre>
+ * HistoricalResult&lt;RaceResult&gt; results = HistoricalQuery.of(Endpoint.RESULTS).seasons(1950, 2023).run();
+ * Map&lt;String, Long&gt; winsByConstructor = results.countBy(row -&gt; row.getValue().getPosition() == 1
+ *         ? row.getValue().getConstructor().getConstructorId() : null);
+ * </pre>
+ */
+public class HistoricalQuery<T> {
+
+    // Largest page the Ergast API serves.
+    private static final int PAGE_SIZE = 1000;
+
+    private final Endpoint<T> endpoint;
+    private int firstSeason;
+    private int lastSeason;
+    private int[] rounds; // Null to query whole seasons.
+    private ErgastClient client = ErgastClient.getDefault();
+    private ForkJoinPool pool = ForkJoinPool.commonPool();
+    private int pageSize = PAGE_SIZE;
+
+    private HistoricalQuery(Endpoint<T> endpoint) {
+        this.endpoint = Objects.requireNonNull(endpoint, "endpoint");
+    }
+
+    public static <T> HistoricalQuery<T> of(Endpoint<T> endpoint) {
+        return new HistoricalQuery<>(endpoint);
+    }
+
+    /**
+     * Seasons to query, both inclusive.
+     */
+    public HistoricalQuery<T> seasons(int first, int last) {
+        if (first < 1 || last < first) {
+            throw new IllegalArgumentException("Invalid season range " + first + "-" + last);
+        }
+        this.firstSeason = first;
+        this.lastSeason = last;
+        return this;
+    }
+
+    /**
+     * Restricts the query to the given rounds of every season; seasons without such a round yield no rows.
+     */
+    public HistoricalQuery<T> rounds(int... rounds) {
+        for (int round : rounds) {
+            if (round < 1) {
+                throw new IllegalArgumentException("Invalid round " + round);
+            }
+        }
+        this.rounds = rounds.length == 0 ? null : rounds.clone();
+        return this;
+    }
+
+    public HistoricalQuery<T> client(ErgastClient client) {
+        this.client = Objects.requireNonNull(client, "client");
+        return this;
+    }
+
+    /**
+     * Pool that parses the responses and reduces the result. Defaults to the common fork/join pool.
+     */
+    public HistoricalQuery<T> pool(ForkJoinPool pool) {
+        this.pool = Objects.requireNonNull(pool, "pool");
+        return this;
+    }
+
+    // Smaller pages let tests exercise paging against small responses.
+    HistoricalQuery<T> pageSize(int pageSize) {
+        this.pageSize = pageSize;
+        return this;
+    }
+
+    /**
+     * Runs the query and blocks until every season has been loaded or has failed.
+     *
+     * @throws InterruptedIOException If the calling thread is interrupted while waiting (its interrupt flag is restored).
+     */
+    public HistoricalResult<T> run() throws InterruptedIOException {
+        CompletableFuture<HistoricalResult<T>> result = runAsync();
+        try {
+            return result.get();
+        } catch (InterruptedException e) {
+            result.cancel(true);
+            Thread.currentThread().interrupt();
+            InterruptedIOException interrupted = new InterruptedIOException(
+                    "Interrupted while querying " + endpoint.getRequest() + " of " + firstSeason + "-" + lastSeason);
+            interrupted.initCause(e);
+            throw interrupted;
+        } catch (ExecutionException e) {
+            // Failures are collected per season, so only a bug gets here.
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    /**
+     * Runs the query; the returned future completes once every season has been loaded or has failed.
+     */
+    public CompletableFuture<HistoricalResult<T>> runAsync() {
+        if (firstSeason == 0) {
+            throw new IllegalStateException("Seasons must be specified.");
+        }
+        int count = lastSeason - firstSeason + 1;
+        List<CompletableFuture<List<HistoricalRow<T>>>> seasons = new ArrayList<>(count);
+        for (int season = firstSeason; season <= lastSeason; season++) {
+            seasons.add(season(season));
+        }
+        CompletableFuture<Void> loaded = CompletableFuture.allOf(seasons.toArray(new CompletableFuture<?>[0]));
+        CompletableFuture<HistoricalResult<T>> result = loaded.handle((ignored, failure) -> {
+            List<HistoricalRow<T>> rows = new ArrayList<>();
+            SortedMap<Integer, Throwable> errors = new TreeMap<>();
+            for (int i = 0; i < count; i++) {
+                CompletableFuture<List<HistoricalRow<T>>> season = seasons.get(i);
+                try {
+                    rows.addAll(season.join());
+                } catch (CompletionException e) {
+                    errors.put(firstSeason + i, e.getCause() != null ? e.getCause() : e);
+                } catch (RuntimeException e) {
+                    errors.put(firstSeason + i, e);
+                }
+            }
+            return new HistoricalResult<>(rows, errors, pool);
+        });
+        // Cancelling a dependent stage leaves its sources running, so every season is cancelled explicitly.
+        for (CompletableFuture<List<HistoricalRow<T>>> season : seasons) {
+            ErgastClient.propagateCancellation(result, season);
+        }
+        return result;
+    }
+
+    // Loads the rows of one season, round by round where the endpoint or the query needs it.
+    private CompletableFuture<List<HistoricalRow<T>>> season(int season) {
+        if (rounds != null) {
+            return rounds(season, rounds);
+        }
+        if (endpoint.getScope() != Endpoint.Scope.SEASON_AND_ROUND) {
+            return pages(season, Ergast.NO_ROUND);
+        }
+        HistoricalQuery<Schedule> schedule = of(Endpoint.SCHEDULE).client(client).pool(pool).pageSize(pageSize);
+        return compose(schedule.pages(season, Ergast.NO_ROUND), races -> {
+            int[] scheduled = new int[races.size()];
+            for (int i = 0; i < scheduled.length; i++) {
+                scheduled[i] = races.get(i).getValue().getRound();
+            }
+            return rounds(season, scheduled);
+        });
+    }
+
+    private CompletableFuture<List<HistoricalRow<T>>> rounds(int season, int[] rounds) {
+        List<CompletableFuture<List<HistoricalRow<T>>>> pages = new ArrayList<>(rounds.length);
+        for (int round : rounds) {
+            pages.add(pages(season, round));
+        }
+        return concat(pages);
+    }
+
+    // Requests the first page, then all remaining pages at once.
+    private CompletableFuture<List<HistoricalRow<T>>> pages(int season, int round) {
+        return compose(page(season, round, 0), first -> {
+            List<CompletableFuture<List<HistoricalRow<T>>>> pages = new ArrayList<>();
+            pages.add(CompletableFuture.completedFuture(first.getRows()));
+            for (int offset = pageSize; offset < first.getTotal(); offset += pageSize) {
+                CompletableFuture<Page<HistoricalRow<T>>> page = page(season, round, offset);
+                CompletableFuture<List<HistoricalRow<T>>> rows = page.thenApply(Page::getRows);
+                ErgastClient.propagateCancellation(rows, page);
+                pages.add(rows);
+            }
+            return concat(pages);
+        });
+    }
+
+    private CompletableFuture<Page<HistoricalRow<T>>> page(int season, int round, int offset) {
+        String url = Query.of(endpoint).at(season, round).limit(pageSize).offset(offset).toUrl(client.getBaseUrl());
+        return client.getPageAsync(url, season, endpoint.getRequest(), json -> {
+            Parser<T> parser = new Parser<>(json, endpoint.jsonPath(), endpoint.getType(),
+                    EntityRegistry.shared());
+            List<HistoricalRow<T>> rows = new ArrayList<>();
+            parser.forEach(Schedule.class, (race, value) -> rows.add(row(season, round, race, value)));
+            return new Page<>(rows, offset, pageSize, parser.getTotal());
+        }, pool);
+    }
+
+    // The race or table enclosing the rows knows the season and round; the request is the fallback.
+    private static <T> HistoricalRow<T> row(int season, int round, Schedule race, T value) {
+        int requestedRound = round == Ergast.NO_ROUND ? 0 : round;
+        if (race == null) {
+            return new HistoricalRow<>(season, requestedRound, null, null, value);
+        }
+        return new HistoricalRow<>(race.getSeason() != 0 ? race.getSeason() : season,
+                race.getRound() != 0 ? race.getRound() : requestedRound, race.getRaceName(), race.getCircuit(), value);
+    }
+
+    // Joins the parts in order; cancelling the result cancels every part.
+    private static <R> CompletableFuture<List<R>> concat(List<CompletableFuture<List<R>>> parts) {
+        CompletableFuture<List<R>> all = CompletableFuture.allOf(parts.toArray(new CompletableFuture<?>[0]))
+                .thenApply(ignored -> {
+                    List<R> rows = new ArrayList<>();
+                    for (CompletableFuture<List<R>> part : parts) {
+                        rows.addAll(part.join());
+                    }
+                    return rows;
+                });
+        for (CompletableFuture<List<R>> part : parts) {
+            ErgastClient.propagateCancellation(all, part);
+        }
+        return all;
+    }
+
+    // Like thenCompose, but cancelling the result also cancels the first stage and the stage it led to.
+    private static <A, B> CompletableFuture<B> compose(CompletableFuture<A> first,
+                                                       Function<? super A, CompletableFuture<B>> next) {
+        CompletableFuture<B> result = new CompletableFuture<>();
+        first.whenComplete((value, failure) -> {
+            if (failure != null) {
+                result.completeExceptionally(failure);
+                return;
+            }
+            CompletableFuture<B> second;
+            try {
+                second = next.apply(value);
+            } catch (RuntimeException e) {
+                result.completeExceptionally(e);
+                return;
+            }
+            ErgastClient.propagateCancellation(result, second);
+            second.whenComplete((rows, error) -> {
+                if (error != null) {
+                    result.completeExceptionally(error);
+                } else {
+                    result.complete(rows);
+                }
+            });
+        });
+        ErgastClient.propagateCancellation(result, first);
+        return result;
+    }
+}
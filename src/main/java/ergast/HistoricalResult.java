@@ -0,0 +1,67 @@
+package ergast;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
+import java.util.stream.Collector;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Outcome of a {@link HistoricalQuery}: the rows of every season that could be loaded, in season and page
+ * order, and the failure of every season that could not. A failed season contributes no rows at all.
+ */
+public final class HistoricalResult<T> {
+    private final List<HistoricalRow<T>> rows;
+    private final SortedMap<Integer, Throwable> errors;
+    private final ForkJoinPool pool;
+
+    HistoricalResult(List<HistoricalRow<T>> rows, SortedMap<Integer, Throwable> errors, ForkJoinPool pool) {
+        this.rows = Collections.unmodifiableList(rows);
+        this.errors = Collections.unmodifiableSortedMap(errors);
+        this.pool = pool;
+    }
+
+    public List<HistoricalRow<T>> getRows() {
+        return rows;
+    }
+
+    /**
+     * Returns the failure of every season that could not be loaded, by season.
+     */
+    public SortedMap<Integer, Throwable> getErrors() {
+        return errors;
+    }
+
+    public boolean isComplete() {
+        return errors.isEmpty();
+    }
+
+    public Stream<HistoricalRow<T>> stream() {
+        return rows.stream();
+    }
+
+    /**
+     * Reduces the rows in parallel on the query's fork/join pool.
+     */
+    public <R> R collect(Collector<? super HistoricalRow<T>, ?, R> collector) {
+        return pool.submit(() -> rows.parallelStream().collect(collector)).join();
+    }
+
+    /**
+     * Groups the rows in parallel by a key such as {@code row -> row.getValue().getDriver().getDriverId()}
+     * or {@link HistoricalRow#getCircuitId()}, reducing each group with the downstream collector. Rows whose key
+     * is null are left out.
+     */
+    public <K, R> ConcurrentMap<K, R> groupBy(Function<? super HistoricalRow<T>, K> key,
+                                              Collector<? super HistoricalRow<T>, ?, R> downstream) {
+        return pool.submit(() -> rows.parallelStream()
+                .filter(row -> key.apply(row) != null)
+                .collect(Collectors.groupingByConcurrent(key, downstream))).join();
+    }
+
+    public <K> ConcurrentMap<K, Long> countBy(Function<? super HistoricalRow<T>, K> key) {
+        return groupBy(key, Collectors.counting());
+    }
+}
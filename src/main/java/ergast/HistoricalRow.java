@@ -0,0 +1,54 @@
+package ergast;
+
+import ergast.objects.Circuit;
+
+/**
+ * A row of a {@link HistoricalQuery} together with the race it belongs to. Race details are only known for
+ * endpoints listed per race; for others the round is 0 and the race name and circuit are null.
+ */
+public final class HistoricalRow<T> {
+    private final int season;
+    private final int round;
+    private final String raceName;
+    private final Circuit circuit;
+    private final T value;
+
+    // Rows are normally created by HistoricalQuery; building them by hand lets other data be indexed the same way.
+    public HistoricalRow(int season, int round, String raceName, Circuit circuit, T value) {
+        this.season = season;
+        this.round = round;
+        this.raceName = raceName;
+        this.circuit = circuit;
+        this.value = value;
+    }
+
+    public int getSeason() {
+        return season;
+    }
+
+    public int getRound() {
+        return round;
+    }
+
+    public String getRaceName() {
+        return raceName;
+    }
+
+    public Circuit getCircuit() {
+        return circuit;
+    }
+
+    // Id of the circuit, null if the row is not listed per race.
+    public String getCircuitId() {
+        return circuit == null ? null : circuit.getCircuitId();
+    }
+
+    public T getValue() {
+        return value;
+    }
+
+    @Override
+    public String toString() {
+        return season + "/" + round + ": " + value;
+    }
+}
@@ -0,0 +1,298 @@
+package ergast;
+
+import ergast.objects.*;
+import ergast.parser.Parser;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Polls one race and the standings of its season while the race is live and publishes only what is new:
+ * lap timings, pit stops and results as they are added, and driver standings rows that changed.
+ *
+ * <p>Laps, pit stops and results only ever grow, so each is fetched from the offset of the first row not yet
+ * seen; a poll downloads an empty page when nothing was added. Every request is a conditional GET carrying the
+ * {@code ETag} and {@code Last-Modified} of the previous response for the same URL, so unchanged data costs a
+ * 304 and is neither downloaded nor parsed.</p>
+ *
+ * <p>Each feed is a {@link Flow.Publisher}; a subscriber first receives everything the feed has published so
+ * far, then the changes, so subscribing after {@link #start()} loses nothing. The watcher keeps what it has
+ * published for this, which for a race is a few thousand rows at most. Items are delivered asynchronously, but a
+ * subscriber that falls more than {@link Flow#defaultBufferSize()} items behind the live ones holds up polling.
+ * Closing the watcher stops polling and completes every subscriber.</p>
+ */
+public class LiveSeasonWatcher implements AutoCloseable {
+
+    private static final Logger LOG = Logger.getLogger(LiveSeasonWatcher.class.getName());
+
+    public static final Duration DEFAULT_INTERVAL = Duration.ofSeconds(30);
+
+    // Largest page the API serves, so that a poll normally takes a single request per feed.
+    static final int PAGE_LIMIT = 1000;
+
+    // What SubmissionPublisher runs its subscribers on when it is not given an executor.
+    private static final Executor DELIVERY = ForkJoinPool.getCommonPoolParallelism() > 1
+            ? ForkJoinPool.commonPool() : task -> new Thread(task).start();
+
+    private final ErgastClient client;
+    private final int season;
+    private final int round;
+    private final AppendFeed<LapTimes, Lap> laps;
+    private final AppendFeed<RacePitStops, PitStop> pitStops;
+    private final AppendFeed<RaceResult, RaceResult> results;
+    private final StandingsFeed driverStandings;
+    private final ScheduledExecutorService poller;
+
+    /**
+     * Watches a race of a season, {@link Ergast#NO_SEASON} for the current one. Call {@link #start()} to begin polling.
+     */
+    public LiveSeasonWatcher(int season, int round, ErgastClient client) {
+        if (round < 1) {
+            throw new IllegalArgumentException("Round must be specified for a live race.");
+        }
+        this.client = Objects.requireNonNull(client, "client");
+        this.season = season;
+        this.round = round;
+        this.laps = new AppendFeed<>(Endpoint.LAP_TIMES, LapTimes::getLaps, lap -> lap.getTimings().size());
+        this.pitStops = new AppendFeed<>(Endpoint.PIT_STOPS, RacePitStops::getPitStops, stop -> 1);
+        this.results = new AppendFeed<>(Endpoint.RESULTS, Collections::singletonList, result -> 1);
+        this.driverStandings = new StandingsFeed();
+        this.poller = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "ergast-live-watcher");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    // Watches a race using the JVM-wide shared client.
+    public LiveSeasonWatcher(int season, int round) {
+        this(season, round, ErgastClient.getDefault());
+    }
+
+    /**
+     * New laps. Timings of a lap that was still being completed at one poll arrive in a second {@link Lap}
+     * with the same number, holding only the timings added since.
+     */
+    public Flow.Publisher<Lap> getLaps() {
+        return laps.publisher;
+    }
+
+    public Flow.Publisher<PitStop> getPitStops() {
+        return pitStops.publisher;
+    }
+
+    public Flow.Publisher<RaceResult> getResults() {
+        return results.publisher;
+    }
+
+    /**
+     * Driver standings rows of the season that are new or differ from the previous poll.
+     */
+    public Flow.Publisher<DriverStandings> getDriverStandings() {
+        return driverStandings.publisher;
+    }
+
+    public void start() {
+        start(DEFAULT_INTERVAL);
+    }
+
+    /**
+     * Polls right away and then every interval after the previous poll has finished.
+     */
+    public void start(Duration interval) {
+        poller.scheduleWithFixedDelay(this::pollQuietly, 0, interval.toNanos(), TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void close() {
+        poller.shutdownNow();
+        laps.publisher.close();
+        pitStops.publisher.close();
+        results.publisher.close();
+        driverStandings.publisher.close();
+    }
+
+    private void pollQuietly() {
+        try {
+            poll();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Polls every feed once and publishes what changed. A feed that fails is logged and retried at the next poll.
+     */
+    synchronized void poll() throws InterruptedException {
+        for (Feed<?> feed : Arrays.asList(laps, pitStops, results, driverStandings)) {
+            try {
+                feed.poll();
+            } catch (IOException | RuntimeException e) {
+                LOG.log(Level.WARNING, "Polling " + feed.endpoint.getRequest() + " failed", e);
+            }
+        }
+    }
+
+    /**
+     * A polled endpoint with the validators of the last response received.
+     */
+    private abstract class Feed<T> {
+        final Endpoint<T> endpoint;
+        final Query<T> query; // The season's rows in pages of PAGE_LIMIT.
+        private String validatedUrl;
+        private String etag;
+        private String lastModified;
+
+        Feed(Endpoint<T> endpoint) {
+            this.endpoint = endpoint;
+            this.query = Query.of(endpoint).at(season, Ergast.NO_ROUND).limit(PAGE_LIMIT);
+        }
+
+        abstract void poll() throws IOException, InterruptedException;
+
+        // A page of the watched race.
+        String url(int offset) {
+            return query.round(round).offset(offset).toUrl(client.getBaseUrl());
+        }
+
+        // Returns the body of the URL, or null if it has not changed since it was last fetched.
+        String fetchIfModified(String url) throws IOException, InterruptedException {
+            boolean known = url.equals(validatedUrl);
+            CompletableFuture<ConditionalResponse> future =
+                    client.getIfModifiedAsync(url, known ? etag : null, known ? lastModified : null);
+            ConditionalResponse response;
+            try {
+                response = future.get();
+            } catch (InterruptedException e) {
+                future.cancel(true);
+                throw e;
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause();
+                throw cause instanceof IOException ? (IOException) cause : new IOException(cause);
+            }
+            if (!response.isModified()) {
+                return null;
+            }
+            validatedUrl = url;
+            etag = response.getEtag();
+            lastModified = response.getLastModified();
+            return response.getBody();
+        }
+    }
+
+    /**
+     * An endpoint whose rows are only ever appended, fetched from the first row not seen yet. Offsets count the
+     * rows of {@code MRData.total}, which are the innermost items, e.g. timings rather than laps.
+     */
+    private final class AppendFeed<T, R> extends Feed<T> {
+        private final Function<T, List<R>> items; // Items of a parsed row, in order.
+        private final ToIntFunction<R> weight; // Rows of MRData.total an item accounts for.
+        private final ReplayPublisher<R> publisher = new ReplayPublisher<>();
+        private int seen;
+
+        AppendFeed(Endpoint<T> endpoint, Function<T, List<R>> items, ToIntFunction<R> weight) {
+            super(endpoint);
+            this.items = items;
+            this.weight = weight;
+        }
+
+        @Override
+        void poll() throws IOException, InterruptedException {
+            while (true) {
+                String json = fetchIfModified(url(seen));
+                if (json == null) {
+                    return;
+                }
+                Parser<T> parser = new Parser<>(new StringReader(json), endpoint.jsonPath(), endpoint.getType(),
+                        client.getEntityRegistry());
+                int received = 0;
+                for (T row : parser.parse()) {
+                    List<R> rowItems = items.apply(row);
+                    if (rowItems == null) {
+                        continue;
+                    }
+                    for (R item : rowItems) {
+                        received += weight.applyAsInt(item);
+                        publisher.submit(item);
+                    }
+                }
+                seen += received;
+                if (received == 0 || seen >= parser.getTotal()) {
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * The season's driver standings, compared row by row with the previous response.
+     */
+    private final class StandingsFeed extends Feed<DriverStandings> {
+        private final ReplayPublisher<DriverStandings> publisher = new ReplayPublisher<>();
+        private final Map<String, DriverStandings> previous = new HashMap<>(); // By driver id.
+
+        StandingsFeed() {
+            super(Endpoint.DRIVER_STANDINGS);
+        }
+
+        @Override
+        void poll() throws IOException, InterruptedException {
+            String json = fetchIfModified(query.toUrl(client.getBaseUrl()));
+            if (json == null) {
+                return;
+            }
+            List<DriverStandings> rows = new Parser<>(new StringReader(json), endpoint.jsonPath(), endpoint.getType(),
+                    client.getEntityRegistry()).parse();
+            for (DriverStandings row : rows) {
+                DriverStandings before = previous.put(row.getDriver().getDriverId(), row);
+                if (!row.equals(before)) {
+                    publisher.submit(row);
+                }
+            }
+        }
+    }
+
+    /**
+     * Publishes to each subscriber the items submitted before it subscribed, then the new ones. Every subscriber
+     * has a {@link SubmissionPublisher} of its own, with a buffer large enough to take the earlier items at once.
+     */
+    private static final class ReplayPublisher<T> implements Flow.Publisher<T> {
+        private final List<T> published = new ArrayList<>();
+        private final List<SubmissionPublisher<T>> subscribers = new ArrayList<>();
+        private boolean closed;
+
+        @Override
+        public synchronized void subscribe(Flow.Subscriber<? super T> subscriber) {
+            SubmissionPublisher<T> publisher =
+                    new SubmissionPublisher<>(DELIVERY, Math.max(Flow.defaultBufferSize(), published.size()));
+            publisher.subscribe(subscriber);
+            published.forEach(publisher::submit);
+            if (closed) {
+                publisher.close();
+            } else {
+                subscribers.add(publisher);
+            }
+        }
+
+        synchronized void submit(T item) {
+            published.add(item);
+            subscribers.removeIf(publisher -> !publisher.hasSubscribers());
+            for (SubmissionPublisher<T> publisher : subscribers) {
+                publisher.submit(item);
+            }
+        }
+
+        synchronized void close() {
+            closed = true;
+            subscribers.forEach(SubmissionPublisher::close);
+            subscribers.clear();
+        }
+    }
+}
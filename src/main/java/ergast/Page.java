@@ -0,0 +1,51 @@
+package ergast;
+
+import ergast.parser.Parser;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * One page of a query: the parsed rows together with the offset and limit it was requested with and
+ * the {@code MRData.total} reported by the server.
+ */
+public final class Page<T> {
+    private final List<T> rows;
+    private final int offset;
+    private final int limit;
+    private final int total;
+
+    Page(List<T> rows, int offset, int limit, int total) {
+        this.rows = rows;
+        this.offset = offset;
+        this.limit = limit;
+        this.total = total;
+    }
+
+    public List<T> getRows() {
+        return rows;
+    }
+
+    public int getOffset() {
+        return offset;
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    // Total number of rows available for the query, or Parser.UNKNOWN_TOTAL if the server did not say.
+    public int getTotal() {
+        return total;
+    }
+
+    // A page holding its own copy of the row list; the rows themselves are shared.
+    Page<T> copy() {
+        return new Page<>(new ArrayList<>(rows), offset, limit, total);
+    }
+
+    // Whether rows beyond this page exist on the server.
+    public boolean hasMore() {
+        return total != Parser.UNKNOWN_TOTAL && offset + limit < total;
+    }
+}
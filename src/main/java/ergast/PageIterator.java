@@ -0,0 +1,130 @@
+package ergast;
+
+import ergast.parser.Parser;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Iterates over every row of a paged query. The first page is requested on the first call to
+ * {@link #hasNext()}; its {@code MRData.total} tells how many further pages exist, and up to
+ * {@code parallelism} of them are kept in flight while the caller consumes the current one.
+ * Rows are returned in page order. Failures surface as unchecked exceptions, with
+ * {@link IOException}s wrapped in {@link UncheckedIOException}.
+ */
+final class PageIterator<T> implements Iterator<T>, AutoCloseable {
+
+    /**
+     * Loads the page starting at the given offset.
+     */
+    interface PageLoader<T> {
+        CompletableFuture<Page<T>> load(int offset);
+    }
+
+    private final PageLoader<T> loader;
+    private final int pageSize;
+    private final int parallelism;
+    private final Deque<CompletableFuture<Page<T>>> inFlight = new ArrayDeque<>();
+    private Iterator<T> current = Collections.emptyIterator();
+    private int nextOffset; // Offset of the next page to request.
+    private int end = Integer.MAX_VALUE; // Offset past the last row, known once the first page arrived.
+    private boolean closed;
+
+    PageIterator(PageLoader<T> loader, int startOffset, int pageSize, int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be at least 1.");
+        }
+        this.loader = loader;
+        this.nextOffset = startOffset;
+        this.pageSize = pageSize;
+        this.parallelism = parallelism;
+    }
+
+    @Override
+    public boolean hasNext() {
+        while (!current.hasNext()) {
+            if (closed) {
+                return false;
+            }
+            if (inFlight.isEmpty()) {
+                if (nextOffset >= end) {
+                    return false;
+                }
+                submit();
+            }
+            boolean first = end == Integer.MAX_VALUE;
+            Page<T> page = await(inFlight.poll());
+            if (first) {
+                // Without a total there is no way to tell how many pages exist, so stop after this one.
+                end = page.getTotal() == Parser.UNKNOWN_TOTAL ? nextOffset : page.getTotal();
+            }
+            fill();
+            current = page.getRows().iterator();
+        }
+        return true;
+    }
+
+    @Override
+    public T next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        return current.next();
+    }
+
+    /**
+     * Cancels the pages still in flight. The iterator reports no further rows afterwards.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        current = Collections.emptyIterator();
+        for (CompletableFuture<Page<T>> page : inFlight) {
+            page.cancel(true);
+        }
+        inFlight.clear();
+    }
+
+    // Keeps up to parallelism pages in flight.
+    private void fill() {
+        while (inFlight.size() < parallelism && nextOffset < end) {
+            submit();
+        }
+    }
+
+    private void submit() {
+        inFlight.add(loader.load(nextOffset));
+        nextOffset += pageSize;
+    }
+
+    private Page<T> await(CompletableFuture<Page<T>> page) {
+        try {
+            return page.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            close();
+            InterruptedIOException interrupted = new InterruptedIOException("Interrupted while waiting for a page");
+            interrupted.initCause(e);
+            throw new UncheckedIOException(interrupted);
+        } catch (ExecutionException e) {
+            close();
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw new UncheckedIOException((IOException) cause);
+            } else if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            } else if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IllegalStateException(cause);
+        }
+    }
+}
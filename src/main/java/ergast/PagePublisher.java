@@ -0,0 +1,188 @@
+package ergast;
+
+import ergast.parser.Parser;
+
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Publishes every row of a paged query, page after page, as the rows are decoded from the responses. Each
+ * subscriber gets its own run of the query, started by its first request.
+ *
+ * <p>A page is only requested while the subscriber has asked for more rows than are waiting to be delivered,
+ * so a slow subscriber holds at most about one page in memory, and one page is in flight at a time. The first
+ * page's {@code MRData.total} tells where the query ends. Cancelling the subscription aborts the page in flight,
+ * also while its body is being read. Failures are signalled with {@code onError}, I/O failures as the
+ * {@link java.io.IOException} itself.</p>
+ */
+final class PagePublisher<T> implements Flow.Publisher<T> {
+
+    /**
+     * Loads the page starting at the given offset, handing every row to {@code sink} as soon as it is decoded,
+     * and completes with the total reported by the server.
+     */
+    interface StreamingPageLoader<T> {
+        CompletableFuture<Integer> load(int offset, Consumer<? super T> sink);
+    }
+
+    private final StreamingPageLoader<T> loader;
+    private final int startOffset;
+    private final int pageSize;
+
+    PagePublisher(StreamingPageLoader<T> loader, int startOffset, int pageSize) {
+        this.loader = loader;
+        this.startOffset = startOffset;
+        this.pageSize = pageSize;
+    }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super T> subscriber) {
+        Objects.requireNonNull(subscriber, "subscriber");
+        PageSubscription subscription = new PageSubscription(subscriber);
+        subscriber.onSubscribe(subscription);
+    }
+
+    private final class PageSubscription implements Flow.Subscription {
+        private final Flow.Subscriber<? super T> subscriber;
+        private final Queue<T> rows = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger queued = new AtomicInteger(); // Size of rows, which the queue cannot tell cheaply.
+        private final AtomicLong demand = new AtomicLong();
+        private final AtomicInteger work = new AtomicInteger(); // Serializes drain(); non-zero while it runs.
+        private volatile boolean cancelled; // Also set once a terminal signal has been sent.
+        private volatile CompletableFuture<Integer> loading; // The page in flight, null between pages.
+        private volatile Throwable failure; // Signalled once no page is in flight; queued rows are dropped.
+        private volatile int end = Integer.MAX_VALUE; // Offset past the last row, known once the first page is in.
+        private volatile int nextOffset = startOffset; // Offset of the next page; only advanced by drain().
+
+        PageSubscription(Flow.Subscriber<? super T> subscriber) {
+            this.subscriber = subscriber;
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                failure = new IllegalArgumentException("Requested " + n + " rows; the demand must be positive.");
+                cancelLoading();
+            } else {
+                demand.getAndAccumulate(n, (current, added) -> current + added < 0 ? Long.MAX_VALUE : current + added);
+            }
+            drain();
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+            cancelLoading();
+            drain();
+        }
+
+        // Called by the parser for every row decoded; aborts reading the body once the subscription is cancelled.
+        private void offer(T row) {
+            if (cancelled) {
+                throw new CancellationException();
+            }
+            rows.offer(row);
+            queued.incrementAndGet();
+            drain();
+        }
+
+        private void pageLoaded(Integer total, Throwable error) {
+            if (error != null) {
+                Throwable cause = error instanceof CompletionException && error.getCause() != null
+                        ? error.getCause() : error;
+                if (!(cause instanceof CancellationException)) {
+                    failure = cause;
+                }
+            } else if (end == Integer.MAX_VALUE) {
+                // Without a total there is no way to tell how many pages exist, so stop after this one.
+                end = total == Parser.UNKNOWN_TOTAL ? nextOffset : total;
+            }
+            loading = null;
+            drain();
+        }
+
+        private void cancelLoading() {
+            CompletableFuture<Integer> page = loading;
+            if (page != null) {
+                page.cancel(true);
+            }
+        }
+
+        // Delivers queued rows up to the demand, signals the end and starts the next page when rows are wanted.
+        // Only one thread runs the loop; callers arriving meanwhile make it go round once more.
+        private void drain() {
+            if (work.getAndIncrement() != 0) {
+                return;
+            }
+            int missed = 1;
+            do {
+                if (cancelled) {
+                    rows.clear();
+                    return;
+                }
+                if (failure != null && loading == null) {
+                    terminate(failure);
+                    return;
+                }
+                long wanted = demand.get();
+                long delivered = 0;
+                while (delivered < wanted && !cancelled) {
+                    T row = rows.poll();
+                    if (row == null) {
+                        break;
+                    }
+                    queued.decrementAndGet();
+                    subscriber.onNext(row);
+                    delivered++;
+                }
+                if (delivered > 0 && wanted != Long.MAX_VALUE) {
+                    demand.addAndGet(-delivered);
+                }
+                if (cancelled) {
+                    rows.clear();
+                    return;
+                }
+                if (loading == null && rows.isEmpty() && nextOffset >= end) {
+                    cancelled = true;
+                    subscriber.onComplete();
+                    return;
+                }
+                if (loading == null && failure == null && nextOffset < end && demand.get() > queued.get()) {
+                    load();
+                }
+                missed = work.addAndGet(-missed);
+            } while (missed != 0);
+        }
+
+        private void load() {
+            int offset = nextOffset;
+            nextOffset += pageSize;
+            CompletableFuture<Integer> page;
+            try {
+                page = loader.load(offset, this::offer);
+            } catch (RuntimeException e) {
+                page = CompletableFuture.failedFuture(e);
+            }
+            // Assigned before the completion handler is registered, which is what clears it again.
+            loading = page;
+            if (cancelled) {
+                page.cancel(true);
+            }
+            page.whenComplete(this::pageLoaded);
+        }
+
+        private void terminate(Throwable error) {
+            cancelled = true;
+            rows.clear();
+            subscriber.onError(error);
+        }
+    }
+}
@@ -0,0 +1,376 @@
+package ergast;
+
+import ergast.exceptions.QueryLimitException;
+import ergast.exceptions.QueryOffsetException;
+import ergast.exceptions.SeasonException;
+import ergast.objects.*;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * An immutable request to one endpoint, including the filters the Ergast API applies on the server, so that
+ * only the rows needed are downloaded. Every method returns a new query:
+ *
+ * <pre>
+ * Query&lt;RaceResult&gt; wins = Query.results().season(2016).driver("hamilton").position(1).limit(100);
+ * List&lt;RaceResult&gt; rows = new Ergast().get(wins);
+ * </pre>
+ *
+ * <p>A query without a season spans every season, e.g. all of a driver's results. The path of the URL is
+ * built once per query, into a single {@link StringBuilder} sized up front.</p>
+ */
+public final class Query<T> {
+
+    // Internal markers next to Ergast.NO_SEASON and Ergast.NO_ROUND.
+    private static final int CURRENT = 0;
+    private static final int LAST = 0;
+
+    /**
+     * Server-side filters, in the order they appear in the URL.
+     */
+    private enum Filter {
+        DRIVER("drivers"),
+        CONSTRUCTOR("constructors"),
+        CIRCUIT("circuits"),
+        GRID("grid"),
+        POSITION("results"), // Qualifying and standings filter positions by their own request instead.
+        FASTEST("fastest"),
+        STATUS("status"),
+        LAP("laps"),
+        STOP("pitstops");
+
+        private static final Filter[] VALUES = values();
+
+        private final String segment;
+
+        Filter(String segment) {
+            this.segment = segment;
+        }
+    }
+
+    private final Endpoint<T> endpoint;
+    private final int season; // Ergast.NO_SEASON for all seasons, CURRENT for the current one.
+    private final int round; // Ergast.NO_ROUND for the whole season, LAST for the latest round.
+    private final String[] filters; // Values by Filter ordinal, null where unfiltered.
+    private final int limit;
+    private final int offset;
+    private String path; // Built on first use; racing threads build equal strings.
+
+    private Query(Endpoint<T> endpoint, int season, int round, String[] filters, int limit, int offset) {
+        this.endpoint = endpoint;
+        this.season = season;
+        this.round = round;
+        this.filters = filters;
+        this.limit = limit;
+        this.offset = offset;
+    }
+
+    public static <T> Query<T> of(Endpoint<T> endpoint) {
+        return new Query<>(Objects.requireNonNull(endpoint, "endpoint"), Ergast.NO_SEASON, Ergast.NO_ROUND,
+                new String[Filter.VALUES.length], Ergast.DEFAULT_LIMIT, Ergast.DEFAULT_OFFSET);
+    }
+
+    public static Query<Driver> drivers() {
+        return of(Endpoint.DRIVERS);
+    }
+
+    public static Query<Schedule> schedule() {
+        return of(Endpoint.SCHEDULE);
+    }
+
+    public static Query<Circuit> circuits() {
+        return of(Endpoint.CIRCUITS);
+    }
+
+    public static Query<Season> seasons() {
+        return of(Endpoint.SEASONS);
+    }
+
+    public static Query<Constructor> constructors() {
+        return of(Endpoint.CONSTRUCTORS);
+    }
+
+    public static Query<RaceResult> results() {
+        return of(Endpoint.RESULTS);
+    }
+
+    public static Query<Qualification> qualifying() {
+        return of(Endpoint.QUALIFYING);
+    }
+
+    public static Query<DriverStandings> driverStandings() {
+        return of(Endpoint.DRIVER_STANDINGS);
+    }
+
+    public static Query<ConstructorStandings> constructorStandings() {
+        return of(Endpoint.CONSTRUCTOR_STANDINGS);
+    }
+
+    public static Query<FinishingStatus> finishingStatus() {
+        return of(Endpoint.FINISHING_STATUS);
+    }
+
+    public static Query<LapTimes> lapTimes() {
+        return of(Endpoint.LAP_TIMES);
+    }
+
+    public static Query<RacePitStops> pitStops() {
+        return of(Endpoint.PIT_STOPS);
+    }
+
+    public Query<T> season(int season) {
+        if (season < 1) {
+            throw new SeasonException("Invalid season " + season);
+        }
+        return new Query<>(endpoint, season, round, filters, limit, offset);
+    }
+
+    public Query<T> currentSeason() {
+        return new Query<>(endpoint, CURRENT, round, filters, limit, offset);
+    }
+
+    public Query<T> round(int round) {
+        if (round < 1) {
+            throw new IllegalArgumentException("Invalid round " + round);
+        }
+        return new Query<>(endpoint, season, round, filters, limit, offset);
+    }
+
+    public Query<T> lastRound() {
+        return new Query<>(endpoint, season, LAST, filters, limit, offset);
+    }
+
+    // Ids as they appear in Ergast URLs, e.g. "max_verstappen".
+    public Query<T> driver(String driverId) {
+        return filter(Filter.DRIVER, id(driverId));
+    }
+
+    public Query<T> constructor(String constructorId) {
+        return filter(Filter.CONSTRUCTOR, id(constructorId));
+    }
+
+    public Query<T> circuit(String circuitId) {
+        return filter(Filter.CIRCUIT, id(circuitId));
+    }
+
+    // Grid position 0 is a pit lane start.
+    public Query<T> grid(int grid) {
+        return filter(Filter.GRID, number(grid, 0));
+    }
+
+    /**
+     * Finishing position for results, qualifying position for qualifying and championship position for
+     * standings; on other endpoints, whatever took part in a race finished in that position.
+     */
+    public Query<T> position(int position) {
+        return filter(Filter.POSITION, number(position, 1));
+    }
+
+    // Rank of the fastest lap of the race.
+    public Query<T> fastest(int rank) {
+        return filter(Filter.FASTEST, number(rank, 1));
+    }
+
+    // Finishing status id, as listed by Query.finishingStatus().
+    public Query<T> status(String statusId) {
+        return filter(Filter.STATUS, id(statusId));
+    }
+
+    public Query<T> lap(int lap) {
+        return filter(Filter.LAP, number(lap, 1));
+    }
+
+    public Query<T> stop(int stop) {
+        return filter(Filter.STOP, number(stop, 1));
+    }
+
+    public Query<T> limit(int limit) {
+        if (limit < 1 || limit > 1000) {
+            throw new QueryLimitException("Limit must be between 1 and 1000.");
+        }
+        return new Query<>(endpoint, season, round, filters, limit, offset);
+    }
+
+    public Query<T> offset(int offset) {
+        if (offset < 0) {
+            throw new QueryOffsetException("Offset must be a non-negative integer.");
+        }
+        return new Query<>(endpoint, season, round, filters, limit, offset);
+    }
+
+    // The season and round of the per-instance API: NO_SEASON means the current season, NO_ROUND none.
+    Query<T> at(int season, int round) {
+        Query<T> query = season == Ergast.NO_SEASON ? currentSeason() : season(season);
+        return round == Ergast.NO_ROUND ? query : query.round(round);
+    }
+
+    public Endpoint<T> getEndpoint() {
+        return endpoint;
+    }
+
+    /**
+     * Returns the season queried, or {@link Ergast#NO_SEASON} for all seasons or the current one.
+     */
+    public int getSeason() {
+        return season == CURRENT ? Ergast.NO_SEASON : season;
+    }
+
+    /**
+     * Returns the round queried, or {@link Ergast#NO_ROUND} for all rounds or the last one.
+     */
+    public int getRound() {
+        return round == LAST ? Ergast.NO_ROUND : round;
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public int getOffset() {
+        return offset;
+    }
+
+    /**
+     * Returns the URL of this query below the given API base, e.g. {@code http://ergast.com/api/f1}.
+     */
+    public String toUrl(String baseUrl) {
+        return baseUrl.concat(path());
+    }
+
+    // Validates season and round against the endpoint's requirements.
+    void checkScope() {
+        boolean hasSeason = season != Ergast.NO_SEASON;
+        boolean hasRound = round != Ergast.NO_ROUND;
+        if (hasRound && !hasSeason) {
+            throw new SeasonException("Season must be specified if round is specified.");
+        }
+        if (endpoint.getScope() == Endpoint.Scope.SEASON_AND_ROUND && !hasRound) {
+            if (!hasSeason) {
+                throw new SeasonException("Season must be specified for this request.");
+            }
+            throw new IllegalArgumentException("Round must be specified for this request.");
+        }
+    }
+
+    private String path() {
+        String built = path;
+        if (built == null) {
+            built = buildPath();
+            path = built;
+        }
+        return built;
+    }
+
+    private String buildPath() {
+        String request = endpoint.getRequest();
+        Filter own = ownFilter();
+        // "/2016/21" plus ".json?limit=1000&offset=" and the offset take at most 48 characters.
+        int length = 48 + request.length();
+        for (Filter filter : Filter.VALUES) {
+            String value = filters[filter.ordinal()];
+            if (value != null) {
+                length += filter.segment.length() + value.length() + 2;
+            }
+        }
+        StringBuilder sb = new StringBuilder(length);
+        if (season == CURRENT) {
+            sb.append("/current");
+        } else if (season != Ergast.NO_SEASON) {
+            sb.append('/').append(season);
+        }
+        if (round == LAST) {
+            sb.append("/last");
+        } else if (round != Ergast.NO_ROUND) {
+            sb.append('/').append(round);
+        }
+        for (Filter filter : Filter.VALUES) {
+            String value = filters[filter.ordinal()];
+            if (value != null && filter != own) {
+                sb.append('/').append(filter == Filter.POSITION ? positionSegment() : filter.segment)
+                        .append('/').append(value);
+            }
+        }
+        sb.append('/').append(request);
+        if (own != null && filters[own.ordinal()] != null) {
+            sb.append('/').append(filters[own.ordinal()]);
+        }
+        return sb.append(".json?limit=").append(limit).append("&offset=").append(offset).toString();
+    }
+
+    // The filter that names a single row of the endpoint itself, as in "/drivers/alonso.json".
+    private Filter ownFilter() {
+        String request = endpoint.getRequest();
+        if (request.equals(positionSegment())) {
+            return Filter.POSITION;
+        }
+        for (Filter filter : Filter.VALUES) {
+            if (filter != Filter.POSITION && filter.segment.equals(request)) {
+                return filter;
+            }
+        }
+        return null;
+    }
+
+    private String positionSegment() {
+        if (endpoint.getRequest().equals(Endpoint.QUALIFYING.getRequest())
+                || endpoint.getRequest().equals(Endpoint.DRIVER_STANDINGS.getRequest())
+                || endpoint.getRequest().equals(Endpoint.CONSTRUCTOR_STANDINGS.getRequest())) {
+            return endpoint.getRequest();
+        }
+        return Filter.POSITION.segment;
+    }
+
+    private Query<T> filter(Filter filter, String value) {
+        String[] copy = filters.clone();
+        copy[filter.ordinal()] = value;
+        return new Query<>(endpoint, season, round, copy, limit, offset);
+    }
+
+    // Ids end up in the URL path, so only the characters Ergast ids are made of are accepted.
+    private static String id(String id) {
+        Objects.requireNonNull(id, "id");
+        if (id.isEmpty()) {
+            throw new IllegalArgumentException("Empty id");
+        }
+        for (int i = 0; i < id.length(); i++) {
+            char c = id.charAt(i);
+            if (!(c >= 'a' && c <= 'z' || c >= 'A' && c <= 'Z' || c >= '0' && c <= '9' || c == '_')) {
+                throw new IllegalArgumentException("Invalid id " + id);
+            }
+        }
+        return id;
+    }
+
+    private static String number(int value, int min) {
+        if (value < min) {
+            throw new IllegalArgumentException("Invalid filter value " + value);
+        }
+        return Integer.toString(value);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof Query)) {
+            return false;
+        }
+        Query<?> other = (Query<?>) o;
+        return season == other.season && round == other.round && limit == other.limit && offset == other.offset
+                && endpoint.getRequest().equals(other.endpoint.getRequest())
+                && endpoint.getType() == other.endpoint.getType() && Arrays.equals(filters, other.filters);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(endpoint.getRequest(), endpoint.getType(), season, round, Arrays.hashCode(filters),
+                limit, offset);
+    }
+
+    @Override
+    public String toString() {
+        return path();
+    }
+}
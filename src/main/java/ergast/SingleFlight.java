@@ -0,0 +1,125 @@
+package ergast;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+
+/**
+ * Deduplicates concurrent identical calls. While a call for a key is in flight, further calls for the
+ * same key attach to it instead of starting their own; once it completes, the next call starts afresh.
+ *
+ * <p>Every caller receives its own future holding what the copy function makes of the shared result, and
+ * callers cannot cancel each other: the shared call is only cancelled once every caller attached to it has
+ * cancelled. How private each caller's result is depends on the copy function; {@link Page#copy()} copies only
+ * the list, so the rows in it are the same objects for every caller and must not be modified.</p>
+ */
+public class SingleFlight {
+
+    private final ConcurrentHashMap<String, Flight<?>> inFlight = new ConcurrentHashMap<>();
+    private final LongAdder calls = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+
+    /**
+     * Runs {@code call} for the key unless a call for it is already in flight, in which case that call's
+     * result is shared.
+     *
+     * @param key  Identifies identical calls.
+     * @param call Starts the call; invoked at most once per flight.
+     * @param copy Produces the copy handed to each caller.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> CompletableFuture<T> execute(String key, Supplier<CompletableFuture<T>> call, UnaryOperator<T> copy) {
+        calls.increment();
+        while (true) {
+            Flight<T> flight = (Flight<T>) inFlight.get(key);
+            boolean leader = false;
+            if (flight == null) {
+                Flight<T> created = new Flight<>();
+                flight = (Flight<T>) inFlight.putIfAbsent(key, created);
+                if (flight == null) {
+                    flight = created;
+                    leader = true;
+                }
+            }
+            if (flight.result.isDone() || !flight.attach()) {
+                // The flight already completed, or every caller of it cancelled; it is on its way out of the map.
+                inFlight.remove(key, flight);
+                continue;
+            }
+            if (leader) {
+                start(key, flight, call);
+            } else {
+                coalesced.increment();
+            }
+            return flight.follow(copy);
+        }
+    }
+
+    // Number of calls made, including coalesced ones.
+    public long getCalls() {
+        return calls.sum();
+    }
+
+    // Number of calls that attached to a call already in flight.
+    public long getCoalesced() {
+        return coalesced.sum();
+    }
+
+    // Number of distinct calls currently in flight.
+    public int getInFlight() {
+        return inFlight.size();
+    }
+
+    private <T> void start(String key, Flight<T> flight, Supplier<CompletableFuture<T>> call) {
+        flight.result.whenComplete((value, failure) -> inFlight.remove(key, flight));
+        CompletableFuture<T> upstream;
+        try {
+            upstream = call.get();
+        } catch (RuntimeException e) {
+            flight.result.completeExceptionally(e);
+            return;
+        }
+        upstream.whenComplete((value, failure) -> {
+            // Removed before completing, so that callers reacting to the result start a fresh call.
+            inFlight.remove(key, flight);
+            if (failure != null) {
+                flight.result.completeExceptionally(failure);
+            } else {
+                flight.result.complete(value);
+            }
+        });
+        ErgastClient.propagateCancellation(flight.result, upstream);
+    }
+
+    /**
+     * One shared call and the number of callers still waiting for it; -1 once all of them cancelled.
+     */
+    private static final class Flight<T> {
+        private final CompletableFuture<T> result = new CompletableFuture<>();
+        private final AtomicInteger waiters = new AtomicInteger();
+
+        boolean attach() {
+            int current;
+            do {
+                current = waiters.get();
+                if (current < 0) {
+                    return false;
+                }
+            } while (!waiters.compareAndSet(current, current + 1));
+            return true;
+        }
+
+        CompletableFuture<T> follow(UnaryOperator<T> copy) {
+            CompletableFuture<T> own = result.thenApply(copy);
+            own.whenComplete((value, failure) -> {
+                if (own.isCancelled() && waiters.decrementAndGet() == 0 && waiters.compareAndSet(0, -1)) {
+                    result.cancel(true);
+                }
+            });
+            return own;
+        }
+    }
+}
@@ -1,11 +1,6 @@
 package ergast;
 
 import ergast.objects.RacePitStops;
-import ergast.objects.Schedule;
-import ergast.objects.Season;
-import org.apache.commons.csv.CSVFormat;
-import org.apache.commons.csv.CSVPrinter;
-import java.io.FileWriter;
 import java.io.IOException;
 import java.util.List;
 
@@ -14,7 +9,7 @@ public class Start {
         try {
             Ergast ergast = new Ergast(2016, 100, 2);
             List<RacePitStops> results = ergast.getRacePitStops(21);
-            //writeListToCSV(results);
+            //Export.write(results.stream(), Paths.get("RacePitStops.ndjson"), ExportFormat.NDJSON, RacePitStops.class, false);
 
             results.forEach(result -> System.out.println(result));
 
@@ -22,24 +17,4 @@ public class Start {
             e.printStackTrace();
         }
     }
-
-    private static <T> void writeListToCSV(List<T> list) throws IOException {
-        if (list == null || list.isEmpty()) {
-            System.out.println("List is empty or null.");
-            return;
-        }
-
-        String className = list.get(0).getClass().getSimpleName();
-        String fileName = className + ".csv";
-
-        try (
-                FileWriter writer = new FileWriter(fileName);
-                CSVPrinter csvPrinter = new CSVPrinter(writer, CSVFormat.DEFAULT.withHeader("Data"))
-        ) {
-            for (T item : list) {
-                csvPrinter.printRecord(item.toString());
-            }
-            csvPrinter.flush();
-        }
-    }
 }
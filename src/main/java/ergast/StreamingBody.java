@@ -0,0 +1,169 @@
+package ergast;
+
+import java.io.*;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * The body of a response read while it arrives: the bytes received are counted, a gzip-encoded body is decoded
+ * on the fly and, when the body is to be cached, the characters read are copied aside. The HttpClient queues at
+ * most a few buffers ahead of the reader, so reading a response takes the same memory whatever its size,
+ * besides the copy for the cache.
+ */
+final class StreamingBody implements Closeable {
+
+    // Same size as the buffers the HttpClient delivers.
+    private static final int BUFFER_SIZE = 16 * 1024;
+
+    private final InputStream raw;
+    private final CountingInputStream wire;
+    private final Reader reader;
+    private final StringBuilder copy; // Null unless the body is kept.
+
+    private StreamingBody(InputStream raw, CountingInputStream wire, Reader reader, StringBuilder copy) {
+        this.raw = raw;
+        this.wire = wire;
+        this.reader = reader;
+        this.copy = copy;
+    }
+
+    /**
+     * Hands successful responses over as a stream that is read while the body arrives. Bodies of other statuses
+     * are small and read in full, so that a response the scheduler discards or retries leaves no stream open.
+     */
+    static HttpResponse.BodySubscriber<InputStream> subscriber(HttpResponse.ResponseInfo info) {
+        if (info.statusCode() == 200) {
+            return HttpResponse.BodySubscribers.ofInputStream();
+        }
+        return HttpResponse.BodySubscribers.mapping(HttpResponse.BodySubscribers.ofByteArray(),
+                ByteArrayInputStream::new);
+    }
+
+    /**
+     * Opens the body of a response received with {@link #subscriber}; {@code keepCopy} makes {@link #finish()}
+     * return the body. The body is closed if it cannot be opened.
+     */
+    static StreamingBody open(HttpResponse<InputStream> response, boolean keepCopy) throws IOException {
+        InputStream raw = response.body();
+        try {
+            CountingInputStream wire = new CountingInputStream(raw);
+            boolean gzip = response.headers().firstValue("Content-Encoding").map("gzip"::equalsIgnoreCase)
+                    .orElse(false);
+            InputStream decoded = gzip ? new GZIPInputStream(wire, BUFFER_SIZE) : wire;
+            StringBuilder copy = null;
+            if (keepCopy) {
+                long length = gzip ? -1 : response.headers().firstValueAsLong("Content-Length").orElse(-1);
+                copy = new StringBuilder(length > 0 && length < Integer.MAX_VALUE ? (int) length : BUFFER_SIZE);
+            }
+            Reader reader = new BodyReader(new InputStreamReader(decoded, StandardCharsets.UTF_8), copy);
+            return new StreamingBody(raw, wire, reader, copy);
+        } catch (IOException | RuntimeException e) {
+            raw.close();
+            throw e;
+        }
+    }
+
+    // Closing the reader leaves the body open, so that finish() can still read the rest.
+    Reader reader() {
+        return reader;
+    }
+
+    // Bytes received over the network so far, before decoding.
+    long bytesReceived() {
+        return wire.count;
+    }
+
+    /**
+     * Reads whatever the consumer of {@link #reader()} left, usually trailing whitespace, so that the connection
+     * can be reused, and returns the complete body if it was kept, null otherwise.
+     */
+    String finish() throws IOException {
+        char[] rest = new char[BUFFER_SIZE];
+        while (reader.read(rest) != -1) {
+            // Copied aside by the reader if the body is kept.
+        }
+        return copy == null ? null : copy.toString();
+    }
+
+    /**
+     * Closes the stream; while the body is still arriving, this aborts the exchange.
+     */
+    @Override
+    public void close() throws IOException {
+        raw.close();
+    }
+
+    private static final class CountingInputStream extends FilterInputStream {
+        private volatile long count;
+
+        CountingInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b != -1) {
+                count++;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int n = super.read(b, off, len);
+            if (n > 0) {
+                count += n;
+            }
+            return n;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = super.skip(n);
+            count += skipped;
+            return skipped;
+        }
+    }
+
+    // Copies every character read into a buffer, if given one, and leaves closing to the StreamingBody.
+    private static final class BodyReader extends FilterReader {
+        private final StringBuilder copy; // Null unless the body is kept.
+
+        BodyReader(Reader in, StringBuilder copy) {
+            super(in);
+            this.copy = copy;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int c = super.read();
+            if (c != -1 && copy != null) {
+                copy.append((char) c);
+            }
+            return c;
+        }
+
+        @Override
+        public int read(char[] cbuf, int off, int len) throws IOException {
+            int n = super.read(cbuf, off, len);
+            if (n > 0 && copy != null) {
+                copy.append(cbuf, off, n);
+            }
+            return n;
+        }
+
+        @Override
+        public void close() {
+            // The parser closes what it reads; the body is drained and closed by the StreamingBody.
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            char[] skipped = new char[(int) Math.min(n, BUFFER_SIZE)];
+            int read = read(skipped, 0, skipped.length);
+            return Math.max(read, 0);
+        }
+    }
+}
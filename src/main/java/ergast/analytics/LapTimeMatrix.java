@@ -0,0 +1,247 @@
+package ergast.analytics;
+
+import ergast.objects.Lap;
+import ergast.objects.LapTimes;
+import ergast.objects.Timing;
+import ergast.parser.TimeParser;
+
+import java.util.*;
+
+/**
+ * Lap times of one race stored column-wise as primitive milliseconds. Driver ids are interned to
+ * indexes {@code 0..driverCount()-1} in order of first appearance, and the times live in a single
+ * {@code int[]} laid out driver by driver, so one driver's race is a contiguous run of
+ * {@link #lapCount()} ints. Laps a driver did not complete hold {@link #NO_TIME}. The position at the end
+ * of every lap is kept the same way in a {@code byte[]}.
+ *
+ * <p>A 70-lap, 20-driver race takes about 7 KB instead of roughly 1,400 {@link Timing} objects with
+ * their strings. Instances are immutable and safe to share between threads.</p>
+ */
+public final class LapTimeMatrix {
+
+    // Marks a lap the driver did not complete; equal to TimeParser.NO_TIME.
+    public static final int NO_TIME = (int) TimeParser.NO_TIME;
+
+    private final String[] driverIds;
+    private final Map<String, Integer> driverIndexes;
+    private final int laps;
+    private final int[] millis; // millis[driver * laps + lap - 1]
+    private final byte[] positions; // Same layout, 0 where unknown.
+    private volatile long[] elapsed; // Cumulative race time, computed on first use.
+
+    private LapTimeMatrix(String[] driverIds, Map<String, Integer> driverIndexes, int laps, int[] millis,
+                          byte[] positions) {
+        this.driverIds = driverIds;
+        this.driverIndexes = driverIndexes;
+        this.laps = laps;
+        this.millis = millis;
+        this.positions = positions;
+    }
+
+    /**
+     * Builds the matrix from the output of {@code Ergast.getLapTimes} or {@code Ergast.fetchAll}. Several
+     * pages of the same race may be passed; their laps are merged by lap number.
+     */
+    public static LapTimeMatrix of(List<LapTimes> lapTimes) {
+        Map<String, Integer> indexes = new LinkedHashMap<>();
+        int maxLap = 0;
+        for (LapTimes page : lapTimes) {
+            for (Lap lap : lapsOf(page)) {
+                maxLap = Math.max(maxLap, lap.getNumber());
+                for (Timing timing : lap.getTimings()) {
+                    indexes.putIfAbsent(timing.getDriverId(), indexes.size());
+                }
+            }
+        }
+
+        int[] millis = new int[indexes.size() * maxLap];
+        byte[] positions = new byte[millis.length];
+        Arrays.fill(millis, NO_TIME);
+        for (LapTimes page : lapTimes) {
+            for (Lap lap : lapsOf(page)) {
+                for (Timing timing : lap.getTimings()) {
+                    int i = indexes.get(timing.getDriverId()) * maxLap + lap.getNumber() - 1;
+                    millis[i] = (int) timing.getTimeMillis();
+                    positions[i] = (byte) Math.min(Math.max(timing.getPosition(), 0), Byte.MAX_VALUE);
+                }
+            }
+        }
+        return new LapTimeMatrix(indexes.keySet().toArray(new String[0]),
+                Collections.unmodifiableMap(indexes), maxLap, millis, positions);
+    }
+
+    public int driverCount() {
+        return driverIds.length;
+    }
+
+    public int lapCount() {
+        return laps;
+    }
+
+    public String driverId(int driver) {
+        return driverIds[driver];
+    }
+
+    /**
+     * Returns the index of the driver, or -1 if the driver has no laps in this race.
+     */
+    public int driverIndex(String driverId) {
+        Integer index = driverIndexes.get(driverId);
+        return index == null ? -1 : index;
+    }
+
+    /**
+     * Returns the time of a lap (1-based) in milliseconds, or {@link #NO_TIME}.
+     */
+    public int lapTime(int driver, int lap) {
+        return millis[driver * laps + lap - 1];
+    }
+
+    public int lapTime(String driverId, int lap) {
+        return lapTime(requireDriver(driverId), lap);
+    }
+
+    /**
+     * Returns the position of the driver at the end of a lap (1-based), or 0 if the driver did not complete it.
+     */
+    public int position(int driver, int lap) {
+        return positions[driver * laps + lap - 1];
+    }
+
+    /**
+     * Returns the number of laps the driver completed.
+     */
+    public int lapsCompleted(int driver) {
+        int completed = 0;
+        for (int i = driver * laps, end = i + laps; i < end; i++) {
+            if (millis[i] != NO_TIME) {
+                completed++;
+            }
+        }
+        return completed;
+    }
+
+    /**
+     * Average lap time of each stint in milliseconds. A stint ends with the in-lap of a pit stop, so
+     * {@code pitLaps} {4, 30} split the race into laps 1-4, 5-30 and 31 to the end. Missing laps are
+     * skipped; a stint without any lap averages to {@code NaN}.
+     */
+    public double[] stintAverages(String driverId, int... pitLaps) {
+        int driver = requireDriver(driverId);
+        int[] boundaries = pitLaps.clone();
+        Arrays.sort(boundaries);
+        double[] averages = new double[boundaries.length + 1];
+        int from = 1;
+        for (int stint = 0; stint < averages.length; stint++) {
+            int to = stint < boundaries.length ? Math.min(boundaries[stint], laps) : laps;
+            averages[stint] = average(driver, from, to);
+            from = to + 1;
+        }
+        return averages;
+    }
+
+    /**
+     * Gap to the race leader at the end of every lap in milliseconds, measured on cumulative race time.
+     * Element {@code i} belongs to lap {@code i + 1}; laps the driver did not complete hold {@link #NO_TIME}.
+     */
+    public long[] gapToLeader(String driverId) {
+        int driver = requireDriver(driverId);
+        long[] cumulative = elapsed();
+        long[] gaps = new long[laps];
+        for (int lap = 0; lap < laps; lap++) {
+            long own = cumulative[driver * laps + lap];
+            if (own == NO_TIME) {
+                gaps[lap] = NO_TIME;
+                continue;
+            }
+            long leader = own;
+            for (int other = lap; other < cumulative.length; other += laps) {
+                long time = cumulative[other];
+                if (time != NO_TIME && time < leader) {
+                    leader = time;
+                }
+            }
+            gaps[lap] = own - leader;
+        }
+        return gaps;
+    }
+
+    /**
+     * Returns the best lap of the driver in milliseconds, or {@link #NO_TIME} if the driver has no laps.
+     */
+    public int fastestLap(int driver) {
+        int best = Integer.MAX_VALUE;
+        for (int i = driver * laps, end = i + laps; i < end; i++) {
+            int time = millis[i];
+            if (time != NO_TIME && time < best) {
+                best = time;
+            }
+        }
+        return best == Integer.MAX_VALUE ? NO_TIME : best;
+    }
+
+    /**
+     * Driver ids ordered by their fastest lap, quickest first; drivers without laps come last.
+     */
+    public List<String> fastestLapRanking() {
+        long[] keyed = new long[driverIds.length];
+        for (int driver = 0; driver < driverIds.length; driver++) {
+            int best = fastestLap(driver);
+            // Sort by time, then by index; both fit in one long so a primitive sort does the job.
+            keyed[driver] = ((long) (best == NO_TIME ? Integer.MAX_VALUE : best) << 32) | driver;
+        }
+        Arrays.sort(keyed);
+        List<String> ranking = new ArrayList<>(keyed.length);
+        for (long key : keyed) {
+            ranking.add(driverIds[(int) key]);
+        }
+        return ranking;
+    }
+
+    private double average(int driver, int fromLap, int toLap) {
+        long sum = 0;
+        int count = 0;
+        for (int lap = fromLap; lap <= toLap; lap++) {
+            int time = millis[driver * laps + lap - 1];
+            if (time != NO_TIME) {
+                sum += time;
+                count++;
+            }
+        }
+        return count == 0 ? Double.NaN : (double) sum / count;
+    }
+
+    // Concurrent callers may compute the array twice; it is filled before the volatile write publishes it, so
+    // no caller sees a partial one.
+    private long[] elapsed() {
+        long[] cumulative = elapsed;
+        if (cumulative == null) {
+            cumulative = new long[millis.length];
+            for (int driver = 0; driver < driverIds.length; driver++) {
+                long total = 0;
+                for (int i = driver * laps, end = i + laps; i < end; i++) {
+                    if (millis[i] == NO_TIME || total == NO_TIME) {
+                        total = NO_TIME; // Once a lap is missing the driver is out of the race.
+                    } else {
+                        total += millis[i];
+                    }
+                    cumulative[i] = total;
+                }
+            }
+            elapsed = cumulative;
+        }
+        return cumulative;
+    }
+
+    private int requireDriver(String driverId) {
+        int driver = driverIndex(driverId);
+        if (driver < 0) {
+            throw new IllegalArgumentException("No laps for driver " + driverId);
+        }
+        return driver;
+    }
+
+    private static List<Lap> lapsOf(LapTimes page) {
+        return page.getLaps() == null ? Collections.emptyList() : page.getLaps();
+    }
+}
@@ -0,0 +1,393 @@
+package ergast.analytics;
+
+import ergast.objects.LapTimes;
+import ergast.objects.PitStop;
+import ergast.objects.RacePitStops;
+
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+
+/**
+ * Strategy figures of one race, derived from its lap times and pit stops in a single pass: the stints of every
+ * driver, the time each pit stop cost, the position of every driver lap by lap, and the outcome of every
+ * undercut attempt. Everything is computed up front into primitive arrays; instances are immutable and safe to
+ * share between threads.
+ *
+ * <p>A stint ends with the in-lap of a pit stop. The time lost in a stop is the in-lap and the out-lap minus
+ * twice the driver's median lap, with the first lap and every in- and out-lap left out of the median. An
+ * undercut is attempted when a driver pits on the lap after running directly behind another, who pits within
+ * the following {@link #UNDERCUT_WINDOW} laps; it succeeds if the attacker is ahead at the end of the
+ * defender's out-lap, otherwise the defender's overcut worked.</p>
+ *
+ * <pre>
+ * RaceAnalysis race = RaceAnalysis.of(ergast.getLapTimes(21), ergast.getRacePitStops(21));
+ * int[] positions = race.positionTimeline("hamilton");
+ * </pre>
+ */
+public final class RaceAnalysis {
+
+    // Laps within which the defender has to answer a stop for it to count as an undercut attempt.
+    public static final int UNDERCUT_WINDOW = 5;
+
+    private final LapTimeMatrix matrix;
+
+    // Stints, flattened: those of driver d are stintOffsets[d] until stintOffsets[d + 1].
+    private final int[] stintOffsets;
+    private final int[] stintFirstLaps;
+    private final int[] stintLastLaps;
+    private final double[] stintAverages;
+
+    // Pit stops of drivers with lap times, ordered by lap.
+    private final int[] stopDrivers;
+    private final int[] stopLaps;
+    private final int[] stopDurations; // Pit lane time as timed by Ergast, NO_TIME if missing.
+    private final int[] stopLosses;
+
+    // Undercut attempts, ordered by the attacker's lap.
+    private final int[] attackers;
+    private final int[] defenders;
+    private final int[] attackLaps;
+    private final int[] answerLaps;
+    private final boolean[] undercutSucceeded;
+
+    private RaceAnalysis(LapTimeMatrix matrix, List<PitStop> pitStops) {
+        this.matrix = matrix;
+        int drivers = matrix.driverCount();
+
+        List<PitStop> stops = new ArrayList<>(pitStops.size());
+        for (PitStop stop : pitStops) {
+            if (matrix.driverIndex(stop.getDriverId()) >= 0 && stop.getLap() >= 1 && stop.getLap() <= matrix.lapCount()) {
+                stops.add(stop);
+            }
+        }
+        stops.sort(Comparator.comparingInt(PitStop::getLap).thenComparingInt(PitStop::getStop));
+
+        // Stop laps per driver, flattened the same way as the stints.
+        int[] stopOffsets = new int[drivers + 1];
+        for (PitStop stop : stops) {
+            stopOffsets[matrix.driverIndex(stop.getDriverId()) + 1]++;
+        }
+        for (int d = 0; d < drivers; d++) {
+            stopOffsets[d + 1] += stopOffsets[d];
+        }
+        int[] stopLapsByDriver = new int[stops.size()];
+        int[] fill = Arrays.copyOf(stopOffsets, drivers);
+        stopDrivers = new int[stops.size()];
+        stopLaps = new int[stops.size()];
+        stopDurations = new int[stops.size()];
+        for (int i = 0; i < stops.size(); i++) {
+            PitStop stop = stops.get(i);
+            int driver = matrix.driverIndex(stop.getDriverId());
+            stopLapsByDriver[fill[driver]++] = stop.getLap();
+            stopDrivers[i] = driver;
+            stopLaps[i] = stop.getLap();
+            stopDurations[i] = (int) stop.getDurationMillis();
+        }
+
+        stintOffsets = new int[drivers + 1];
+        int stintCount = 0;
+        for (int d = 0; d < drivers; d++) {
+            stintOffsets[d] = stintCount;
+            stintCount += stopOffsets[d + 1] - stopOffsets[d] + 1;
+        }
+        stintOffsets[drivers] = stintCount;
+        stintFirstLaps = new int[stintCount];
+        stintLastLaps = new int[stintCount];
+        stintAverages = new double[stintCount];
+        int[] medians = new int[drivers];
+        for (int d = 0; d < drivers; d++) {
+            int[] pitLaps = Arrays.copyOfRange(stopLapsByDriver, stopOffsets[d], stopOffsets[d + 1]);
+            double[] averages = matrix.stintAverages(matrix.driverId(d), pitLaps);
+            int lastLap = lastLap(d);
+            int firstLap = 1;
+            for (int s = 0; s < averages.length; s++) {
+                int i = stintOffsets[d] + s;
+                stintFirstLaps[i] = firstLap;
+                stintLastLaps[i] = s < pitLaps.length ? pitLaps[s] : Math.max(lastLap, firstLap - 1);
+                stintAverages[i] = averages[s];
+                firstLap = stintLastLaps[i] + 1;
+            }
+            medians[d] = medianRacingLap(d, pitLaps);
+        }
+
+        stopLosses = new int[stops.size()];
+        for (int i = 0; i < stopLosses.length; i++) {
+            stopLosses[i] = loss(stopDrivers[i], stopLaps[i], medians[stopDrivers[i]]);
+        }
+
+        int[][] undercuts = undercuts(stopOffsets, stopLapsByDriver);
+        attackers = undercuts[0];
+        defenders = undercuts[1];
+        attackLaps = undercuts[2];
+        answerLaps = undercuts[3];
+        undercutSucceeded = new boolean[attackers.length];
+        for (int i = 0; i < attackers.length; i++) {
+            int lap = answerLaps[i] + 1;
+            undercutSucceeded[i] = matrix.position(attackers[i], lap) < matrix.position(defenders[i], lap);
+        }
+    }
+
+    /**
+     * Analyses a race from the output of {@code Ergast.getLapTimes} and {@code Ergast.getRacePitStops}; several
+     * pages of each may be passed.
+     */
+    public static RaceAnalysis of(List<LapTimes> lapTimes, List<RacePitStops> pitStops) {
+        List<PitStop> stops = new ArrayList<>();
+        for (RacePitStops race : pitStops) {
+            if (race.getPitStops() != null) {
+                stops.addAll(race.getPitStops());
+            }
+        }
+        return of(LapTimeMatrix.of(lapTimes), stops);
+    }
+
+    public static RaceAnalysis of(LapTimeMatrix matrix, List<PitStop> pitStops) {
+        return new RaceAnalysis(Objects.requireNonNull(matrix, "matrix"), pitStops);
+    }
+
+    /**
+     * Analyses several races at once, one per core of the common fork/join pool.
+     *
+     * @see #ofRounds(Map, Map, ForkJoinPool)
+     */
+    public static SortedMap<Integer, RaceAnalysis> ofRounds(Map<Integer, ? extends List<LapTimes>> lapTimes,
+                                                           Map<Integer, ? extends List<RacePitStops>> pitStops) {
+        return ofRounds(lapTimes, pitStops, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Analyses the races of a season in parallel on the given pool. Both maps are keyed by round; a round without
+     * pit stops is analysed as a race without stops.
+     */
+    public static SortedMap<Integer, RaceAnalysis> ofRounds(Map<Integer, ? extends List<LapTimes>> lapTimes,
+                                                           Map<Integer, ? extends List<RacePitStops>> pitStops,
+                                                           ForkJoinPool pool) {
+        Map<Integer, RaceAnalysis> races = pool.submit(() -> lapTimes.keySet().parallelStream()
+                .collect(Collectors.toConcurrentMap(round -> round, round -> of(lapTimes.get(round),
+                        pitStops.containsKey(round) ? pitStops.get(round) : Collections.emptyList())))).join();
+        return new TreeMap<>(races);
+    }
+
+    public LapTimeMatrix getMatrix() {
+        return matrix;
+    }
+
+    public int stintCount(String driverId) {
+        int driver = requireDriver(driverId);
+        return stintOffsets[driver + 1] - stintOffsets[driver];
+    }
+
+    // Stints are numbered from 0; the first lap of the first stint is lap 1.
+    public int stintFirstLap(String driverId, int stint) {
+        return stintFirstLaps[stint(driverId, stint)];
+    }
+
+    // The in-lap of the stop ending the stint, or the driver's last lap for the final stint.
+    public int stintLastLap(String driverId, int stint) {
+        return stintLastLaps[stint(driverId, stint)];
+    }
+
+    // Average lap time of the stint in milliseconds, NaN if the driver completed none of its laps.
+    public double stintAverage(String driverId, int stint) {
+        return stintAverages[stint(driverId, stint)];
+    }
+
+    public int stopCount() {
+        return stopLaps.length;
+    }
+
+    public String stopDriverId(int stop) {
+        return matrix.driverId(stopDrivers[stop]);
+    }
+
+    public int stopLap(int stop) {
+        return stopLaps[stop];
+    }
+
+    // Time spent in the pit lane in milliseconds, or NO_TIME.
+    public int stopDuration(int stop) {
+        return stopDurations[stop];
+    }
+
+    /**
+     * Time the stop cost compared with racing laps in milliseconds, or {@link LapTimeMatrix#NO_TIME} if the
+     * in-lap, the out-lap or racing laps to compare with are missing.
+     */
+    public int stopLoss(int stop) {
+        return stopLosses[stop];
+    }
+
+    /**
+     * Position of the driver at the end of every lap; element {@code i} belongs to lap {@code i + 1}, 0 where
+     * the driver did not complete the lap.
+     */
+    public int[] positionTimeline(String driverId) {
+        int driver = requireDriver(driverId);
+        int[] timeline = new int[matrix.lapCount()];
+        for (int lap = 1; lap <= timeline.length; lap++) {
+            timeline[lap - 1] = matrix.position(driver, lap);
+        }
+        return timeline;
+    }
+
+    /**
+     * Places gained from the end of the first lap to the end of the driver's last lap; negative if places were lost.
+     */
+    public int positionsGained(String driverId) {
+        int driver = requireDriver(driverId);
+        int last = lastLap(driver);
+        if (last == 0 || matrix.position(driver, 1) == 0) {
+            return 0;
+        }
+        return matrix.position(driver, 1) - matrix.position(driver, last);
+    }
+
+    public int undercutCount() {
+        return attackers.length;
+    }
+
+    public String undercutAttacker(int undercut) {
+        return matrix.driverId(attackers[undercut]);
+    }
+
+    public String undercutDefender(int undercut) {
+        return matrix.driverId(defenders[undercut]);
+    }
+
+    // In-lap of the attacker's stop.
+    public int undercutLap(int undercut) {
+        return attackLaps[undercut];
+    }
+
+    // In-lap of the defender's answering stop.
+    public int undercutAnswerLap(int undercut) {
+        return answerLaps[undercut];
+    }
+
+    // Whether the attacker came out ahead; otherwise the defender's overcut worked.
+    public boolean undercutSucceeded(int undercut) {
+        return undercutSucceeded[undercut];
+    }
+
+    // Last lap the driver completed, 0 if none.
+    private int lastLap(int driver) {
+        for (int lap = matrix.lapCount(); lap >= 1; lap--) {
+            if (matrix.lapTime(driver, lap) != LapTimeMatrix.NO_TIME) {
+                return lap;
+            }
+        }
+        return 0;
+    }
+
+    // Median of the laps unaffected by the start and pit stops, NO_TIME if there are none.
+    private int medianRacingLap(int driver, int[] pitLaps) {
+        int[] times = new int[matrix.lapCount()];
+        int count = 0;
+        for (int lap = 2; lap <= matrix.lapCount(); lap++) {
+            int time = matrix.lapTime(driver, lap);
+            if (time != LapTimeMatrix.NO_TIME && !isPitLap(pitLaps, lap) && !isPitLap(pitLaps, lap - 1)) {
+                times[count++] = time;
+            }
+        }
+        if (count == 0) {
+            return LapTimeMatrix.NO_TIME;
+        }
+        Arrays.sort(times, 0, count);
+        return count % 2 == 1 ? times[count / 2] : (int) (((long) times[count / 2 - 1] + times[count / 2]) / 2);
+    }
+
+    private int loss(int driver, int lap, int median) {
+        if (median == LapTimeMatrix.NO_TIME || lap >= matrix.lapCount()) {
+            return LapTimeMatrix.NO_TIME;
+        }
+        int inLap = matrix.lapTime(driver, lap);
+        int outLap = matrix.lapTime(driver, lap + 1);
+        if (inLap == LapTimeMatrix.NO_TIME || outLap == LapTimeMatrix.NO_TIME) {
+            return LapTimeMatrix.NO_TIME;
+        }
+        return inLap + outLap - 2 * median;
+    }
+
+    // Finds the undercut attempts; returns attackers, defenders, attack laps and answer laps.
+    private int[][] undercuts(int[] stopOffsets, int[] stopLapsByDriver) {
+        int drivers = matrix.driverCount();
+        int[][] found = new int[4][stopLaps.length];
+        int count = 0;
+        for (int i = 0; i < stopLaps.length; i++) {
+            int attacker = stopDrivers[i];
+            int lap = stopLaps[i];
+            if (lap < 2) {
+                continue;
+            }
+            int before = matrix.position(attacker, lap - 1);
+            if (before <= 1) {
+                continue;
+            }
+            int defender = -1;
+            for (int d = 0; d < drivers && defender < 0; d++) {
+                if (matrix.position(d, lap - 1) == before - 1) {
+                    defender = d;
+                }
+            }
+            if (defender < 0) {
+                continue;
+            }
+            int answer = firstStopAfter(stopOffsets, stopLapsByDriver, defender, lap);
+            if (answer < 0 || answer - lap > UNDERCUT_WINDOW || answer + 1 > matrix.lapCount()) {
+                continue;
+            }
+            int again = firstStopAfter(stopOffsets, stopLapsByDriver, attacker, lap);
+            if (again >= 0 && again <= answer) {
+                continue; // The attacker stopped again before the answer, so the stops do not compare.
+            }
+            if (matrix.position(attacker, answer + 1) == 0 || matrix.position(defender, answer + 1) == 0) {
+                continue; // One of them did not make it to the end of the out-lap.
+            }
+            found[0][count] = attacker;
+            found[1][count] = defender;
+            found[2][count] = lap;
+            found[3][count] = answer;
+            count++;
+        }
+        for (int k = 0; k < found.length; k++) {
+            found[k] = Arrays.copyOf(found[k], count);
+        }
+        return found;
+    }
+
+    // In-lap of the driver's first stop after the given lap, -1 if there is none.
+    private static int firstStopAfter(int[] stopOffsets, int[] stopLapsByDriver, int driver, int lap) {
+        for (int i = stopOffsets[driver]; i < stopOffsets[driver + 1]; i++) {
+            if (stopLapsByDriver[i] > lap) {
+                return stopLapsByDriver[i];
+            }
+        }
+        return -1;
+    }
+
+    private static boolean isPitLap(int[] pitLaps, int lap) {
+        for (int pitLap : pitLaps) {
+            if (pitLap == lap) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private int stint(String driverId, int stint) {
+        int driver = requireDriver(driverId);
+        if (stint < 0 || stint >= stintOffsets[driver + 1] - stintOffsets[driver]) {
+            throw new IndexOutOfBoundsException("Stint " + stint + " of " + driverId);
+        }
+        return stintOffsets[driver] + stint;
+    }
+
+    private int requireDriver(String driverId) {
+        int driver = matrix.driverIndex(driverId);
+        if (driver < 0) {
+            throw new IllegalArgumentException("No laps for driver " + driverId);
+        }
+        return driver;
+    }
+}
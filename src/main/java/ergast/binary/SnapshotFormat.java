@@ -0,0 +1,62 @@
+package ergast.binary;
+
+/**
+ * Layout of a binary snapshot file. All numbers are big-endian.
+ *
+ * <pre>
+ * header       magic, version, then the file offset of each section below (ints)
+ * strings      count, count + 1 offsets into the UTF-8 data, the UTF-8 data
+ * drivers      count, fixed-width records sorted by driver id
+ * constructors count, fixed-width records sorted by constructor id
+ * circuits     count, fixed-width records sorted by circuit id
+ * seasons      count, fixed-width records sorted by season
+ * races        count, records of season, round, first result and result count, sorted by season and round
+ * results      count, fixed-width records grouped by race in the order of the race index
+ * </pre>
+ *
+ * Strings are stored once in the string table and referenced by their index, {@link #NO_STRING} for
+ * {@code null}. Results reference drivers and constructors by their record index.
+ */
+final class SnapshotFormat {
+
+    static final int MAGIC = 0x45524753; // "ERGS"
+    static final int VERSION = 2;
+
+    static final int NO_STRING = -1;
+
+    // Section offsets follow magic and version in the header, in this order.
+    static final int STRINGS = 0;
+    static final int DRIVERS = 1;
+    static final int CONSTRUCTORS = 2;
+    static final int CIRCUITS = 3;
+    static final int SEASONS = 4;
+    static final int RACES = 5;
+    static final int RESULTS = 6;
+    static final int SECTIONS = 7;
+    static final int HEADER_SIZE = 8 + SECTIONS * 4;
+
+    // driverId, permanentNumber, code, url, givenName, familyName, dateOfBirth, nationality
+    static final int DRIVER_SIZE = 8 * 4;
+    // constructorId, url, name, nationality
+    static final int CONSTRUCTOR_SIZE = 4 * 4;
+    // circuitId, url, circuitName, lat, lng, locality, country, flags
+    static final int CIRCUIT_SIZE = 8 * 4;
+    // season, url
+    static final int SEASON_SIZE = 2 * 4;
+    // season, round, first result, result count
+    static final int RACE_SIZE = 4 * 4;
+    // flags, number, position, positionText, points, driver, constructor, grid, laps, status, millis, time,
+    // fastest lap rank, fastest lap, fastest lap time, speed units, then the speed as a double
+    static final int RESULT_SIZE = 16 * 4 + 8;
+
+    // Flags of a result record telling which optional objects are present.
+    static final int HAS_TIME = 1;
+    static final int HAS_FASTEST_LAP = 2;
+    static final int HAS_AVERAGE_SPEED = 4;
+
+    // Flag of a circuit record telling whether the location is present.
+    static final int HAS_LOCATION = 1;
+
+    private SnapshotFormat() {
+    }
+}
@@ -0,0 +1,282 @@
+package ergast.binary;
+
+import ergast.objects.*;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import static ergast.binary.SnapshotFormat.*;
+
+/**
+ * Reads a snapshot written by {@link SnapshotWriter}. Opening maps the file into memory and reads only
+ * the header, so it takes the same time regardless of the file's size; records are decoded into objects
+ * when they are accessed. Lookups by id binary-search the sorted records, results of a race are found
+ * through the race index. Decoded strings are cached, so every string is decoded at most once.
+ *
+ * <p>Every call returns fresh objects. Reads use absolute positions only, so one reader may be shared
+ * between threads. The mapping stays valid until the reader is garbage collected.</p>
+ */
+public class SnapshotReader {
+
+    private final ByteBuffer buffer;
+    private final int[] sections = new int[SECTIONS];
+    private final int stringCount;
+    private final int stringData; // Offset of the UTF-8 data.
+    private final AtomicReferenceArray<String> strings;
+
+    private SnapshotReader(ByteBuffer buffer) throws IOException {
+        this.buffer = buffer;
+        if (buffer.capacity() < HEADER_SIZE || buffer.getInt(0) != MAGIC) {
+            throw new IOException("Not an Ergast snapshot");
+        }
+        if (buffer.getInt(4) != VERSION) {
+            throw new IOException("Unsupported snapshot version " + buffer.getInt(4));
+        }
+        for (int i = 0; i < SECTIONS; i++) {
+            sections[i] = buffer.getInt(8 + i * 4);
+        }
+        this.stringCount = buffer.getInt(sections[STRINGS]);
+        this.stringData = sections[STRINGS] + 4 + (stringCount + 1) * 4;
+        this.strings = new AtomicReferenceArray<>(stringCount);
+    }
+
+    /**
+     * Maps the snapshot file read-only.
+     *
+     * @throws IOException If the file cannot be read or is not a snapshot.
+     */
+    public static SnapshotReader open(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return new SnapshotReader(mapped);
+        }
+    }
+
+    public int driverCount() {
+        return count(DRIVERS);
+    }
+
+    public Driver getDriver(int index) {
+        int record = record(DRIVERS, index, DRIVER_SIZE);
+        return Driver.builder()
+                .driverId(string(record))
+                .permanentNumber(buffer.getInt(record + 4))
+                .code(string(record + 8))
+                .url(string(record + 12))
+                .givenName(string(record + 16))
+                .familyName(string(record + 20))
+                .dateOfBirth(string(record + 24))
+                .nationality(string(record + 28))
+                .build();
+    }
+
+    /**
+     * Returns the driver with the id, or {@code null} if the snapshot has none.
+     */
+    public Driver getDriver(String driverId) {
+        int index = find(DRIVERS, DRIVER_SIZE, driverId);
+        return index < 0 ? null : getDriver(index);
+    }
+
+    public List<Driver> getDrivers() {
+        List<Driver> drivers = new ArrayList<>(driverCount());
+        for (int i = 0; i < driverCount(); i++) {
+            drivers.add(getDriver(i));
+        }
+        return drivers;
+    }
+
+    public int constructorCount() {
+        return count(CONSTRUCTORS);
+    }
+
+    public Constructor getConstructor(int index) {
+        int record = record(CONSTRUCTORS, index, CONSTRUCTOR_SIZE);
+        return new Constructor(string(record), string(record + 4), string(record + 8), string(record + 12));
+    }
+
+    public Constructor getConstructor(String constructorId) {
+        int index = find(CONSTRUCTORS, CONSTRUCTOR_SIZE, constructorId);
+        return index < 0 ? null : getConstructor(index);
+    }
+
+    public List<Constructor> getConstructors() {
+        List<Constructor> constructors = new ArrayList<>(constructorCount());
+        for (int i = 0; i < constructorCount(); i++) {
+            constructors.add(getConstructor(i));
+        }
+        return constructors;
+    }
+
+    public int circuitCount() {
+        return count(CIRCUITS);
+    }
+
+    public Circuit getCircuit(int index) {
+        int record = record(CIRCUITS, index, CIRCUIT_SIZE);
+        Location location = (buffer.getInt(record + 28) & HAS_LOCATION) == 0 ? null
+                : new Location(buffer.getFloat(record + 12), buffer.getFloat(record + 16),
+                string(record + 20), string(record + 24));
+        return new Circuit(string(record), string(record + 4), string(record + 8), location);
+    }
+
+    public Circuit getCircuit(String circuitId) {
+        int index = find(CIRCUITS, CIRCUIT_SIZE, circuitId);
+        return index < 0 ? null : getCircuit(index);
+    }
+
+    public List<Circuit> getCircuits() {
+        List<Circuit> circuits = new ArrayList<>(circuitCount());
+        for (int i = 0; i < circuitCount(); i++) {
+            circuits.add(getCircuit(i));
+        }
+        return circuits;
+    }
+
+    public List<Season> getSeasons() {
+        int count = count(SEASONS);
+        List<Season> seasons = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int record = record(SEASONS, i, SEASON_SIZE);
+            seasons.add(new Season(buffer.getInt(record), string(record + 4)));
+        }
+        return seasons;
+    }
+
+    /**
+     * Returns the rounds of the season that have results, in order.
+     */
+    public List<Integer> getRounds(int season) {
+        List<Integer> rounds = new ArrayList<>();
+        for (int i = firstRace(season); i < count(RACES); i++) {
+            int record = record(RACES, i, RACE_SIZE);
+            if (buffer.getInt(record) != season) {
+                break;
+            }
+            rounds.add(buffer.getInt(record + 4));
+        }
+        return rounds;
+    }
+
+    /**
+     * Returns the results of a race in the order they were written, or an empty list if the snapshot has none.
+     */
+    public List<RaceResult> getResults(int season, int round) {
+        int race = findRace(season, round);
+        if (race < 0) {
+            return new ArrayList<>();
+        }
+        int record = record(RACES, race, RACE_SIZE);
+        int first = buffer.getInt(record + 8);
+        int count = buffer.getInt(record + 12);
+        List<RaceResult> results = new ArrayList<>(count);
+        for (int i = first; i < first + count; i++) {
+            results.add(getResult(i));
+        }
+        return results;
+    }
+
+    private RaceResult getResult(int index) {
+        int record = record(RESULTS, index, RESULT_SIZE);
+        int flags = buffer.getInt(record);
+        Time time = (flags & HAS_TIME) == 0 ? null : new Time(buffer.getInt(record + 40), string(record + 44));
+        FastestLap fastestLap = null;
+        if ((flags & HAS_FASTEST_LAP) != 0) {
+            AverageSpeed speed = (flags & HAS_AVERAGE_SPEED) == 0 ? null
+                    : new AverageSpeed(string(record + 60), buffer.getDouble(record + 64));
+            String lapTime = string(record + 56);
+            fastestLap = new FastestLap(buffer.getInt(record + 48), buffer.getInt(record + 52),
+                    lapTime == null ? null : new Time(0, lapTime), speed);
+        }
+        return new RaceResult(buffer.getInt(record + 4), buffer.getInt(record + 8), string(record + 12),
+                buffer.getInt(record + 16), getDriver(buffer.getInt(record + 20)),
+                getConstructor(buffer.getInt(record + 24)), buffer.getInt(record + 28), buffer.getInt(record + 32),
+                string(record + 36), time, fastestLap);
+    }
+
+    private int count(int section) {
+        return buffer.getInt(sections[section]);
+    }
+
+    private int record(int section, int index, int size) {
+        if (index < 0 || index >= count(section)) {
+            throw new IndexOutOfBoundsException("Record " + index + " of " + count(section));
+        }
+        return sections[section] + 4 + index * size;
+    }
+
+    // Binary search over records sorted by the string id in their first field.
+    private int find(int section, int size, String id) {
+        int low = 0;
+        int high = count(section) - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int comparison = string(record(section, mid, size)).compareTo(id);
+            if (comparison < 0) {
+                low = mid + 1;
+            } else if (comparison > 0) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -1;
+    }
+
+    // Index of the first race of the season or later.
+    private int firstRace(int season) {
+        int low = 0;
+        int high = count(RACES);
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (buffer.getInt(record(RACES, mid, RACE_SIZE)) < season) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private int findRace(int season, int round) {
+        for (int i = firstRace(season); i < count(RACES); i++) {
+            int record = record(RACES, i, RACE_SIZE);
+            if (buffer.getInt(record) != season || buffer.getInt(record + 4) > round) {
+                break;
+            }
+            if (buffer.getInt(record + 4) == round) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    // Decodes the string referenced at the offset; decoded strings are kept for later calls.
+    private String string(int offset) {
+        int index = buffer.getInt(offset);
+        if (index == NO_STRING) {
+            return null;
+        }
+        String value = strings.get(index);
+        if (value == null) {
+            int table = sections[STRINGS] + 4;
+            int start = buffer.getInt(table + index * 4);
+            int end = buffer.getInt(table + (index + 1) * 4);
+            byte[] bytes = new byte[end - start];
+            ByteBuffer data = buffer.duplicate();
+            data.position(stringData + start);
+            data.get(bytes);
+            value = new String(bytes, StandardCharsets.UTF_8);
+            strings.lazySet(index, value);
+        }
+        return value;
+    }
+}
@@ -0,0 +1,291 @@
+package ergast.binary;
+
+import ergast.objects.*;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.*;
+
+import static ergast.binary.SnapshotFormat.*;
+
+/**
+ * Collects reference data and race results and writes them as a binary snapshot, to be opened with
+ * {@link SnapshotReader}. Drivers and constructors referenced by results are added unless one with the
+ * same id is already present; otherwise, where the same id is added twice, the last one wins. The file is
+ * written to a temporary file and moved into place, so readers never see a partial snapshot.
+ */
+public class SnapshotWriter {
+
+    private final Map<String, Driver> drivers = new TreeMap<>();
+    private final Map<String, Constructor> constructors = new TreeMap<>();
+    private final Map<String, Circuit> circuits = new TreeMap<>();
+    private final Map<Integer, Season> seasons = new TreeMap<>();
+    private final SortedMap<Long, List<RaceResult>> results = new TreeMap<>(); // By season and round.
+
+    public SnapshotWriter addDrivers(Collection<Driver> drivers) {
+        for (Driver driver : drivers) {
+            this.drivers.put(driver.getDriverId(), driver);
+        }
+        return this;
+    }
+
+    public SnapshotWriter addConstructors(Collection<Constructor> constructors) {
+        for (Constructor constructor : constructors) {
+            this.constructors.put(constructor.getConstructorId(), constructor);
+        }
+        return this;
+    }
+
+    public SnapshotWriter addCircuits(Collection<Circuit> circuits) {
+        for (Circuit circuit : circuits) {
+            this.circuits.put(circuit.getCircuitId(), circuit);
+        }
+        return this;
+    }
+
+    public SnapshotWriter addSeasons(Collection<Season> seasons) {
+        for (Season season : seasons) {
+            this.seasons.put(season.getSeason(), season);
+        }
+        return this;
+    }
+
+    /**
+     * Adds the results of one race, replacing any added before for the same round.
+     */
+    public SnapshotWriter addResults(int season, int round, List<RaceResult> results) {
+        for (RaceResult result : results) {
+            drivers.putIfAbsent(result.getDriver().getDriverId(), result.getDriver());
+            constructors.putIfAbsent(result.getConstructor().getConstructorId(), result.getConstructor());
+        }
+        this.results.put(raceKey(season, round), new ArrayList<>(results));
+        return this;
+    }
+
+    public void write(Path file) throws IOException {
+        StringTable strings = new StringTable();
+        internAll(strings);
+
+        int[] sections = new int[SECTIONS];
+        int resultCount = 0;
+        for (List<RaceResult> race : results.values()) {
+            resultCount += race.size();
+        }
+        sections[STRINGS] = HEADER_SIZE;
+        sections[DRIVERS] = sections[STRINGS] + strings.size();
+        sections[CONSTRUCTORS] = sections[DRIVERS] + 4 + drivers.size() * DRIVER_SIZE;
+        sections[CIRCUITS] = sections[CONSTRUCTORS] + 4 + constructors.size() * CONSTRUCTOR_SIZE;
+        sections[SEASONS] = sections[CIRCUITS] + 4 + circuits.size() * CIRCUIT_SIZE;
+        sections[RACES] = sections[SEASONS] + 4 + seasons.size() * SEASON_SIZE;
+        sections[RESULTS] = sections[RACES] + 4 + results.size() * RACE_SIZE;
+        long end = (long) sections[RESULTS] + 4 + (long) resultCount * RESULT_SIZE;
+        if (end > Integer.MAX_VALUE) {
+            throw new IOException("Snapshot exceeds 2 GB");
+        }
+
+        Path temp = Files.createTempFile(file.toAbsolutePath().getParent(), file.getFileName().toString(), ".tmp");
+        try {
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp), 1 << 16))) {
+                out.writeInt(MAGIC);
+                out.writeInt(VERSION);
+                for (int section : sections) {
+                    out.writeInt(section);
+                }
+                strings.write(out);
+                writeDrivers(out, strings);
+                writeConstructors(out, strings);
+                writeCircuits(out, strings);
+                writeSeasons(out, strings);
+                writeRaces(out);
+                writeResults(out, strings, resultCount);
+            }
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private void internAll(StringTable strings) {
+        for (Driver driver : drivers.values()) {
+            strings.intern(driver.getDriverId(), driver.getCode(), driver.getUrl(), driver.getGivenName(),
+                    driver.getFamilyName(), driver.getDateOfBirth(), driver.getNationality());
+        }
+        for (Constructor constructor : constructors.values()) {
+            strings.intern(constructor.getConstructorId(), constructor.getUrl(), constructor.getName(),
+                    constructor.getNationality());
+        }
+        for (Circuit circuit : circuits.values()) {
+            Location location = circuit.getLocation();
+            strings.intern(circuit.getCircuitId(), circuit.getUrl(), circuit.getCircuitName(),
+                    location == null ? null : location.getLocality(), location == null ? null : location.getCountry());
+        }
+        for (Season season : seasons.values()) {
+            strings.intern(season.getUrl());
+        }
+        for (List<RaceResult> race : results.values()) {
+            for (RaceResult result : race) {
+                strings.intern(result.getPositionText(), result.getStatus());
+                if (result.getTime() != null) {
+                    strings.intern(result.getTime().getTime());
+                }
+                FastestLap fastestLap = result.getFastestLap();
+                if (fastestLap != null) {
+                    strings.intern(fastestLap.getTime() == null ? null : fastestLap.getTime().getTime());
+                    strings.intern(fastestLap.getAverageSpeed() == null ? null : fastestLap.getAverageSpeed().getUnits());
+                }
+            }
+        }
+    }
+
+    private void writeDrivers(DataOutputStream out, StringTable strings) throws IOException {
+        out.writeInt(drivers.size());
+        for (Driver driver : drivers.values()) {
+            out.writeInt(strings.indexOf(driver.getDriverId()));
+            out.writeInt(driver.getPermanentNumber());
+            out.writeInt(strings.indexOf(driver.getCode()));
+            out.writeInt(strings.indexOf(driver.getUrl()));
+            out.writeInt(strings.indexOf(driver.getGivenName()));
+            out.writeInt(strings.indexOf(driver.getFamilyName()));
+            out.writeInt(strings.indexOf(driver.getDateOfBirth()));
+            out.writeInt(strings.indexOf(driver.getNationality()));
+        }
+    }
+
+    private void writeConstructors(DataOutputStream out, StringTable strings) throws IOException {
+        out.writeInt(constructors.size());
+        for (Constructor constructor : constructors.values()) {
+            out.writeInt(strings.indexOf(constructor.getConstructorId()));
+            out.writeInt(strings.indexOf(constructor.getUrl()));
+            out.writeInt(strings.indexOf(constructor.getName()));
+            out.writeInt(strings.indexOf(constructor.getNationality()));
+        }
+    }
+
+    private void writeCircuits(DataOutputStream out, StringTable strings) throws IOException {
+        out.writeInt(circuits.size());
+        for (Circuit circuit : circuits.values()) {
+            Location location = circuit.getLocation();
+            out.writeInt(strings.indexOf(circuit.getCircuitId()));
+            out.writeInt(strings.indexOf(circuit.getUrl()));
+            out.writeInt(strings.indexOf(circuit.getCircuitName()));
+            out.writeFloat(location == null ? 0 : location.getLat());
+            out.writeFloat(location == null ? 0 : location.getLng());
+            out.writeInt(strings.indexOf(location == null ? null : location.getLocality()));
+            out.writeInt(strings.indexOf(location == null ? null : location.getCountry()));
+            out.writeInt(location == null ? 0 : HAS_LOCATION);
+        }
+    }
+
+    private void writeSeasons(DataOutputStream out, StringTable strings) throws IOException {
+        out.writeInt(seasons.size());
+        for (Season season : seasons.values()) {
+            out.writeInt(season.getSeason());
+            out.writeInt(strings.indexOf(season.getUrl()));
+        }
+    }
+
+    private void writeRaces(DataOutputStream out) throws IOException {
+        out.writeInt(results.size());
+        int first = 0;
+        for (Map.Entry<Long, List<RaceResult>> race : results.entrySet()) {
+            out.writeInt((int) (race.getKey() >> 32));
+            out.writeInt((int) (long) race.getKey());
+            out.writeInt(first);
+            out.writeInt(race.getValue().size());
+            first += race.getValue().size();
+        }
+    }
+
+    private void writeResults(DataOutputStream out, StringTable strings, int count) throws IOException {
+        Map<String, Integer> driverIndexes = indexes(drivers.keySet());
+        Map<String, Integer> constructorIndexes = indexes(constructors.keySet());
+        out.writeInt(count);
+        for (List<RaceResult> race : results.values()) {
+            for (RaceResult result : race) {
+                Time time = result.getTime();
+                FastestLap fastestLap = result.getFastestLap();
+                AverageSpeed speed = fastestLap == null ? null : fastestLap.getAverageSpeed();
+                int flags = (time != null ? HAS_TIME : 0)
+                        | (fastestLap != null ? HAS_FASTEST_LAP : 0)
+                        | (speed != null ? HAS_AVERAGE_SPEED : 0);
+                out.writeInt(flags);
+                out.writeInt(result.getNumber());
+                out.writeInt(result.getPosition());
+                out.writeInt(strings.indexOf(result.getPositionText()));
+                out.writeInt(result.getPoints());
+                out.writeInt(driverIndexes.get(result.getDriver().getDriverId()));
+                out.writeInt(constructorIndexes.get(result.getConstructor().getConstructorId()));
+                out.writeInt(result.getGrid());
+                out.writeInt(result.getLaps());
+                out.writeInt(strings.indexOf(result.getStatus()));
+                out.writeInt(time == null ? 0 : time.getMillis());
+                out.writeInt(strings.indexOf(time == null ? null : time.getTime()));
+                out.writeInt(fastestLap == null ? 0 : fastestLap.getRank());
+                out.writeInt(fastestLap == null ? 0 : fastestLap.getLap());
+                out.writeInt(strings.indexOf(fastestLap == null || fastestLap.getTime() == null
+                        ? null : fastestLap.getTime().getTime()));
+                out.writeInt(strings.indexOf(speed == null ? null : speed.getUnits()));
+                out.writeDouble(speed == null ? 0 : speed.getSpeed());
+            }
+        }
+    }
+
+    private static Map<String, Integer> indexes(Set<String> sortedIds) {
+        Map<String, Integer> indexes = new HashMap<>();
+        for (String id : sortedIds) {
+            indexes.put(id, indexes.size());
+        }
+        return indexes;
+    }
+
+    static long raceKey(int season, int round) {
+        return ((long) season << 32) | (round & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Assigns every distinct string an index and lays the strings out as UTF-8.
+     */
+    private static final class StringTable {
+        private final Map<String, Integer> indexes = new HashMap<>();
+        private final List<byte[]> encoded = new ArrayList<>();
+        private int dataSize;
+
+        void intern(String... values) {
+            for (String value : values) {
+                if (value != null && !indexes.containsKey(value)) {
+                    indexes.put(value, encoded.size());
+                    byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+                    encoded.add(bytes);
+                    dataSize += bytes.length;
+                }
+            }
+        }
+
+        int indexOf(String value) {
+            return value == null ? NO_STRING : indexes.get(value);
+        }
+
+        // Size of the section in bytes.
+        int size() {
+            return 4 + (encoded.size() + 1) * 4 + dataSize;
+        }
+
+        void write(DataOutputStream out) throws IOException {
+            out.writeInt(encoded.size());
+            int offset = 0;
+            for (byte[] bytes : encoded) {
+                out.writeInt(offset);
+                offset += bytes.length;
+            }
+            out.writeInt(offset);
+            for (byte[] bytes : encoded) {
+                out.write(bytes);
+            }
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package ergast.cache;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+
+import java.time.Instant;
+
+/**
+ * A response body stored in a {@link ResponseCache}, together with the instant it stops being valid.
+ */
+@Getter
+@ToString(exclude = "body")
+@EqualsAndHashCode
+@RequiredArgsConstructor
+public class CachedResponse {
+    private final String body;
+    private final Instant expiresAt;
+
+    public boolean isExpired(Instant now) {
+        return !now.isBefore(expiresAt);
+    }
+}
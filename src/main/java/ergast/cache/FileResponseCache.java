@@ -0,0 +1,126 @@
+package ergast.cache;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * File-backed tier storing one gzip-compressed file per URL. Each file starts with the expiry instant
+ * and the URL it was stored for, followed by the body. Files are written to a temporary name and moved
+ * into place, so concurrent readers never see partial entries. I/O failures are logged and treated as misses.
+ */
+public class FileResponseCache implements ResponseCache {
+
+    private static final Logger LOG = Logger.getLogger(FileResponseCache.class.getName());
+
+    private static final String SUFFIX = ".json.gz";
+
+    private final Path directory;
+    private final Clock clock;
+    private final CacheStats stats = new CacheStats();
+
+    public FileResponseCache(Path directory) throws IOException {
+        this(directory, Clock.systemUTC());
+    }
+
+    FileResponseCache(Path directory, Clock clock) throws IOException {
+        this.directory = Files.createDirectories(directory);
+        this.clock = clock;
+    }
+
+    @Override
+    public CachedResponse get(String url) {
+        Path file = fileFor(url);
+        CachedResponse response = null;
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                new GZIPInputStream(Files.newInputStream(file)), StandardCharsets.UTF_8))) {
+            Instant expiresAt = Instant.ofEpochMilli(Long.parseLong(reader.readLine()));
+            if (url.equals(reader.readLine())) {
+                if (expiresAt.isAfter(clock.instant())) {
+                    response = new CachedResponse(readRemaining(reader), expiresAt);
+                } else {
+                    Files.deleteIfExists(file);
+                    stats.recordEviction();
+                }
+            }
+        } catch (NoSuchFileException e) {
+            // Plain miss.
+        } catch (IOException | RuntimeException e) {
+            LOG.log(Level.WARNING, "Ignoring unreadable cache file " + file, e);
+        }
+        if (response == null) {
+            stats.recordMiss();
+        } else {
+            stats.recordHit();
+        }
+        return response;
+    }
+
+    @Override
+    public void put(String url, CachedResponse response) {
+        Path file = fileFor(url);
+        Path temp = null;
+        try {
+            temp = Files.createTempFile(directory, "entry", ".tmp");
+            try (Writer writer = new OutputStreamWriter(
+                    new GZIPOutputStream(Files.newOutputStream(temp)), StandardCharsets.UTF_8)) {
+                writer.write(Long.toString(response.getExpiresAt().toEpochMilli()));
+                writer.write('\n');
+                writer.write(url);
+                writer.write('\n');
+                writer.write(response.getBody());
+            }
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            LOG.log(Level.WARNING, "Could not write cache file " + file, e);
+            deleteQuietly(temp);
+        }
+    }
+
+    @Override
+    public CacheStats getStats() {
+        return stats;
+    }
+
+    private Path fileFor(String url) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(url.getBytes(StandardCharsets.UTF_8));
+            StringBuilder name = new StringBuilder(digest.length * 2 + SUFFIX.length());
+            for (byte b : digest) {
+                name.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+            }
+            return directory.resolve(name.append(SUFFIX).toString());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private static String readRemaining(Reader reader) throws IOException {
+        StringBuilder body = new StringBuilder(8192);
+        char[] buffer = new char[8192];
+        int read;
+        while ((read = reader.read(buffer)) != -1) {
+            body.append(buffer, 0, read);
+        }
+        return body.toString();
+    }
+
+    private static void deleteQuietly(Path file) {
+        if (file == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            LOG.log(Level.FINE, "Could not delete " + file, e);
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package ergast.cache;
+
+import java.time.Clock;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * In-memory least-recently-used tier. The cache is bounded by the total number of characters of the
+ * stored bodies; adding a response evicts the least recently used ones until it fits again.
+ */
+public class MemoryResponseCache implements ResponseCache {
+
+    private final long maxChars;
+    private final Clock clock;
+    private final CacheStats stats = new CacheStats();
+    // Access-ordered, so iteration starts at the least recently used entry.
+    private final LinkedHashMap<String, CachedResponse> entries = new LinkedHashMap<>(64, 0.75f, true);
+    private long usedChars;
+
+    public MemoryResponseCache(long maxChars) {
+        this(maxChars, Clock.systemUTC());
+    }
+
+    MemoryResponseCache(long maxChars, Clock clock) {
+        if (maxChars < 1) {
+            throw new IllegalArgumentException("Cache size must be positive.");
+        }
+        this.maxChars = maxChars;
+        this.clock = clock;
+    }
+
+    @Override
+    public synchronized CachedResponse get(String url) {
+        CachedResponse response = entries.get(url);
+        if (response != null && response.isExpired(clock.instant())) {
+            remove(url);
+            stats.recordEviction();
+            response = null;
+        }
+        if (response == null) {
+            stats.recordMiss();
+        } else {
+            stats.recordHit();
+        }
+        return response;
+    }
+
+    @Override
+    public synchronized void put(String url, CachedResponse response) {
+        long size = response.getBody().length();
+        if (size > maxChars) {
+            return; // Would evict everything and still not fit.
+        }
+        remove(url);
+        entries.put(url, response);
+        usedChars += size;
+        Iterator<Map.Entry<String, CachedResponse>> eldest = entries.entrySet().iterator();
+        while (usedChars > maxChars) {
+            usedChars -= eldest.next().getValue().getBody().length();
+            eldest.remove();
+            stats.recordEviction();
+        }
+    }
+
+    @Override
+    public CacheStats getStats() {
+        return stats;
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    private void remove(String url) {
+        CachedResponse previous = entries.remove(url);
+        if (previous != null) {
+            usedChars -= previous.getBody().length();
+        }
+    }
+}
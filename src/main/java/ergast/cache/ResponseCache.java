@@ -0,0 +1,23 @@
+package ergast.cache;
+
+/**
+ * Stores Ergast response bodies keyed by request URL. Implementations must be thread-safe.
+ * Expired entries are never returned.
+ */
+public interface ResponseCache {
+
+    /**
+     * Returns the cached response for the URL, or null if there is none or it has expired.
+     */
+    CachedResponse get(String url);
+
+    /**
+     * Stores a response for the URL, replacing any previous one.
+     */
+    void put(String url, CachedResponse response);
+
+    /**
+     * Returns the hit, miss and eviction counters of this cache.
+     */
+    CacheStats getStats();
+}
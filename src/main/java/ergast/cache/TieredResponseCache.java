@@ -0,0 +1,54 @@
+package ergast.cache;
+
+/**
+ * Combines a fast first tier (typically {@link MemoryResponseCache}) with a larger second tier
+ * (typically {@link FileResponseCache}). Writes go to both tiers; a second-tier hit is promoted
+ * into the first tier. The statistics of this cache count lookups that hit either tier.
+ */
+public class TieredResponseCache implements ResponseCache {
+
+    private final ResponseCache first;
+    private final ResponseCache second;
+    private final CacheStats stats = new CacheStats();
+
+    public TieredResponseCache(ResponseCache first, ResponseCache second) {
+        this.first = first;
+        this.second = second;
+    }
+
+    @Override
+    public CachedResponse get(String url) {
+        CachedResponse response = first.get(url);
+        if (response == null) {
+            response = second.get(url);
+            if (response != null) {
+                first.put(url, response);
+            }
+        }
+        if (response == null) {
+            stats.recordMiss();
+        } else {
+            stats.recordHit();
+        }
+        return response;
+    }
+
+    @Override
+    public void put(String url, CachedResponse response) {
+        first.put(url, response);
+        second.put(url, response);
+    }
+
+    @Override
+    public CacheStats getStats() {
+        return stats;
+    }
+
+    public ResponseCache getFirst() {
+        return first;
+    }
+
+    public ResponseCache getSecond() {
+        return second;
+    }
+}
@@ -0,0 +1,31 @@
+package ergast.cache;
+
+import java.time.Duration;
+import java.time.Year;
+
+/**
+ * Decides how long a response may be cached based on the season it belongs to.
+ */
+public interface TtlPolicy {
+
+    /**
+     * Returns the time to live of a response for the season, where a negative season stands for the current one.
+     * A zero or negative duration disables caching for that response.
+     */
+    Duration ttlFor(int season);
+
+    /**
+     * Past seasons never change once they are over, so they are kept for {@code pastSeasons}; the current
+     * season (or no season at all) is still being written to and expires after {@code currentSeason}.
+     */
+    static TtlPolicy seasonal(Duration currentSeason, Duration pastSeasons) {
+        return season -> season >= 0 && season < Year.now().getValue() ? pastSeasons : currentSeason;
+    }
+
+    /**
+     * The default policy: five minutes for the current season, a year for past seasons.
+     */
+    static TtlPolicy defaults() {
+        return seasonal(Duration.ofMinutes(5), Duration.ofDays(365));
+    }
+}
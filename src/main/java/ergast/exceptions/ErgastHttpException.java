@@ -0,0 +1,16 @@
+package ergast.exceptions;
+
+import java.io.IOException;
+
+public class ErgastHttpException extends IOException {
+    private final int statusCode;
+
+    public ErgastHttpException(int statusCode) {
+        super("HTTP request not successful. Response Code: " + statusCode);
+        this.statusCode = statusCode;
+    }
+
+    public int getStatusCode() {
+        return statusCode;
+    }
+}
@@ -0,0 +1,129 @@
+package ergast.export;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The columns of a class, derived from its fields. Nested objects of the {@code ergast.objects} and
+ * {@code ergast.model} types (and of this package) are flattened into columns named after their path, so a
+ * {@code RaceResult} has columns such as {@code driver.driverId} and {@code fastestLap.time.time}. Dates and
+ * times of day are string columns in ISO-8601 form, such as {@code 2016-11-27} and {@code 13:00:00}.
+ * Collections, arrays and maps cannot be represented in a single row and are left out; static and transient
+ * fields are ignored. Column sets are built once per class and cached.
+ */
+public final class ColumnSet<T> {
+
+    private static final Map<Class<?>, ColumnSet<?>> CACHE = new ConcurrentHashMap<>();
+
+    // Packages whose classes are flattened rather than exported as a single string.
+    private static final Set<String> FLATTENED_PACKAGES = Set.of("ergast.objects", "ergast.model", "ergast.export");
+
+    private final List<String> names;
+    private final List<ColumnType> types;
+    private final Field[][] paths; // Fields leading from the row to the value of each column.
+
+    private ColumnSet(Class<T> type) {
+        List<String> names = new ArrayList<>();
+        List<ColumnType> types = new ArrayList<>();
+        List<Field[]> paths = new ArrayList<>();
+        collect(type, "", new ArrayDeque<>(), names, types, paths);
+        this.names = List.copyOf(names);
+        this.types = List.copyOf(types);
+        this.paths = paths.toArray(new Field[0][]);
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <T> ColumnSet<T> of(Class<T> type) {
+        return (ColumnSet<T>) CACHE.computeIfAbsent(type, ColumnSet::new);
+    }
+
+    public int size() {
+        return paths.length;
+    }
+
+    public List<String> getNames() {
+        return names;
+    }
+
+    public List<ColumnType> getTypes() {
+        return types;
+    }
+
+    /**
+     * Returns the value of a column, or {@code null} if it or any object on its path is {@code null}.
+     */
+    public Object value(T row, int column) {
+        Object value = row;
+        for (Field field : paths[column]) {
+            if (value == null) {
+                return null;
+            }
+            try {
+                value = field.get(value);
+            } catch (IllegalAccessException e) {
+                throw new IllegalStateException("Cannot read " + field, e);
+            }
+        }
+        // LocalTime.toString() leaves out zero seconds, which would give one column two formats.
+        return value instanceof LocalTime ? DateTimeFormatter.ISO_LOCAL_TIME.format((LocalTime) value) : value;
+    }
+
+    private static void collect(Class<?> type, String prefix, Deque<Field> path,
+                                List<String> names, List<ColumnType> types, List<Field[]> paths) {
+        for (Field field : fields(type)) {
+            Class<?> fieldType = field.getType();
+            if (Collection.class.isAssignableFrom(fieldType) || Map.class.isAssignableFrom(fieldType)
+                    || fieldType.isArray()) {
+                continue;
+            }
+            field.setAccessible(true);
+            path.addLast(field);
+            String name = prefix + field.getName();
+            if (isFlattened(fieldType) && !containsType(path, fieldType)) {
+                collect(fieldType, name + ".", path, names, types, paths);
+            } else {
+                names.add(name);
+                types.add(fieldType.isEnum() ? ColumnType.STRING : ColumnType.of(fieldType));
+                paths.add(path.toArray(new Field[0]));
+            }
+            path.removeLast();
+        }
+    }
+
+    // Declared fields of the class and its superclasses, superclass fields first.
+    private static List<Field> fields(Class<?> type) {
+        Deque<Class<?>> hierarchy = new ArrayDeque<>();
+        for (Class<?> current = type; current != null && current != Object.class; current = current.getSuperclass()) {
+            hierarchy.addFirst(current);
+        }
+        List<Field> fields = new ArrayList<>();
+        for (Class<?> current : hierarchy) {
+            for (Field field : current.getDeclaredFields()) {
+                int modifiers = field.getModifiers();
+                if (!Modifier.isStatic(modifiers) && !Modifier.isTransient(modifiers) && !field.isSynthetic()) {
+                    fields.add(field);
+                }
+            }
+        }
+        return fields;
+    }
+
+    private static boolean isFlattened(Class<?> type) {
+        return !type.isPrimitive() && !type.isEnum() && FLATTENED_PACKAGES.contains(type.getPackageName());
+    }
+
+    // Guards against classes that contain themselves.
+    private static boolean containsType(Deque<Field> path, Class<?> type) {
+        int seen = 0;
+        for (Field field : path) {
+            if (field.getType() == type) {
+                seen++;
+            }
+        }
+        return seen > 1;
+    }
+}
@@ -0,0 +1,30 @@
+package ergast.export;
+
+/**
+ * Type of an exported column. Values of any type other than the numeric and boolean ones are exported
+ * as strings, dates and times of day included.
+ */
+public enum ColumnType {
+    INT,
+    LONG,
+    FLOAT,
+    DOUBLE,
+    BOOLEAN,
+    STRING;
+
+    static ColumnType of(Class<?> type) {
+        if (type == int.class || type == Integer.class || type == short.class || type == Short.class
+                || type == byte.class || type == Byte.class) {
+            return INT;
+        } else if (type == long.class || type == Long.class) {
+            return LONG;
+        } else if (type == float.class || type == Float.class) {
+            return FLOAT;
+        } else if (type == double.class || type == Double.class) {
+            return DOUBLE;
+        } else if (type == boolean.class || type == Boolean.class) {
+            return BOOLEAN;
+        }
+        return STRING;
+    }
+}
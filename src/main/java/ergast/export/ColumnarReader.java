@@ -0,0 +1,118 @@
+package ergast.export;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+/**
+ * Reads files written by {@link ColumnarRowWriter} one row group at a time. Rows are returned as arrays
+ * holding the values of every column in order, with {@code null} for missing values.
+ */
+public class ColumnarReader implements Iterator<Object[]>, Closeable {
+
+    private final DataInputStream in;
+    private final List<String> names;
+    private final List<ColumnType> types;
+    private Object[][] group = new Object[0][]; // Current row group, by row.
+    private int next;
+    private boolean ended;
+
+    public ColumnarReader(InputStream in) throws IOException {
+        this.in = new DataInputStream(in);
+        if (this.in.readInt() != ColumnarRowWriter.MAGIC) {
+            throw new IOException("Not a columnar export");
+        }
+        int version = this.in.readInt();
+        if (version != ColumnarRowWriter.VERSION) {
+            throw new IOException("Unsupported columnar export version " + version);
+        }
+        int count = this.in.readInt();
+        List<String> names = new ArrayList<>(count);
+        List<ColumnType> types = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            names.add(this.in.readUTF());
+            types.add(ColumnType.values()[this.in.readByte()]);
+        }
+        this.names = Collections.unmodifiableList(names);
+        this.types = Collections.unmodifiableList(types);
+    }
+
+    public List<String> getNames() {
+        return names;
+    }
+
+    public List<ColumnType> getTypes() {
+        return types;
+    }
+
+    /**
+     * @throws UncheckedIOException If the next row group cannot be read.
+     */
+    @Override
+    public boolean hasNext() {
+        if (next < group.length) {
+            return true;
+        }
+        if (ended) {
+            return false;
+        }
+        try {
+            readGroup();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return next < group.length;
+    }
+
+    @Override
+    public Object[] next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        return group[next++];
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+
+    private void readGroup() throws IOException {
+        int rows = in.readInt();
+        next = 0;
+        if (rows == 0) {
+            ended = true;
+            group = new Object[0][];
+            return;
+        }
+        group = new Object[rows][names.size()];
+        for (int column = 0; column < names.size(); column++) {
+            byte[] nulls = new byte[(rows + 7) / 8];
+            in.readFully(nulls);
+            for (int row = 0; row < rows; row++) {
+                if ((nulls[row >>> 3] & (1 << (row & 7))) == 0) {
+                    group[row][column] = readValue(types.get(column));
+                }
+            }
+        }
+    }
+
+    private Object readValue(ColumnType type) throws IOException {
+        switch (type) {
+            case INT:
+                return in.readInt();
+            case LONG:
+                return in.readLong();
+            case FLOAT:
+                return in.readFloat();
+            case DOUBLE:
+                return in.readDouble();
+            case BOOLEAN:
+                return in.readBoolean();
+            default:
+                byte[] bytes = new byte[in.readInt()];
+                in.readFully(bytes);
+                return new String(bytes, StandardCharsets.UTF_8);
+        }
+    }
+}
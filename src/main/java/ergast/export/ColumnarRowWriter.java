@@ -0,0 +1,132 @@
+package ergast.export;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * Writes rows in a simple column-oriented format, in the spirit of Parquet: rows are buffered into row
+ * groups, and each group is written column by column so that values of one column are stored together.
+ * Read the files back with {@link ColumnarReader}.
+ *
+ * <pre>
+ * header     magic, version, column count, then the name (UTF) and {@link ColumnType} ordinal of each column
+ * row group  row count, then per column a null bitmap of (rows + 7) / 8 bytes and the non-null values
+ * end        a row count of 0
+ * </pre>
+ *
+ * Strings are written as their UTF-8 length and bytes. Memory use is bounded by the row group size.
+ */
+public class ColumnarRowWriter<T> implements RowWriter<T> {
+
+    static final int MAGIC = 0x45524743; // "ERGC"
+    static final int VERSION = 1;
+
+    public static final int DEFAULT_ROW_GROUP_SIZE = 8192;
+
+    private final DataOutputStream out;
+    private final ColumnSet<T> columns;
+    private final List<ColumnType> types;
+    private final Object[][] group; // Buffered values, by column.
+    private int buffered;
+    private long rowCount;
+
+    public ColumnarRowWriter(OutputStream out, Class<T> type) throws IOException {
+        this(out, type, DEFAULT_ROW_GROUP_SIZE);
+    }
+
+    public ColumnarRowWriter(OutputStream out, Class<T> type, int rowGroupSize) throws IOException {
+        if (rowGroupSize < 1) {
+            throw new IllegalArgumentException("Row group size must be at least 1.");
+        }
+        this.out = new DataOutputStream(out);
+        this.columns = ColumnSet.of(type);
+        this.types = columns.getTypes();
+        this.group = new Object[columns.size()][rowGroupSize];
+        this.out.writeInt(MAGIC);
+        this.out.writeInt(VERSION);
+        this.out.writeInt(columns.size());
+        for (int i = 0; i < columns.size(); i++) {
+            this.out.writeUTF(columns.getNames().get(i));
+            this.out.writeByte(types.get(i).ordinal());
+        }
+    }
+
+    @Override
+    public void write(T row) throws IOException {
+        for (int column = 0; column < group.length; column++) {
+            group[column][buffered] = columns.value(row, column);
+        }
+        buffered++;
+        rowCount++;
+        if (group.length == 0 || buffered == group[0].length) {
+            flushGroup();
+        }
+    }
+
+    @Override
+    public long getRowCount() {
+        return rowCount;
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            flushGroup();
+            out.writeInt(0);
+        } finally {
+            out.close();
+        }
+    }
+
+    private void flushGroup() throws IOException {
+        if (buffered == 0) {
+            return;
+        }
+        out.writeInt(buffered);
+        for (int column = 0; column < group.length; column++) {
+            Object[] values = group[column];
+            byte[] nulls = new byte[(buffered + 7) / 8];
+            for (int row = 0; row < buffered; row++) {
+                if (values[row] == null) {
+                    nulls[row >>> 3] |= 1 << (row & 7);
+                }
+            }
+            out.write(nulls);
+            for (int row = 0; row < buffered; row++) {
+                if (values[row] != null) {
+                    writeValue(types.get(column), values[row]);
+                    values[row] = null;
+                }
+            }
+        }
+        buffered = 0;
+    }
+
+    private void writeValue(ColumnType type, Object value) throws IOException {
+        switch (type) {
+            case INT:
+                out.writeInt(((Number) value).intValue());
+                break;
+            case LONG:
+                out.writeLong(((Number) value).longValue());
+                break;
+            case FLOAT:
+                out.writeFloat(((Number) value).floatValue());
+                break;
+            case DOUBLE:
+                out.writeDouble(((Number) value).doubleValue());
+                break;
+            case BOOLEAN:
+                out.writeBoolean((Boolean) value);
+                break;
+            default:
+                byte[] bytes = value.toString().getBytes(StandardCharsets.UTF_8);
+                out.writeInt(bytes.length);
+                out.write(bytes);
+                break;
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package ergast.export;
+
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVPrinter;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Writes rows as CSV with a header of the {@link ColumnSet} column names. Missing values are written as
+ * empty fields.
+ */
+public class CsvRowWriter<T> implements RowWriter<T> {
+
+    private final ColumnSet<T> columns;
+    private final CSVPrinter printer;
+    private final Object[] record;
+    private long rowCount;
+
+    public CsvRowWriter(Writer out, Class<T> type) throws IOException {
+        this.columns = ColumnSet.of(type);
+        this.printer = new CSVPrinter(out, CSVFormat.DEFAULT.builder()
+                .setHeader(columns.getNames().toArray(new String[0]))
+                .build());
+        this.record = new Object[columns.size()];
+    }
+
+    @Override
+    public void write(T row) throws IOException {
+        for (int i = 0; i < record.length; i++) {
+            record[i] = columns.value(row, i);
+        }
+        printer.printRecord(record);
+        rowCount++;
+    }
+
+    @Override
+    public long getRowCount() {
+        return rowCount;
+    }
+
+    @Override
+    public void close() throws IOException {
+        printer.close(true);
+    }
+}
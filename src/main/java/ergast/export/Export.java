@@ -0,0 +1,51 @@
+package ergast.export;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Entry points for exporting query results to files. Output is buffered and optionally gzip-compressed;
+ * rows are written as they arrive, so a stream from {@code Ergast.fetchAll} is exported page by page
+ * without ever holding the whole result in memory.
+ */
+public final class Export {
+
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private Export() {
+    }
+
+    /**
+     * Opens a writer on the file, replacing an existing file.
+     */
+    public static <T> RowWriter<T> open(Path file, ExportFormat format, Class<T> type, boolean gzip) throws IOException {
+        OutputStream out = Files.newOutputStream(file);
+        try {
+            if (gzip) {
+                out = new GZIPOutputStream(out, BUFFER_SIZE);
+            }
+            return format.open(new BufferedOutputStream(out, BUFFER_SIZE), type);
+        } catch (IOException | RuntimeException e) {
+            out.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Writes every row of the stream to the file and closes both.
+     *
+     * @return The number of rows written.
+     */
+    public static <T> long write(Stream<? extends T> rows, Path file, ExportFormat format, Class<T> type,
+                                 boolean gzip) throws IOException {
+        try (RowWriter<T> writer = open(file, format, type, gzip)) {
+            writer.writeAll(rows);
+            return writer.getRowCount();
+        }
+    }
+}
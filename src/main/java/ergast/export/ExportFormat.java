@@ -0,0 +1,36 @@
+package ergast.export;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * The file formats rows can be exported to.
+ */
+public enum ExportFormat {
+    CSV {
+        @Override
+        public <T> RowWriter<T> open(OutputStream out, Class<T> type) throws IOException {
+            return new CsvRowWriter<>(new OutputStreamWriter(out, StandardCharsets.UTF_8), type);
+        }
+    },
+    NDJSON {
+        @Override
+        public <T> RowWriter<T> open(OutputStream out, Class<T> type) {
+            return new NdjsonRowWriter<>(new OutputStreamWriter(out, StandardCharsets.UTF_8), type);
+        }
+    },
+    COLUMNAR {
+        @Override
+        public <T> RowWriter<T> open(OutputStream out, Class<T> type) throws IOException {
+            return new ColumnarRowWriter<>(out, type);
+        }
+    };
+
+    /**
+     * Opens a writer for rows of the type on the stream. The writer does not buffer beyond what the
+     * format needs; pass a buffered stream.
+     */
+    public abstract <T> RowWriter<T> open(OutputStream out, Class<T> type) throws IOException;
+}
@@ -0,0 +1,36 @@
+package ergast.export;
+
+import ergast.objects.Lap;
+import ergast.objects.LapTimes;
+import ergast.objects.Timing;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.stream.Stream;
+
+/**
+ * One lap of one driver with the race it belongs to. {@link LapTimes} nests timings inside laps inside
+ * races, which cannot be written as rows; this flattens them so every lap can be exported.
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class LapRow {
+    private final int season;
+    private final int round;
+    private final int lap;
+    private final String driverId;
+    private final int position;
+    private final String time;
+    private final long millis;
+
+    public static Stream<LapRow> of(LapTimes race) {
+        if (race.getLaps() == null) {
+            return Stream.empty();
+        }
+        return race.getLaps().stream().flatMap((Lap lap) -> lap.getTimings().stream()
+                .map((Timing timing) -> new LapRow(race.getSeason(), race.getRound(), lap.getNumber(),
+                        timing.getDriverId(), timing.getPosition(), timing.getTime(), timing.getTimeMillis())));
+    }
+}
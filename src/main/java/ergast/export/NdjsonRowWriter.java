@@ -0,0 +1,46 @@
+package ergast.export;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonIOException;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Writes rows as newline-delimited JSON, one object per line. Unlike the column-based formats, the
+ * objects keep their nesting and lists, using the same keys as the Ergast API.
+ */
+public class NdjsonRowWriter<T> implements RowWriter<T> {
+
+    private static final Gson GSON = new Gson();
+
+    private final Writer out;
+    private final Class<T> type;
+    private long rowCount;
+
+    public NdjsonRowWriter(Writer out, Class<T> type) {
+        this.out = out;
+        this.type = type;
+    }
+
+    @Override
+    public void write(T row) throws IOException {
+        try {
+            GSON.toJson(row, type, out);
+        } catch (JsonIOException e) {
+            throw e.getCause() instanceof IOException ? (IOException) e.getCause() : new IOException(e);
+        }
+        out.write('\n');
+        rowCount++;
+    }
+
+    @Override
+    public long getRowCount() {
+        return rowCount;
+    }
+
+    @Override
+    public void close() throws IOException {
+        out.close();
+    }
+}
@@ -0,0 +1,38 @@
+package ergast.export;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Writes rows one at a time to an export file. Nothing but the row being written and the writer's buffer
+ * is held in memory, so exports of any size run in constant memory. Closing the writer flushes it and
+ * closes the underlying stream.
+ */
+public interface RowWriter<T> extends Closeable {
+
+    void write(T row) throws IOException;
+
+    // Number of rows written so far.
+    long getRowCount();
+
+    default void writeAll(Iterator<? extends T> rows) throws IOException {
+        while (rows.hasNext()) {
+            write(rows.next());
+        }
+    }
+
+    /**
+     * Writes every row of the stream and closes the stream, which for {@code Ergast.fetchAll} cancels any
+     * pages still in flight. {@link UncheckedIOException}s thrown by the stream are rethrown as their cause.
+     */
+    default void writeAll(Stream<? extends T> rows) throws IOException {
+        try (Stream<? extends T> stream = rows) {
+            writeAll(stream.iterator());
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+}
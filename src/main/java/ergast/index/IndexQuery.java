@@ -0,0 +1,176 @@
+package ergast.index;
+
+import ergast.HistoricalRow;
+
+import java.util.*;
+import java.util.function.Supplier;
+
+/**
+ * Conditions on the rows of one type in a {@link ResultIndex}, all of which must hold. Each condition is
+ * answered by an index; the terminal methods intersect the row sets and only then touch the rows.
+ *
+ * <pre>
+ * Map&lt;String, Integer&gt; statuses = index.results().season(2016).countByStatus();
+ * </pre>
+ */
+public final class IndexQuery<T> {
+
+    private final ResultIndex index;
+    private final Class<T> type;
+    private final List<Supplier<BitSet>> conditions = new ArrayList<>();
+
+    IndexQuery(ResultIndex index, Class<T> type) {
+        this.index = index;
+        this.type = Objects.requireNonNull(type, "type");
+    }
+
+    public IndexQuery<T> driver(String driverId) {
+        Objects.requireNonNull(driverId, "driverId");
+        return where(() -> index.drivers.rows(driverId));
+    }
+
+    public IndexQuery<T> constructor(String constructorId) {
+        Objects.requireNonNull(constructorId, "constructorId");
+        return where(() -> index.constructors.rows(constructorId));
+    }
+
+    public IndexQuery<T> circuit(String circuitId) {
+        Objects.requireNonNull(circuitId, "circuitId");
+        return where(() -> index.circuits.rows(circuitId));
+    }
+
+    // Status text as reported with results, e.g. "Engine" or "+1 Lap".
+    public IndexQuery<T> status(String status) {
+        Objects.requireNonNull(status, "status");
+        return where(() -> index.statuses.rows(status));
+    }
+
+    public IndexQuery<T> season(int season) {
+        return seasons(season, season);
+    }
+
+    // Seasons from first to last, both inclusive.
+    public IndexQuery<T> seasons(int first, int last) {
+        return where(() -> index.seasons.rows(first, last));
+    }
+
+    public IndexQuery<T> round(int round) {
+        return where(() -> index.rounds.rows(round, round));
+    }
+
+    public IndexQuery<T> race(int season, int round) {
+        return season(season).round(round);
+    }
+
+    public IndexQuery<T> grid(int grid) {
+        return gridBetween(grid, grid);
+    }
+
+    public IndexQuery<T> gridBetween(int first, int last) {
+        return where(() -> index.grids.rows(first, last));
+    }
+
+    public IndexQuery<T> position(int position) {
+        return positionBetween(position, position);
+    }
+
+    /**
+     * Finishing, qualifying or championship positions from first to last, both inclusive.
+     */
+    public IndexQuery<T> positionBetween(int first, int last) {
+        return where(() -> index.positions.rows(first, last));
+    }
+
+    // The condition is evaluated under the index lock and must not modify the set it returns.
+    private IndexQuery<T> where(Supplier<BitSet> condition) {
+        conditions.add(condition);
+        return this;
+    }
+
+    public int count() {
+        synchronized (index) {
+            return matches().cardinality();
+        }
+    }
+
+    /**
+     * Returns the matching rows in the order they were added.
+     */
+    @SuppressWarnings("unchecked")
+    public List<HistoricalRow<T>> rows() {
+        synchronized (index) {
+            BitSet matches = matches();
+            List<HistoricalRow<T>> rows = new ArrayList<>(matches.cardinality());
+            for (int id = matches.nextSetBit(0); id >= 0; id = matches.nextSetBit(id + 1)) {
+                rows.add((HistoricalRow<T>) index.row(id));
+            }
+            return rows;
+        }
+    }
+
+    public List<T> values() {
+        List<HistoricalRow<T>> rows = rows();
+        List<T> values = new ArrayList<>(rows.size());
+        for (HistoricalRow<T> row : rows) {
+            values.add(row.getValue());
+        }
+        return values;
+    }
+
+    // Counts of the matching rows by attribute, read from the index columns; rows without the attribute are left out.
+    public Map<String, Integer> countByDriver() {
+        return countBy(index.drivers);
+    }
+
+    public Map<String, Integer> countByConstructor() {
+        return countBy(index.constructors);
+    }
+
+    public Map<String, Integer> countByCircuit() {
+        return countBy(index.circuits);
+    }
+
+    public Map<String, Integer> countByStatus() {
+        return countBy(index.statuses);
+    }
+
+    public SortedMap<Integer, Integer> countBySeason() {
+        synchronized (index) {
+            BitSet matches = matches();
+            SortedMap<Integer, Integer> counts = new TreeMap<>();
+            for (int id = matches.nextSetBit(0); id >= 0; id = matches.nextSetBit(id + 1)) {
+                int season = index.seasons.value(id);
+                if (season != ResultIndex.NONE) {
+                    counts.merge(season, 1, Integer::sum);
+                }
+            }
+            return counts;
+        }
+    }
+
+    private Map<String, Integer> countBy(ResultIndex.Keys keys) {
+        synchronized (index) {
+            BitSet matches = matches();
+            Map<String, Integer> counts = new HashMap<>();
+            for (int id = matches.nextSetBit(0); id >= 0; id = matches.nextSetBit(id + 1)) {
+                String value = keys.value(id);
+                if (value != null) {
+                    counts.merge(value, 1, Integer::sum);
+                }
+            }
+            return counts;
+        }
+    }
+
+    // Intersects the row sets of the type and every condition; callers hold the index lock.
+    private BitSet matches() {
+        BitSet matches = (BitSet) index.rowsOf(type).clone();
+        for (Supplier<BitSet> condition : conditions) {
+            if (matches.isEmpty()) {
+                break;
+            }
+            matches.and(condition.get());
+        }
+        return matches;
+    }
+}
@@ -0,0 +1,243 @@
+package ergast.index;
+
+import ergast.HistoricalResult;
+import ergast.HistoricalRow;
+import ergast.objects.*;
+
+import java.util.*;
+
+/**
+ * An in-memory store of race results, qualifying results, standings and finishing statuses, indexed for
+ * lookups such as "every podium of a driver at a circuit" or "retirements by status" without scanning.
+ *
+ * <p>Rows get consecutive ids. Driver, constructor, circuit and status ids have a hash index, and season,
+ * round, grid and position a sorted one; each maps a value to the {@link BitSet} of row ids holding it. An
+ * {@link IndexQuery} intersects the sets of its conditions, and counts are taken from primitive columns, so
+ * a query over the full history touches a few thousand words of memory rather than every row.</p>
+ *
+ * <pre>
+ * ResultIndex index = new ResultIndex();
+ * index.addAll(HistoricalQuery.of(Endpoint.RESULTS).seasons(1950, 2023).run());
+ * List&lt;HistoricalRow&lt;RaceResult&gt;&gt; podiums = index.results().driver("hamilton").circuit("monza")
+ *         .positionBetween(1, 3).rows();
+ * </pre>
+ *
+ * <p>Rows are indexed with the season, round and circuit of their {@link HistoricalRow}; a driver standings
+ * row is indexed under the last constructor it lists. Adding the same row twice stores it twice. The index
+ * is safe to use from several threads.</p>
+ */
+public final class ResultIndex {
+
+    // Marks a missing value in the integer columns.
+    static final int NONE = Integer.MIN_VALUE;
+
+    private final List<HistoricalRow<?>> rows = new ArrayList<>();
+    private final Map<Class<?>, BitSet> types = new HashMap<>();
+    final Keys drivers = new Keys();
+    final Keys constructors = new Keys();
+    final Keys circuits = new Keys();
+    final Keys statuses = new Keys();
+    final Numbers seasons = new Numbers();
+    final Numbers rounds = new Numbers();
+    final Numbers grids = new Numbers();
+    final Numbers positions = new Numbers();
+
+    /**
+     * Adds every row of a historical query.
+     */
+    public void addAll(HistoricalResult<?> result) {
+        addAll(result.getRows());
+    }
+
+    public synchronized void addAll(Collection<? extends HistoricalRow<?>> rows) {
+        for (HistoricalRow<?> row : rows) {
+            add(row);
+        }
+    }
+
+    /**
+     * Adds a row holding a {@link RaceResult}, {@link Qualification}, {@link DriverStandings},
+     * {@link ConstructorStandings} or {@link FinishingStatus}.
+     *
+     * @throws IllegalArgumentException If the row holds anything else.
+     */
+    public synchronized void add(HistoricalRow<?> row) {
+        Object value = row.getValue();
+        String driver = null;
+        String constructor = null;
+        String status = null;
+        int grid = NONE;
+        int position = NONE;
+        if (value instanceof RaceResult) {
+            RaceResult result = (RaceResult) value;
+            driver = driverId(result.getDriver());
+            constructor = constructorId(result.getConstructor());
+            status = result.getStatus();
+            grid = result.getGrid();
+            position = result.getPosition();
+        } else if (value instanceof Qualification) {
+            Qualification qualification = (Qualification) value;
+            driver = driverId(qualification.getDriver());
+            constructor = constructorId(qualification.getConstructor());
+            position = qualification.getPosition();
+        } else if (value instanceof DriverStandings) {
+            DriverStandings standings = (DriverStandings) value;
+            driver = driverId(standings.getDriver());
+            List<Constructor> teams = standings.getConstructors();
+            constructor = teams == null || teams.isEmpty() ? null : constructorId(teams.get(teams.size() - 1));
+            position = standings.getPosition();
+        } else if (value instanceof ConstructorStandings) {
+            ConstructorStandings standings = (ConstructorStandings) value;
+            constructor = constructorId(standings.getConstructor());
+            position = standings.getPosition();
+        } else if (value instanceof FinishingStatus) {
+            status = ((FinishingStatus) value).getStatus();
+        } else {
+            throw new IllegalArgumentException("Cannot index " + (value == null ? null : value.getClass()));
+        }
+
+        int id = rows.size();
+        rows.add(row);
+        types.computeIfAbsent(value.getClass(), type -> new BitSet()).set(id);
+        drivers.add(id, driver);
+        constructors.add(id, constructor);
+        circuits.add(id, row.getCircuitId());
+        statuses.add(id, status);
+        seasons.add(id, row.getSeason() > 0 ? row.getSeason() : NONE);
+        rounds.add(id, row.getRound() > 0 ? row.getRound() : NONE);
+        grids.add(id, grid);
+        positions.add(id, position > 0 ? position : NONE);
+    }
+
+    public IndexQuery<RaceResult> results() {
+        return query(RaceResult.class);
+    }
+
+    public IndexQuery<Qualification> qualifying() {
+        return query(Qualification.class);
+    }
+
+    public IndexQuery<DriverStandings> driverStandings() {
+        return query(DriverStandings.class);
+    }
+
+    public IndexQuery<ConstructorStandings> constructorStandings() {
+        return query(ConstructorStandings.class);
+    }
+
+    public IndexQuery<FinishingStatus> finishingStatuses() {
+        return query(FinishingStatus.class);
+    }
+
+    /**
+     * Starts a query over the rows holding the given type.
+     */
+    public <T> IndexQuery<T> query(Class<T> type) {
+        return new IndexQuery<>(this, type);
+    }
+
+    public synchronized int size() {
+        return rows.size();
+    }
+
+    // Callers hold the lock and must not modify the set.
+    BitSet rowsOf(Class<?> type) {
+        BitSet rowsOfType = types.get(type);
+        return rowsOfType == null ? new BitSet() : rowsOfType;
+    }
+
+    HistoricalRow<?> row(int id) {
+        return rows.get(id);
+    }
+
+    private static String driverId(Driver driver) {
+        return driver == null ? null : driver.getDriverId();
+    }
+
+    private static String constructorId(Constructor constructor) {
+        return constructor == null ? null : constructor.getConstructorId();
+    }
+
+    /**
+     * Hash index of a string attribute: a row set per distinct value, and a column of value codes by row id.
+     */
+    static final class Keys {
+        private static final BitSet EMPTY = new BitSet();
+
+        private final Map<String, Integer> codes = new HashMap<>();
+        private final List<String> values = new ArrayList<>();
+        private final List<BitSet> rows = new ArrayList<>();
+        private int[] column = new int[256]; // Code by row id, -1 where missing.
+
+        void add(int id, String value) {
+            if (id == column.length) {
+                column = Arrays.copyOf(column, column.length * 2);
+            }
+            if (value == null) {
+                column[id] = -1;
+                return;
+            }
+            Integer code = codes.get(value);
+            if (code == null) {
+                code = values.size();
+                codes.put(value, code);
+                values.add(value);
+                rows.add(new BitSet());
+            }
+            rows.get(code).set(id);
+            column[id] = code;
+        }
+
+        // Callers must not modify the set.
+        BitSet rows(String value) {
+            Integer code = codes.get(value);
+            return code == null ? EMPTY : rows.get(code);
+        }
+
+        String value(int id) {
+            int code = column[id];
+            return code < 0 ? null : values.get(code);
+        }
+    }
+
+    /**
+     * Sorted index of an integer attribute: a row set per distinct value in value order, and the values by row id.
+     */
+    static final class Numbers {
+        private final NavigableMap<Integer, BitSet> rows = new TreeMap<>();
+        private int[] column = new int[256]; // Value by row id, NONE where missing.
+
+        void add(int id, int value) {
+            if (id == column.length) {
+                column = Arrays.copyOf(column, column.length * 2);
+            }
+            column[id] = value;
+            if (value != NONE) {
+                rows.computeIfAbsent(value, v -> new BitSet()).set(id);
+            }
+        }
+
+        /**
+         * Returns the rows with a value in the range, both inclusive. A single value's set is returned as is,
+         * so callers must not modify the result.
+         */
+        BitSet rows(int from, int to) {
+            if (from > to) {
+                return new BitSet();
+            }
+            NavigableMap<Integer, BitSet> range = rows.subMap(from, true, to, true);
+            if (range.size() == 1) {
+                return range.firstEntry().getValue();
+            }
+            BitSet union = new BitSet();
+            for (BitSet set : range.values()) {
+                union.or(set);
+            }
+            return union;
+        }
+
+        int value(int id) {
+            return column[id];
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package ergast.metrics;
+
+/**
+ * Receives measurements of every request made through an {@code ErgastClient}. Endpoints are identified
+ * by their request segment, e.g. {@code "results"}. Implementations are called concurrently from the
+ * threads completing requests and must be thread-safe and fast.
+ *
+ * <p>When {@link #isEnabled()} is false the client skips instrumentation entirely, so the default
+ * {@link #none()} costs neither time measurements nor allocations.</p>
+ */
+public interface ErgastMetrics {
+
+    /**
+     * Returns metrics that record nothing.
+     */
+    static ErgastMetrics none() {
+        return NoopMetrics.INSTANCE;
+    }
+
+    default boolean isEnabled() {
+        return true;
+    }
+
+    void recordTime(String endpoint, Phase phase, long nanos);
+
+    // Size of a response body received over the network.
+    void recordPayload(String endpoint, long bytes);
+
+    // Number of rows mapped from a response.
+    void recordRows(String endpoint, int rows);
+
+    // Called for every request when a response cache is configured.
+    void recordCache(String endpoint, boolean hit);
+
+    // Called for every attempt that is retried; the status is -1 for an I/O failure.
+    void recordRetry(String endpoint, int statusCode);
+
+    // Called for every request that finally fails; the status is -1 for failures other than HTTP errors.
+    void recordError(String endpoint, int statusCode);
+}
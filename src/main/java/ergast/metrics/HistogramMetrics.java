@@ -0,0 +1,157 @@
+package ergast.metrics;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Keeps per-endpoint {@link LatencyHistogram}s for every {@link Phase} and counters for payload size, rows,
+ * cache outcomes, retries and errors, all in process. {@link #report()} renders them in the Prometheus text
+ * format for scraping. Once an endpoint has been seen, recording does not allocate.
+ */
+public class HistogramMetrics implements ErgastMetrics {
+
+    private static final double[] QUANTILES = {0.5, 0.9, 0.99, 0.999};
+
+    private final ConcurrentHashMap<String, EndpointMetrics> endpoints = new ConcurrentHashMap<>();
+
+    @Override
+    public void recordTime(String endpoint, Phase phase, long nanos) {
+        metrics(endpoint).phases[phase.ordinal()].record(nanos);
+    }
+
+    @Override
+    public void recordPayload(String endpoint, long bytes) {
+        metrics(endpoint).bytes.add(bytes);
+    }
+
+    @Override
+    public void recordRows(String endpoint, int rows) {
+        metrics(endpoint).rows.add(rows);
+    }
+
+    @Override
+    public void recordCache(String endpoint, boolean hit) {
+        EndpointMetrics metrics = metrics(endpoint);
+        (hit ? metrics.cacheHits : metrics.cacheMisses).increment();
+    }
+
+    @Override
+    public void recordRetry(String endpoint, int statusCode) {
+        metrics(endpoint).retries.increment();
+    }
+
+    @Override
+    public void recordError(String endpoint, int statusCode) {
+        metrics(endpoint).errors.computeIfAbsent(statusCode, code -> new LongAdder()).increment();
+    }
+
+    /**
+     * Returns the histogram of a phase of an endpoint; empty if the endpoint has not been requested yet.
+     */
+    public LatencyHistogram getHistogram(String endpoint, Phase phase) {
+        EndpointMetrics metrics = endpoints.get(endpoint);
+        return metrics == null ? new LatencyHistogram() : metrics.phases[phase.ordinal()];
+    }
+
+    public long getBytes(String endpoint) {
+        return sum(endpoint, metrics -> metrics.bytes);
+    }
+
+    public long getRows(String endpoint) {
+        return sum(endpoint, metrics -> metrics.rows);
+    }
+
+    public long getCacheHits(String endpoint) {
+        return sum(endpoint, metrics -> metrics.cacheHits);
+    }
+
+    public long getCacheMisses(String endpoint) {
+        return sum(endpoint, metrics -> metrics.cacheMisses);
+    }
+
+    public long getRetries(String endpoint) {
+        return sum(endpoint, metrics -> metrics.retries);
+    }
+
+    // Number of failed requests with the status code, -1 for failures other than HTTP errors.
+    public long getErrors(String endpoint, int statusCode) {
+        return sum(endpoint, metrics -> metrics.errors.get(statusCode));
+    }
+
+    /**
+     * Renders every metric in the Prometheus text exposition format, endpoints in alphabetical order.
+     */
+    public String report() {
+        StringBuilder out = new StringBuilder();
+        out.append("# TYPE ergast_request_seconds summary\n");
+        Map<String, EndpointMetrics> sorted = new TreeMap<>(endpoints);
+        for (Map.Entry<String, EndpointMetrics> entry : sorted.entrySet()) {
+            for (Phase phase : Phase.values()) {
+                LatencyHistogram histogram = entry.getValue().phases[phase.ordinal()];
+                if (histogram.getCount() == 0) {
+                    continue;
+                }
+                String labels = "endpoint=\"" + entry.getKey() + "\",phase=\"" + phase.name().toLowerCase() + "\"";
+                for (double quantile : QUANTILES) {
+                    line(out, "ergast_request_seconds{" + labels + ",quantile=\"" + quantile + "\"}",
+                            histogram.getPercentile(quantile * 100) / 1e9);
+                }
+                line(out, "ergast_request_seconds_count{" + labels + "}", histogram.getCount());
+                line(out, "ergast_request_seconds_sum{" + labels + "}", histogram.getMean() * histogram.getCount() / 1e9);
+            }
+        }
+        for (Map.Entry<String, EndpointMetrics> entry : sorted.entrySet()) {
+            EndpointMetrics metrics = entry.getValue();
+            String labels = "{endpoint=\"" + entry.getKey() + "\"}";
+            line(out, "ergast_response_bytes_total" + labels, metrics.bytes.sum());
+            line(out, "ergast_rows_total" + labels, metrics.rows.sum());
+            line(out, "ergast_cache_hits_total" + labels, metrics.cacheHits.sum());
+            line(out, "ergast_cache_misses_total" + labels, metrics.cacheMisses.sum());
+            line(out, "ergast_retries_total" + labels, metrics.retries.sum());
+            for (Map.Entry<Integer, LongAdder> error : new TreeMap<>(metrics.errors).entrySet()) {
+                line(out, "ergast_errors_total{endpoint=\"" + entry.getKey() + "\",status=\"" + error.getKey() + "\"}",
+                        error.getValue().sum());
+            }
+        }
+        return out.toString();
+    }
+
+    // Reads a counter without creating an entry, so that querying an endpoint does not add it to the report.
+    private long sum(String endpoint, Function<EndpointMetrics, LongAdder> counter) {
+        EndpointMetrics metrics = endpoints.get(endpoint);
+        LongAdder adder = metrics == null ? null : counter.apply(metrics);
+        return adder == null ? 0 : adder.sum();
+    }
+
+    private EndpointMetrics metrics(String endpoint) {
+        EndpointMetrics metrics = endpoints.get(endpoint);
+        return metrics != null ? metrics : endpoints.computeIfAbsent(endpoint, name -> new EndpointMetrics());
+    }
+
+    private static void line(StringBuilder out, String name, double value) {
+        out.append(name).append(' ').append(value).append('\n');
+    }
+
+    private static void line(StringBuilder out, String name, long value) {
+        out.append(name).append(' ').append(value).append('\n');
+    }
+
+    private static final class EndpointMetrics {
+        private final LatencyHistogram[] phases = new LatencyHistogram[Phase.values().length];
+        private final LongAdder bytes = new LongAdder();
+        private final LongAdder rows = new LongAdder();
+        private final LongAdder cacheHits = new LongAdder();
+        private final LongAdder cacheMisses = new LongAdder();
+        private final LongAdder retries = new LongAdder();
+        private final ConcurrentHashMap<Integer, LongAdder> errors = new ConcurrentHashMap<>();
+
+        EndpointMetrics() {
+            for (int i = 0; i < phases.length; i++) {
+                phases[i] = new LatencyHistogram();
+            }
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package ergast.metrics;
+
+/**
+ * Metrics that record nothing; returned by {@link ErgastMetrics#none()}.
+ */
+final class NoopMetrics implements ErgastMetrics {
+
+    static final NoopMetrics INSTANCE = new NoopMetrics();
+
+    private NoopMetrics() {
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return false;
+    }
+
+    @Override
+    public void recordTime(String endpoint, Phase phase, long nanos) {
+    }
+
+    @Override
+    public void recordPayload(String endpoint, long bytes) {
+    }
+
+    @Override
+    public void recordRows(String endpoint, int rows) {
+    }
+
+    @Override
+    public void recordCache(String endpoint, boolean hit) {
+    }
+
+    @Override
+    public void recordRetry(String endpoint, int statusCode) {
+    }
+
+    @Override
+    public void recordError(String endpoint, int statusCode) {
+    }
+}
@@ -0,0 +1,11 @@
+package ergast.metrics;
+
+/**
+ * The phases of a request that are timed.
+ */
+public enum Phase {
+    QUEUE, // Waiting in the scheduler for the rate limit, from submission to the first attempt.
+    HTTP, // The exchange including retries: connect, server time and body transfer. The JDK client reports no finer split.
+    PARSE, // Streaming the body through the parser, which maps rows to objects as it reads them.
+    TOTAL // From the request being made to the parsed rows being available, including cache hits.
+}
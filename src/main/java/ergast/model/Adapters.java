@@ -0,0 +1,137 @@
+package ergast.model;
+
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.TypeAdapterFactory;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import ergast.parser.TimeParser;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+/**
+ * Gson adapters that convert the strings of the API into the typed fields of the model while parsing,
+ * so that nothing is converted again when the fields are read. Referenced through {@code @JsonAdapter}.
+ */
+final class Adapters {
+
+    private Adapters() {
+    }
+
+    static final class DateAdapter extends TypeAdapter<LocalDate> {
+        @Override
+        public void write(JsonWriter out, LocalDate value) throws IOException {
+            out.value(value.toString());
+        }
+
+        @Override
+        public LocalDate read(JsonReader in) throws IOException {
+            return LocalDate.parse(in.nextString());
+        }
+    }
+
+    /**
+     * Times of day, either local ({@code "14:21:30"}) or in UTC ({@code "13:00:00Z"}). The offset is dropped.
+     */
+    static final class TimeOfDayAdapter extends TypeAdapter<LocalTime> {
+        @Override
+        public void write(JsonWriter out, LocalTime value) throws IOException {
+            out.value(value.format(DateTimeFormatter.ISO_LOCAL_TIME));
+        }
+
+        @Override
+        public LocalTime read(JsonReader in) throws IOException {
+            return LocalTime.parse(in.nextString(), DateTimeFormatter.ISO_TIME);
+        }
+    }
+
+    /**
+     * Lap, session and pit stop times as milliseconds; an empty value is read as 0.
+     */
+    static final class MillisAdapter extends TypeAdapter<Integer> {
+        @Override
+        public void write(JsonWriter out, Integer value) throws IOException {
+            if (value == 0) {
+                out.nullValue();
+            } else {
+                out.value(TimeParser.formatMillis(value));
+            }
+        }
+
+        @Override
+        public Integer read(JsonReader in) throws IOException {
+            return millis(in.nextString());
+        }
+    }
+
+    /**
+     * Reads both members of a {@link Time}, deriving the milliseconds from the text when only the text is given.
+     */
+    static final class TimeAdapter extends TypeAdapter<Time> {
+        @Override
+        public void write(JsonWriter out, Time value) throws IOException {
+            out.beginObject();
+            out.name("millis").value(Integer.toString(value.getMillis()));
+            out.name("time").value(value.getTime());
+            out.endObject();
+        }
+
+        @Override
+        public Time read(JsonReader in) throws IOException {
+            String millis = null;
+            String time = null;
+            in.beginObject();
+            while (in.hasNext()) {
+                String name = in.nextName();
+                if (in.peek() == JsonToken.NULL) {
+                    in.nextNull();
+                } else if ("millis".equals(name)) {
+                    millis = in.nextString();
+                } else if ("time".equals(name)) {
+                    time = in.nextString();
+                } else {
+                    in.skipValue();
+                }
+            }
+            in.endObject();
+            return new Time(millis != null ? Integer.parseInt(millis) : millis(time), time);
+        }
+    }
+
+    /**
+     * Copies lists into exactly sized unmodifiable ones.
+     */
+    static final class ImmutableListFactory implements TypeAdapterFactory {
+        @Override
+        public <T> TypeAdapter<T> create(Gson gson, TypeToken<T> type) {
+            if (!List.class.isAssignableFrom(type.getRawType())) {
+                return null;
+            }
+            TypeAdapter<T> delegate = gson.getAdapter(type);
+            return new TypeAdapter<T>() {
+                @Override
+                public void write(JsonWriter out, T value) throws IOException {
+                    delegate.write(out, value);
+                }
+
+                @Override
+                @SuppressWarnings("unchecked")
+                public T read(JsonReader in) throws IOException {
+                    List<?> list = (List<?>) delegate.read(in);
+                    return list == null ? null : (T) List.copyOf(list);
+                }
+            };
+        }
+    }
+
+    private static int millis(String text) {
+        long millis = TimeParser.parseMillisOrNone(text);
+        return millis == TimeParser.NO_TIME ? 0 : (int) millis;
+    }
+}
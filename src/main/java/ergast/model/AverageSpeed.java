@@ -0,0 +1,9 @@
+package ergast.model;
+
+import lombok.Value;
+
+@Value
+public class AverageSpeed {
+    String units;
+    double speed;
+}
@@ -0,0 +1,13 @@
+package ergast.model;
+
+import com.google.gson.annotations.SerializedName;
+import lombok.Value;
+
+@Value
+public class Circuit {
+    String circuitId;
+    String url;
+    String circuitName;
+    @SerializedName("Location")
+    Location location;
+}
@@ -0,0 +1,11 @@
+package ergast.model;
+
+import lombok.Value;
+
+@Value
+public class Constructor {
+    String constructorId;
+    String url;
+    String name;
+    String nationality;
+}
@@ -0,0 +1,14 @@
+package ergast.model;
+
+import com.google.gson.annotations.SerializedName;
+import lombok.Value;
+
+@Value
+public class ConstructorStandings {
+    int position;
+    String positionText;
+    double points;
+    int wins;
+    @SerializedName("Constructor")
+    Constructor constructor;
+}
@@ -0,0 +1,19 @@
+package ergast.model;
+
+import com.google.gson.annotations.JsonAdapter;
+import lombok.Value;
+
+import java.time.LocalDate;
+
+@Value
+public class Driver {
+    String driverId;
+    int permanentNumber;
+    String code;
+    String url;
+    String givenName;
+    String familyName;
+    @JsonAdapter(Adapters.DateAdapter.class)
+    LocalDate dateOfBirth;
+    String nationality;
+}
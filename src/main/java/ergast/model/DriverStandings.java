@@ -0,0 +1,20 @@
+package ergast.model;
+
+import com.google.gson.annotations.JsonAdapter;
+import com.google.gson.annotations.SerializedName;
+import lombok.Value;
+
+import java.util.List;
+
+@Value
+public class DriverStandings {
+    int position;
+    String positionText;
+    double points;
+    int wins;
+    @SerializedName("Driver")
+    Driver driver;
+    @SerializedName("Constructors")
+    @JsonAdapter(Adapters.ImmutableListFactory.class)
+    List<Constructor> constructors;
+}
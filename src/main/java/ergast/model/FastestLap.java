@@ -0,0 +1,14 @@
+package ergast.model;
+
+import com.google.gson.annotations.SerializedName;
+import lombok.Value;
+
+@Value
+public class FastestLap {
+    int rank;
+    int lap;
+    @SerializedName("Time")
+    Time time;
+    @SerializedName("AverageSpeed")
+    AverageSpeed averageSpeed;
+}
@@ -0,0 +1,10 @@
+package ergast.model;
+
+import lombok.Value;
+
+@Value
+public class FinishingStatus {
+    int statusId;
+    int count;
+    String status;
+}
@@ -0,0 +1,15 @@
+package ergast.model;
+
+import com.google.gson.annotations.JsonAdapter;
+import com.google.gson.annotations.SerializedName;
+import lombok.Value;
+
+import java.util.List;
+
+@Value
+public class Lap {
+    int number;
+    @SerializedName("Timings")
+    @JsonAdapter(Adapters.ImmutableListFactory.class)
+    List<Timing> timings;
+}
@@ -0,0 +1,13 @@
+package ergast.model;
+
+import com.google.gson.annotations.SerializedName;
+import lombok.Value;
+
+@Value
+public class Location {
+    float lat;
+    @SerializedName("long")
+    float lng;
+    String locality;
+    String country;
+}
@@ -0,0 +1,19 @@
+package ergast.model;
+
+import com.google.gson.annotations.JsonAdapter;
+import com.google.gson.annotations.SerializedName;
+import lombok.Value;
+
+import java.time.LocalTime;
+
+@Value
+public class PitStop {
+    String driverId;
+    int stop;
+    int lap;
+    @JsonAdapter(Adapters.TimeOfDayAdapter.class)
+    LocalTime time; // The local time of day the stop was made.
+    @SerializedName("duration")
+    @JsonAdapter(Adapters.MillisAdapter.class)
+    int durationMillis; // Time spent in the pit lane in milliseconds, 0 if it is missing.
+}
@@ -0,0 +1,25 @@
+package ergast.model;
+
+import com.google.gson.annotations.JsonAdapter;
+import com.google.gson.annotations.SerializedName;
+import lombok.Value;
+
+@Value
+public class Qualification {
+    int number;
+    int position;
+    @SerializedName("Driver")
+    Driver driver;
+    @SerializedName("Constructor")
+    Constructor constructor;
+    // Session times in milliseconds, 0 for sessions the driver did not set a time in.
+    @SerializedName("Q1")
+    @JsonAdapter(Adapters.MillisAdapter.class)
+    int q1;
+    @SerializedName("Q2")
+    @JsonAdapter(Adapters.MillisAdapter.class)
+    int q2;
+    @SerializedName("Q3")
+    @JsonAdapter(Adapters.MillisAdapter.class)
+    int q3;
+}
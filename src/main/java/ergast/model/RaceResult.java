@@ -0,0 +1,23 @@
+package ergast.model;
+
+import com.google.gson.annotations.SerializedName;
+import lombok.Value;
+
+@Value
+public class RaceResult {
+    int number;
+    int position;
+    String positionText;
+    double points;
+    @SerializedName("Driver")
+    Driver driver;
+    @SerializedName("Constructor")
+    Constructor constructor;
+    int grid;
+    int laps;
+    String status;
+    @SerializedName("Time")
+    Time time;
+    @SerializedName("FastestLap")
+    FastestLap fastestLap;
+}
@@ -0,0 +1,22 @@
+package ergast.model;
+
+import com.google.gson.annotations.JsonAdapter;
+import com.google.gson.annotations.SerializedName;
+import lombok.Value;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+@Value
+public class Schedule {
+    int season;
+    int round;
+    String url;
+    String raceName;
+    @SerializedName("Circuit")
+    Circuit circuit;
+    @JsonAdapter(Adapters.DateAdapter.class)
+    LocalDate date;
+    @JsonAdapter(Adapters.TimeOfDayAdapter.class)
+    LocalTime time; // Start time in UTC, null for races before the API recorded it.
+}
@@ -0,0 +1,11 @@
+package ergast.model;
+
+import com.google.gson.annotations.JsonAdapter;
+import lombok.Value;
+
+@Value
+@JsonAdapter(Adapters.TimeAdapter.class)
+public class Time {
+    int millis; // The time in milliseconds, parsed from the text where the response has no millis.
+    String time; // The time as written: the race time of the winner, the gap to the winner for everyone else.
+}
@@ -0,0 +1,14 @@
+package ergast.model;
+
+import com.google.gson.annotations.JsonAdapter;
+import com.google.gson.annotations.SerializedName;
+import lombok.Value;
+
+@Value
+public class Timing {
+    String driverId;
+    int position;
+    @SerializedName("time")
+    @JsonAdapter(Adapters.MillisAdapter.class)
+    int millis; // The lap time in milliseconds, 0 if it is missing.
+}
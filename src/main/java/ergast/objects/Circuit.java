@@ -1,5 +1,6 @@
 package ergast.objects;
 
+import com.google.gson.annotations.SerializedName;
 import lombok.*;
 
 @Getter
@@ -10,5 +11,6 @@ public class Circuit {
     private final String circuitId;
     private final String url;
     private final String circuitName;
+    @SerializedName("Location")
     private final Location location;
 }
@@ -1,5 +1,7 @@
 package ergast.objects;
 
+import com.google.gson.annotations.JsonAdapter;
+import com.google.gson.annotations.SerializedName;
 import lombok.*;
 
 @Getter
@@ -10,7 +12,9 @@ import lombok.*;
 public class ConstructorStandings {
     private int position;
     private String positionText;
+    @JsonAdapter(PointsAdapter.class)
     private int points;
     private int wins;
+    @SerializedName("Constructor")
     private Constructor constructor;
 }
@@ -1,5 +1,7 @@
 package ergast.objects;
 
+import com.google.gson.annotations.JsonAdapter;
+import com.google.gson.annotations.SerializedName;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import lombok.AllArgsConstructor;
@@ -13,9 +15,12 @@ import java.util.List;
 public class DriverStandings {
     private int position;
     private String positionText;
+    @JsonAdapter(PointsAdapter.class)
     private int points;
     private int wins;
+    @SerializedName("Driver")
     private Driver driver;
+    @SerializedName("Constructors")
     private List<Constructor> constructors;
 
 }
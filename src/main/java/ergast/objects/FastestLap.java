@@ -1,5 +1,7 @@
 package ergast.objects;
 
+import com.google.gson.annotations.SerializedName;
+import ergast.parser.TimeParser;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import lombok.AllArgsConstructor;
@@ -10,7 +12,13 @@ import lombok.AllArgsConstructor;
 public class FastestLap {
     private int rank;
     private int lap;
+    @SerializedName("Time")
     private Time time;
+    @SerializedName("AverageSpeed")
     private AverageSpeed averageSpeed;
 
+    // The fastest lap time in milliseconds, or TimeParser.NO_TIME if it is missing.
+    public long getTimeMillis() {
+        return time == null ? TimeParser.NO_TIME : time.getTimeMillis();
+    }
 }
@@ -1,5 +1,6 @@
 package ergast.objects;
 
+import com.google.gson.annotations.SerializedName;
 import lombok.Data;
 import lombok.AllArgsConstructor;
 import java.util.List;
@@ -8,6 +9,7 @@ import java.util.List;
 @AllArgsConstructor
 public class Lap {
     private int number;
+    @SerializedName("Timings")
     private List<Timing> timings;
 
 }
@@ -1,5 +1,6 @@
 package ergast.objects;
 
+import com.google.gson.annotations.SerializedName;
 import lombok.Data;
 import lombok.AllArgsConstructor;
 import java.util.List;
@@ -11,9 +12,11 @@ public class LapTimes {
     private int round;
     private String url;
     private String raceName;
+    @SerializedName("Circuit")
     private Circuit circuit;
     private String date;
     private String time;
+    @SerializedName("Laps")
     private List<Lap> laps;
 
 }
@@ -1,5 +1,6 @@
 package ergast.objects;
 
+import com.google.gson.annotations.SerializedName;
 import lombok.Data;
 import lombok.AllArgsConstructor;
 
@@ -7,6 +8,7 @@ import lombok.AllArgsConstructor;
 @AllArgsConstructor
 public class Location {
     private float lat;
+    @SerializedName("long")
     private float lng;
     private String locality;
     private String country;
@@ -1,5 +1,6 @@
 package ergast.objects;
 
+import ergast.parser.TimeParser;
 import lombok.Data;
 import lombok.AllArgsConstructor;
 
@@ -12,4 +13,13 @@ public class PitStop {
     private String time;
     private String duration;
 
+    // The time of day the stop was made, in milliseconds since midnight local time, or TimeParser.NO_TIME.
+    public long getTimeMillis() {
+        return TimeParser.parseMillisOrNone(time);
+    }
+
+    // The time spent in the pit lane in milliseconds, or TimeParser.NO_TIME if it is missing.
+    public long getDurationMillis() {
+        return TimeParser.parseMillisOrNone(duration);
+    }
 }
@@ -0,0 +1,24 @@
+package ergast.objects;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+
+/**
+ * Reads points into the whole numbers of these types. Half points, as awarded for shortened races, are rounded
+ * half up, as {@code ergast.offline.OfflineErgast} rounds them. Referenced through {@code @JsonAdapter}.
+ */
+final class PointsAdapter extends TypeAdapter<Integer> {
+
+    @Override
+    public void write(JsonWriter out, Integer value) throws IOException {
+        out.value(Integer.toString(value));
+    }
+
+    @Override
+    public Integer read(JsonReader in) throws IOException {
+        return Math.round(Float.parseFloat(in.nextString()));
+    }
+}
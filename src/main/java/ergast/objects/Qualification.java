@@ -1,5 +1,6 @@
 package ergast.objects;
 
+import com.google.gson.annotations.SerializedName;
 import lombok.Data;
 import lombok.AllArgsConstructor;
 
@@ -8,10 +9,15 @@ import lombok.AllArgsConstructor;
 public class Qualification {
     private int number;
     private int position;
+    @SerializedName("Driver")
     private Driver driver;
+    @SerializedName("Constructor")
     private Constructor constructor;
+    @SerializedName("Q1")
     private String q1;
+    @SerializedName("Q2")
     private String q2;
+    @SerializedName("Q3")
     private String q3;
 
 }
@@ -1,5 +1,7 @@
 package ergast.objects;
 
+import com.google.gson.annotations.JsonAdapter;
+import com.google.gson.annotations.SerializedName;
 import lombok.Data;
 import lombok.AllArgsConstructor;
 
@@ -9,13 +11,18 @@ public class RaceResult {
     private int number;
     private int position;
     private String positionText;
+    @JsonAdapter(PointsAdapter.class)
     private int points;
+    @SerializedName("Driver")
     private Driver driver;
+    @SerializedName("Constructor")
     private Constructor constructor;
     private int grid;
     private int laps;
     private String status;
+    @SerializedName("Time")
     private Time time;
+    @SerializedName("FastestLap")
     private FastestLap fastestLap;
 
 }
@@ -1,5 +1,6 @@
 package ergast.objects;
 
+import com.google.gson.annotations.SerializedName;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import lombok.AllArgsConstructor;
@@ -12,6 +13,7 @@ public class Schedule {
     private int round;
     private String url;
     private String raceName;
+    @SerializedName("Circuit")
     private Circuit circuit;
     private String date;
     private String time;
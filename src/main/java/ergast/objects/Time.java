@@ -1,5 +1,6 @@
 package ergast.objects;
 
+import ergast.parser.TimeParser;
 import lombok.Data;
 import lombok.AllArgsConstructor;
 
@@ -9,4 +10,8 @@ public class Time {
     private int millis;
     private String time;
 
+    // The time as written in milliseconds: the race time of the winner, the gap to the winner for everyone else.
+    public long getTimeMillis() {
+        return TimeParser.parseMillisOrNone(time);
+    }
 }
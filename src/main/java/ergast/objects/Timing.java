@@ -1,5 +1,6 @@
 package ergast.objects;
 
+import ergast.parser.TimeParser;
 import lombok.Data;
 import lombok.AllArgsConstructor;
 
@@ -10,4 +11,8 @@ public class Timing {
     private int position;
     private String time;
 
+    // The lap time in milliseconds, or TimeParser.NO_TIME if it is missing.
+    public long getTimeMillis() {
+        return TimeParser.parseMillisOrNone(time);
+    }
 }
@@ -0,0 +1,531 @@
+package ergast.offline;
+
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVParser;
+import org.apache.commons.csv.CSVRecord;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.Function;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * The tables of the Ergast CSV database dump ({@code races.csv}, {@code results.csv}, {@code lap_times.csv}, ...)
+ * held in memory and indexed by race. Every file is read and indexed by its own task, so loading runs
+ * on as many threads as there are files; lap times are kept as primitive columns per race rather than as
+ * objects. Query the tables through {@link OfflineErgast}.
+ *
+ * <p>Files missing from the directory leave their table empty. The dump writes {@code \N} for missing
+ * values. Instances are immutable once loaded and safe to share between threads.</p>
+ */
+public final class ErgastDump {
+
+    private static final Logger LOG = Logger.getLogger(ErgastDump.class.getName());
+
+    // The dump's marker for a missing value.
+    static final String NULL = "\\N";
+
+    private static final CSVFormat FORMAT = CSVFormat.DEFAULT.builder()
+            .setHeader()
+            .setSkipHeaderRecord(true)
+            .build();
+
+    final Map<Integer, CircuitRow> circuits;
+    final Map<Integer, ConstructorRow> constructors;
+    final Map<Integer, DriverRow> drivers;
+    final Map<Integer, String> statuses;
+    final NavigableMap<Integer, String> seasons; // Season URL by year.
+    final Map<Integer, RaceRow> races; // By race id.
+    final NavigableMap<Integer, NavigableMap<Integer, RaceRow>> racesBySeason; // By year, then round.
+    final Map<Integer, List<ResultRow>> results; // By race id, in finishing order.
+    final Map<Integer, List<QualifyingRow>> qualifying; // By race id, in qualifying order.
+    final Map<Integer, List<StandingRow>> driverStandings; // By race id, in standings order.
+    final Map<Integer, List<StandingRow>> constructorStandings; // By race id, in standings order.
+    final Map<Integer, List<PitStopRow>> pitStops; // By race id, in order of time of day.
+    final Map<Integer, LapColumns> lapTimes; // By race id.
+
+    private ErgastDump(Loader loader) {
+        this.circuits = loader.circuits.join();
+        this.constructors = loader.constructors.join();
+        this.drivers = loader.drivers.join();
+        this.statuses = loader.statuses.join();
+        this.seasons = loader.seasons.join();
+        this.races = loader.races.join();
+        this.racesBySeason = indexBySeason(races);
+        this.results = loader.results.join();
+        this.qualifying = loader.qualifying.join();
+        this.driverStandings = loader.driverStandings.join();
+        this.constructorStandings = loader.constructorStandings.join();
+        this.pitStops = loader.pitStops.join();
+        this.lapTimes = loader.lapTimes.join();
+    }
+
+    /**
+     * Loads the dump in {@code directory} on a temporary thread pool with one thread per processor.
+     *
+     * @throws IOException If a file cannot be read, or {@link InterruptedIOException} if the calling
+     *                     thread is interrupted while waiting (its interrupt flag is restored).
+     */
+    public static ErgastDump load(Path directory) throws IOException {
+        int threads = Math.min(Loader.FILES, Runtime.getRuntime().availableProcessors());
+        ExecutorService executor = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "ergast-dump-loader");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            return load(directory, executor);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Loads the dump in {@code directory}, reading and indexing every file as a separate task on {@code executor}.
+     */
+    public static ErgastDump load(Path directory, Executor executor) throws IOException {
+        if (!Files.isDirectory(directory)) {
+            throw new IOException("Not a directory: " + directory);
+        }
+        Loader loader = new Loader(directory, executor);
+        CompletableFuture<ErgastDump> dump = loader.all().thenApply(done -> new ErgastDump(loader));
+        try {
+            return dump.get();
+        } catch (InterruptedException e) {
+            loader.cancel();
+            Thread.currentThread().interrupt();
+            InterruptedIOException interrupted = new InterruptedIOException("Interrupted while loading " + directory);
+            interrupted.initCause(e);
+            throw interrupted;
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof UncheckedIOException) {
+                throw ((UncheckedIOException) cause).getCause();
+            } else if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new IOException("Could not load " + directory, cause);
+        }
+    }
+
+    /**
+     * Returns the number of lap times held, across all races.
+     */
+    public int lapTimeCount() {
+        int count = 0;
+        for (LapColumns laps : lapTimes.values()) {
+            count += laps.size;
+        }
+        return count;
+    }
+
+    private static NavigableMap<Integer, NavigableMap<Integer, RaceRow>> indexBySeason(Map<Integer, RaceRow> races) {
+        NavigableMap<Integer, NavigableMap<Integer, RaceRow>> bySeason = new TreeMap<>();
+        for (RaceRow race : races.values()) {
+            bySeason.computeIfAbsent(race.year, year -> new TreeMap<>()).put(race.round, race);
+        }
+        return bySeason;
+    }
+
+    /**
+     * Starts one task per file; each task reads its file and builds the table's index.
+     */
+    private static final class Loader {
+        static final int FILES = 12;
+
+        private final Path directory;
+        private final Executor executor;
+        private final List<CompletableFuture<?>> tasks = new ArrayList<>(FILES);
+
+        final CompletableFuture<Map<Integer, CircuitRow>> circuits;
+        final CompletableFuture<Map<Integer, ConstructorRow>> constructors;
+        final CompletableFuture<Map<Integer, DriverRow>> drivers;
+        final CompletableFuture<Map<Integer, String>> statuses;
+        final CompletableFuture<NavigableMap<Integer, String>> seasons;
+        final CompletableFuture<Map<Integer, RaceRow>> races;
+        final CompletableFuture<Map<Integer, List<ResultRow>>> results;
+        final CompletableFuture<Map<Integer, List<QualifyingRow>>> qualifying;
+        final CompletableFuture<Map<Integer, List<StandingRow>>> driverStandings;
+        final CompletableFuture<Map<Integer, List<StandingRow>>> constructorStandings;
+        final CompletableFuture<Map<Integer, List<PitStopRow>>> pitStops;
+        final CompletableFuture<Map<Integer, LapColumns>> lapTimes;
+
+        Loader(Path directory, Executor executor) {
+            this.directory = directory;
+            this.executor = executor;
+            // The largest files first, so that they are not left to run alone at the end.
+            lapTimes = submit("lap_times.csv", ErgastDump::readLapTimes);
+            results = submit("results.csv", parser -> groupByRace(parser, ResultRow::new,
+                    Comparator.comparingInt(row -> row.positionOrder)));
+            driverStandings = submit("driver_standings.csv", parser -> groupByRace(parser,
+                    record -> new StandingRow(record, "driverId"), Comparator.comparingInt(row -> row.position)));
+            constructorStandings = submit("constructor_standings.csv", parser -> groupByRace(parser,
+                    record -> new StandingRow(record, "constructorId"), Comparator.comparingInt(row -> row.position)));
+            qualifying = submit("qualifying.csv", parser -> groupByRace(parser, QualifyingRow::new,
+                    Comparator.comparingInt(row -> row.position)));
+            pitStops = submit("pit_stops.csv", parser -> groupByRace(parser, PitStopRow::new,
+                    Comparator.comparing((PitStopRow row) -> row.time, Comparator.nullsLast(Comparator.naturalOrder()))));
+            races = submit("races.csv", parser -> byId(parser, "raceId", RaceRow::new));
+            drivers = submit("drivers.csv", parser -> byId(parser, "driverId", DriverRow::new));
+            constructors = submit("constructors.csv", parser -> byId(parser, "constructorId", ConstructorRow::new));
+            circuits = submit("circuits.csv", parser -> byId(parser, "circuitId", CircuitRow::new));
+            statuses = submit("status.csv", parser -> byId(parser, "statusId", record -> record.get("status")));
+            seasons = submit("seasons.csv", parser -> {
+                NavigableMap<Integer, String> urls = new TreeMap<>();
+                for (CSVRecord record : parser) {
+                    urls.put(integer(record.get("year")), string(record.get("url")));
+                }
+                return urls;
+            });
+        }
+
+        CompletableFuture<Void> all() {
+            return CompletableFuture.allOf(tasks.toArray(new CompletableFuture<?>[0]));
+        }
+
+        void cancel() {
+            for (CompletableFuture<?> task : tasks) {
+                task.cancel(true);
+            }
+        }
+
+        private <R> CompletableFuture<R> submit(String file, TableReader<R> reader) {
+            CompletableFuture<R> task = CompletableFuture.supplyAsync(() -> read(directory.resolve(file), reader), executor);
+            tasks.add(task);
+            return task;
+        }
+    }
+
+    /**
+     * Reads one parsed CSV file into a table.
+     */
+    private interface TableReader<R> {
+        R read(CSVParser parser) throws IOException;
+    }
+
+    private static <R> R read(Path file, TableReader<R> reader) {
+        if (!Files.exists(file)) {
+            LOG.log(Level.INFO, "No " + file.getFileName() + " in the dump, leaving its table empty");
+            try {
+                return reader.read(CSVParser.parse("", FORMAT));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        try (Reader in = Files.newBufferedReader(file, StandardCharsets.UTF_8);
+             CSVParser parser = CSVParser.parse(in, FORMAT)) {
+            return reader.read(parser);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static <R> Map<Integer, R> byId(CSVParser parser, String idColumn, Function<CSVRecord, R> mapper) {
+        Map<Integer, R> rows = new HashMap<>();
+        for (CSVRecord record : parser) {
+            rows.put(integer(record.get(idColumn)), mapper.apply(record));
+        }
+        return rows;
+    }
+
+    private static <R extends RaceScoped> Map<Integer, List<R>> groupByRace(CSVParser parser, Function<CSVRecord, R> mapper,
+                                                                        Comparator<? super R> order) {
+        Map<Integer, List<R>> rows = new HashMap<>();
+        for (CSVRecord record : parser) {
+            R row = mapper.apply(record);
+            rows.computeIfAbsent(row.raceId(), raceId -> new ArrayList<>()).add(row);
+        }
+        for (List<R> race : rows.values()) {
+            race.sort(order);
+            ((ArrayList<R>) race).trimToSize();
+        }
+        return rows;
+    }
+
+    // Column positions are resolved once; the dump is sorted by race, so the current race's columns are cached.
+    private static Map<Integer, LapColumns> readLapTimes(CSVParser parser) {
+        Map<String, Integer> header = parser.getHeaderMap();
+        Map<Integer, LapColumns> races = new HashMap<>();
+        if (header == null || header.isEmpty()) {
+            return races;
+        }
+        int raceColumn = header.get("raceId");
+        int driverColumn = header.get("driverId");
+        int lapColumn = header.get("lap");
+        int positionColumn = header.get("position");
+        int millisColumn = header.get("milliseconds");
+        int currentRace = Integer.MIN_VALUE;
+        LapColumns current = null;
+        for (CSVRecord record : parser) {
+            int raceId = integer(record.get(raceColumn));
+            if (raceId != currentRace) {
+                currentRace = raceId;
+                current = races.computeIfAbsent(raceId, id -> new LapColumns());
+            }
+            current.add(integer(record.get(driverColumn)), integer(record.get(lapColumn)),
+                    integer(record.get(positionColumn)), integer(record.get(millisColumn)));
+        }
+        for (LapColumns race : races.values()) {
+            race.trim();
+        }
+        return races;
+    }
+
+    static String string(String value) {
+        return NULL.equals(value) ? null : value;
+    }
+
+    // Missing numbers read as 0, as the Ergast API omits them.
+    static int integer(String value) {
+        return value == null || value.isEmpty() || NULL.equals(value) ? 0 : Integer.parseInt(value);
+    }
+
+    static float decimal(String value) {
+        return value == null || value.isEmpty() || NULL.equals(value) ? 0 : Float.parseFloat(value);
+    }
+
+    /**
+     * A row that belongs to a race.
+     */
+    interface RaceScoped {
+        int raceId();
+    }
+
+    static final class CircuitRow {
+        final String ref;
+        final String name;
+        final String location;
+        final String country;
+        final float lat;
+        final float lng;
+        final String url;
+
+        CircuitRow(CSVRecord record) {
+            ref = record.get("circuitRef");
+            name = string(record.get("name"));
+            location = string(record.get("location"));
+            country = string(record.get("country"));
+            lat = decimal(record.get("lat"));
+            lng = decimal(record.get("lng"));
+            url = string(record.get("url"));
+        }
+    }
+
+    static final class ConstructorRow {
+        final String ref;
+        final String name;
+        final String nationality;
+        final String url;
+
+        ConstructorRow(CSVRecord record) {
+            ref = record.get("constructorRef");
+            name = string(record.get("name"));
+            nationality = string(record.get("nationality"));
+            url = string(record.get("url"));
+        }
+    }
+
+    static final class DriverRow {
+        final String ref;
+        final int number;
+        final String code;
+        final String forename;
+        final String surname;
+        final String dob;
+        final String nationality;
+        final String url;
+
+        DriverRow(CSVRecord record) {
+            ref = record.get("driverRef");
+            number = integer(record.get("number"));
+            code = string(record.get("code"));
+            forename = string(record.get("forename"));
+            surname = string(record.get("surname"));
+            dob = string(record.get("dob"));
+            nationality = string(record.get("nationality"));
+            url = string(record.get("url"));
+        }
+    }
+
+    static final class RaceRow {
+        final int raceId;
+        final int year;
+        final int round;
+        final int circuitId;
+        final String name;
+        final String date;
+        final String time;
+        final String url;
+
+        RaceRow(CSVRecord record) {
+            raceId = integer(record.get("raceId"));
+            year = integer(record.get("year"));
+            round = integer(record.get("round"));
+            circuitId = integer(record.get("circuitId"));
+            name = string(record.get("name"));
+            date = string(record.get("date"));
+            time = string(record.get("time"));
+            url = string(record.get("url"));
+        }
+    }
+
+    static final class ResultRow implements RaceScoped {
+        final int raceId;
+        final int driverId;
+        final int constructorId;
+        final int number;
+        final int grid;
+        final int positionOrder;
+        final String positionText;
+        final float points;
+        final int laps;
+        final String time;
+        final int millis;
+        final int fastestLap;
+        final int rank;
+        final String fastestLapTime;
+        final String fastestLapSpeed;
+        final int statusId;
+
+        ResultRow(CSVRecord record) {
+            raceId = integer(record.get("raceId"));
+            driverId = integer(record.get("driverId"));
+            constructorId = integer(record.get("constructorId"));
+            number = integer(record.get("number"));
+            grid = integer(record.get("grid"));
+            positionOrder = integer(record.get("positionOrder"));
+            positionText = string(record.get("positionText"));
+            points = decimal(record.get("points"));
+            laps = integer(record.get("laps"));
+            time = string(record.get("time"));
+            millis = integer(record.get("milliseconds"));
+            fastestLap = integer(record.get("fastestLap"));
+            rank = integer(record.get("rank"));
+            fastestLapTime = string(record.get("fastestLapTime"));
+            fastestLapSpeed = string(record.get("fastestLapSpeed"));
+            statusId = integer(record.get("statusId"));
+        }
+
+        @Override
+        public int raceId() {
+            return raceId;
+        }
+    }
+
+    static final class QualifyingRow implements RaceScoped {
+        final int raceId;
+        final int driverId;
+        final int constructorId;
+        final int number;
+        final int position;
+        final String q1;
+        final String q2;
+        final String q3;
+
+        QualifyingRow(CSVRecord record) {
+            raceId = integer(record.get("raceId"));
+            driverId = integer(record.get("driverId"));
+            constructorId = integer(record.get("constructorId"));
+            number = integer(record.get("number"));
+            position = integer(record.get("position"));
+            q1 = string(record.get("q1"));
+            q2 = string(record.get("q2"));
+            q3 = string(record.get("q3"));
+        }
+
+        @Override
+        public int raceId() {
+            return raceId;
+        }
+    }
+
+    /**
+     * A row of driver or constructor standings; {@code entityId} is the driver or constructor id.
+     */
+    static final class StandingRow implements RaceScoped {
+        final int raceId;
+        final int entityId;
+        final float points;
+        final int position;
+        final String positionText;
+        final int wins;
+
+        StandingRow(CSVRecord record, String entityColumn) {
+            raceId = integer(record.get("raceId"));
+            entityId = integer(record.get(entityColumn));
+            points = decimal(record.get("points"));
+            position = integer(record.get("position"));
+            positionText = string(record.get("positionText"));
+            wins = integer(record.get("wins"));
+        }
+
+        @Override
+        public int raceId() {
+            return raceId;
+        }
+    }
+
+    static final class PitStopRow implements RaceScoped {
+        final int raceId;
+        final int driverId;
+        final int stop;
+        final int lap;
+        final String time;
+        final String duration;
+
+        PitStopRow(CSVRecord record) {
+            raceId = integer(record.get("raceId"));
+            driverId = integer(record.get("driverId"));
+            stop = integer(record.get("stop"));
+            lap = integer(record.get("lap"));
+            time = string(record.get("time"));
+            duration = string(record.get("duration"));
+        }
+
+        @Override
+        public int raceId() {
+            return raceId;
+        }
+    }
+
+    /**
+     * The lap times of one race as parallel primitive columns.
+     */
+    static final class LapColumns {
+        int size;
+        int[] driverIds = new int[64];
+        int[] laps = new int[64];
+        int[] positions = new int[64];
+        int[] millis = new int[64];
+
+        void add(int driverId, int lap, int position, int time) {
+            if (size == driverIds.length) {
+                int capacity = size * 2;
+                driverIds = Arrays.copyOf(driverIds, capacity);
+                laps = Arrays.copyOf(laps, capacity);
+                positions = Arrays.copyOf(positions, capacity);
+                millis = Arrays.copyOf(millis, capacity);
+            }
+            driverIds[size] = driverId;
+            laps[size] = lap;
+            positions[size] = position;
+            millis[size] = time;
+            size++;
+        }
+
+        void trim() {
+            driverIds = Arrays.copyOf(driverIds, size);
+            laps = Arrays.copyOf(laps, size);
+            positions = Arrays.copyOf(positions, size);
+            millis = Arrays.copyOf(millis, size);
+        }
+    }
+}
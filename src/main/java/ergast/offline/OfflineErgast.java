@@ -0,0 +1,343 @@
+package ergast.offline;
+
+import ergast.Ergast;
+import ergast.ErgastSource;
+import ergast.exceptions.SeasonException;
+import ergast.objects.*;
+import ergast.offline.ErgastDump.*;
+import ergast.parser.TimeParser;
+
+import java.util.*;
+
+/**
+ * Answers the queries of {@link Ergast} from an {@link ErgastDump} instead of the network. The returned
+ * objects have the same shape as those parsed from the API, and season and round follow the same rules:
+ * a season of {@link Ergast#NO_SEASON} means all seasons, a round of {@link Ergast#NO_ROUND} means every
+ * round of the season, and standings without a round are those after the last round.
+ *
+ * <p>Limit and offset do not apply; every matching row is returned. Each call builds fresh objects, so
+ * callers may modify them without affecting later queries.</p>
+ */
+public class OfflineErgast implements ErgastSource {
+
+    private final ErgastDump dump;
+    private final int season;
+
+    public OfflineErgast(ErgastDump dump, int season) {
+        this.dump = Objects.requireNonNull(dump, "dump");
+        this.season = season;
+    }
+
+    // Drivers who took part in the season, or every driver; ordered by driver id like the API.
+    @Override
+    public List<Driver> getDrivers() {
+        Collection<Integer> ids = season == Ergast.NO_SEASON ? dump.drivers.keySet() : participants(true);
+        List<Driver> drivers = new ArrayList<>(ids.size());
+        for (int id : ids) {
+            drivers.add(driver(id));
+        }
+        drivers.sort(Comparator.comparing(Driver::getDriverId));
+        return drivers;
+    }
+
+    @Override
+    public List<Schedule> getSchedule() {
+        List<Schedule> schedule = new ArrayList<>();
+        for (RaceRow race : races(Ergast.NO_ROUND)) {
+            schedule.add(new Schedule(race.year, race.round, race.url, race.name, circuit(race.circuitId),
+                    race.date, time(race)));
+        }
+        return schedule;
+    }
+
+    @Override
+    public List<Circuit> getCircuits() {
+        Set<Integer> ids = new HashSet<>();
+        if (season == Ergast.NO_SEASON) {
+            ids.addAll(dump.circuits.keySet());
+        } else {
+            for (RaceRow race : races(Ergast.NO_ROUND)) {
+                ids.add(race.circuitId);
+            }
+        }
+        List<Circuit> circuits = new ArrayList<>(ids.size());
+        for (int id : ids) {
+            circuits.add(circuit(id));
+        }
+        circuits.sort(Comparator.comparing(Circuit::getCircuitId));
+        return circuits;
+    }
+
+    @Override
+    public List<Season> getSeasons() {
+        Map<Integer, String> seasons = season == Ergast.NO_SEASON ? dump.seasons
+                : dump.seasons.subMap(season, true, season, true);
+        List<Season> result = new ArrayList<>(seasons.size());
+        for (Map.Entry<Integer, String> entry : seasons.entrySet()) {
+            result.add(new Season(entry.getKey(), entry.getValue()));
+        }
+        return result;
+    }
+
+    @Override
+    public List<Constructor> getConstructors() {
+        Collection<Integer> ids = season == Ergast.NO_SEASON ? dump.constructors.keySet() : participants(false);
+        List<Constructor> constructors = new ArrayList<>(ids.size());
+        for (int id : ids) {
+            constructors.add(constructor(id));
+        }
+        constructors.sort(Comparator.comparing(Constructor::getConstructorId));
+        return constructors;
+    }
+
+    @Override
+    public List<RaceResult> getRaceResults(int round) {
+        requireSeason();
+        List<RaceResult> results = new ArrayList<>();
+        for (RaceRow race : races(round)) {
+            for (ResultRow row : dump.results.getOrDefault(race.raceId, Collections.emptyList())) {
+                results.add(result(row));
+            }
+        }
+        return results;
+    }
+
+    @Override
+    public List<Qualification> getQualificationResults(int round) {
+        requireSeason();
+        List<Qualification> qualifying = new ArrayList<>();
+        for (RaceRow race : races(round)) {
+            for (QualifyingRow row : dump.qualifying.getOrDefault(race.raceId, Collections.emptyList())) {
+                qualifying.add(new Qualification(row.number, row.position, driver(row.driverId),
+                        constructor(row.constructorId), row.q1, row.q2, row.q3));
+            }
+        }
+        return qualifying;
+    }
+
+    @Override
+    public List<DriverStandings> getDriverStandings(int round) {
+        requireSeason();
+        RaceRow race = standingsRace(round);
+        if (race == null) {
+            return new ArrayList<>();
+        }
+        Map<Integer, List<Constructor>> teams = driverTeams(race.round);
+        List<DriverStandings> standings = new ArrayList<>();
+        for (StandingRow row : dump.driverStandings.getOrDefault(race.raceId, Collections.emptyList())) {
+            standings.add(new DriverStandings(row.position, row.positionText, points(row.points), row.wins,
+                    driver(row.entityId), teams.getOrDefault(row.entityId, new ArrayList<>())));
+        }
+        return standings;
+    }
+
+    @Override
+    public List<ConstructorStandings> getConstructorStandings(int round) {
+        requireSeason();
+        RaceRow race = standingsRace(round);
+        if (race == null) {
+            return new ArrayList<>();
+        }
+        List<ConstructorStandings> standings = new ArrayList<>();
+        for (StandingRow row : dump.constructorStandings.getOrDefault(race.raceId, Collections.emptyList())) {
+            standings.add(new ConstructorStandings(row.position, row.positionText, points(row.points), row.wins,
+                    constructor(row.entityId)));
+        }
+        return standings;
+    }
+
+    // Number of results per status in the season, the round or the whole dump; ordered by status id.
+    @Override
+    public List<FinishingStatus> getFinishingstatuses(int round) {
+        if (season == Ergast.NO_SEASON && round != Ergast.NO_ROUND) {
+            throw new SeasonException("Season must be specified if round is specified.");
+        }
+        SortedMap<Integer, Integer> counts = new TreeMap<>();
+        for (RaceRow race : races(round)) {
+            for (ResultRow row : dump.results.getOrDefault(race.raceId, Collections.emptyList())) {
+                counts.merge(row.statusId, 1, Integer::sum);
+            }
+        }
+        List<FinishingStatus> statuses = new ArrayList<>(counts.size());
+        for (Map.Entry<Integer, Integer> count : counts.entrySet()) {
+            statuses.add(new FinishingStatus(count.getKey(), count.getValue(), dump.statuses.get(count.getKey())));
+        }
+        return statuses;
+    }
+
+    @Override
+    public List<LapTimes> getLapTimes(int round) {
+        requireSeasonAndRound(round);
+        List<LapTimes> lapTimes = new ArrayList<>(1);
+        for (RaceRow race : races(round)) {
+            LapColumns columns = dump.lapTimes.get(race.raceId);
+            if (columns != null) {
+                lapTimes.add(new LapTimes(race.year, race.round, race.url, race.name, circuit(race.circuitId),
+                        race.date, time(race), laps(columns)));
+            }
+        }
+        return lapTimes;
+    }
+
+    @Override
+    public List<RacePitStops> getRacePitStops(int round) {
+        requireSeasonAndRound(round);
+        List<RacePitStops> pitStops = new ArrayList<>(1);
+        for (RaceRow race : races(round)) {
+            List<PitStopRow> rows = dump.pitStops.get(race.raceId);
+            if (rows == null) {
+                continue;
+            }
+            List<PitStop> stops = new ArrayList<>(rows.size());
+            for (PitStopRow row : rows) {
+                stops.add(new PitStop(dump.drivers.get(row.driverId).ref, row.stop, row.lap, row.time, row.duration));
+            }
+            pitStops.add(new RacePitStops(race.year, race.round, race.url, race.name, circuit(race.circuitId),
+                    race.date, time(race), stops));
+        }
+        return pitStops;
+    }
+
+    // Races of the season in round order, or only the given round; every race when no season is set.
+    private Collection<RaceRow> races(int round) {
+        if (season == Ergast.NO_SEASON) {
+            List<RaceRow> all = new ArrayList<>();
+            for (NavigableMap<Integer, RaceRow> races : dump.racesBySeason.values()) {
+                all.addAll(races.values());
+            }
+            return all;
+        }
+        NavigableMap<Integer, RaceRow> races = dump.racesBySeason.getOrDefault(season, Collections.emptyNavigableMap());
+        if (round == Ergast.NO_ROUND) {
+            return races.values();
+        }
+        RaceRow race = races.get(round);
+        return race == null ? Collections.emptyList() : Collections.singletonList(race);
+    }
+
+    // The race after which standings are reported: the given round, or the last round of the season.
+    private RaceRow standingsRace(int round) {
+        NavigableMap<Integer, RaceRow> races = dump.racesBySeason.getOrDefault(season, Collections.emptyNavigableMap());
+        if (round != Ergast.NO_ROUND) {
+            return races.get(round);
+        }
+        for (RaceRow race : races.descendingMap().values()) {
+            if (dump.driverStandings.containsKey(race.raceId) || dump.constructorStandings.containsKey(race.raceId)) {
+                return race;
+            }
+        }
+        return null;
+    }
+
+    // Ids of the drivers or constructors with a result in the season, in order of first appearance.
+    private Set<Integer> participants(boolean drivers) {
+        Set<Integer> ids = new LinkedHashSet<>();
+        for (RaceRow race : races(Ergast.NO_ROUND)) {
+            for (ResultRow row : dump.results.getOrDefault(race.raceId, Collections.emptyList())) {
+                ids.add(drivers ? row.driverId : row.constructorId);
+            }
+        }
+        return ids;
+    }
+
+    // The constructors each driver raced for in the season up to and including the round.
+    private Map<Integer, List<Constructor>> driverTeams(int upToRound) {
+        Map<Integer, Set<Integer>> teamIds = new HashMap<>();
+        for (RaceRow race : dump.racesBySeason.get(season).headMap(upToRound, true).values()) {
+            for (ResultRow row : dump.results.getOrDefault(race.raceId, Collections.emptyList())) {
+                teamIds.computeIfAbsent(row.driverId, id -> new LinkedHashSet<>()).add(row.constructorId);
+            }
+        }
+        Map<Integer, List<Constructor>> teams = new HashMap<>();
+        for (Map.Entry<Integer, Set<Integer>> driver : teamIds.entrySet()) {
+            List<Constructor> constructors = new ArrayList<>(driver.getValue().size());
+            for (int id : driver.getValue()) {
+                constructors.add(constructor(id));
+            }
+            teams.put(driver.getKey(), constructors);
+        }
+        return teams;
+    }
+
+    // Timings grouped by lap number and ordered by position within each lap, as the API returns them.
+    private List<Lap> laps(LapColumns columns) {
+        int lapCount = 0;
+        for (int i = 0; i < columns.size; i++) {
+            lapCount = Math.max(lapCount, columns.laps[i]);
+        }
+        List<List<Timing>> timings = new ArrayList<>(lapCount);
+        for (int lap = 0; lap < lapCount; lap++) {
+            timings.add(new ArrayList<>());
+        }
+        for (int i = 0; i < columns.size; i++) {
+            timings.get(columns.laps[i] - 1).add(new Timing(dump.drivers.get(columns.driverIds[i]).ref,
+                    columns.positions[i], TimeParser.formatMillis(columns.millis[i])));
+        }
+        List<Lap> laps = new ArrayList<>(lapCount);
+        for (int lap = 0; lap < lapCount; lap++) {
+            List<Timing> lapTimings = timings.get(lap);
+            if (!lapTimings.isEmpty()) {
+                lapTimings.sort(Comparator.comparingInt(Timing::getPosition));
+                laps.add(new Lap(lap + 1, lapTimings));
+            }
+        }
+        return laps;
+    }
+
+    private RaceResult result(ResultRow row) {
+        Time time = row.time == null ? null : new Time(row.millis, row.time);
+        FastestLap fastestLap = row.fastestLapTime == null ? null : new FastestLap(row.rank, row.fastestLap,
+                new Time(0, row.fastestLapTime),
+                row.fastestLapSpeed == null ? null : new AverageSpeed("kph", Double.parseDouble(row.fastestLapSpeed)));
+        return new RaceResult(row.number, row.positionOrder, row.positionText, points(row.points),
+                driver(row.driverId), constructor(row.constructorId), row.grid, row.laps,
+                dump.statuses.get(row.statusId), time, fastestLap);
+    }
+
+    private Driver driver(int id) {
+        DriverRow row = dump.drivers.get(id);
+        return Driver.builder()
+                .driverId(row.ref)
+                .permanentNumber(row.number)
+                .code(row.code)
+                .url(row.url)
+                .givenName(row.forename)
+                .familyName(row.surname)
+                .dateOfBirth(row.dob)
+                .nationality(row.nationality)
+                .build();
+    }
+
+    private Constructor constructor(int id) {
+        ConstructorRow row = dump.constructors.get(id);
+        return new Constructor(row.ref, row.url, row.name, row.nationality);
+    }
+
+    private Circuit circuit(int id) {
+        CircuitRow row = dump.circuits.get(id);
+        return new Circuit(row.ref, row.url, row.name, new Location(row.lat, row.lng, row.location, row.country));
+    }
+
+    // The API reports race start times in UTC with a trailing 'Z'.
+    private static String time(RaceRow race) {
+        return race.time == null ? null : race.time + "Z";
+    }
+
+    private void requireSeason() {
+        if (season == Ergast.NO_SEASON) {
+            throw new SeasonException("Season must be specified for this request.");
+        }
+    }
+
+    private void requireSeasonAndRound(int round) {
+        requireSeason();
+        if (round == Ergast.NO_ROUND) {
+            throw new IllegalArgumentException("Round must be specified for this request.");
+        }
+    }
+
+    // The DTOs hold whole points; half points, as awarded for shortened races, are rounded half up.
+    private static int points(float points) {
+        return Math.round(points);
+    }
+}
@@ -0,0 +1,191 @@
+package ergast.parser;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.TypeAdapter;
+import com.google.gson.TypeAdapterFactory;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+import ergast.objects.Circuit;
+import ergast.objects.Constructor;
+import ergast.objects.Driver;
+
+import java.io.IOException;
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Canonical instances of drivers, constructors and circuits, keyed by their id. A {@link Parser} given a
+ * registry passes every one it reads through it, so the thousands of results, standings and qualifying rows
+ * of a season reference the same 20-odd drivers instead of a copy each, and comparing two of them is an
+ * identity check. Parsers only intern when asked to: {@code HistoricalQuery} always uses the
+ * {@link #shared()} registry, and clients built with {@code internEntities(true)} do as well.
+ *
+ * <p>An instance is only replaced by one that is equal to it: when a response describes an entity
+ * differently, e.g. a driver before a permanent number was assigned, the new description becomes
+ * canonical and objects parsed earlier keep theirs. Entries are held weakly and disappear once no parsed
+ * object references them.</p>
+ *
+ * <p>Since instances are shared, interned entities must not be modified.</p>
+ */
+public final class EntityRegistry {
+
+    private static final EntityRegistry SHARED = new EntityRegistry();
+
+    private final Table<Driver> drivers = new Table<>(Driver::getDriverId);
+    private final Table<Constructor> constructors = new Table<>(Constructor::getConstructorId);
+    private final Table<Circuit> circuits = new Table<>(Circuit::getCircuitId);
+    private volatile Gson gson; // Created on first use by a parser.
+
+    /**
+     * Returns the registry shared by the parsers that intern entities.
+     */
+    public static EntityRegistry shared() {
+        return SHARED;
+    }
+
+    /**
+     * Returns the canonical driver equal to the given one, registering it if there is none.
+     */
+    public Driver intern(Driver driver) {
+        return drivers.intern(driver);
+    }
+
+    public Constructor intern(Constructor constructor) {
+        return constructors.intern(constructor);
+    }
+
+    public Circuit intern(Circuit circuit) {
+        return circuits.intern(circuit);
+    }
+
+    /**
+     * Returns the number of entities currently registered, including ones about to be collected.
+     */
+    public int size() {
+        return drivers.size() + constructors.size() + circuits.size();
+    }
+
+    public void clear() {
+        drivers.clear();
+        constructors.clear();
+        circuits.clear();
+    }
+
+    // Concurrent first calls may create two equivalent instances, which is harmless.
+    Gson gson() {
+        Gson created = gson;
+        if (created == null) {
+            created = new GsonBuilder().registerTypeAdapterFactory(typeAdapterFactory()).create();
+            gson = created;
+        }
+        return created;
+    }
+
+    /**
+     * Returns a Gson factory that interns the entities it deserializes in this registry.
+     */
+    TypeAdapterFactory typeAdapterFactory() {
+        return new TypeAdapterFactory() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public <T> TypeAdapter<T> create(Gson gson, TypeToken<T> type) {
+                Table<T> table = (Table<T>) table(type.getRawType());
+                if (table == null) {
+                    return null;
+                }
+                TypeAdapter<T> delegate = gson.getDelegateAdapter(this, type);
+                return new TypeAdapter<T>() {
+                    @Override
+                    public void write(JsonWriter out, T value) throws IOException {
+                        delegate.write(out, value);
+                    }
+
+                    @Override
+                    public T read(JsonReader in) throws IOException {
+                        T value = delegate.read(in);
+                        return value == null ? null : table.intern(value);
+                    }
+                };
+            }
+        };
+    }
+
+    private Table<?> table(Class<?> type) {
+        if (type == Driver.class) {
+            return drivers;
+        } else if (type == Constructor.class) {
+            return constructors;
+        } else if (type == Circuit.class) {
+            return circuits;
+        }
+        return null;
+    }
+
+    /**
+     * Weakly held instances of one type by id.
+     */
+    private static final class Table<T> {
+        private final ConcurrentHashMap<String, Entry<T>> entries = new ConcurrentHashMap<>();
+        private final ReferenceQueue<T> collected = new ReferenceQueue<>();
+        private final Function<T, String> id;
+
+        Table(Function<T, String> id) {
+            this.id = id;
+        }
+
+        T intern(T value) {
+            String key = id.apply(value);
+            if (key == null) {
+                return value;
+            }
+            expunge();
+            while (true) {
+                Entry<T> entry = entries.get(key);
+                T canonical = entry == null ? null : entry.get();
+                if (value.equals(canonical)) {
+                    return canonical;
+                }
+                Entry<T> replacement = new Entry<>(key, value, collected);
+                boolean registered = entry == null
+                        ? entries.putIfAbsent(key, replacement) == null
+                        : entries.replace(key, entry, replacement);
+                if (registered) {
+                    return value;
+                }
+                // Another thread registered the id in the meantime; its instance may be equal to ours.
+            }
+        }
+
+        int size() {
+            expunge();
+            return entries.size();
+        }
+
+        void clear() {
+            entries.clear();
+            expunge();
+        }
+
+        // Drops the entries whose instance has been collected.
+        private void expunge() {
+            Reference<? extends T> reference;
+            while ((reference = collected.poll()) != null) {
+                entries.remove(((Entry<?>) reference).key, reference);
+            }
+        }
+    }
+
+    private static final class Entry<T> extends WeakReference<T> {
+        private final String key;
+
+        Entry(String key, T value, ReferenceQueue<T> queue) {
+            super(value, queue);
+            this.key = key;
+        }
+    }
+}
@@ -1,76 +1,197 @@
 package ergast.parser;
 
 import com.google.gson.*;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
 
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.regex.Pattern;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
 
 /**
- * The Parser class is a generic JSON parser that is designed to parse a JSON string
+ * The Parser class is a generic JSON parser that is designed to parse an Ergast response
  * into a list of Java objects of a specified type. It is configured to navigate through
- * a complex JSON structure by specifying a path to the target JSON array. It also contains
- * a method to "fix" the JSON string by ensuring certain keys are in lowercase, which may be
- * important for consistency or matching the fields of the Java objects.
+ * a complex JSON structure by specifying a path to the target JSON array below {@code MRData}.
+ *
+ * <p>The response is read as a stream: the parser seeks straight to the target path, skipping
+ * everything else, and maps the elements of the target array one at a time. No intermediate
+ * copy of the payload or JSON tree is built. When a path segment is an array (for example
+ * {@code Races}), every element of it is descended into and the target arrays are concatenated.
+ * The capitalized keys of the Ergast schema ({@code Driver}, {@code Constructor}, {@code Timings}, ...)
+ * are mapped with {@code @SerializedName} on the classes in {@code ergast.objects}.</p>
  */
 public class Parser<T> {
     // A reusable Gson instance for JSON operations to improve performance instead of creating a new one each time.
+    // Parsers given an EntityRegistry use the registry's own instance instead, which interns entities.
     private static final Gson GSON = new Gson();
 
-    // A compiled regex pattern that will be used to fix the JSON string by targeting specific object keys.
-    // It makes the targeted keys lowercase, which is likely intended to normalize the keys before parsing.
-    private static final Pattern FIX_JSON_PATTERN = Pattern.compile(
-            "\"(Location|Circuit|Constructor|Driver|Time|AverageSpeed|FastestLap|Q1|Q2|Q3|Constructors|Laps|Timings|PitStops)\"",
-            Pattern.CASE_INSENSITIVE);
+    // Name of the root object wrapping every Ergast response.
+    private static final String ROOT = "MRData";
 
-    private String json; // The raw JSON string to be parsed.
+    // Sentinel returned by getTotal() when the response did not carry a total.
+    public static final int UNKNOWN_TOTAL = -1;
+
+    private final Reader json; // The JSON source to be parsed.
     private final String[] jsonObjects; // An array representing the hierarchy of JSON objects to reach the target data.
     private final Class<T> type; // The class type of the objects to be created from the JSON.
+    private final Gson gson; // Interns entities if the parser was given a registry.
+    private int total = UNKNOWN_TOTAL; // The MRData.total value of the response, known once parsing has started.
+    private Class<?> contextType; // Type the objects enclosing the target arrays are mapped to, null if they are not.
+    private Object context; // The enclosing object of the array being read.
 
     public Parser(String json, String[] jsonObjects, Class<T> type) {
+        this(new StringReader(json), jsonObjects, type);
+    }
+
+    public Parser(Reader json, String[] jsonObjects, Class<T> type) {
+        this(json, jsonObjects, type, null);
+    }
+
+    /**
+     * Creates a parser that passes every driver, constructor and circuit it reads through {@code registry}, so
+     * that rows share one instance of each; see {@link EntityRegistry}. A null registry leaves every row with
+     * its own instances.
+     */
+    public Parser(Reader json, String[] jsonObjects, Class<T> type, EntityRegistry registry) {
+        if (jsonObjects.length == 0) {
+            throw new IllegalArgumentException("JSON path must not be empty.");
+        }
         this.json = json;
         this.jsonObjects = jsonObjects;
         this.type = type;
+        this.gson = registry == null ? GSON : registry.gson();
     }
 
     public List<T> parse() {
-        fixJson(); // First, fixes the JSON string based on the pattern defined above.
-
-        JsonArray jarray = getJsonArray(); // Gets the JSON array that contains the data to be parsed.
         List<T> entities = new ArrayList<>(); // Prepares a list to store the parsed objects.
+        forEach(entities::add);
+        return entities; // Returns the list of parsed objects.
+    }
 
-        for (JsonElement jelement : jarray) {
-            entities.add(GSON.fromJson(jelement, type)); // Parses each JSON element into an object of type T and adds it to the list.
+    /**
+     * Parses the response and hands every element of the target array to {@code action} as soon as it
+     * has been read. The underlying reader is closed when parsing ends.
+     */
+    public void forEach(Consumer<? super T> action) {
+        TypeAdapter<T> adapter = gson.getAdapter(type);
+        try (JsonReader reader = new JsonReader(json)) {
+            reader.beginObject();
+            boolean found = false;
+            while (reader.hasNext()) {
+                if (ROOT.equals(reader.nextName())) {
+                    readRoot(reader, adapter, action);
+                    found = true;
+                } else {
+                    reader.skipValue();
+                }
+            }
+            if (!found) {
+                throw new JsonParseException("Missing object in JSON path: " + ROOT);
+            }
+        } catch (IOException e) {
+            throw new JsonIOException(e);
         }
+    }
 
-        return entities; // Returns the list of parsed objects.
+    /**
+     * Like {@link #forEach(Consumer)}, but also hands every element the object enclosing its array mapped to
+     * {@code contextType}, e.g. the race holding a list of results. Only the members written before the array
+     * are mapped, which in Ergast responses are all the scalar details of the race or table.
+     */
+    @SuppressWarnings("unchecked")
+    public <C> void forEach(Class<C> contextType, BiConsumer<? super C, ? super T> action) {
+        this.contextType = contextType;
+        forEach(element -> action.accept((C) context, element));
     }
 
-    private JsonArray getJsonArray() {
-        JsonElement jelement = JsonParser.parseString(json);
-        JsonObject jobject = jelement.getAsJsonObject().getAsJsonObject("MRData");
+    /**
+     * Returns the {@code MRData.total} value of the response, i.e. the number of rows available on the server
+     * for the query regardless of limit and offset, or {@link #UNKNOWN_TOTAL} if it has not been read.
+     */
+    public int getTotal() {
+        return total;
+    }
 
-        // Loops through the array of jsonObjects to dive into the JSON hierarchy.
-        for (int i = 0; i < jsonObjects.length - 1; i++) {
-            jelement = jobject.get(jsonObjects[i]);
-            if (jelement != null && !jelement.isJsonNull()) {
-                jobject = jelement.getAsJsonObject();
+    private void readRoot(JsonReader reader, TypeAdapter<T> adapter, Consumer<? super T> action) throws IOException {
+        reader.beginObject();
+        boolean found = false;
+        while (reader.hasNext()) {
+            String name = reader.nextName();
+            if ("total".equals(name)) {
+                total = Integer.parseInt(reader.nextString());
+            } else if (jsonObjects[0].equals(name)) {
+                readPath(reader, 0, adapter, action);
+                found = true;
             } else {
-                throw new JsonParseException("Missing object in JSON path: " + jsonObjects[i]);
+                reader.skipValue();
             }
         }
+        reader.endObject();
+        if (!found) {
+            throw missing(0);
+        }
+    }
 
-        JsonElement jsonArrayElement = jobject.get(jsonObjects[jsonObjects.length - 1]);
-        if (jsonArrayElement != null && jsonArrayElement.isJsonArray()) {
-            return jsonArrayElement.getAsJsonArray();
+    // Reads the value found at jsonObjects[depth], descending further or emitting the target elements.
+    private void readPath(JsonReader reader, int depth, TypeAdapter<T> adapter, Consumer<? super T> action) throws IOException {
+        JsonToken token = reader.peek();
+        if (depth == jsonObjects.length - 1) {
+            if (token != JsonToken.BEGIN_ARRAY) {
+                throw missing(depth);
+            }
+            reader.beginArray();
+            while (reader.hasNext()) {
+                action.accept(adapter.read(reader));
+            }
+            reader.endArray();
+        } else if (token == JsonToken.BEGIN_ARRAY) {
+            reader.beginArray();
+            while (reader.hasNext()) {
+                readObject(reader, depth + 1, adapter, action);
+            }
+            reader.endArray();
+        } else if (token == JsonToken.BEGIN_OBJECT) {
+            readObject(reader, depth + 1, adapter, action);
         } else {
-            throw new JsonParseException("Missing array in JSON path: " + jsonObjects[jsonObjects.length - 1]);
+            throw missing(depth);
+        }
+    }
+
+    // Reads an object on the path, looking for the member named jsonObjects[depth]. The members of the object
+    // holding the target array are collected as the context when one is requested.
+    private void readObject(JsonReader reader, int depth, TypeAdapter<T> adapter, Consumer<? super T> action) throws IOException {
+        if (reader.peek() != JsonToken.BEGIN_OBJECT) {
+            throw missing(depth - 1);
+        }
+        JsonObject members = contextType != null && depth == jsonObjects.length - 1 ? new JsonObject() : null;
+        reader.beginObject();
+        boolean found = false;
+        while (reader.hasNext()) {
+            String name = reader.nextName();
+            if (jsonObjects[depth].equals(name)) {
+                if (members != null) {
+                    context = gson.fromJson(members, contextType);
+                }
+                readPath(reader, depth, adapter, action);
+                found = true;
+            } else if (members != null) {
+                members.add(name, JsonParser.parseReader(reader));
+            } else {
+                reader.skipValue();
+            }
+        }
+        reader.endObject();
+        if (!found) {
+            throw missing(depth);
         }
     }
 
-    private void fixJson() {
-        json = FIX_JSON_PATTERN.matcher(json).replaceAll(matchResult ->
-                "\"" + matchResult.group(1).toLowerCase() + "\""
-        );
+    private JsonParseException missing(int depth) {
+        String kind = depth == jsonObjects.length - 1 ? "array" : "object";
+        return new JsonParseException("Missing " + kind + " in JSON path: " + jsonObjects[depth]);
     }
 }
@@ -0,0 +1,126 @@
+package ergast.parser;
+
+/**
+ * Parses the time formats used by the Ergast API into milliseconds or nanoseconds without allocating.
+ * Accepted are lap and race times such as {@code "1:32.456"} or {@code "1:38:04.013"}, plain seconds such
+ * as {@code "22.123"}, gaps such as {@code "+12.345"} or {@code "+1:02.345"} and times of day such as
+ * {@code "14:21:30"}. Colon-separated fields are read right to left as seconds, minutes and hours; the
+ * fraction may have any number of digits, but at least one, and is truncated to the requested unit.
+ */
+public final class TimeParser {
+
+    // Returned by the typed accessors in ergast.objects when a value is missing.
+    public static final long NO_TIME = -1;
+
+    private static final int MILLIS_DIGITS = 3;
+    private static final int NANOS_DIGITS = 9;
+
+    private TimeParser() {
+    }
+
+    /**
+     * Parses the value into milliseconds; a leading {@code '-'} yields a negative result.
+     *
+     * @throws NumberFormatException If the value is empty or not in one of the accepted formats.
+     */
+    public static long parseMillis(CharSequence value) {
+        return parse(value, MILLIS_DIGITS);
+    }
+
+    public static long parseNanos(CharSequence value) {
+        return parse(value, NANOS_DIGITS);
+    }
+
+    /**
+     * Like {@link #parseMillis(CharSequence)}, but returns {@link #NO_TIME} for {@code null} or an empty value.
+     */
+    public static long parseMillisOrNone(CharSequence value) {
+        return value == null || value.length() == 0 ? NO_TIME : parse(value, MILLIS_DIGITS);
+    }
+
+    /**
+     * Formats non-negative milliseconds the way the API writes lap times: {@code "m:ss.SSS"}, or
+     * {@code "h:mm:ss.SSS"} for an hour or more. The result is accepted by {@link #parseMillis(CharSequence)}.
+     */
+    public static String formatMillis(long millis) {
+        long hours = millis / 3_600_000;
+        long minutes = millis / 60_000 % 60;
+        long seconds = millis / 1000 % 60;
+        long fraction = millis % 1000;
+        StringBuilder time = new StringBuilder(12);
+        if (hours > 0) {
+            time.append(hours).append(':');
+            if (minutes < 10) {
+                time.append('0');
+            }
+        }
+        time.append(minutes).append(':');
+        if (seconds < 10) {
+            time.append('0');
+        }
+        time.append(seconds).append('.');
+        if (fraction < 100) {
+            time.append('0');
+        }
+        if (fraction < 10) {
+            time.append('0');
+        }
+        return time.append(fraction).toString();
+    }
+
+    // Returns the value in units of 10^-digits seconds.
+    private static long parse(CharSequence value, int digits) {
+        int length = value.length();
+        int i = 0;
+        boolean negative = false;
+        if (length > 0 && (value.charAt(0) == '+' || value.charAt(0) == '-')) {
+            negative = value.charAt(0) == '-';
+            i++;
+        }
+        long whole = 0; // Whole seconds of all fields read so far.
+        long field = 0; // The field being read.
+        int fields = 1;
+        long fraction = 0;
+        int fractionDigits = -1; // -1 until the decimal point has been seen.
+        boolean digitSeen = false;
+        for (; i < length; i++) {
+            char c = value.charAt(i);
+            if (c >= '0' && c <= '9') {
+                digitSeen = true;
+                if (fractionDigits < 0) {
+                    field = field * 10 + (c - '0');
+                } else if (fractionDigits < digits) {
+                    fraction = fraction * 10 + (c - '0');
+                    fractionDigits++;
+                }
+            } else if (c == ':' && fractionDigits < 0 && fields < 3 && digitSeen) {
+                whole = (whole + field) * 60;
+                field = 0;
+                fields++;
+                digitSeen = false;
+            } else if (c == '.' && fractionDigits < 0 && digitSeen) {
+                fractionDigits = 0;
+                digitSeen = false; // The fraction needs digits of its own.
+            } else {
+                throw new NumberFormatException("Not a time: " + value);
+            }
+        }
+        if (!digitSeen) {
+            throw new NumberFormatException("Not a time: " + value);
+        }
+        for (int scale = Math.max(fractionDigits, 0); scale < digits; scale++) {
+            fraction *= 10;
+        }
+        long seconds = whole + field;
+        long result = seconds * pow10(digits) + fraction;
+        return negative ? -result : result;
+    }
+
+    private static long pow10(int digits) {
+        long result = 1;
+        for (int i = 0; i < digits; i++) {
+            result *= 10;
+        }
+        return result;
+    }
+}
@@ -0,0 +1,10 @@
+package ergast.scheduler;
+
+/**
+ * Lanes of the {@link RequestScheduler}. A waiting interactive request is always sent before any
+ * waiting bulk request.
+ */
+public enum Priority {
+    INTERACTIVE, // User-facing lookups.
+    BULK // Backfills and other batch jobs that can wait.
+}
@@ -0,0 +1,216 @@
+package ergast.scheduler;
+
+import ergast.exceptions.ErgastHttpException;
+
+import java.io.IOException;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/**
+ * Sends HTTP requests at a rate allowed by a {@link TokenBucket}. Requests wait in one lock-free FIFO lane
+ * per {@link Priority}; whenever a token is available, the oldest request of the most urgent non-empty lane
+ * is sent. Responses with a retryable status and I/O failures are retried as decided by the
+ * {@link RetryPolicy}; a {@code Retry-After} header also pauses the bucket, since the server's limit
+ * applies to every request from this client.
+ *
+ * <p>Submitting never blocks: a single daemon thread dispatches queued requests and sleeps only
+ * by scheduling itself when the bucket is empty. {@link #shared()} returns the scheduler used by every
+ * {@code ErgastClient} in the JVM unless configured otherwise.</p>
+ */
+public class RequestScheduler {
+
+    // The Ergast service allows bursts of four requests per second.
+    public static final double DEFAULT_PERMITS_PER_SECOND = 4;
+    public static final int DEFAULT_BURST = 4;
+
+    private final TokenBucket bucket;
+    private final RetryPolicy retryPolicy;
+    private final Map<Priority, Queue<Task<?>>> lanes = new EnumMap<>(Priority.class);
+    private final AtomicBoolean dispatching = new AtomicBoolean();
+    private final ScheduledExecutorService dispatcher;
+
+    public RequestScheduler(TokenBucket bucket, RetryPolicy retryPolicy) {
+        this.bucket = bucket;
+        this.retryPolicy = retryPolicy;
+        for (Priority priority : Priority.values()) {
+            lanes.put(priority, new ConcurrentLinkedQueue<>());
+        }
+        this.dispatcher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "ergast-request-scheduler");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Returns the JVM-wide scheduler, limited to {@link #DEFAULT_PERMITS_PER_SECOND} with default retries.
+     */
+    public static RequestScheduler shared() {
+        return SharedHolder.INSTANCE;
+    }
+
+    public RetryPolicy getRetryPolicy() {
+        return retryPolicy;
+    }
+
+    /**
+     * Queues a request. The exchange supplied by {@code send} is started once a token is available and again
+     * for every retry. The returned future completes with the first response that is not retried; a final
+     * status other than 200, or 304 for conditional requests, is reported as an {@link ErgastHttpException}. Cancelling the future removes a queued
+     * request or cancels the exchange in flight.
+     */
+    public <T> CompletableFuture<HttpResponse<T>> submit(Priority priority, Supplier<CompletableFuture<HttpResponse<T>>> send) {
+        return submit(priority, send, null);
+    }
+
+    /**
+     * Queues a request like {@link #submit(Priority, Supplier)}, telling the listener, if not null, about
+     * every attempt that is retried.
+     */
+    public <T> CompletableFuture<HttpResponse<T>> submit(Priority priority, Supplier<CompletableFuture<HttpResponse<T>>> send,
+                                                         RetryListener listener) {
+        Task<T> task = new Task<>(priority, send, listener);
+        task.result.whenComplete((response, failure) -> {
+            if (task.result.isCancelled()) {
+                lanes.get(priority).remove(task);
+                CompletableFuture<?> exchange = task.exchange;
+                if (exchange != null) {
+                    exchange.cancel(true);
+                }
+            }
+        });
+        enqueue(task);
+        return task.result;
+    }
+
+    private void enqueue(Task<?> task) {
+        lanes.get(task.priority).add(task);
+        if (dispatching.compareAndSet(false, true)) {
+            dispatcher.execute(this::dispatch);
+        }
+    }
+
+    // Runs on the dispatcher thread only.
+    private void dispatch() {
+        while (true) {
+            Task<?> task = peekNext();
+            if (task == null) {
+                dispatching.set(false);
+                // A request may have been queued after peekNext() but before the flag was cleared.
+                if (peekNext() == null || !dispatching.compareAndSet(false, true)) {
+                    return;
+                }
+                continue;
+            }
+            if (task.result.isDone()) {
+                lanes.get(task.priority).remove(task);
+                continue;
+            }
+            long wait = bucket.tryAcquire();
+            if (wait > 0) {
+                dispatcher.schedule(this::dispatch, wait, TimeUnit.NANOSECONDS);
+                return;
+            }
+            // The task is gone if it was cancelled in the meantime.
+            if (lanes.get(task.priority).remove(task)) {
+                task.start();
+            }
+        }
+    }
+
+    private Task<?> peekNext() {
+        for (Priority priority : Priority.values()) {
+            Task<?> task = lanes.get(priority).peek();
+            if (task != null) {
+                return task;
+            }
+        }
+        return null;
+    }
+
+    private void retryLater(Task<?> task, Duration delay) {
+        dispatcher.schedule(() -> enqueue(task), delay.toNanos(), TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * A queued request and its attempts.
+     */
+    private final class Task<T> {
+        private final Priority priority;
+        private final Supplier<CompletableFuture<HttpResponse<T>>> send;
+        private final RetryListener listener; // Null when nobody listens.
+        private final CompletableFuture<HttpResponse<T>> result = new CompletableFuture<>();
+        private volatile CompletableFuture<HttpResponse<T>> exchange;
+        private int attempts; // Only touched by the thread handling the current attempt.
+
+        Task(Priority priority, Supplier<CompletableFuture<HttpResponse<T>>> send, RetryListener listener) {
+            this.priority = priority;
+            this.send = send;
+            this.listener = listener;
+        }
+
+        void start() {
+            attempts++;
+            CompletableFuture<HttpResponse<T>> current;
+            try {
+                current = send.get();
+            } catch (RuntimeException e) {
+                result.completeExceptionally(e);
+                return;
+            }
+            exchange = current;
+            if (result.isCancelled()) {
+                current.cancel(true);
+                return;
+            }
+            current.whenComplete(this::complete);
+        }
+
+        private void complete(HttpResponse<T> response, Throwable failure) {
+            if (result.isDone()) {
+                return;
+            }
+            boolean canRetry = attempts < retryPolicy.getMaxAttempts();
+            if (failure != null) {
+                Throwable cause = failure instanceof CompletionException && failure.getCause() != null
+                        ? failure.getCause() : failure;
+                if (canRetry && cause instanceof IOException) {
+                    notifyRetry(-1);
+                    retryLater(this, retryPolicy.delay(attempts, null));
+                } else {
+                    result.completeExceptionally(cause);
+                }
+            } else if (response.statusCode() == 200 || response.statusCode() == 304) {
+                result.complete(response);
+            } else if (canRetry && retryPolicy.isRetryable(response.statusCode())) {
+                String retryAfter = response.headers().firstValue("Retry-After").orElse(null);
+                Duration delay = retryPolicy.delay(attempts, retryAfter);
+                if (retryAfter != null) {
+                    bucket.pause(delay);
+                }
+                notifyRetry(response.statusCode());
+                retryLater(this, delay);
+            } else {
+                result.completeExceptionally(new ErgastHttpException(response.statusCode()));
+            }
+        }
+
+        private void notifyRetry(int statusCode) {
+            if (listener != null) {
+                listener.onRetry(statusCode);
+            }
+        }
+    }
+
+    // Created on first use so that loading the class does not start the dispatcher thread.
+    private static final class SharedHolder {
+        private static final RequestScheduler INSTANCE = new RequestScheduler(
+                new TokenBucket(DEFAULT_PERMITS_PER_SECOND, DEFAULT_BURST), RetryPolicy.defaults());
+    }
+}
@@ -0,0 +1,12 @@
+package ergast.scheduler;
+
+/**
+ * Told about every attempt of a request that the {@link RequestScheduler} is about to retry.
+ */
+public interface RetryListener {
+
+    /**
+     * Called on the thread completing the failed attempt; the status is -1 for an I/O failure.
+     */
+    void onRetry(int statusCode);
+}
@@ -0,0 +1,81 @@
+package ergast.scheduler;
+
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Decides whether and when a failed request is sent again. Responses with status 429 or 503 and I/O
+ * failures are retried up to {@code maxAttempts} attempts in total. The delay honors a {@code Retry-After}
+ * header when there is one and otherwise grows exponentially with full jitter, capped at {@code maxDelay}.
+ */
+public class RetryPolicy {
+
+    public static final int TOO_MANY_REQUESTS = 429;
+    public static final int SERVICE_UNAVAILABLE = 503;
+
+    private final int maxAttempts;
+    private final Duration baseDelay;
+    private final Duration maxDelay;
+
+    public RetryPolicy(int maxAttempts, Duration baseDelay, Duration maxDelay) {
+        if (maxAttempts < 1) {
+            throw new IllegalArgumentException("At least one attempt is required.");
+        }
+        this.maxAttempts = maxAttempts;
+        this.baseDelay = baseDelay;
+        this.maxDelay = maxDelay;
+    }
+
+    // Four attempts, starting at half a second and never waiting more than thirty seconds.
+    public static RetryPolicy defaults() {
+        return new RetryPolicy(4, Duration.ofMillis(500), Duration.ofSeconds(30));
+    }
+
+    public static RetryPolicy none() {
+        return new RetryPolicy(1, Duration.ZERO, Duration.ZERO);
+    }
+
+    public int getMaxAttempts() {
+        return maxAttempts;
+    }
+
+    public boolean isRetryable(int statusCode) {
+        return statusCode == TOO_MANY_REQUESTS || statusCode == SERVICE_UNAVAILABLE;
+    }
+
+    /**
+     * Returns the delay before the next attempt.
+     *
+     * @param attempt    The number of attempts made so far, starting at 1.
+     * @param retryAfter The value of the Retry-After header, or null.
+     */
+    public Duration delay(int attempt, String retryAfter) {
+        Duration requested = parseRetryAfter(retryAfter);
+        if (requested != null) {
+            return requested.compareTo(maxDelay) > 0 ? maxDelay : requested;
+        }
+        long cap = Math.min(maxDelay.toMillis(), baseDelay.toMillis() << Math.min(attempt - 1, 30));
+        return Duration.ofMillis(cap <= 0 ? 0 : ThreadLocalRandom.current().nextLong(cap + 1));
+    }
+
+    // Retry-After is either a number of seconds or an HTTP date.
+    static Duration parseRetryAfter(String value) {
+        if (value == null || value.isEmpty()) {
+            return null;
+        }
+        try {
+            return Duration.ofSeconds(Math.max(0, Long.parseLong(value.trim())));
+        } catch (NumberFormatException e) {
+            try {
+                Duration until = Duration.between(ZonedDateTime.now(),
+                        ZonedDateTime.parse(value.trim(), DateTimeFormatter.RFC_1123_DATE_TIME));
+                return until.isNegative() ? Duration.ZERO : until;
+            } catch (DateTimeParseException ignored) {
+                return null;
+            }
+        }
+    }
+}
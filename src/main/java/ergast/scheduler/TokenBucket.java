@@ -0,0 +1,60 @@
+package ergast.scheduler;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Lock-free token bucket. Tokens are added at a fixed rate up to {@code burst}; each request takes one.
+ * The state is a single "theoretical arrival time" updated with compare-and-set (the generic cell rate
+ * algorithm), so any number of threads can acquire without contending on a monitor.
+ */
+public class TokenBucket {
+
+    private final long intervalNanos; // Time it takes to add one token.
+    private final long burstNanos; // How far ahead of now the arrival time may run, i.e. (burst - 1) intervals.
+    private final LongSupplier nanoClock;
+    private final AtomicLong arrival; // The time at which the bucket is full again.
+
+    public TokenBucket(double permitsPerSecond, int burst) {
+        this(permitsPerSecond, burst, System::nanoTime);
+    }
+
+    TokenBucket(double permitsPerSecond, int burst, LongSupplier nanoClock) {
+        if (permitsPerSecond <= 0 || burst < 1) {
+            throw new IllegalArgumentException("Rate and burst must be positive.");
+        }
+        this.intervalNanos = (long) (Duration.ofSeconds(1).toNanos() / permitsPerSecond);
+        this.burstNanos = intervalNanos * (burst - 1);
+        this.nanoClock = nanoClock;
+        this.arrival = new AtomicLong(nanoClock.getAsLong());
+    }
+
+    /**
+     * Takes a token if one is available.
+     *
+     * @return 0 if a token was taken, otherwise the nanoseconds until the next token becomes available.
+     */
+    public long tryAcquire() {
+        while (true) {
+            long now = nanoClock.getAsLong();
+            long current = arrival.get();
+            long start = Math.max(current, now);
+            long wait = start - now - burstNanos;
+            if (wait > 0) {
+                return wait;
+            }
+            if (arrival.compareAndSet(current, start + intervalNanos)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Hands out no tokens for the given time, e.g. because the server asked clients to back off.
+     */
+    public void pause(Duration duration) {
+        long until = nanoClock.getAsLong() + duration.toNanos() + burstNanos;
+        arrival.accumulateAndGet(until, Math::max);
+    }
+}
@@ -0,0 +1,88 @@
+package ergast.snapshot;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.BooleanSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Starts asynchronous tasks while keeping at most a fixed number of them running; the rest wait in
+ * submission order until a running task completes.
+ */
+final class ConcurrencyLimiter {
+
+    private final int maxRunning;
+    private final Deque<BooleanSupplier> waiting = new ArrayDeque<>();
+    private int running;
+
+    ConcurrencyLimiter(int maxRunning) {
+        if (maxRunning < 1) {
+            throw new IllegalArgumentException("Concurrency must be at least 1.");
+        }
+        this.maxRunning = maxRunning;
+    }
+
+    /**
+     * Starts the task once a slot is free. Cancelling the returned future cancels the task if it has started,
+     * and otherwise keeps it from starting.
+     */
+    <T> CompletableFuture<T> submit(Supplier<CompletableFuture<T>> task) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        // Returns whether the task took the slot; a task cancelled while waiting leaves it to the next one.
+        BooleanSupplier start = () -> {
+            if (result.isDone()) {
+                return false;
+            }
+            CompletableFuture<T> started;
+            try {
+                started = task.get();
+            } catch (RuntimeException e) {
+                result.completeExceptionally(e);
+                return false;
+            }
+            started.whenComplete((value, failure) -> {
+                release();
+                if (failure != null) {
+                    result.completeExceptionally(failure);
+                } else {
+                    result.complete(value);
+                }
+            });
+            result.whenComplete((value, failure) -> {
+                if (result.isCancelled()) {
+                    started.cancel(true);
+                }
+            });
+            return true;
+        };
+        synchronized (this) {
+            if (running == maxRunning) {
+                waiting.add(start);
+                return result;
+            }
+            running++;
+        }
+        if (!start.getAsBoolean()) {
+            release();
+        }
+        return result;
+    }
+
+    // Hands the slot of a finished task to the next waiting one that still wants it, if any.
+    private void release() {
+        while (true) {
+            BooleanSupplier next;
+            synchronized (this) {
+                next = waiting.poll();
+                if (next == null) {
+                    running--;
+                    return;
+                }
+            }
+            if (next.getAsBoolean()) {
+                return;
+            }
+        }
+    }
+}
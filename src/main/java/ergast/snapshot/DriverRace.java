@@ -0,0 +1,36 @@
+package ergast.snapshot;
+
+import ergast.objects.*;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * Everything one driver did in one round: the race result, the qualifying result, the lap timings and the pit
+ * stops. Result and qualification are null when the driver has none.
+ *
+ * <p>The timings are dense and in lap order: laps without a timing for the driver are left out, so element
+ * {@code i} only holds lap {@code i + 1} when the timings have no gaps. The laps of the {@link RoundSnapshot}
+ * carry the lap numbers.</p>
+ */
+@Getter
+public final class DriverRace {
+    private final String driverId;
+    private final Driver driver;
+    private final Constructor constructor;
+    private final RaceResult result;
+    private final Qualification qualification;
+    private final List<Timing> laps;
+    private final List<PitStop> pitStops;
+
+    DriverRace(String driverId, Driver driver, Constructor constructor, RaceResult result,
+               Qualification qualification, List<Timing> laps, List<PitStop> pitStops) {
+        this.driverId = driverId;
+        this.driver = driver;
+        this.constructor = constructor;
+        this.result = result;
+        this.qualification = qualification;
+        this.laps = List.copyOf(laps);
+        this.pitStops = List.copyOf(pitStops);
+    }
+}
@@ -0,0 +1,47 @@
+package ergast.snapshot;
+
+import ergast.objects.*;
+import lombok.Getter;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * All data of one round of a {@link SeasonSnapshot}. The per-driver view joins results, qualifying,
+ * laps and pit stops by {@code driverId} and is ordered like the race result.
+ */
+@Getter
+public final class RoundSnapshot {
+    private final Schedule race;
+    private final List<RaceResult> results;
+    private final List<Qualification> qualifying;
+    private final List<DriverStandings> driverStandings;
+    private final List<ConstructorStandings> constructorStandings;
+    private final List<Lap> laps;
+    private final List<PitStop> pitStops;
+    private final Map<String, DriverRace> drivers;
+
+    RoundSnapshot(Schedule race, List<RaceResult> results, List<Qualification> qualifying,
+                  List<DriverStandings> driverStandings, List<ConstructorStandings> constructorStandings,
+                  List<Lap> laps, List<PitStop> pitStops, Map<String, DriverRace> drivers) {
+        this.race = race;
+        this.results = List.copyOf(results);
+        this.qualifying = List.copyOf(qualifying);
+        this.driverStandings = List.copyOf(driverStandings);
+        this.constructorStandings = List.copyOf(constructorStandings);
+        this.laps = List.copyOf(laps);
+        this.pitStops = List.copyOf(pitStops);
+        this.drivers = Collections.unmodifiableMap(new LinkedHashMap<>(drivers));
+    }
+
+    public int getRound() {
+        return race.getRound();
+    }
+
+    // Returns the joined data of one driver, or null if the driver did not take part.
+    public DriverRace getDriverRace(String driverId) {
+        return drivers.get(driverId);
+    }
+}
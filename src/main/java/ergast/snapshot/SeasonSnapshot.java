@@ -0,0 +1,48 @@
+package ergast.snapshot;
+
+import ergast.objects.Constructor;
+import ergast.objects.Driver;
+import lombok.Getter;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A complete, immutable model of one season as built by {@link SeasonSnapshotLoader}. Every driver and
+ * constructor is represented by a single instance shared by all rounds, results and standings.
+ * The collections are unmodifiable; the Lombok objects they hold must be treated as read-only.
+ */
+@Getter
+public final class SeasonSnapshot {
+    private final int season;
+    private final List<RoundSnapshot> rounds;
+    private final Map<String, Driver> drivers;
+    private final Map<String, Constructor> constructors;
+
+    SeasonSnapshot(int season, List<RoundSnapshot> rounds, Map<String, Driver> drivers, Map<String, Constructor> constructors) {
+        this.season = season;
+        this.rounds = List.copyOf(rounds);
+        this.drivers = Collections.unmodifiableMap(new LinkedHashMap<>(drivers));
+        this.constructors = Collections.unmodifiableMap(new LinkedHashMap<>(constructors));
+    }
+
+    // Returns the given round, or null if the season has no such round.
+    public RoundSnapshot getRound(int round) {
+        for (RoundSnapshot snapshot : rounds) {
+            if (snapshot.getRound() == round) {
+                return snapshot;
+            }
+        }
+        return null;
+    }
+
+    public Driver getDriver(String driverId) {
+        return drivers.get(driverId);
+    }
+
+    public Constructor getConstructor(String constructorId) {
+        return constructors.get(constructorId);
+    }
+}
@@ -0,0 +1,343 @@
+package ergast.snapshot;
+
+import ergast.Endpoint;
+import ergast.Ergast;
+import ergast.ErgastClient;
+import ergast.Page;
+import ergast.objects.*;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Loads a whole season into a {@link SeasonSnapshot}. The schedule is fetched first; every round then
+ * needs results, qualifying, driver and constructor standings, lap times and pit stops, each fetched
+ * page by page at the maximum page size. All of these requests go through one limiter, so at most
+ * {@code concurrency} of them are in flight at any time regardless of how many rounds the season has.
+ */
+public class SeasonSnapshotLoader {
+
+    public static final int DEFAULT_CONCURRENCY = 8;
+
+    // Largest page the Ergast API serves.
+    private static final int PAGE_SIZE = 1000;
+
+    private final ErgastClient client;
+    private final int concurrency;
+
+    public SeasonSnapshotLoader(ErgastClient client) {
+        this(client, DEFAULT_CONCURRENCY);
+    }
+
+    public SeasonSnapshotLoader(ErgastClient client, int concurrency) {
+        if (concurrency < 1) {
+            throw new IllegalArgumentException("Concurrency must be at least 1.");
+        }
+        this.client = Objects.requireNonNull(client, "client");
+        this.concurrency = concurrency;
+    }
+
+    /**
+     * Loads the season and blocks until the snapshot is complete.
+     *
+     * @throws IOException If any of the requests fails, or {@link InterruptedIOException} if the calling
+     *                     thread is interrupted while waiting (its interrupt flag is restored).
+     */
+    public SeasonSnapshot load(int season) throws IOException {
+        CompletableFuture<SeasonSnapshot> snapshot = loadAsync(season);
+        try {
+            return snapshot.get();
+        } catch (InterruptedException e) {
+            snapshot.cancel(true);
+            Thread.currentThread().interrupt();
+            InterruptedIOException interrupted = new InterruptedIOException("Interrupted while loading season " + season);
+            interrupted.initCause(e);
+            throw interrupted;
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            } else if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new IOException("Could not load season " + season, cause);
+        }
+    }
+
+    /**
+     * Loads the season asynchronously. Cancelling the returned future cancels every request in flight and
+     * keeps the queued ones from being sent.
+     */
+    public CompletableFuture<SeasonSnapshot> loadAsync(int season) {
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter(concurrency);
+        return compose(fetchAll(limiter, season, Endpoint.SCHEDULE, Ergast.NO_ROUND), schedule -> {
+            List<CompletableFuture<RoundData>> rounds = new ArrayList<>(schedule.size());
+            for (Schedule race : schedule) {
+                rounds.add(loadRound(limiter, season, race));
+            }
+            return whenAll(rounds, () -> assemble(season, rounds));
+        });
+    }
+
+    private CompletableFuture<RoundData> loadRound(ConcurrencyLimiter limiter, int season, Schedule race) {
+        int round = race.getRound();
+        CompletableFuture<List<RaceResult>> results = fetchAll(limiter, season, Endpoint.RESULTS, round);
+        CompletableFuture<List<Qualification>> qualifying = fetchAll(limiter, season, Endpoint.QUALIFYING, round);
+        CompletableFuture<List<DriverStandings>> driverStandings =
+                fetchAll(limiter, season, Endpoint.DRIVER_STANDINGS, round);
+        CompletableFuture<List<ConstructorStandings>> constructorStandings =
+                fetchAll(limiter, season, Endpoint.CONSTRUCTOR_STANDINGS, round);
+        CompletableFuture<List<LapTimes>> lapTimes = fetchAll(limiter, season, Endpoint.LAP_TIMES, round);
+        CompletableFuture<List<RacePitStops>> pitStops = fetchAll(limiter, season, Endpoint.PIT_STOPS, round);
+        return whenAll(Arrays.asList(results, qualifying, driverStandings, constructorStandings, lapTimes, pitStops),
+                () -> new RoundData(race, results.join(), qualifying.join(), driverStandings.join(),
+                        constructorStandings.join(), lapTimes.join(), pitStops.join()));
+    }
+
+    // Fetches the first page, then all remaining pages at once; every page waits for a slot in the limiter.
+    private <T> CompletableFuture<List<T>> fetchAll(ConcurrencyLimiter limiter, int season, Endpoint<T> endpoint, int round) {
+        return compose(fetchPage(limiter, season, endpoint, round, 0), first -> {
+            if (!first.hasMore()) {
+                return CompletableFuture.completedFuture(first.getRows());
+            }
+            List<CompletableFuture<Page<T>>> rest = new ArrayList<>();
+            for (int offset = PAGE_SIZE; offset < first.getTotal(); offset += PAGE_SIZE) {
+                rest.add(fetchPage(limiter, season, endpoint, round, offset));
+            }
+            return whenAll(rest, () -> {
+                List<T> rows = new ArrayList<>(first.getRows());
+                for (CompletableFuture<Page<T>> page : rest) {
+                    rows.addAll(page.join().getRows());
+                }
+                return rows;
+            });
+        });
+    }
+
+    private <T> CompletableFuture<Page<T>> fetchPage(ConcurrencyLimiter limiter, int season, Endpoint<T> endpoint, int round, int offset) {
+        return limiter.submit(() -> new Ergast(season, PAGE_SIZE, offset, client).getPageAsync(endpoint, round));
+    }
+
+    // Completes with what combine makes of the parts once they have all completed; cancelling the result
+    // cancels every part, which a plain allOf leaves running.
+    private static <R> CompletableFuture<R> whenAll(List<? extends CompletableFuture<?>> parts, Supplier<R> combine) {
+        CompletableFuture<R> all = CompletableFuture.allOf(parts.toArray(new CompletableFuture<?>[0]))
+                .thenApply(done -> combine.get());
+        for (CompletableFuture<?> part : parts) {
+            cancelWith(all, part);
+        }
+        return all;
+    }
+
+    // Like thenCompose, but cancelling the result also cancels the first stage and the stage it led to.
+    private static <A, B> CompletableFuture<B> compose(CompletableFuture<A> first,
+                                                       Function<? super A, CompletableFuture<B>> next) {
+        CompletableFuture<B> result = new CompletableFuture<>();
+        first.whenComplete((value, failure) -> {
+            if (failure != null) {
+                result.completeExceptionally(failure);
+                return;
+            }
+            CompletableFuture<B> second;
+            try {
+                second = next.apply(value);
+            } catch (RuntimeException e) {
+                result.completeExceptionally(e);
+                return;
+            }
+            cancelWith(result, second);
+            second.whenComplete((rows, error) -> {
+                if (error != null) {
+                    result.completeExceptionally(error);
+                } else {
+                    result.complete(rows);
+                }
+            });
+        });
+        cancelWith(result, first);
+        return result;
+    }
+
+    // Cancels the upstream future when the downstream one is cancelled.
+    private static void cancelWith(CompletableFuture<?> downstream, CompletableFuture<?> upstream) {
+        downstream.whenComplete((ignored, failure) -> {
+            if (downstream.isCancelled()) {
+                upstream.cancel(true);
+            }
+        });
+    }
+
+    // Runs once every request has completed, so plain collections are sufficient here.
+    private static SeasonSnapshot assemble(int season, List<CompletableFuture<RoundData>> loaded) {
+        Map<String, Driver> drivers = new LinkedHashMap<>();
+        Map<String, Constructor> constructors = new LinkedHashMap<>();
+        List<RoundSnapshot> rounds = new ArrayList<>(loaded.size());
+        for (CompletableFuture<RoundData> round : loaded) {
+            rounds.add(round.join().toSnapshot(drivers, constructors));
+        }
+        return new SeasonSnapshot(season, rounds, drivers, constructors);
+    }
+
+    private static Driver canonical(Map<String, Driver> drivers, Driver driver) {
+        if (driver == null) {
+            return null;
+        }
+        Driver existing = drivers.putIfAbsent(driver.getDriverId(), driver);
+        return existing == null ? driver : existing;
+    }
+
+    private static Constructor canonical(Map<String, Constructor> constructors, Constructor constructor) {
+        if (constructor == null) {
+            return null;
+        }
+        Constructor existing = constructors.putIfAbsent(constructor.getConstructorId(), constructor);
+        return existing == null ? constructor : existing;
+    }
+
+    /**
+     * Raw responses of one round.
+     */
+    private static final class RoundData {
+        private final Schedule race;
+        private final List<RaceResult> results;
+        private final List<Qualification> qualifying;
+        private final List<DriverStandings> driverStandings;
+        private final List<ConstructorStandings> constructorStandings;
+        private final List<LapTimes> lapTimes;
+        private final List<RacePitStops> pitStops;
+
+        RoundData(Schedule race, List<RaceResult> results, List<Qualification> qualifying,
+                  List<DriverStandings> driverStandings, List<ConstructorStandings> constructorStandings,
+                  List<LapTimes> lapTimes, List<RacePitStops> pitStops) {
+            this.race = race;
+            this.results = results;
+            this.qualifying = qualifying;
+            this.driverStandings = driverStandings;
+            this.constructorStandings = constructorStandings;
+            this.lapTimes = lapTimes;
+            this.pitStops = pitStops;
+        }
+
+        RoundSnapshot toSnapshot(Map<String, Driver> drivers, Map<String, Constructor> constructors) {
+            // The parsed rows may be shared with other callers through request coalescing, so the canonical
+            // entities go into copies rather than into the rows themselves.
+            List<RaceResult> sharedResults = new ArrayList<>(results.size());
+            for (RaceResult result : results) {
+                sharedResults.add(new RaceResult(result.getNumber(), result.getPosition(), result.getPositionText(),
+                        result.getPoints(), canonical(drivers, result.getDriver()),
+                        canonical(constructors, result.getConstructor()), result.getGrid(), result.getLaps(),
+                        result.getStatus(), result.getTime(), result.getFastestLap()));
+            }
+            List<Qualification> sharedQualifying = new ArrayList<>(qualifying.size());
+            for (Qualification qualification : qualifying) {
+                sharedQualifying.add(new Qualification(qualification.getNumber(), qualification.getPosition(),
+                        canonical(drivers, qualification.getDriver()),
+                        canonical(constructors, qualification.getConstructor()),
+                        qualification.getQ1(), qualification.getQ2(), qualification.getQ3()));
+            }
+            List<DriverStandings> sharedDriverStandings = new ArrayList<>(driverStandings.size());
+            for (DriverStandings standing : driverStandings) {
+                List<Constructor> shared = null;
+                if (standing.getConstructors() != null) {
+                    shared = new ArrayList<>(standing.getConstructors().size());
+                    for (Constructor constructor : standing.getConstructors()) {
+                        shared.add(canonical(constructors, constructor));
+                    }
+                }
+                sharedDriverStandings.add(DriverStandings.builder()
+                        .position(standing.getPosition())
+                        .positionText(standing.getPositionText())
+                        .points(standing.getPoints())
+                        .wins(standing.getWins())
+                        .driver(canonical(drivers, standing.getDriver()))
+                        .constructors(shared)
+                        .build());
+            }
+            List<ConstructorStandings> sharedConstructorStandings = new ArrayList<>(constructorStandings.size());
+            for (ConstructorStandings standing : constructorStandings) {
+                sharedConstructorStandings.add(ConstructorStandings.builder()
+                        .position(standing.getPosition())
+                        .positionText(standing.getPositionText())
+                        .points(standing.getPoints())
+                        .wins(standing.getWins())
+                        .constructor(canonical(constructors, standing.getConstructor()))
+                        .build());
+            }
+
+            List<Lap> laps = mergeLaps();
+            List<PitStop> stops = new ArrayList<>();
+            for (RacePitStops race : pitStops) {
+                if (race.getPitStops() != null) {
+                    stops.addAll(race.getPitStops());
+                }
+            }
+            return new RoundSnapshot(race, sharedResults, sharedQualifying, sharedDriverStandings,
+                    sharedConstructorStandings, laps, stops,
+                    joinByDriver(drivers, sharedResults, sharedQualifying, laps, stops));
+        }
+
+        // Lap-time pages split the timings of a lap between pages, so laps are merged by number.
+        private List<Lap> mergeLaps() {
+            SortedMap<Integer, List<Timing>> timings = new TreeMap<>();
+            for (LapTimes page : lapTimes) {
+                if (page.getLaps() == null) {
+                    continue;
+                }
+                for (Lap lap : page.getLaps()) {
+                    timings.computeIfAbsent(lap.getNumber(), number -> new ArrayList<>()).addAll(lap.getTimings());
+                }
+            }
+            List<Lap> laps = new ArrayList<>(timings.size());
+            for (Map.Entry<Integer, List<Timing>> lap : timings.entrySet()) {
+                laps.add(new Lap(lap.getKey(), List.copyOf(lap.getValue())));
+            }
+            return laps;
+        }
+
+        private static Map<String, DriverRace> joinByDriver(Map<String, Driver> drivers, List<RaceResult> results,
+                                                            List<Qualification> qualifying, List<Lap> laps,
+                                                            List<PitStop> stops) {
+            Map<String, RaceResult> resultByDriver = new LinkedHashMap<>();
+            for (RaceResult result : results) {
+                resultByDriver.put(result.getDriver().getDriverId(), result);
+            }
+            Map<String, Qualification> qualificationByDriver = new LinkedHashMap<>();
+            for (Qualification qualification : qualifying) {
+                qualificationByDriver.put(qualification.getDriver().getDriverId(), qualification);
+            }
+            Map<String, List<Timing>> lapsByDriver = new HashMap<>();
+            for (Lap lap : laps) {
+                for (Timing timing : lap.getTimings()) {
+                    lapsByDriver.computeIfAbsent(timing.getDriverId(), id -> new ArrayList<>()).add(timing);
+                }
+            }
+            Map<String, List<PitStop>> stopsByDriver = new HashMap<>();
+            for (PitStop stop : stops) {
+                stopsByDriver.computeIfAbsent(stop.getDriverId(), id -> new ArrayList<>()).add(stop);
+            }
+
+            // Race finishers first in result order, then anyone who only qualified or only shows up in timings.
+            Set<String> driverIds = new LinkedHashSet<>(resultByDriver.keySet());
+            driverIds.addAll(qualificationByDriver.keySet());
+            driverIds.addAll(lapsByDriver.keySet());
+            driverIds.addAll(stopsByDriver.keySet());
+
+            Map<String, DriverRace> joined = new LinkedHashMap<>();
+            for (String driverId : driverIds) {
+                RaceResult result = resultByDriver.get(driverId);
+                Qualification qualification = qualificationByDriver.get(driverId);
+                Constructor constructor = result != null ? result.getConstructor()
+                        : qualification != null ? qualification.getConstructor() : null;
+                joined.put(driverId, new DriverRace(driverId, drivers.get(driverId), constructor, result, qualification,
+                        lapsByDriver.getOrDefault(driverId, Collections.emptyList()),
+                        stopsByDriver.getOrDefault(driverId, Collections.emptyList())));
+            }
+            return joined;
+        }
+    }
+}
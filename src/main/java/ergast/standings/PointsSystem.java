@@ -0,0 +1,169 @@
+package ergast.standings;
+
+import ergast.objects.FastestLap;
+import ergast.objects.RaceResult;
+
+import java.util.Arrays;
+
+/**
+ * How a championship season awards points for a race: points by classified finishing position, a bonus for the
+ * fastest lap where one was given, and whether every car scores for its constructor or only the best placed one.
+ *
+ * <p>{@link #forSeason(int)} knows the scales used since 1950 and the double points of the 2014 finale. Known
+ * gaps, where computed tables differ from the published ones:</p>
+ * <ul>
+ *     <li>Shared drives, which split the points of a car. {@link #published(int)} takes the points of each result
+ *     as reported by Ergast instead, which covers these.</li>
+ *     <li>Half points for shortened races. Reported points are whole numbers in {@link RaceResult}, so
+ *     {@link #published(int)} rounds them too.</li>
+ *     <li>The dropped-score rules before 1991, under which only a driver's best results counted.</li>
+ *     <li>Sprint races, which score from 2021 on. Their results are not races of their own in this client, so
+ *     every table from 2021 on lacks the sprint points, whichever points system is used.</li>
+ * </ul>
+ */
+public final class PointsSystem {
+
+    private static final int[] FROM_1950 = {8, 6, 4, 3, 2};
+    private static final int[] FROM_1960 = {8, 6, 4, 3, 2, 1};
+    private static final int[] FROM_1961 = {9, 6, 4, 3, 2, 1};
+    private static final int[] FROM_1991 = {10, 6, 4, 3, 2, 1};
+    private static final int[] FROM_2003 = {10, 8, 6, 5, 4, 3, 2, 1};
+    private static final int[] FROM_2010 = {25, 18, 15, 12, 10, 8, 6, 4, 2, 1};
+
+    private final int[] positions; // Null when the reported points are used.
+    private final int fastestLap;
+    private final int fastestLapWithin; // Positions the fastest lap has to be set in to score, 0 for any.
+    private final boolean everyCarScores;
+    private final int doubledRound; // Round scoring double points, 0 for none.
+
+    private PointsSystem(int[] positions, int fastestLap, int fastestLapWithin, boolean everyCarScores) {
+        this(positions, fastestLap, fastestLapWithin, everyCarScores, 0);
+    }
+
+    private PointsSystem(int[] positions, int fastestLap, int fastestLapWithin, boolean everyCarScores,
+                         int doubledRound) {
+        this.positions = positions;
+        this.fastestLap = fastestLap;
+        this.fastestLapWithin = fastestLapWithin;
+        this.everyCarScores = everyCarScores;
+        this.doubledRound = doubledRound;
+    }
+
+    /**
+     * Returns the points scale of a championship season, 1950 or later.
+     */
+    public static PointsSystem forSeason(int season) {
+        if (season < 1950) {
+            throw new IllegalArgumentException("No championship before 1950: " + season);
+        }
+        boolean everyCarScores = everyCarScores(season);
+        if (season < 1960) {
+            return new PointsSystem(FROM_1950, 1, 0, everyCarScores);
+        }
+        if (season == 1960) {
+            return new PointsSystem(FROM_1960, 0, 0, everyCarScores);
+        }
+        if (season < 1991) {
+            return new PointsSystem(FROM_1961, 0, 0, everyCarScores);
+        }
+        if (season < 2003) {
+            return new PointsSystem(FROM_1991, 0, 0, everyCarScores);
+        }
+        if (season < 2010) {
+            return new PointsSystem(FROM_2003, 0, 0, everyCarScores);
+        }
+        if (season == 2014) {
+            // The Abu Dhabi finale, round 19, scored double.
+            return new PointsSystem(FROM_2010, 0, 0, everyCarScores, 19);
+        }
+        if (season >= 2019 && season <= 2024) {
+            return new PointsSystem(FROM_2010, 1, 10, everyCarScores);
+        }
+        return new PointsSystem(FROM_2010, 0, 0, everyCarScores);
+    }
+
+    /**
+     * Takes the points of each result as reported, with the constructor rule of the season.
+     */
+    public static PointsSystem published(int season) {
+        return new PointsSystem(null, 0, 0, everyCarScores(season));
+    }
+
+    // Until 1978 only the best placed car of a constructor scored in each race.
+    private static boolean everyCarScores(int season) {
+        return season >= 1979;
+    }
+
+    /**
+     * Points the driver of a result scores.
+     */
+    public int driverPoints(RaceResult result) {
+        if (positions == null) {
+            return result.getPoints();
+        }
+        int points = positionPoints(result);
+        if (fastestLap > 0 && hasFastestLap(result)
+                && (fastestLapWithin == 0 || (classified(result) && result.getPosition() <= fastestLapWithin))) {
+            points += fastestLap;
+        }
+        return points;
+    }
+
+    /**
+     * Points the constructor of a result scores if the result counts for it; see {@link #everyCarScores()}.
+     * The fastest lap bonus only ever counted for drivers before every car scored.
+     */
+    public int constructorPoints(RaceResult result) {
+        return everyCarScores || positions == null ? driverPoints(result) : positionPoints(result);
+    }
+
+    /**
+     * How many times the points of a round count: 2 for the 2014 finale, 1 otherwise. Reported points already
+     * include it, so it is always 1 for {@link #published(int)}.
+     */
+    public int multiplier(int round) {
+        return round == doubledRound ? 2 : 1;
+    }
+
+    /**
+     * Whether every car scores for its constructor, or only the best placed one in each race.
+     */
+    public boolean everyCarScores() {
+        return everyCarScores;
+    }
+
+    private int positionPoints(RaceResult result) {
+        int position = result.getPosition();
+        return classified(result) && position >= 1 && position <= positions.length ? positions[position - 1] : 0;
+    }
+
+    private static boolean hasFastestLap(RaceResult result) {
+        FastestLap lap = result.getFastestLap();
+        return lap != null && lap.getRank() == 1;
+    }
+
+    /**
+     * Whether a result has a classified finishing position; retirements, disqualifications and the like are
+     * reported with a letter instead, such as "R" or "D".
+     */
+    static boolean classified(RaceResult result) {
+        String text = result.getPositionText();
+        if (text == null || text.isEmpty()) {
+            return result.getPosition() > 0;
+        }
+        for (int i = 0; i < text.length(); i++) {
+            if (!Character.isDigit(text.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public String toString() {
+        return (positions == null ? "published" : Arrays.toString(positions))
+                + (fastestLap > 0 ? " +" + fastestLap + " fastest lap" : "")
+                + (doubledRound > 0 ? ", double in round " + doubledRound : "")
+                + (everyCarScores ? "" : ", best car only");
+    }
+}
@@ -0,0 +1,213 @@
+package ergast.standings;
+
+import ergast.objects.Constructor;
+import ergast.objects.ConstructorStandings;
+import ergast.objects.Driver;
+import ergast.objects.DriverStandings;
+import ergast.objects.RaceResult;
+
+import java.util.*;
+
+/**
+ * Championship standings kept up to date race by race. Each driver and constructor has a running total of
+ * points and a count of finishes in every position, so adding a race only touches the entries that took part
+ * in it and a table is one sort of the entries.
+ *
+ * <p>Entries are ranked by points, then by wins, then by second places, third places and so on, as the
+ * championship breaks ties; entries that are still level keep the order in which they first appeared. Not safe
+ * for use by several threads at once.</p>
+ *
+ * <pre>
+ * StandingsEngine engine = new StandingsEngine(PointsSystem.forSeason(2016));
+ * engine.addRace(ergast.getRaceResults(1));
+ * List&lt;DriverStandings&gt; table = engine.getDriverStandings();
+ * </pre>
+ */
+public final class StandingsEngine {
+
+    private final PointsSystem points;
+    private final Map<String, Entry<Driver>> drivers = new LinkedHashMap<>();
+    private final Map<String, Entry<Constructor>> constructors = new LinkedHashMap<>();
+    private int round;
+
+    public StandingsEngine(PointsSystem points) {
+        this.points = Objects.requireNonNull(points, "points");
+    }
+
+    /**
+     * Continues from published standings after a round, so that only the races since need to be added. The
+     * published tables only give points and wins, so ties are broken on wins and order of the tables until the
+     * added races tell the entries apart.
+     */
+    public static StandingsEngine resume(PointsSystem points, int round, List<DriverStandings> driverStandings,
+                                         List<ConstructorStandings> constructorStandings) {
+        StandingsEngine engine = new StandingsEngine(points);
+        engine.round = round;
+        for (DriverStandings standing : driverStandings) {
+            Entry<Driver> entry = engine.driver(standing.getDriver());
+            entry.points = standing.getPoints();
+            entry.finish(1, standing.getWins());
+            if (standing.getConstructors() != null) {
+                for (Constructor constructor : standing.getConstructors()) {
+                    entry.drove(constructor);
+                }
+            }
+        }
+        for (ConstructorStandings standing : constructorStandings) {
+            Entry<Constructor> entry = engine.constructor(standing.getConstructor());
+            entry.points = standing.getPoints();
+            entry.finish(1, standing.getWins());
+        }
+        return engine;
+    }
+
+    /**
+     * Adds the results of the next round.
+     */
+    public void addRace(List<RaceResult> results) {
+        addRace(round + 1, results);
+    }
+
+    /**
+     * Adds the results of a round after {@link #getRound()}; rounds in between without results are skipped.
+     */
+    public void addRace(int round, List<RaceResult> results) {
+        if (round <= this.round) {
+            throw new IllegalArgumentException("Round " + round + " does not come after round " + this.round);
+        }
+        int multiplier = points.multiplier(round);
+        Map<String, Integer> bestCarPoints = points.everyCarScores() ? null : new HashMap<>();
+        for (RaceResult result : results) {
+            boolean classified = PointsSystem.classified(result);
+            Entry<Driver> driver = driver(result.getDriver());
+            driver.points += multiplier * points.driverPoints(result);
+            if (classified) {
+                driver.finish(result.getPosition(), 1);
+            }
+            if (result.getConstructor() == null) {
+                continue;
+            }
+            driver.drove(result.getConstructor());
+            Entry<Constructor> constructor = constructor(result.getConstructor());
+            if (classified) {
+                constructor.finish(result.getPosition(), 1);
+            }
+            int scored = multiplier * points.constructorPoints(result);
+            if (bestCarPoints == null) {
+                constructor.points += scored;
+            } else {
+                bestCarPoints.merge(constructor.id, scored, Math::max);
+            }
+        }
+        if (bestCarPoints != null) {
+            bestCarPoints.forEach((id, scored) -> constructors.get(id).points += scored);
+        }
+        this.round = round;
+    }
+
+    /**
+     * Round of the last race added, or the round resumed from; 0 before any.
+     */
+    public int getRound() {
+        return round;
+    }
+
+    public List<DriverStandings> getDriverStandings() {
+        List<Entry<Driver>> ranked = ranked(drivers);
+        List<DriverStandings> table = new ArrayList<>(ranked.size());
+        for (int i = 0; i < ranked.size(); i++) {
+            Entry<Driver> entry = ranked.get(i);
+            table.add(DriverStandings.builder()
+                    .position(i + 1)
+                    .positionText(Integer.toString(i + 1))
+                    .points(entry.points)
+                    .wins(entry.wins())
+                    .driver(entry.value)
+                    .constructors(new ArrayList<>(entry.constructors.values()))
+                    .build());
+        }
+        return table;
+    }
+
+    public List<ConstructorStandings> getConstructorStandings() {
+        List<Entry<Constructor>> ranked = ranked(constructors);
+        List<ConstructorStandings> table = new ArrayList<>(ranked.size());
+        for (int i = 0; i < ranked.size(); i++) {
+            Entry<Constructor> entry = ranked.get(i);
+            table.add(ConstructorStandings.builder()
+                    .position(i + 1)
+                    .positionText(Integer.toString(i + 1))
+                    .points(entry.points)
+                    .wins(entry.wins())
+                    .constructor(entry.value)
+                    .build());
+        }
+        return table;
+    }
+
+    private Entry<Driver> driver(Driver driver) {
+        Objects.requireNonNull(driver, "driver");
+        return drivers.computeIfAbsent(driver.getDriverId(), id -> new Entry<>(id, driver, drivers.size()));
+    }
+
+    private Entry<Constructor> constructor(Constructor constructor) {
+        return constructors.computeIfAbsent(constructor.getConstructorId(),
+                id -> new Entry<>(id, constructor, constructors.size()));
+    }
+
+    // The list sort is stable, but comparing the order of appearance keeps the ranking independent of it.
+    private static <T> List<Entry<T>> ranked(Map<String, Entry<T>> entries) {
+        List<Entry<T>> ranked = new ArrayList<>(entries.values());
+        ranked.sort(StandingsEngine::compare);
+        return ranked;
+    }
+
+    private static int compare(Entry<?> a, Entry<?> b) {
+        if (a.points != b.points) {
+            return Integer.compare(b.points, a.points);
+        }
+        int positions = Math.max(a.finishes.length, b.finishes.length);
+        for (int position = 1; position < positions; position++) {
+            int countA = a.finishes(position);
+            int countB = b.finishes(position);
+            if (countA != countB) {
+                return Integer.compare(countB, countA);
+            }
+        }
+        return Integer.compare(a.order, b.order);
+    }
+
+    private static final class Entry<T> {
+        final String id;
+        final T value;
+        final int order;
+        final Map<String, Constructor> constructors = new LinkedHashMap<>(2); // Drivers only, in order driven.
+        int points;
+        int[] finishes = new int[11]; // finishes[p]: races finished in position p.
+
+        Entry(String id, T value, int order) {
+            this.id = id;
+            this.value = value;
+            this.order = order;
+        }
+
+        void finish(int position, int count) {
+            if (position >= finishes.length) {
+                finishes = Arrays.copyOf(finishes, Math.max(position + 1, finishes.length * 2));
+            }
+            finishes[position] += count;
+        }
+
+        int finishes(int position) {
+            return position < finishes.length ? finishes[position] : 0;
+        }
+
+        int wins() {
+            return finishes[1];
+        }
+
+        void drove(Constructor constructor) {
+            constructors.putIfAbsent(constructor.getConstructorId(), constructor);
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package ergast.standings;
+
+import ergast.HistoricalRow;
+import ergast.objects.ConstructorStandings;
+import ergast.objects.DriverStandings;
+import ergast.objects.RaceResult;
+
+import java.util.*;
+
+/**
+ * The driver and constructor standings after every round of a season, derived from the season's race results
+ * with a {@link StandingsEngine}. One results query gives the whole progression, where the standings endpoints
+ * take a request per round.
+ *
+ * <pre>
+ * HistoricalResult&lt;RaceResult&gt; results = HistoricalQuery.of(Endpoint.RESULTS).seasons(2016, 2016).run();
+ * StandingsProgression season = StandingsProgression.of(results.getRows());
+ * List&lt;DriverStandings&gt; afterMonaco = season.getDriverStandings(6);
+ * </pre>
+ */
+public final class StandingsProgression {
+
+    private final int season;
+    private final SortedMap<Integer, List<DriverStandings>> drivers;
+    private final SortedMap<Integer, List<ConstructorStandings>> constructors;
+
+    private StandingsProgression(int season, SortedMap<Integer, List<DriverStandings>> drivers,
+                                 SortedMap<Integer, List<ConstructorStandings>> constructors) {
+        this.season = season;
+        this.drivers = Collections.unmodifiableSortedMap(drivers);
+        this.constructors = Collections.unmodifiableSortedMap(constructors);
+    }
+
+    /**
+     * Computes the progression of one season with its own points scale. The rows may come in any order, as
+     * long as they all belong to the same season.
+     */
+    public static StandingsProgression of(Collection<HistoricalRow<RaceResult>> rows) {
+        if (rows.isEmpty()) {
+            throw new IllegalArgumentException("No results");
+        }
+        return of(rows, PointsSystem.forSeason(rows.iterator().next().getSeason()));
+    }
+
+    public static StandingsProgression of(Collection<HistoricalRow<RaceResult>> rows, PointsSystem points) {
+        SortedMap<Integer, List<RaceResult>> races = new TreeMap<>();
+        int season = rows.isEmpty() ? 0 : rows.iterator().next().getSeason();
+        for (HistoricalRow<RaceResult> row : rows) {
+            if (row.getSeason() != season) {
+                throw new IllegalArgumentException("Results of seasons " + season + " and " + row.getSeason());
+            }
+            if (row.getRound() < 1) {
+                throw new IllegalArgumentException("Result without a round: " + row);
+            }
+            races.computeIfAbsent(row.getRound(), round -> new ArrayList<>()).add(row.getValue());
+        }
+
+        StandingsEngine engine = new StandingsEngine(points);
+        SortedMap<Integer, List<DriverStandings>> drivers = new TreeMap<>();
+        SortedMap<Integer, List<ConstructorStandings>> constructors = new TreeMap<>();
+        for (Map.Entry<Integer, List<RaceResult>> race : races.entrySet()) {
+            engine.addRace(race.getKey(), race.getValue());
+            drivers.put(race.getKey(), Collections.unmodifiableList(engine.getDriverStandings()));
+            constructors.put(race.getKey(), Collections.unmodifiableList(engine.getConstructorStandings()));
+        }
+        return new StandingsProgression(season, drivers, constructors);
+    }
+
+    public int getSeason() {
+        return season;
+    }
+
+    // Rounds with results, in order.
+    public List<Integer> getRounds() {
+        return new ArrayList<>(drivers.keySet());
+    }
+
+    /**
+     * Returns the driver standings after a round, which has to be one of {@link #getRounds()}.
+     */
+    public List<DriverStandings> getDriverStandings(int round) {
+        return table(drivers, round);
+    }
+
+    public List<ConstructorStandings> getConstructorStandings(int round) {
+        return table(constructors, round);
+    }
+
+    // Every table of the season, by round.
+    public SortedMap<Integer, List<DriverStandings>> getDriverStandings() {
+        return drivers;
+    }
+
+    public SortedMap<Integer, List<ConstructorStandings>> getConstructorStandings() {
+        return constructors;
+    }
+
+    private static <T> List<T> table(SortedMap<Integer, List<T>> tables, int round) {
+        List<T> table = tables.get(round);
+        if (table == null) {
+            throw new IllegalArgumentException("No results for round " + round + " of " + tables.keySet());
+        }
+        return table;
+    }
+}
@@ -0,0 +1,187 @@
+package ergast;
+
+import ergast.cache.MemoryResponseCache;
+import ergast.metrics.ErgastMetrics;
+import ergast.metrics.HistogramMetrics;
+import ergast.metrics.Phase;
+import ergast.objects.Driver;
+import junit.framework.TestCase;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+public class ErgastClientTest extends TestCase {
+
+    public void testRequestsReuseOneConnection() throws Exception {
+        try (StubErgastServer server = new StubErgastServer()) {
+            server.respond("/2016/drivers.json", StubErgastServer.driversJson("hamilton", "rosberg"));
+            ErgastClient client = ErgastClient.builder()
+                    .baseUrl(server.baseUrl())
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .build();
+
+            for (int i = 0; i < 5; i++) {
+                List<Driver> drivers = new Ergast(2016, 30, 0, client).getDrivers();
+                assertEquals(2, drivers.size());
+                assertEquals("hamilton", drivers.get(0).getDriverId());
+            }
+
+            assertEquals(5, server.requestCount());
+            assertEquals(1, server.connectionCount());
+        }
+    }
+
+    public void testAsyncGetterParsesOnParseExecutor() throws Exception {
+        try (StubErgastServer server = new StubErgastServer()) {
+            server.respond("/2016/drivers.json", StubErgastServer.driversJson("hamilton", "rosberg", "vettel"));
+            ErgastClient client = ErgastClient.builder()
+                    .baseUrl(server.baseUrl())
+                    .parseExecutor(task -> new Thread(task, "parse-thread").start())
+                    .build();
+
+            CompletableFuture<String> parsedOn = new Ergast(2016, 30, 0, client).getDriversAsync()
+                    .thenApply(drivers -> drivers.size() + "@" + Thread.currentThread().getName());
+
+            assertEquals("3@parse-thread", parsedOn.get());
+        }
+    }
+
+    public void testAsyncGetterReportsHttpErrors() throws Exception {
+        try (StubErgastServer server = new StubErgastServer()) {
+            ErgastClient client = ErgastClient.builder().baseUrl(server.baseUrl()).build();
+            try {
+                new Ergast(2016, 30, 0, client).getDriversAsync().get();
+                fail("Expected the missing endpoint to fail");
+            } catch (ExecutionException e) {
+                assertTrue(e.getCause() instanceof IOException);
+            }
+        }
+    }
+
+    public void testCachedResponsesSkipTheNetwork() throws Exception {
+        try (StubErgastServer server = new StubErgastServer()) {
+            server.respond("/1990/drivers.json", StubErgastServer.driversJson("senna", "prost"));
+            MemoryResponseCache cache = new MemoryResponseCache(1_000_000);
+            ErgastClient client = ErgastClient.builder().baseUrl(server.baseUrl()).responseCache(cache).build();
+
+            new Ergast(1990, 30, 0, client).getDrivers();
+            List<Driver> drivers = new Ergast(1990, 30, 0, client).getDriversAsync().get();
+
+            assertEquals(2, drivers.size());
+            assertEquals(1, server.requestCount());
+            assertEquals(1, cache.getStats().getHits());
+        }
+    }
+
+    public void testConcurrentIdenticalRequestsAreCoalesced() throws Exception {
+        try (StubErgastServer server = new StubErgastServer()) {
+            server.respond("/2016/drivers.json", StubErgastServer.driversJson("hamilton", "rosberg")).latency(200);
+            ErgastClient client = ErgastClient.builder().baseUrl(server.baseUrl()).coalesceRequests(true).build();
+            Ergast ergast = new Ergast(2016, 30, 0, client);
+
+            CompletableFuture<List<Driver>> first = ergast.getDriversAsync();
+            CompletableFuture<List<Driver>> second = ergast.getDriversAsync();
+            CompletableFuture<List<Driver>> third = new Ergast(2016, 30, 0, client).getDriversAsync();
+
+            assertEquals(2, first.get().size());
+            assertNotSame(first.get(), second.get());
+            assertEquals(first.get(), third.get());
+            assertEquals(1, server.requestCount());
+            assertEquals(2, client.getSingleFlight().getCoalesced());
+            assertEquals(0, client.getSingleFlight().getInFlight());
+        }
+    }
+
+    public void testCancellingOneCallerKeepsTheSharedCall() throws Exception {
+        try (StubErgastServer server = new StubErgastServer()) {
+            server.respond("/2016/drivers.json", StubErgastServer.driversJson("hamilton")).latency(200);
+            ErgastClient client = ErgastClient.builder().baseUrl(server.baseUrl()).coalesceRequests(true).build();
+            Ergast ergast = new Ergast(2016, 30, 0, client);
+
+            CompletableFuture<List<Driver>> cancelled = ergast.getDriversAsync();
+            CompletableFuture<List<Driver>> kept = ergast.getDriversAsync();
+            cancelled.cancel(true);
+
+            assertEquals("hamilton", kept.get().get(0).getDriverId());
+        }
+    }
+
+    public void testGzipBodiesAreDecodedWhileParsing() throws Exception {
+        try (StubErgastServer server = new StubErgastServer()) {
+            String[] ids = new String[1000];
+            for (int i = 0; i < ids.length; i++) {
+                ids[i] = "driver" + i;
+            }
+            String json = StubErgastServer.driversJson(ids);
+            server.respond("/2016/drivers.json", json).gzip(true);
+            MemoryResponseCache cache = new MemoryResponseCache(10_000_000);
+            HistogramMetrics metrics = new HistogramMetrics();
+            ErgastClient client = ErgastClient.builder()
+                    .baseUrl(server.baseUrl())
+                    .responseCache(cache)
+                    .metrics(metrics)
+                    .build();
+
+            List<Driver> drivers = new Ergast(2016, 1000, 0, client).getDrivers();
+
+            assertEquals(1000, drivers.size());
+            assertEquals("driver999", drivers.get(999).getDriverId());
+            long received = metrics.getBytes("drivers");
+            assertTrue(received > 0 && received < json.length() / 4);
+            assertEquals(json, cache.get(server.baseUrl() + "/2016/drivers.json?limit=1000&offset=0").getBody());
+        }
+    }
+
+    public void testBaseUrlTrailingSlashIsIgnored() {
+        ErgastClient client = ErgastClient.builder().baseUrl("http://localhost/api/f1/").build();
+        assertEquals("http://localhost/api/f1", client.getBaseUrl());
+    }
+
+    public void testRequestsAreNotCoalescedByDefault() {
+        assertNull(ErgastClient.builder().build().getSingleFlight());
+    }
+
+    public void testMetricsAreDisabledByDefault() {
+        ErgastClient client = ErgastClient.builder().build();
+        assertSame(ErgastMetrics.none(), client.getMetrics());
+        assertFalse(client.getMetrics().isEnabled());
+    }
+
+    public void testMetricsRecordPhasesCacheAndErrors() throws Exception {
+        try (StubErgastServer server = new StubErgastServer()) {
+            String json = StubErgastServer.driversJson("räikkönen", "hamilton", "rosberg");
+            server.respond("/2016/drivers.json", json);
+            HistogramMetrics metrics = new HistogramMetrics();
+            ErgastClient client = ErgastClient.builder()
+                    .baseUrl(server.baseUrl())
+                    .responseCache(new MemoryResponseCache(1_000_000))
+                    .metrics(metrics)
+                    .build();
+
+            new Ergast(2016, 30, 0, client).getDrivers();
+            new Ergast(2016, 30, 0, client).getDriversAsync().get();
+            try {
+                new Ergast(2015, 30, 0, client).getDrivers();
+                fail("Expected the missing endpoint to fail");
+            } catch (IOException expected) {
+                // The stub answers 404 for unknown paths.
+            }
+
+            assertEquals(1, metrics.getCacheHits("drivers"));
+            assertEquals(2, metrics.getCacheMisses("drivers"));
+            assertEquals(1, metrics.getErrors("drivers", 404));
+            assertEquals(0, metrics.getRetries("drivers"));
+            assertEquals(json.getBytes(StandardCharsets.UTF_8).length + "{}".length(), metrics.getBytes("drivers"));
+            assertEquals(6, metrics.getRows("drivers"));
+            assertEquals(2, metrics.getHistogram("drivers", Phase.HTTP).getCount());
+            assertEquals(2, metrics.getHistogram("drivers", Phase.QUEUE).getCount());
+            assertEquals(2, metrics.getHistogram("drivers", Phase.PARSE).getCount());
+            assertEquals(2, metrics.getHistogram("drivers", Phase.TOTAL).getCount());
+            assertTrue(metrics.report().contains("ergast_errors_total{endpoint=\"drivers\",status=\"404\"} 1"));
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package ergast;
+
+import ergast.exceptions.ErgastHttpException;
+import ergast.exceptions.SeasonException;
+import ergast.objects.Driver;
+import junit.framework.TestCase;
+
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Flow;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+public class ErgastTest extends TestCase {
+
+    public void testFetchAllFollowsTotalAcrossPages() throws Exception {
+        try (StubErgastServer server = new StubErgastServer()) {
+            server.respond("/2016/drivers.json?limit=3&offset=0", StubErgastServer.driversPage(7, "a", "b", "c"))
+                    .respond("/2016/drivers.json?limit=3&offset=3", StubErgastServer.driversPage(7, "d", "e", "f"))
+                    .respond("/2016/drivers.json?limit=3&offset=6", StubErgastServer.driversPage(7, "g"));
+            Ergast ergast = new Ergast(2016, 3, 0, ErgastClient.builder().baseUrl(server.baseUrl()).build());
+
+            List<String> ids;
+            try (Stream<Driver> drivers = ergast.fetchAll(Endpoint.DRIVERS, Ergast.NO_ROUND, 2)) {
+                ids = drivers.map(Driver::getDriverId).collect(Collectors.toList());
+            }
+
+            assertEquals(List.of("a", "b", "c", "d", "e", "f", "g"), ids);
+            assertEquals(3, server.requestCount());
+        }
+    }
+
+    public void testFetchAllIsLazy() throws Exception {
+        try (StubErgastServer server = new StubErgastServer()) {
+            Ergast ergast = new Ergast(2016, 3, 0, ErgastClient.builder().baseUrl(server.baseUrl()).build());
+            ergast.fetchAll(Endpoint.DRIVERS, Ergast.NO_ROUND).close();
+            assertEquals(0, server.requestCount());
+        }
+    }
+
+    public void testPublisherFollowsDemandAcrossPages() throws Exception {
+        try (StubErgastServer server = new StubErgastServer()) {
+            server.respond("/2016/drivers.json?limit=3&offset=0", StubErgastServer.driversPage(7, "a", "b", "c"))
+                    .respond("/2016/drivers.json?limit=3&offset=3", StubErgastServer.driversPage(7, "d", "e", "f"))
+                    .respond("/2016/drivers.json?limit=3&offset=6", StubErgastServer.driversPage(7, "g"));
+            Ergast ergast = new Ergast(2016, 3, 0, ErgastClient.builder().baseUrl(server.baseUrl()).build());
+            Recorder recorder = new Recorder();
+            ergast.getDriversPublisher().subscribe(recorder);
+            assertEquals(0, server.requestCount());
+
+            recorder.subscription.request(2);
+            assertEquals("a", recorder.next());
+            assertEquals("b", recorder.next());
+            // Two rows were wanted and the first page holds three, so the second page waits for more demand.
+            assertEquals(1, server.requestCount());
+
+            recorder.subscription.request(10);
+            for (String id : List.of("c", "d", "e", "f", "g", "complete")) {
+                assertEquals(id, recorder.next());
+            }
+            assertEquals(3, server.requestCount());
+        }
+    }
+
+    public void testCancellingThePublisherStopsRequesting() throws Exception {
+        try (StubErgastServer server = new StubErgastServer()) {
+            server.respond("/2016/drivers.json?limit=3&offset=0", StubErgastServer.driversPage(7, "a", "b", "c"))
+                    .respond("/2016/drivers.json?limit=3&offset=3", StubErgastServer.driversPage(7, "d", "e", "f"))
+                    .latency(200);
+            Ergast ergast = new Ergast(2016, 3, 0, ErgastClient.builder().baseUrl(server.baseUrl()).build());
+            Recorder recorder = new Recorder() {
+                @Override
+                public void onNext(Driver item) {
+                    super.onNext(item);
+                    subscription.cancel();
+                }
+            };
+            ergast.getDriversPublisher().subscribe(recorder);
+            recorder.subscription.request(Long.MAX_VALUE);
+
+            assertEquals("a", recorder.next());
+            assertNull(recorder.signals.poll(500, TimeUnit.MILLISECONDS));
+            assertEquals(1, server.requestCount());
+
+            // Cancelled while the response is still on its way: nothing is delivered.
+            Recorder early = new Recorder();
+            ergast.getDriversPublisher().subscribe(early);
+            early.subscription.request(1);
+            early.subscription.cancel();
+            assertNull(early.signals.poll(500, TimeUnit.MILLISECONDS));
+        }
+    }
+
+    public void testPublisherSignalsFailures() throws Exception {
+        try (StubErgastServer server = new StubErgastServer()) {
+            Ergast ergast = new Ergast(2016, 3, 0, ErgastClient.builder().baseUrl(server.baseUrl()).build());
+            Recorder recorder = new Recorder();
+            ergast.getDriversPublisher().subscribe(recorder);
+            recorder.subscription.request(1);
+            assertEquals("error", recorder.next());
+            assertTrue(recorder.error instanceof ErgastHttpException);
+
+            Recorder invalid = new Recorder();
+            ergast.getDriversPublisher().subscribe(invalid);
+            invalid.subscription.request(0);
+            assertEquals("error", invalid.next());
+            assertTrue(invalid.error instanceof IllegalArgumentException);
+        }
+    }
+
+    public void testScopeIsCheckedBeforeRequesting() {
+        try {
+            new Ergast().getAsync(Endpoint.RESULTS, 1);
+            fail("Expected results without a season to be rejected");
+        } catch (SeasonException e) {
+            assertEquals("Season must be specified for this request.", e.getMessage());
+        }
+    }
+
+    // Records driver ids, then "complete" or "error", in the order they are signalled.
+    private static class Recorder implements Flow.Subscriber<Driver> {
+        final BlockingQueue<String> signals = new LinkedBlockingQueue<>();
+        volatile Flow.Subscription subscription;
+        volatile Throwable error;
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+        }
+
+        @Override
+        public void onNext(Driver item) {
+            signals.add(item.getDriverId());
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            error = throwable;
+            signals.add("error");
+        }
+
+        @Override
+        public void onComplete() {
+            signals.add("complete");
+        }
+
+        String next() throws InterruptedException {
+            String signal = signals.poll(5, TimeUnit.SECONDS);
+            assertNotNull("No signal within 5 seconds", signal);
+            return signal;
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package ergast;
+
+import ergast.exceptions.ErgastHttpException;
+import ergast.metrics.HistogramMetrics;
+import ergast.metrics.Phase;
+import ergast.objects.Driver;
+import ergast.objects.LapTimes;
+import ergast.objects.RaceResult;
+import ergast.scheduler.RequestScheduler;
+import ergast.scheduler.RetryPolicy;
+import ergast.scheduler.TokenBucket;
+import junit.framework.TestCase;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+
+public class HistoricalQueryTest extends TestCase {
+
+    public void testRowsCarryTheirRaceAndFailedSeasonsAreReported() throws Exception {
+        try (StubErgastServer server = new StubErgastServer()) {
+            server.respond("/2016/results.json", Fixtures.read("results_2016_21.json"));
+            ErgastClient client = ErgastClient.builder().baseUrl(server.baseUrl()).build();
+
+            HistoricalResult<RaceResult> result = HistoricalQuery.of(Endpoint.RESULTS)
+                    .seasons(2015, 2016)
+                    .client(client)
+                    .run();
+
+            assertFalse(result.isComplete());
+            assertEquals(404, ((ErgastHttpException) result.getErrors().get(2015)).getStatusCode());
+            assertEquals(3, result.getRows().size());
+            HistoricalRow<RaceResult> winner = result.getRows().get(0);
+            assertEquals(2016, winner.getSeason());
+            assertEquals(21, winner.getRound());
+            assertEquals("Abu Dhabi Grand Prix", winner.getRaceName());
+            assertEquals("yas_marina", winner.getCircuitId());
+            assertEquals("hamilton", winner.getValue().getDriver().getDriverId());
+        }
+    }
+
+    public void testPagesAreMeasuredLikeOtherRequests() throws Exception {
+        try (StubErgastServer server = new StubErgastServer()) {
+            server.respond("/2016/results.json", Fixtures.read("results_2016_21.json"));
+            HistogramMetrics metrics = new HistogramMetrics();
+            ErgastClient client = ErgastClient.builder().baseUrl(server.baseUrl()).metrics(metrics).build();
+
+            HistoricalQuery.of(Endpoint.RESULTS).seasons(2016, 2016).client(client).run();
+
+            assertEquals(1, metrics.getHistogram("results", Phase.HTTP).getCount());
+            assertEquals(1, metrics.getHistogram("results", Phase.PARSE).getCount());
+            assertEquals(1, metrics.getHistogram("results", Phase.TOTAL).getCount());
+            assertEquals(3, metrics.getRows("results"));
+        }
+    }
+
+    public void testRowsAreGroupedInParallel() throws Exception {
+        try (StubErgastServer server = new StubErgastServer()) {
+            server.respond("/2016/results.json", Fixtures.read("results_2016_21.json"));
+            ErgastClient client = ErgastClient.builder().baseUrl(server.baseUrl()).build();
+            HistoricalResult<RaceResult> result = HistoricalQuery.of(Endpoint.RESULTS)
+                    .seasons(2016, 2016)
+                    .client(client)
+                    .run();
+
+            Map<String, Long> byConstructor = result.countBy(row -> row.getValue().getConstructor().getConstructorId());
+            assertEquals(Long.valueOf(2), byConstructor.get("mercedes"));
+            Map<String, Long> wins = result.countBy(row -> row.getValue().getPosition() == 1
+                    ? row.getValue().getDriver().getDriverId() : null);
+            assertEquals(Map.of("hamilton", 1L), wins);
+            Map<String, Integer> pointsByCircuit = result.groupBy(HistoricalRow::getCircuitId,
+                    Collectors.summingInt(row -> row.getValue().getPoints()));
+            assertEquals(Integer.valueOf(25 + 18 + 15), pointsByCircuit.get("yas_marina"));
+        }
+    }
+
+    public void testRoundScopedEndpointsFollowTheSchedule() throws Exception {
+        try (StubErgastServer server = new StubErgastServer()) {
+            server.respond("/2016/races.json", Fixtures.read("schedule_2016.json"))
+                    .respond("/2016/21/laps.json", Fixtures.read("laps_2016_21.json"));
+            ErgastClient client = ErgastClient.builder().baseUrl(server.baseUrl()).build();
+
+            HistoricalResult<LapTimes> result = HistoricalQuery.of(Endpoint.LAP_TIMES)
+                    .seasons(2016, 2016)
+                    .client(client)
+                    .run();
+
+            assertTrue(result.isComplete());
+            assertEquals(1, result.getRows().size());
+            assertEquals(21, result.getRows().get(0).getRound());
+            assertEquals(3, result.getRows().get(0).getValue().getLaps().size());
+        }
+    }
+
+    public void testSeasonsArePaged() throws Exception {
+        try (StubErgastServer server = new StubErgastServer()) {
+            server.respond("/2016/drivers.json?limit=2&offset=0", StubErgastServer.driversPage(3, "hamilton", "rosberg"))
+                    .respond("/2016/drivers.json?limit=2&offset=2", StubErgastServer.driversPage(3, "vettel"));
+            ErgastClient client = ErgastClient.builder().baseUrl(server.baseUrl()).build();
+
+            HistoricalResult<Driver> result = HistoricalQuery.of(Endpoint.DRIVERS)
+                    .seasons(2016, 2016)
+                    .client(client)
+                    .pageSize(2)
+                    .run();
+
+            List<String> drivers = result.stream().map(row -> row.getValue().getDriverId()).collect(Collectors.toList());
+            assertEquals(List.of("hamilton", "rosberg", "vettel"), drivers);
+            assertEquals(0, result.getRows().get(0).getRound());
+            assertNull(result.getRows().get(0).getCircuit());
+        }
+    }
+
+    public void testCancellingReachesTheQueuedRequests() throws Exception {
+        try (StubErgastServer server = new StubErgastServer()) {
+            // One request every half second, so the seasons after the first are still queued when cancelled.
+            RequestScheduler scheduler = new RequestScheduler(new TokenBucket(2, 1), RetryPolicy.none());
+            ErgastClient client = ErgastClient.builder().baseUrl(server.baseUrl()).scheduler(scheduler).build();
+
+            CompletableFuture<HistoricalResult<RaceResult>> result = HistoricalQuery.of(Endpoint.RESULTS)
+                    .seasons(2010, 2019)
+                    .client(client)
+                    .runAsync();
+            Thread.sleep(200);
+            result.cancel(true);
+            Thread.sleep(1500);
+
+            assertEquals(1, server.requestCount());
+        }
+    }
+}
@@ -0,0 +1,190 @@
+package ergast;
+
+import ergast.objects.DriverStandings;
+import ergast.objects.Lap;
+import ergast.objects.PitStop;
+import ergast.objects.RaceResult;
+import junit.framework.TestCase;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Flow;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+public class LiveSeasonWatcherTest extends TestCase {
+
+    private static final String LAPS = "/2016/21/laps.json?limit=1000&offset=";
+    private static final String PIT_STOPS = "/2016/21/pitstops.json?limit=1000&offset=";
+    private static final String RESULTS = "/2016/21/results.json?limit=1000&offset=";
+    private static final String STANDINGS = "/2016/driverStandings.json?limit=1000&offset=0";
+
+    public void testPublishesOnlyNewRows() throws Exception {
+        try (StubErgastServer server = new StubErgastServer()) {
+            String laps = Fixtures.read("laps_2016_21.json");
+            server.respond(LAPS + 0, laps)
+                    .respond(LAPS + 9, emptyRace(9))
+                    .respond(PIT_STOPS + 0, Fixtures.read("pitstops_2016_21.json"))
+                    .respond(PIT_STOPS + 3, emptyRace(3))
+                    .respond(RESULTS + 0, Fixtures.read("results_2016_21.json"))
+                    .respond(RESULTS + 3, emptyRace(3))
+                    .respond(STANDINGS, Fixtures.read("driverStandings_2016_21.json"));
+
+            try (LiveSeasonWatcher watcher = new LiveSeasonWatcher(2016, 21, client(server))) {
+                Collector<Lap> lapCollector = Collector.subscribe(watcher.getLaps());
+                Collector<PitStop> pitStopCollector = Collector.subscribe(watcher.getPitStops());
+                Collector<RaceResult> resultCollector = Collector.subscribe(watcher.getResults());
+                Collector<DriverStandings> standingsCollector = Collector.subscribe(watcher.getDriverStandings());
+
+                watcher.poll();
+                for (int lap = 1; lap <= 3; lap++) {
+                    assertEquals(lap, lapCollector.next().getNumber());
+                }
+                for (int i = 0; i < 3; i++) {
+                    assertNotNull(pitStopCollector.next());
+                    assertNotNull(resultCollector.next());
+                    assertNotNull(standingsCollector.next());
+                }
+
+                // Lap 4 is being driven: two of three drivers have completed it.
+                server.respond(LAPS + 9, lapsPage(11, 4, "hamilton", "rosberg"));
+                watcher.poll();
+                Lap partial = lapCollector.next();
+                assertEquals(4, partial.getNumber());
+                assertEquals(2, partial.getTimings().size());
+
+                server.respond(LAPS + 11, lapsPage(12, 4, "vettel")).respond(LAPS + 12, emptyRace(12));
+                watcher.poll();
+                Lap rest = lapCollector.next();
+                assertEquals(4, rest.getNumber());
+                assertEquals("vettel", rest.getTimings().get(0).getDriverId());
+
+                server.respond(STANDINGS, Fixtures.read("driverStandings_2016_21.json")
+                        .replace("\"points\":\"385\"", "\"points\":\"400\""));
+                watcher.poll();
+                DriverStandings changed = standingsCollector.next();
+                assertEquals("rosberg", changed.getDriver().getDriverId());
+                assertEquals(400, changed.getPoints());
+
+                assertNull(pitStopCollector.poll());
+                assertNull(resultCollector.poll());
+                assertNull(standingsCollector.poll());
+            }
+        }
+    }
+
+    public void testLateSubscribersGetTheRowsPublishedSoFar() throws Exception {
+        try (StubErgastServer server = new StubErgastServer()) {
+            server.respond(LAPS + 0, Fixtures.read("laps_2016_21.json"))
+                    .respond(LAPS + 9, emptyRace(9))
+                    .respond(PIT_STOPS + 0, emptyRace(0))
+                    .respond(RESULTS + 0, emptyRace(0))
+                    .respond(STANDINGS, Fixtures.read("driverStandings_2016_21.json"));
+
+            try (LiveSeasonWatcher watcher = new LiveSeasonWatcher(2016, 21, client(server))) {
+                watcher.poll();
+                Collector<Lap> lapCollector = Collector.subscribe(watcher.getLaps());
+                Collector<DriverStandings> standingsCollector = Collector.subscribe(watcher.getDriverStandings());
+                for (int lap = 1; lap <= 3; lap++) {
+                    assertEquals(lap, lapCollector.next().getNumber());
+                }
+                assertEquals("rosberg", standingsCollector.next().getDriver().getDriverId());
+
+                server.respond(LAPS + 9, lapsPage(10, 4, "hamilton")).respond(LAPS + 10, emptyRace(10));
+                watcher.poll();
+                assertEquals(4, lapCollector.next().getNumber());
+                assertNull(lapCollector.poll());
+            }
+        }
+    }
+
+    public void testUnchangedFeedsAreAnsweredNotModified() throws Exception {
+        try (StubErgastServer server = new StubErgastServer()) {
+            server.respond(LAPS + 0, emptyRace(0))
+                    .respond(PIT_STOPS + 0, emptyRace(0))
+                    .respond(RESULTS + 0, emptyRace(0))
+                    .respond(STANDINGS, Fixtures.read("driverStandings_2016_21.json"));
+
+            try (LiveSeasonWatcher watcher = new LiveSeasonWatcher(2016, 21, client(server))) {
+                watcher.poll();
+                watcher.poll();
+                watcher.poll();
+            }
+
+            assertEquals(12, server.requestCount());
+            assertEquals(8, server.notModifiedCount());
+        }
+    }
+
+    public void testRoundIsRequired() {
+        try {
+            new LiveSeasonWatcher(Ergast.NO_SEASON, Ergast.NO_ROUND, ErgastClient.getDefault());
+            fail("Expected a missing round to be rejected");
+        } catch (IllegalArgumentException expected) {
+            // A live watcher follows one race.
+        }
+    }
+
+    private static ErgastClient client(StubErgastServer server) {
+        return ErgastClient.builder().baseUrl(server.baseUrl()).build();
+    }
+
+    private static String emptyRace(int total) {
+        return "{\"MRData\":{\"limit\":\"1000\",\"total\":\"" + total + "\",\"RaceTable\":{\"Races\":[]}}}";
+    }
+
+    // A laps page holding one lap with timings of the given drivers.
+    private static String lapsPage(int total, int lap, String... driverIds) {
+        StringBuilder sb = new StringBuilder("{\"MRData\":{\"limit\":\"1000\",\"total\":\"").append(total)
+                .append("\",\"RaceTable\":{\"Races\":[{\"season\":\"2016\",\"round\":\"21\",\"Laps\":[{\"number\":\"")
+                .append(lap).append("\",\"Timings\":[");
+        for (int i = 0; i < driverIds.length; i++) {
+            if (i > 0) {
+                sb.append(',');
+            }
+            sb.append("{\"driverId\":\"").append(driverIds[i]).append("\",\"position\":\"").append(i + 1)
+                    .append("\",\"time\":\"1:46.000\"}");
+        }
+        return sb.append("]}]}]}}}").toString();
+    }
+
+    /**
+     * Subscriber that requests everything and hands the items to the test thread.
+     */
+    private static final class Collector<T> implements Flow.Subscriber<T> {
+        private final BlockingQueue<T> items = new LinkedBlockingQueue<>();
+
+        static <T> Collector<T> subscribe(Flow.Publisher<T> publisher) {
+            Collector<T> collector = new Collector<>();
+            publisher.subscribe(collector);
+            return collector;
+        }
+
+        T next() throws InterruptedException {
+            T item = items.poll(5, TimeUnit.SECONDS);
+            assertNotNull("Expected an item", item);
+            return item;
+        }
+
+        T poll() throws InterruptedException {
+            return items.poll(100, TimeUnit.MILLISECONDS);
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            subscription.request(Long.MAX_VALUE);
+        }
+
+        @Override
+        public void onNext(T item) {
+            items.add(item);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+        }
+
+        @Override
+        public void onComplete() {
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package ergast;
+
+import ergast.exceptions.QueryLimitException;
+import ergast.exceptions.SeasonException;
+import ergast.objects.RaceResult;
+import junit.framework.TestCase;
+
+import java.util.List;
+
+public class QueryTest extends TestCase {
+
+    private static final String BASE = "http://ergast.com/api/f1";
+
+    public void testUrls() {
+        assertEquals(BASE + "/2016/21/results.json?limit=30&offset=0",
+                Query.results().season(2016).round(21).toUrl(BASE));
+        assertEquals(BASE + "/current/drivers.json?limit=1000&offset=2000",
+                Query.drivers().currentSeason().limit(1000).offset(2000).toUrl(BASE));
+        assertEquals(BASE + "/current/last/pitstops.json?limit=30&offset=0",
+                Query.pitStops().currentSeason().lastRound().toUrl(BASE));
+        assertEquals(BASE + "/seasons.json?limit=30&offset=0", Query.seasons().toUrl(BASE));
+    }
+
+    public void testFiltersPrecedeTheRequestAndItsOwnFilterFollowsIt() {
+        assertEquals(BASE + "/2016/drivers/hamilton/results.json?limit=100&offset=0",
+                Query.results().season(2016).driver("hamilton").limit(100).toUrl(BASE));
+        assertEquals(BASE + "/2016/drivers/hamilton/results/1.json?limit=30&offset=0",
+                Query.results().season(2016).position(1).driver("hamilton").toUrl(BASE));
+        assertEquals(BASE + "/constructors/ferrari/drivers/alonso.json?limit=30&offset=0",
+                Query.drivers().constructor("ferrari").driver("alonso").toUrl(BASE));
+        assertEquals(BASE + "/2008/qualifying/1.json?limit=30&offset=0",
+                Query.qualifying().season(2008).position(1).toUrl(BASE));
+        assertEquals(BASE + "/results/1/drivers.json?limit=30&offset=0",
+                Query.drivers().position(1).toUrl(BASE));
+        assertEquals(BASE + "/2016/21/drivers/rosberg/laps/3.json?limit=30&offset=0",
+                Query.lapTimes().season(2016).round(21).lap(3).driver("rosberg").toUrl(BASE));
+        assertEquals(BASE + "/2011/circuits/monza/grid/0/fastest/1/status/11/results.json?limit=30&offset=0",
+                Query.results().season(2011).status("11").fastest(1).grid(0).circuit("monza").toUrl(BASE));
+    }
+
+    public void testQueriesAreImmutable() {
+        Query<RaceResult> season = Query.results().season(2016);
+        Query<RaceResult> hamilton = season.driver("hamilton");
+        assertNotSame(season, hamilton);
+        assertEquals(BASE + "/2016/results.json?limit=30&offset=0", season.toUrl(BASE));
+        assertEquals(hamilton, Query.results().driver("hamilton").season(2016));
+        assertEquals(hamilton.hashCode(), Query.results().driver("hamilton").season(2016).hashCode());
+        assertFalse(hamilton.equals(season.driver("rosberg")));
+        assertEquals(Ergast.NO_SEASON, Query.results().currentSeason().getSeason());
+        assertEquals(2016, hamilton.getSeason());
+    }
+
+    public void testInvalidQueriesAreRejected() {
+        try {
+            Query.results().driver("hamilton/../x");
+            fail("Expected an id that is not a path segment to be rejected");
+        } catch (IllegalArgumentException expected) {
+            // Ids are pasted into the URL path.
+        }
+        try {
+            Query.results().limit(1001);
+            fail("Expected the limit to be validated");
+        } catch (QueryLimitException expected) {
+            // The API serves at most 1000 rows per page.
+        }
+        try {
+            Query.results().round(5).checkScope();
+            fail("Expected a round without a season to be rejected");
+        } catch (SeasonException expected) {
+            // Rounds are numbered within a season.
+        }
+        try {
+            Query.lapTimes().season(2016).checkScope();
+            fail("Expected lap times without a round to be rejected");
+        } catch (IllegalArgumentException expected) {
+            // Lap times are only served per race.
+        }
+    }
+
+    public void testErgastRunsFilteredQueries() throws Exception {
+        try (StubErgastServer server = new StubErgastServer()) {
+            server.respond("/2016/drivers/hamilton/results/1.json", Fixtures.read("results_2016_21.json"));
+            Ergast ergast = new Ergast(Ergast.NO_SEASON, Ergast.DEFAULT_LIMIT, Ergast.DEFAULT_OFFSET,
+                    ErgastClient.builder().baseUrl(server.baseUrl()).build());
+
+            List<RaceResult> wins = ergast.get(Query.results().season(2016).driver("hamilton").position(1));
+
+            assertEquals(3, wins.size());
+            assertEquals(1, server.requestCount());
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package ergast;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Local stand-in for the Ergast API. Serves canned JSON bodies keyed by request path, with an ETag that
+ * conditional requests are answered with 304 for, optionally gzip-compressed, and records how many requests and distinct client
+ * connections it has seen.
+ */
+public class StubErgastServer implements AutoCloseable {
+
+    private final HttpServer server;
+    private final Map<String, String> bodies = new ConcurrentHashMap<>();
+    private final Set<Integer> clientPorts = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger requests = new AtomicInteger();
+    private final AtomicInteger notModified = new AtomicInteger();
+    private volatile long latencyMillis;
+    private volatile boolean gzip;
+
+    public StubErgastServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/", this::handle);
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.start();
+    }
+
+    // Registers the body returned for the given path, e.g. "/2016/drivers.json". A path may carry a query
+    // string ("/2016/drivers.json?limit=3&offset=3"), which then takes precedence over the bare path.
+    public StubErgastServer respond(String path, String body) {
+        bodies.put(path, body);
+        return this;
+    }
+
+    // Delays every response, so that concurrent requests overlap.
+    public StubErgastServer latency(long millis) {
+        this.latencyMillis = millis;
+        return this;
+    }
+
+    // Compresses bodies for clients that accept gzip.
+    public StubErgastServer gzip(boolean gzip) {
+        this.gzip = gzip;
+        return this;
+    }
+
+    public String baseUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort() + "/api/f1";
+    }
+
+    public int requestCount() {
+        return requests.get();
+    }
+
+    // Conditional requests answered with 304 because the body still has the ETag the client sent.
+    public int notModifiedCount() {
+        return notModified.get();
+    }
+
+    public int connectionCount() {
+        return clientPorts.size();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        requests.incrementAndGet();
+        if (latencyMillis > 0) {
+            try {
+                Thread.sleep(latencyMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        clientPorts.add(exchange.getRemoteAddress().getPort());
+        String path = exchange.getRequestURI().getPath().substring("/api/f1".length()).replace("//", "/");
+        String query = exchange.getRequestURI().getRawQuery();
+        String body = query == null ? null : bodies.get(path + "?" + query);
+        if (body == null) {
+            body = bodies.get(path);
+        }
+        int status = body == null ? 404 : 200;
+        byte[] bytes = (body == null ? "{}" : body).getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        if (body != null) {
+            String etag = "\"" + Integer.toHexString(body.hashCode()) + "\"";
+            exchange.getResponseHeaders().set("ETag", etag);
+            if (etag.equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+                notModified.incrementAndGet();
+                exchange.sendResponseHeaders(304, -1);
+                exchange.close();
+                return;
+            }
+        }
+        String acceptEncoding = exchange.getRequestHeaders().getFirst("Accept-Encoding");
+        if (gzip && acceptEncoding != null && acceptEncoding.contains("gzip")) {
+            ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+            try (GZIPOutputStream out = new GZIPOutputStream(compressed)) {
+                out.write(bytes);
+            }
+            bytes = compressed.toByteArray();
+            exchange.getResponseHeaders().set("Content-Encoding", "gzip");
+        }
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+
+    public static String driversJson(String... driverIds) {
+        return driversPage(driverIds.length, driverIds);
+    }
+
+    // A drivers response holding one page of a query with the given total.
+    public static String driversPage(int total, String... driverIds) {
+        StringBuilder sb = new StringBuilder("{\"MRData\":{\"limit\":\"30\",\"offset\":\"0\",\"total\":\"")
+                .append(total)
+                .append("\",\"DriverTable\":{\"Drivers\":[");
+        for (int i = 0; i < driverIds.length; i++) {
+            if (i > 0) {
+                sb.append(',');
+            }
+            sb.append("{\"driverId\":\"").append(driverIds[i])
+                    .append("\",\"givenName\":\"Given\",\"familyName\":\"").append(driverIds[i]).append("\"}");
+        }
+        return sb.append("]}}}").toString();
+    }
+}
@@ -0,0 +1,71 @@
+package ergast.analytics;
+
+import ergast.Fixtures;
+import ergast.objects.Lap;
+import ergast.objects.LapTimes;
+import ergast.objects.Timing;
+import ergast.parser.Parser;
+import junit.framework.TestCase;
+
+import java.util.Arrays;
+import java.util.List;
+
+public class LapTimeMatrixTest extends TestCase {
+
+    private static LapTimeMatrix fixture() {
+        List<LapTimes> laps = new Parser<>(Fixtures.read("laps_2016_21.json"),
+                new String[]{"RaceTable", "Races"}, LapTimes.class).parse();
+        return LapTimeMatrix.of(laps);
+    }
+
+    public void testLapTimesAreStoredAsMillis() {
+        LapTimeMatrix matrix = fixture();
+
+        assertEquals(3, matrix.driverCount());
+        assertEquals(3, matrix.lapCount());
+        assertEquals("hamilton", matrix.driverId(0));
+        assertEquals(1, matrix.driverIndex("rosberg"));
+        assertEquals(-1, matrix.driverIndex("button"));
+        assertEquals(111214, matrix.lapTime("hamilton", 1));
+        assertEquals(107338, matrix.lapTime("rosberg", 2));
+        assertEquals(3, matrix.lapsCompleted(2));
+    }
+
+    public void testStintAverages() {
+        double[] stints = fixture().stintAverages("hamilton", 1);
+
+        assertEquals(2, stints.length);
+        assertEquals(111214, stints[0], 1e-9);
+        assertEquals((107112 + 106850) / 2.0, stints[1], 1e-9);
+    }
+
+    public void testGapToLeader() {
+        LapTimeMatrix matrix = fixture();
+
+        assertTrue(Arrays.equals(new long[]{0, 0, 0}, matrix.gapToLeader("hamilton")));
+        assertTrue(Arrays.equals(new long[]{807, 1033, 1084}, matrix.gapToLeader("rosberg")));
+    }
+
+    public void testFastestLapRanking() {
+        LapTimeMatrix matrix = fixture();
+
+        assertEquals(Arrays.asList("hamilton", "rosberg", "vettel"), matrix.fastestLapRanking());
+        assertEquals(106850, matrix.fastestLap(0));
+    }
+
+    public void testPagesAreMergedAndMissingLapsMarked() {
+        LapTimes first = laps(new Lap(1, Arrays.asList(new Timing("hamilton", 1, "1:40.000"), new Timing("massa", 2, "1:41.500"))));
+        LapTimes second = laps(new Lap(2, Arrays.asList(new Timing("hamilton", 1, "1:39.000"))));
+        LapTimeMatrix matrix = LapTimeMatrix.of(Arrays.asList(first, second));
+
+        assertEquals(2, matrix.lapCount());
+        assertEquals(LapTimeMatrix.NO_TIME, matrix.lapTime("massa", 2));
+        assertEquals(1, matrix.lapsCompleted(matrix.driverIndex("massa")));
+        assertTrue(Arrays.equals(new long[]{1500, LapTimeMatrix.NO_TIME}, matrix.gapToLeader("massa")));
+        assertEquals(Arrays.asList("hamilton", "massa"), matrix.fastestLapRanking());
+    }
+
+    private static LapTimes laps(Lap... laps) {
+        return new LapTimes(2016, 21, null, null, null, null, null, Arrays.asList(laps));
+    }
+}
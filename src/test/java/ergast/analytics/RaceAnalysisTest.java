@@ -0,0 +1,83 @@
+package ergast.analytics;
+
+import ergast.Fixtures;
+import ergast.objects.*;
+import ergast.parser.Parser;
+import junit.framework.TestCase;
+
+import java.util.*;
+
+public class RaceAnalysisTest extends TestCase {
+
+    // Ten laps of 1:30 after a 1:40 start. Hamilton, second, pits on lap 4; Verstappen answers on lap 6 and
+    // comes out behind.
+    private static RaceAnalysis undercut() {
+        List<Lap> laps = new ArrayList<>();
+        for (int lap = 1; lap <= 10; lap++) {
+            String hamilton = lap == 1 ? "1:40.000" : lap == 4 ? "1:35.000" : lap == 5 ? "1:50.000" : "1:30.000";
+            String verstappen = lap == 1 ? "1:40.000" : lap == 6 ? "1:35.000" : lap == 7 ? "1:52.000" : "1:30.000";
+            boolean hamiltonAhead = lap >= 7;
+            laps.add(new Lap(lap, Arrays.asList(
+                    new Timing("verstappen", hamiltonAhead ? 2 : 1, verstappen),
+                    new Timing("hamilton", hamiltonAhead ? 1 : 2, hamilton))));
+        }
+        LapTimes lapTimes = new LapTimes(2021, 1, null, null, null, null, null, laps);
+        RacePitStops stops = new RacePitStops(2021, 1, null, null, null, null, null, Arrays.asList(
+                new PitStop("verstappen", 1, 6, "15:20:00", "23.100"),
+                new PitStop("hamilton", 1, 4, "15:17:00", "22.400")));
+        return RaceAnalysis.of(Collections.singletonList(lapTimes), Collections.singletonList(stops));
+    }
+
+    public void testStintsAndPitLoss() {
+        RaceAnalysis race = undercut();
+
+        assertEquals(2, race.stintCount("hamilton"));
+        assertEquals(1, race.stintFirstLap("hamilton", 0));
+        assertEquals(4, race.stintLastLap("hamilton", 0));
+        assertEquals(5, race.stintFirstLap("hamilton", 1));
+        assertEquals(10, race.stintLastLap("hamilton", 1));
+        assertEquals((100000 + 2 * 90000 + 95000) / 4.0, race.stintAverage("hamilton", 0), 1e-9);
+
+        assertEquals(2, race.stopCount());
+        assertEquals("hamilton", race.stopDriverId(0));
+        assertEquals(4, race.stopLap(0));
+        assertEquals(22400, race.stopDuration(0));
+        assertEquals(95000 + 110000 - 2 * 90000, race.stopLoss(0));
+        assertEquals(95000 + 112000 - 2 * 90000, race.stopLoss(1));
+    }
+
+    public void testPositionsAndUndercut() {
+        RaceAnalysis race = undercut();
+
+        assertTrue(Arrays.equals(new int[]{2, 2, 2, 2, 2, 2, 1, 1, 1, 1}, race.positionTimeline("hamilton")));
+        assertEquals(1, race.positionsGained("hamilton"));
+        assertEquals(-1, race.positionsGained("verstappen"));
+
+        assertEquals(1, race.undercutCount());
+        assertEquals("hamilton", race.undercutAttacker(0));
+        assertEquals("verstappen", race.undercutDefender(0));
+        assertEquals(4, race.undercutLap(0));
+        assertEquals(6, race.undercutAnswerLap(0));
+        assertTrue(race.undercutSucceeded(0));
+    }
+
+    public void testRecordedRace() {
+        List<LapTimes> laps = new Parser<>(Fixtures.read("laps_2016_21.json"),
+                new String[]{"RaceTable", "Races"}, LapTimes.class).parse();
+        List<RacePitStops> stops = new Parser<>(Fixtures.read("pitstops_2016_21.json"),
+                new String[]{"RaceTable", "Races"}, RacePitStops.class).parse();
+
+        SortedMap<Integer, RaceAnalysis> rounds = RaceAnalysis.ofRounds(
+                Map.of(21, laps, 22, laps), Map.of(21, stops));
+
+        assertEquals(Arrays.asList(21, 22), new ArrayList<>(rounds.keySet()));
+        RaceAnalysis race = rounds.get(21);
+        assertEquals(3, race.stopCount());
+        assertEquals(2, race.stintCount("hamilton"));
+        assertEquals(3, race.stintLastLap("hamilton", 1));
+        // Rosberg's out-lap is not in the recording.
+        assertEquals(LapTimeMatrix.NO_TIME, race.stopLoss(1));
+        assertEquals(0, race.undercutCount());
+        assertEquals(1, rounds.get(22).stintCount("hamilton"));
+    }
+}
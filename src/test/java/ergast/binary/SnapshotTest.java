@@ -0,0 +1,89 @@
+package ergast.binary;
+
+import ergast.Endpoint;
+import ergast.Fixtures;
+import ergast.objects.*;
+import ergast.parser.Parser;
+import junit.framework.TestCase;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+public class SnapshotTest extends TestCase {
+
+    private Path file;
+
+    @Override
+    protected void setUp() throws IOException {
+        file = Files.createTempFile("ergast", ".snapshot");
+    }
+
+    @Override
+    protected void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    private static <T> List<T> recorded(String fixture, Endpoint<T> endpoint) {
+        return new Parser<>(Fixtures.read(fixture), endpoint.getJsonPath(), endpoint.getType()).parse();
+    }
+
+    public void testRoundTrip() throws IOException {
+        List<RaceResult> results = recorded("results_2016_21.json", Endpoint.RESULTS);
+        List<Driver> drivers = recorded("drivers_2016.json", Endpoint.DRIVERS);
+        Circuit circuit = recorded("schedule_2016.json", Endpoint.SCHEDULE).get(0).getCircuit();
+        new SnapshotWriter()
+                .addDrivers(drivers)
+                .addCircuits(Collections.singletonList(circuit))
+                .addSeasons(Arrays.asList(new Season(2016, "http://en.wikipedia.org/wiki/2016_Formula_One_season"),
+                        new Season(2015, null)))
+                .addResults(2016, 21, results)
+                .addResults(2016, 20, results.subList(0, 1))
+                .write(file);
+
+        SnapshotReader reader = SnapshotReader.open(file);
+
+        assertEquals(results, reader.getResults(2016, 21));
+        assertEquals(drivers, reader.getDrivers());
+        assertEquals(drivers.get(1), reader.getDriver("rosberg"));
+        assertNull(reader.getDriver("button"));
+        assertEquals(2, reader.constructorCount());
+        assertEquals("ferrari", reader.getConstructor(0).getConstructorId());
+        assertEquals(circuit, reader.getCircuit("yas_marina"));
+        assertEquals(2015, reader.getSeasons().get(0).getSeason());
+        assertNull(reader.getSeasons().get(0).getUrl());
+        assertEquals(Arrays.asList(20, 21), reader.getRounds(2016));
+        assertEquals(1, reader.getResults(2016, 20).size());
+        assertTrue(reader.getResults(2016, 19).isEmpty());
+        assertTrue(reader.getRounds(2017).isEmpty());
+    }
+
+    public void testMissingOptionalValuesStayMissing() throws IOException {
+        Driver driver = Driver.builder().driverId("fangio").build();
+        Constructor constructor = new Constructor("alfa", null, "Alfa Romeo", "Italian");
+        RaceResult retired = new RaceResult(0, 5, "R", 0, driver, constructor, 3, 12, "Engine", null, null);
+        Circuit circuit = new Circuit("silverstone", null, "Silverstone Circuit", null);
+        new SnapshotWriter()
+                .addCircuits(Collections.singletonList(circuit))
+                .addResults(1950, 1, Collections.singletonList(retired))
+                .write(file);
+
+        SnapshotReader reader = SnapshotReader.open(file);
+        assertEquals(Collections.singletonList(retired), reader.getResults(1950, 1));
+        assertNull(reader.getCircuit("silverstone").getLocation());
+        assertEquals(circuit, reader.getCircuit("silverstone"));
+    }
+
+    public void testOtherFilesAreRejected() throws IOException {
+        Files.write(file, new byte[64]);
+        try {
+            SnapshotReader.open(file);
+            fail("Expected IOException");
+        } catch (IOException expected) {
+            assertEquals("Not an Ergast snapshot", expected.getMessage());
+        }
+    }
+}
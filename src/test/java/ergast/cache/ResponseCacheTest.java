@@ -0,0 +1,71 @@
+package ergast.cache;
+
+import junit.framework.TestCase;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+
+public class ResponseCacheTest extends TestCase {
+
+    private static final Instant NOW = Instant.parse("2024-01-01T00:00:00Z");
+    private static final Clock CLOCK = Clock.fixed(NOW, ZoneOffset.UTC);
+
+    public void testMemoryTierEvictsLeastRecentlyUsed() {
+        MemoryResponseCache cache = new MemoryResponseCache(10, CLOCK);
+        cache.put("a", response("aaaa", 60));
+        cache.put("b", response("bbbb", 60));
+        assertNotNull(cache.get("a")); // "b" is now the least recently used entry.
+        cache.put("c", response("cccc", 60));
+
+        assertNull(cache.get("b"));
+        assertEquals("aaaa", cache.get("a").getBody());
+        assertEquals("cccc", cache.get("c").getBody());
+        assertEquals(1, cache.getStats().getEvictions());
+        assertEquals(3, cache.getStats().getHits());
+        assertEquals(1, cache.getStats().getMisses());
+    }
+
+    public void testMemoryTierDropsExpiredEntries() {
+        MemoryResponseCache cache = new MemoryResponseCache(100, CLOCK);
+        cache.put("a", response("body", -1));
+        assertNull(cache.get("a"));
+        assertEquals(0, cache.size());
+        assertEquals(1, cache.getStats().getEvictions());
+    }
+
+    public void testFileTierRoundTripsCompressedBodies() throws Exception {
+        Path directory = Files.createTempDirectory("ergast-cache");
+        FileResponseCache cache = new FileResponseCache(directory, CLOCK);
+        cache.put("http://ergast.com/api/f1/1990/results.json", response("{\"MRData\":{}}", 60));
+
+        CachedResponse cached = new FileResponseCache(directory, CLOCK).get("http://ergast.com/api/f1/1990/results.json");
+        assertEquals("{\"MRData\":{}}", cached.getBody());
+        assertNull(cache.get("http://ergast.com/api/f1/1991/results.json"));
+    }
+
+    public void testTieredCachePromotesSecondTierHits() throws Exception {
+        MemoryResponseCache memory = new MemoryResponseCache(100, CLOCK);
+        FileResponseCache file = new FileResponseCache(Files.createTempDirectory("ergast-cache"), CLOCK);
+        file.put("url", response("body", 60));
+        TieredResponseCache cache = new TieredResponseCache(memory, file);
+
+        assertEquals("body", cache.get("url").getBody());
+        assertEquals(1, memory.size());
+        assertEquals(1, cache.getStats().getHits());
+    }
+
+    public void testSeasonalTtlTreatsPastSeasonsAsImmutable() {
+        TtlPolicy policy = TtlPolicy.seasonal(Duration.ofMinutes(1), Duration.ofDays(30));
+        assertEquals(Duration.ofDays(30), policy.ttlFor(1990));
+        assertEquals(Duration.ofMinutes(1), policy.ttlFor(-1));
+        assertEquals(Duration.ofMinutes(1), policy.ttlFor(java.time.Year.now().getValue()));
+    }
+
+    private static CachedResponse response(String body, long ttlSeconds) {
+        return new CachedResponse(body, NOW.plusSeconds(ttlSeconds));
+    }
+}
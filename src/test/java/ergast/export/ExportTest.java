@@ -0,0 +1,139 @@
+package ergast.export;
+
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import ergast.Endpoint;
+import ergast.Fixtures;
+import ergast.objects.LapTimes;
+import ergast.objects.RaceResult;
+import ergast.parser.Parser;
+import junit.framework.TestCase;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+
+public class ExportTest extends TestCase {
+
+    private Path file;
+
+    @Override
+    protected void setUp() throws IOException {
+        file = Files.createTempFile("ergast", ".export");
+    }
+
+    @Override
+    protected void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    private static List<RaceResult> results() {
+        return new Parser<>(Fixtures.read("results_2016_21.json"), Endpoint.RESULTS.getJsonPath(), RaceResult.class).parse();
+    }
+
+    public void testNestedObjectsAreFlattenedIntoColumns() {
+        List<String> names = ColumnSet.of(RaceResult.class).getNames();
+
+        assertTrue(names.contains("driver.driverId"));
+        assertTrue(names.contains("constructor.name"));
+        assertTrue(names.contains("fastestLap.averageSpeed.speed"));
+        assertFalse(ColumnSet.of(LapTimes.class).getNames().contains("laps"));
+        assertTrue(ColumnSet.of(LapTimes.class).getNames().contains("circuit.location.lat"));
+    }
+
+    public void testCsv() throws IOException {
+        assertEquals(3, Export.write(results().stream(), file, ExportFormat.CSV, RaceResult.class, false));
+
+        List<String> lines = Files.readAllLines(file);
+        assertEquals(4, lines.size());
+        assertTrue(lines.get(0).startsWith("number,position,positionText,points,driver.driverId,"));
+        assertTrue(lines.get(1).startsWith("44,1,1,25,hamilton,44,HAM,"));
+    }
+
+    public void testGzippedNdjson() throws IOException {
+        Export.write(results().stream(), file, ExportFormat.NDJSON, RaceResult.class, true);
+
+        List<String> lines = new ArrayList<>();
+        try (BufferedReader in = new BufferedReader(new InputStreamReader(
+                new GZIPInputStream(Files.newInputStream(file)), StandardCharsets.UTF_8))) {
+            in.lines().forEach(lines::add);
+        }
+        assertEquals(3, lines.size());
+        JsonObject second = JsonParser.parseString(lines.get(1)).getAsJsonObject();
+        assertEquals("rosberg", second.getAsJsonObject("Driver").get("driverId").getAsString());
+    }
+
+    public void testColumnarRowGroups() throws IOException {
+        List<RaceResult> results = results();
+        results.get(2).setFastestLap(null);
+        try (RowWriter<RaceResult> writer = new ColumnarRowWriter<>(
+                new BufferedOutputStream(Files.newOutputStream(file)), RaceResult.class, 2)) {
+            writer.writeAll(results.iterator());
+        }
+
+        try (ColumnarReader reader = new ColumnarReader(new BufferedInputStream(Files.newInputStream(file)))) {
+            int driverId = reader.getNames().indexOf("driver.driverId");
+            int speed = reader.getNames().indexOf("fastestLap.averageSpeed.speed");
+            assertEquals(ColumnType.DOUBLE, reader.getTypes().get(speed));
+            List<Object[]> rows = new ArrayList<>();
+            reader.forEachRemaining(rows::add);
+            assertEquals(3, rows.size());
+            assertEquals("vettel", rows.get(2)[driverId]);
+            assertEquals(192.010, (Double) rows.get(0)[speed], 1e-9);
+            assertNull(rows.get(2)[speed]);
+        }
+    }
+
+    public void testModelTypesAreFlattened() throws IOException {
+        List<ergast.model.RaceResult> results = new Parser<>(Fixtures.read("results_2016_21.json"),
+                Endpoint.RESULTS.getJsonPath(), ergast.model.RaceResult.class).parse();
+        ColumnSet<ergast.model.RaceResult> columns = ColumnSet.of(ergast.model.RaceResult.class);
+        assertEquals(ColumnType.STRING, columns.getTypes().get(columns.getNames().indexOf("driver.dateOfBirth")));
+        assertEquals(ColumnType.INT, columns.getTypes().get(columns.getNames().indexOf("time.millis")));
+
+        Export.write(results.stream(), file, ExportFormat.CSV, ergast.model.RaceResult.class, false);
+        List<String> lines = Files.readAllLines(file);
+        List<String> header = Arrays.asList(lines.get(0).split(","));
+        List<String> winner = Arrays.asList(lines.get(1).split(","));
+        assertEquals("hamilton", winner.get(header.indexOf("driver.driverId")));
+        assertEquals("1985-01-07", winner.get(header.indexOf("driver.dateOfBirth")));
+        assertEquals("mercedes", winner.get(header.indexOf("constructor.constructorId")));
+        assertEquals("5687475", winner.get(header.indexOf("time.millis")));
+        assertEquals("104127", winner.get(header.indexOf("fastestLap.time.millis")));
+
+        List<ergast.model.Schedule> races = new Parser<>(Fixtures.read("schedule_2016.json"),
+                Endpoint.SCHEDULE.getJsonPath(), ergast.model.Schedule.class).parse();
+        ColumnSet<ergast.model.Schedule> schedule = ColumnSet.of(ergast.model.Schedule.class);
+        assertEquals("2016-11-27", String.valueOf(schedule.value(races.get(0), schedule.getNames().indexOf("date"))));
+        assertEquals("13:00:00", schedule.value(races.get(0), schedule.getNames().indexOf("time")));
+    }
+
+    public void testLapsAreExportedOneRowPerDriverAndLap() throws IOException {
+        List<LapTimes> races = new Parser<>(Fixtures.read("laps_2016_21.json"),
+                Endpoint.LAP_TIMES.getJsonPath(), LapTimes.class).parse();
+        Stream<LapRow> rows = races.stream().flatMap(LapRow::of);
+
+        assertEquals(9, Export.write(rows, file, ExportFormat.CSV, LapRow.class, false));
+        List<String> lines = Files.readAllLines(file);
+        assertEquals("season,round,lap,driverId,position,time,millis", lines.get(0));
+        assertEquals("2016,21,1,hamilton,1,1:51.214,111214", lines.get(1));
+    }
+
+    public void testStreamFailuresSurfaceAsIOException() {
+        Stream<RaceResult> failing = Stream.generate(() -> {
+            throw new UncheckedIOException(new IOException("page failed"));
+        });
+        try {
+            Export.write(failing, file, ExportFormat.CSV, RaceResult.class, false);
+            fail("Expected IOException");
+        } catch (IOException expected) {
+            assertEquals("page failed", expected.getMessage());
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package ergast.index;
+
+import ergast.HistoricalRow;
+import ergast.objects.*;
+import junit.framework.TestCase;
+
+import java.util.*;
+import java.util.function.Predicate;
+
+public class ResultIndexTest extends TestCase {
+
+    private static final String[] DRIVERS = {"hamilton", "rosberg", "vettel", "alonso", "button", "massa"};
+    private static final String[] TEAMS = {"mercedes", "mercedes", "ferrari", "mclaren", "mclaren", "williams"};
+    private static final String[] CIRCUITS = {"albert_park", "bahrain", "monza", "monaco"};
+
+    // Seasons 2000-2019 with four races each; finishing orders rotate so every driver wins somewhere.
+    private static List<HistoricalRow<RaceResult>> history() {
+        List<HistoricalRow<RaceResult>> rows = new ArrayList<>();
+        for (int season = 2000; season < 2020; season++) {
+            for (int round = 1; round <= CIRCUITS.length; round++) {
+                Circuit circuit = new Circuit(CIRCUITS[round - 1], null, null, null);
+                for (int i = 0; i < DRIVERS.length; i++) {
+                    int position = (i + season + round) % DRIVERS.length + 1;
+                    int grid = (i + round) % DRIVERS.length;
+                    String status = position <= 4 ? "Finished" : (season + i) % 2 == 0 ? "Engine" : "Gearbox";
+                    RaceResult result = new RaceResult(i, position, Integer.toString(position), 0,
+                            Driver.builder().driverId(DRIVERS[i]).build(),
+                            new Constructor(TEAMS[i], null, null, null), grid, 50, status, null, null);
+                    rows.add(new HistoricalRow<>(season, round, null, circuit, result));
+                }
+            }
+        }
+        return rows;
+    }
+
+    public void testCompoundQueriesMatchAScan() {
+        List<HistoricalRow<RaceResult>> history = history();
+        ResultIndex index = new ResultIndex();
+        index.addAll(history);
+
+        List<HistoricalRow<RaceResult>> podiums = index.results().driver("hamilton").circuit("monza")
+                .positionBetween(1, 3).rows();
+        assertEquals(scan(history, row -> row.getValue().getDriver().getDriverId().equals("hamilton")
+                && row.getCircuitId().equals("monza") && row.getValue().getPosition() <= 3), podiums);
+        assertFalse(podiums.isEmpty());
+
+        assertEquals(scan(history, row -> row.getSeason() >= 2005 && row.getSeason() <= 2009
+                        && row.getValue().getConstructor().getConstructorId().equals("mclaren")
+                        && row.getValue().getGrid() == 0).size(),
+                index.results().seasons(2005, 2009).constructor("mclaren").grid(0).count());
+
+        List<RaceResult> race = index.results().race(2016, 3).values();
+        assertEquals(DRIVERS.length, race.size());
+        assertEquals(0, index.results().driver("schumacher").count());
+        assertEquals(0, index.qualifying().count());
+    }
+
+    public void testCountsComeFromTheColumns() {
+        List<HistoricalRow<RaceResult>> history = history();
+        ResultIndex index = new ResultIndex();
+        index.addAll(history);
+
+        Map<String, Integer> retirements = index.results().season(2010).positionBetween(5, 6).countByStatus();
+        assertEquals(scan(history, row -> row.getSeason() == 2010 && row.getValue().getPosition() >= 5
+                && row.getValue().getStatus().equals("Engine")).size(), (int) retirements.get("Engine"));
+        assertFalse(retirements.containsKey("Finished"));
+
+        Map<String, Integer> wins = index.results().position(1).countByDriver();
+        assertEquals(history.size() / DRIVERS.length, wins.values().stream().mapToInt(Integer::intValue).sum());
+        SortedMap<Integer, Integer> bySeason = index.results().status("Gearbox").countBySeason();
+        assertEquals(Integer.valueOf(2000), bySeason.firstKey());
+        assertEquals(Integer.valueOf(2019), bySeason.lastKey());
+    }
+
+    public void testStandingsAreIndexedUnderTheirLastConstructor() {
+        ResultIndex index = new ResultIndex();
+        DriverStandings standings = DriverStandings.builder().position(1).points(380)
+                .driver(Driver.builder().driverId("alonso").build())
+                .constructors(Arrays.asList(new Constructor("minardi", null, null, null),
+                        new Constructor("renault", null, null, null)))
+                .build();
+        index.add(new HistoricalRow<>(2005, 19, null, null, standings));
+        index.add(new HistoricalRow<>(2005, 0, null, null, new FinishingStatus(5, 12, "Engine")));
+
+        assertEquals(Collections.singletonList(standings),
+                index.driverStandings().season(2005).constructor("renault").position(1).values());
+        assertEquals(0, index.driverStandings().constructor("minardi").count());
+        assertEquals(1, index.finishingStatuses().status("Engine").count());
+        assertEquals(0, index.finishingStatuses().round(0).count());
+        assertEquals(2, index.size());
+    }
+
+    public void testOtherRowsAreRejected() {
+        try {
+            new ResultIndex().add(new HistoricalRow<>(2016, 1, null, null, "results"));
+            fail("Expected a row that is not a result to be rejected");
+        } catch (IllegalArgumentException expected) {
+            // Only results, qualifying, standings and statuses are indexed.
+        }
+    }
+
+    private static <T> List<HistoricalRow<T>> scan(List<HistoricalRow<T>> rows, Predicate<HistoricalRow<T>> filter) {
+        List<HistoricalRow<T>> matches = new ArrayList<>();
+        for (HistoricalRow<T> row : rows) {
+            if (filter.test(row)) {
+                matches.add(row);
+            }
+        }
+        return matches;
+    }
+}
@@ -0,0 +1,22 @@
+package ergast.metrics;
+
+import junit.framework.TestCase;
+
+public class HistogramMetricsTest extends TestCase {
+
+    public void testReadingAnEndpointDoesNotAddItToTheReport() {
+        HistogramMetrics metrics = new HistogramMetrics();
+        metrics.recordPayload("drivers", 100);
+
+        assertEquals(0, metrics.getHistogram("results", Phase.HTTP).getCount());
+        assertEquals(0, metrics.getBytes("results"));
+        assertEquals(0, metrics.getRows("results"));
+        assertEquals(0, metrics.getErrors("results", 404));
+        assertEquals(0, metrics.getErrors("drivers", 404));
+        assertEquals(100, metrics.getBytes("drivers"));
+
+        String report = metrics.report();
+        assertTrue(report.contains("ergast_response_bytes_total{endpoint=\"drivers\"} 100"));
+        assertFalse(report.contains("results"));
+    }
+}
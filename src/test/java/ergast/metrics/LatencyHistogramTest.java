@@ -0,0 +1,47 @@
+package ergast.metrics;
+
+import junit.framework.TestCase;
+
+public class LatencyHistogramTest extends TestCase {
+
+    public void testSmallValuesAreExact() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 1; i <= 100; i++) {
+            histogram.record(i);
+        }
+        assertEquals(100, histogram.getCount());
+        assertEquals(100, histogram.getMax());
+        assertEquals(50.5, histogram.getMean(), 1e-9);
+        assertEquals(50, histogram.getPercentile(50));
+        assertEquals(99, histogram.getPercentile(99));
+        assertEquals(100, histogram.getPercentile(100));
+    }
+
+    public void testPercentilesStayWithinTwoPercent() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long micros = 1; micros <= 10_000; micros++) {
+            histogram.record(micros * 1_000);
+        }
+        assertEquals(5_000_000, histogram.getPercentile(50), 5_000_000 * 0.02);
+        assertEquals(9_900_000, histogram.getPercentile(99), 9_900_000 * 0.02);
+        assertEquals(9_990_000, histogram.getPercentile(99.9), 9_990_000 * 0.02);
+        assertEquals(10_000_000, histogram.getMax());
+    }
+
+    public void testEmptyHistogramReportsZero() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, histogram.getPercentile(99));
+        assertEquals(0.0, histogram.getMean());
+    }
+
+    public void testBucketsCoverTheWholeRange() {
+        for (long value = 1; value < 1L << 41; value = value * 3 + 1) {
+            int bucket = LatencyHistogram.bucket(value);
+            assertTrue(value <= LatencyHistogram.highestValue(bucket));
+            assertTrue(bucket == 0 || value > LatencyHistogram.highestValue(bucket - 1));
+        }
+        // Anything longer than about half an hour lands in the last bucket.
+        assertEquals(LatencyHistogram.bucket((1L << 41) - 1), LatencyHistogram.bucket(Long.MAX_VALUE));
+    }
+}
@@ -0,0 +1,86 @@
+package ergast.model;
+
+import ergast.Endpoint;
+import ergast.Ergast;
+import ergast.ErgastClient;
+import ergast.Fixtures;
+import ergast.StubErgastServer;
+import ergast.parser.Parser;
+import junit.framework.TestCase;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+public class ModelTest extends TestCase {
+
+    public void testScheduleDatesAreTyped() {
+        Schedule race = parse(Endpoint.SCHEDULE.as(Schedule.class), "schedule_2016.json").get(0);
+        assertEquals(LocalDate.of(2016, 11, 27), race.getDate());
+        assertEquals(LocalTime.of(13, 0), race.getTime());
+        assertEquals("yas_marina", race.getCircuit().getCircuitId());
+        assertEquals(54.6031f, race.getCircuit().getLocation().getLng(), 1e-4f);
+    }
+
+    public void testResultsAreMapped() {
+        RaceResult winner = parse(Endpoint.RESULTS.as(RaceResult.class), "results_2016_21.json").get(0);
+        assertEquals(1, winner.getPosition());
+        assertEquals(25.0, winner.getPoints());
+        assertEquals(LocalDate.of(1985, 1, 7), winner.getDriver().getDateOfBirth());
+        assertEquals("mercedes", winner.getConstructor().getConstructorId());
+        assertEquals(5687475, winner.getTime().getMillis());
+        assertEquals(104127, winner.getFastestLap().getTime().getMillis());
+        assertEquals("1:44.127", winner.getFastestLap().getTime().getTime());
+    }
+
+    public void testLapTimesAreParsedOnceIntoImmutableLists() {
+        LapTimes race = parse(Endpoint.LAP_TIMES.as(LapTimes.class), "laps_2016_21.json").get(0);
+        assertEquals(3, race.getLaps().size());
+        Timing timing = race.getLaps().get(0).getTimings().get(0);
+        assertEquals("hamilton", timing.getDriverId());
+        assertEquals(111214, timing.getMillis());
+        try {
+            race.getLaps().get(0).getTimings().add(timing);
+            fail("Expected the timings to be unmodifiable");
+        } catch (UnsupportedOperationException expected) {
+            // Instances can be shared without copies.
+        }
+    }
+
+    public void testPitStopsAndQualifyingTimes() {
+        PitStop stop = parse(Endpoint.PIT_STOPS.as(RacePitStops.class), "pitstops_2016_21.json").get(0)
+                .getPitStops().get(0);
+        assertEquals(LocalTime.of(13, 6, 20), stop.getTime());
+        assertEquals(21914, stop.getDurationMillis());
+
+        Qualification pole = parse(Endpoint.QUALIFYING.as(Qualification.class), "qualifying_2016_21.json").get(0);
+        assertTrue(pole.getQ3() > 0);
+        assertTrue(pole.getQ1() > pole.getQ3());
+    }
+
+    public void testStandingsAreMapped() {
+        DriverStandings leader = parse(Endpoint.DRIVER_STANDINGS.as(DriverStandings.class),
+                "driverStandings_2016_21.json").get(0);
+        assertEquals(385.0, leader.getPoints());
+        assertEquals("mercedes", leader.getConstructors().get(0).getConstructorId());
+        ConstructorStandings constructor = parse(Endpoint.CONSTRUCTOR_STANDINGS.as(ConstructorStandings.class),
+                "constructorStandings_2016_21.json").get(0);
+        assertEquals("mercedes", constructor.getConstructor().getConstructorId());
+    }
+
+    public void testErgastMapsOntoTheModel() throws Exception {
+        try (StubErgastServer server = new StubErgastServer()) {
+            server.respond("/2016/21/laps.json", Fixtures.read("laps_2016_21.json"));
+            ErgastClient client = ErgastClient.builder().baseUrl(server.baseUrl()).build();
+
+            List<LapTimes> laps = new Ergast(2016, 30, 0, client).get(Endpoint.LAP_TIMES.as(LapTimes.class), 21);
+
+            assertEquals(LocalDate.of(2016, 11, 27), laps.get(0).getDate());
+            assertEquals(107338, laps.get(0).getLaps().get(1).getTimings().get(1).getMillis());
+        }
+    }
+
+    private static <T> List<T> parse(Endpoint<T> endpoint, String fixture) {
+        return new Parser<>(Fixtures.read(fixture), endpoint.getJsonPath(), endpoint.getType()).parse();
+    }
+}
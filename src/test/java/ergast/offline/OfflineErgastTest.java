@@ -0,0 +1,101 @@
+package ergast.offline;
+
+import ergast.Endpoint;
+import ergast.Ergast;
+import ergast.Fixtures;
+import ergast.exceptions.SeasonException;
+import ergast.objects.*;
+import ergast.parser.Parser;
+import ergast.parser.TimeParser;
+import junit.framework.TestCase;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.List;
+
+public class OfflineErgastTest extends TestCase {
+
+    private static ErgastDump dump;
+
+    @Override
+    protected void setUp() throws Exception {
+        if (dump == null) {
+            Path directory = Paths.get(OfflineErgastTest.class.getResource("/fixtures/dump").toURI());
+            dump = ErgastDump.load(directory);
+        }
+    }
+
+    private static <T> List<T> recorded(String fixture, Endpoint<T> endpoint) {
+        return new Parser<>(Fixtures.read(fixture), endpoint.getJsonPath(), endpoint.getType()).parse();
+    }
+
+    public void testAnswersMatchTheApi() {
+        OfflineErgast ergast = new OfflineErgast(dump, 2016);
+
+        assertEquals(recorded("schedule_2016.json", Endpoint.SCHEDULE), ergast.getSchedule());
+        assertEquals(recorded("results_2016_21.json", Endpoint.RESULTS), ergast.getRaceResults(21));
+        assertEquals(recorded("qualifying_2016_21.json", Endpoint.QUALIFYING), ergast.getQualificationResults(21));
+        assertEquals(recorded("driverStandings_2016_21.json", Endpoint.DRIVER_STANDINGS), ergast.getDriverStandings(21));
+        assertEquals(recorded("laps_2016_21.json", Endpoint.LAP_TIMES), ergast.getLapTimes(21));
+        assertEquals(recorded("pitstops_2016_21.json", Endpoint.PIT_STOPS), ergast.getRacePitStops(21));
+    }
+
+    public void testStandingsDefaultToTheLastRound() {
+        List<ConstructorStandings> standings = new OfflineErgast(dump, 2016).getConstructorStandings(Ergast.NO_ROUND);
+
+        assertEquals(2, standings.size());
+        assertEquals("mercedes", standings.get(0).getConstructor().getConstructorId());
+        assertEquals(765, standings.get(0).getPoints());
+        assertEquals(3, standings.get(1).getPosition());
+    }
+
+    public void testSeasonFiltersReferenceTables() {
+        OfflineErgast season2015 = new OfflineErgast(dump, 2015);
+        OfflineErgast all = new OfflineErgast(dump, Ergast.NO_SEASON);
+
+        assertEquals(3, season2015.getDrivers().size());
+        assertEquals("hamilton", season2015.getDrivers().get(0).getDriverId());
+        assertEquals(Arrays.asList(2015, 2016), Arrays.asList(all.getSeasons().get(0).getSeason(), all.getSeasons().get(1).getSeason()));
+        assertEquals(1, season2015.getSeasons().size());
+        assertEquals(2, all.getSchedule().size());
+        assertEquals("yas_marina", all.getCircuits().get(0).getCircuitId());
+    }
+
+    public void testMissingValuesAndStatuses() {
+        List<RaceResult> results = new OfflineErgast(dump, 2015).getRaceResults(19);
+
+        RaceResult retired = results.get(2);
+        assertEquals("R", retired.getPositionText());
+        assertEquals(3, retired.getPosition());
+        assertNull(retired.getTime());
+        assertEquals("Engine", retired.getStatus());
+
+        List<FinishingStatus> statuses = new OfflineErgast(dump, Ergast.NO_SEASON).getFinishingstatuses(Ergast.NO_ROUND);
+        assertEquals(2, statuses.size());
+        assertEquals(5, statuses.get(0).getCount());
+        assertEquals("Engine", statuses.get(1).getStatus());
+    }
+
+    public void testScopeMatchesTheApi() {
+        try {
+            new OfflineErgast(dump, Ergast.NO_SEASON).getRaceResults(21);
+            fail("Expected SeasonException");
+        } catch (SeasonException expected) {
+            // expected
+        }
+        try {
+            new OfflineErgast(dump, 2016).getLapTimes(Ergast.NO_ROUND);
+            fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException expected) {
+            // expected
+        }
+    }
+
+    public void testLapTimesAreFormattedLikeTheDump() {
+        assertEquals("1:51.214", TimeParser.formatMillis(111214));
+        assertEquals("0:59.005", TimeParser.formatMillis(59005));
+        assertEquals("1:02:03.040", TimeParser.formatMillis(3723040));
+        assertEquals(9, dump.lapTimeCount());
+    }
+}
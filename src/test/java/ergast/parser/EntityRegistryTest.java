@@ -0,0 +1,76 @@
+package ergast.parser;
+
+import ergast.Fixtures;
+import ergast.objects.Constructor;
+import ergast.objects.Driver;
+import ergast.objects.DriverStandings;
+import ergast.objects.RaceResult;
+import junit.framework.TestCase;
+
+import java.io.StringReader;
+import java.util.List;
+
+public class EntityRegistryTest extends TestCase {
+
+    public void testParsedRowsShareEntities() {
+        EntityRegistry registry = new EntityRegistry();
+        List<RaceResult> results = new Parser<>(new StringReader(Fixtures.read("results_2016_21.json")),
+                new String[]{"RaceTable", "Races", "Results"}, RaceResult.class, registry).parse();
+        List<RaceResult> again = new Parser<>(new StringReader(Fixtures.read("results_2016_21.json")),
+                new String[]{"RaceTable", "Races", "Results"}, RaceResult.class, registry).parse();
+        List<DriverStandings> standings = new Parser<>(new StringReader(Fixtures.read("driverStandings_2016_21.json")),
+                new String[]{"StandingsTable", "StandingsLists", "DriverStandings"}, DriverStandings.class, registry)
+                .parse();
+
+        assertSame(results.get(0).getDriver(), again.get(0).getDriver());
+        assertSame(results.get(0).getConstructor(), again.get(0).getConstructor());
+        assertSame(results.get(0).getConstructor(), results.get(1).getConstructor());
+        for (DriverStandings standing : standings) {
+            for (RaceResult result : results) {
+                if (result.getDriver().equals(standing.getDriver())) {
+                    assertSame(result.getDriver(), standing.getDriver());
+                }
+            }
+        }
+    }
+
+    public void testParsersOnlyInternWhenGivenARegistry() {
+        List<RaceResult> results = new Parser<>(Fixtures.read("results_2016_21.json"),
+                new String[]{"RaceTable", "Races", "Results"}, RaceResult.class).parse();
+        List<RaceResult> again = new Parser<>(Fixtures.read("results_2016_21.json"),
+                new String[]{"RaceTable", "Races", "Results"}, RaceResult.class).parse();
+
+        assertEquals(results.get(0).getDriver(), again.get(0).getDriver());
+        assertNotSame(results.get(0).getDriver(), again.get(0).getDriver());
+        assertNotSame(results.get(0).getConstructor(), results.get(1).getConstructor());
+    }
+
+    public void testEqualEntitiesAreInterned() {
+        EntityRegistry registry = new EntityRegistry();
+        Constructor first = new Constructor("mercedes", "url", "Mercedes", "German");
+        Constructor second = new Constructor("mercedes", "url", "Mercedes", "German");
+
+        assertSame(first, registry.intern(first));
+        assertSame(first, registry.intern(second));
+        assertEquals(1, registry.size());
+    }
+
+    public void testDifferentDescriptionReplacesCanonicalInstance() {
+        EntityRegistry registry = new EntityRegistry();
+        Driver early = Driver.builder().driverId("hamilton").givenName("Lewis").build();
+        Driver later = Driver.builder().driverId("hamilton").givenName("Lewis").permanentNumber(44).build();
+
+        assertSame(early, registry.intern(early));
+        assertSame(later, registry.intern(later));
+        assertSame(later, registry.intern(Driver.builder().driverId("hamilton").givenName("Lewis").permanentNumber(44).build()));
+        assertEquals(1, registry.size());
+    }
+
+    public void testEntitiesWithoutIdAreNotInterned() {
+        EntityRegistry registry = new EntityRegistry();
+        Driver anonymous = Driver.builder().givenName("Unknown").build();
+
+        assertSame(anonymous, registry.intern(anonymous));
+        assertEquals(0, registry.size());
+    }
+}
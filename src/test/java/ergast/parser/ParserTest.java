@@ -0,0 +1,101 @@
+package ergast.parser;
+
+import com.google.gson.JsonParseException;
+import ergast.Fixtures;
+import ergast.objects.ConstructorStandings;
+import ergast.objects.Driver;
+import ergast.objects.DriverStandings;
+import ergast.objects.LapTimes;
+import ergast.objects.RacePitStops;
+import ergast.objects.RaceResult;
+import ergast.objects.Schedule;
+import junit.framework.TestCase;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class ParserTest extends TestCase {
+
+    private static final String[] RESULTS_PATH = {"RaceTable", "Races", "Results"};
+
+    public void testResultsAreMappedThroughCapitalizedKeys() {
+        Parser<RaceResult> parser = new Parser<>(Fixtures.read("results_2016_21.json"), RESULTS_PATH, RaceResult.class);
+        List<RaceResult> results = parser.parse();
+
+        assertEquals(3, results.size());
+        assertEquals(3, parser.getTotal());
+        RaceResult winner = results.get(0);
+        assertEquals(1, winner.getPosition());
+        assertEquals("hamilton", winner.getDriver().getDriverId());
+        assertEquals("mercedes", winner.getConstructor().getConstructorId());
+        assertEquals(5687475, winner.getTime().getMillis());
+        assertEquals("1:44.127", winner.getFastestLap().getTime().getTime());
+        assertEquals(192.010, winner.getFastestLap().getAverageSpeed().getSpeed(), 1e-9);
+    }
+
+    // Malaysia 2009 was stopped early and gave half points.
+    public void testHalfPointsAreRounded() {
+        List<RaceResult> results = new Parser<>(Fixtures.read("results_2009_2.json"), RESULTS_PATH, RaceResult.class)
+                .parse();
+        assertEquals(5, results.get(0).getPoints());
+        assertEquals(3, results.get(1).getPoints());
+        assertEquals(1, results.get(2).getPoints());
+
+        DriverStandings driver = new Parser<>(Fixtures.read("driverStandings_2016_21.json")
+                .replace("\"points\":\"385\"", "\"points\":\"384.5\""),
+                new String[]{"StandingsTable", "StandingsLists", "DriverStandings"}, DriverStandings.class).parse().get(0);
+        assertEquals(385, driver.getPoints());
+        ConstructorStandings constructor = new Parser<>(Fixtures.read("constructorStandings_2016_21.json")
+                .replace("\"points\":\"765\"", "\"points\":\"764.5\""),
+                new String[]{"StandingsTable", "StandingsLists", "ConstructorStandings"}, ConstructorStandings.class)
+                .parse().get(0);
+        assertEquals(765, constructor.getPoints());
+    }
+
+    public void testDriversAreMapped() {
+        List<Driver> drivers = new Parser<>(Fixtures.read("drivers_2016.json"),
+                new String[]{"DriverTable", "Drivers"}, Driver.class).parse();
+        assertEquals(3, drivers.size());
+        assertEquals("HAM", drivers.get(0).getCode());
+        assertEquals("Vettel", drivers.get(2).getFamilyName());
+    }
+
+    public void testNestedListsAreMapped() {
+        List<LapTimes> laps = new Parser<>(Fixtures.read("laps_2016_21.json"),
+                new String[]{"RaceTable", "Races"}, LapTimes.class).parse();
+        assertEquals(1, laps.size());
+        assertEquals("yas_marina", laps.get(0).getCircuit().getCircuitId());
+        assertEquals(54.6031f, laps.get(0).getCircuit().getLocation().getLng(), 1e-4f);
+        assertEquals(3, laps.get(0).getLaps().size());
+        assertEquals("1:47.338", laps.get(0).getLaps().get(1).getTimings().get(1).getTime());
+
+        List<RacePitStops> stops = new Parser<>(Fixtures.read("pitstops_2016_21.json"),
+                new String[]{"RaceTable", "Races"}, RacePitStops.class).parse();
+        assertEquals(3, stops.get(0).getPitStops().size());
+        assertEquals("21.877", stops.get(0).getPitStops().get(2).getDuration());
+    }
+
+    public void testForEachHandsOverTheEnclosingRace() {
+        List<String> rows = new ArrayList<>();
+        new Parser<>(Fixtures.read("results_2016_21.json"), RESULTS_PATH, RaceResult.class)
+                .forEach(Schedule.class, (race, result) -> rows.add(race.getSeason() + "/" + race.getRound() + " "
+                        + race.getCircuit().getCircuitId() + " " + result.getDriver().getDriverId()));
+        assertEquals(List.of("2016/21 yas_marina hamilton", "2016/21 yas_marina rosberg", "2016/21 yas_marina vettel"), rows);
+    }
+
+    public void testForEachEmitsElementsInOrder() {
+        List<String> drivers = new ArrayList<>();
+        new Parser<>(Fixtures.read("results_2016_21.json"), RESULTS_PATH, RaceResult.class)
+                .forEach(result -> drivers.add(result.getDriver().getDriverId()));
+        assertEquals(List.of("hamilton", "rosberg", "vettel"), drivers);
+    }
+
+    public void testMissingPathIsReported() {
+        try {
+            new Parser<>("{\"MRData\":{\"RaceTable\":{}}}", RESULTS_PATH, RaceResult.class).parse();
+            fail("Expected a missing path to be reported");
+        } catch (JsonParseException e) {
+            assertEquals("Missing object in JSON path: Races", e.getMessage());
+        }
+    }
+}
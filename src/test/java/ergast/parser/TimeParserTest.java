@@ -0,0 +1,53 @@
+package ergast.parser;
+
+import ergast.objects.FastestLap;
+import ergast.objects.PitStop;
+import ergast.objects.Time;
+import ergast.objects.Timing;
+import junit.framework.TestCase;
+
+public class TimeParserTest extends TestCase {
+
+    public void testLapAndRaceTimes() {
+        assertEquals(92456, TimeParser.parseMillis("1:32.456"));
+        assertEquals(5884013, TimeParser.parseMillis("1:38:04.013"));
+        assertEquals(22123, TimeParser.parseMillis("22.123"));
+        assertEquals(22100, TimeParser.parseMillis("22.1"));
+        assertEquals(22, TimeParser.parseMillis("0.0225"));
+    }
+
+    public void testGapsAndTimesOfDay() {
+        assertEquals(12345, TimeParser.parseMillis("+12.345"));
+        assertEquals(62345, TimeParser.parseMillis("+1:02.345"));
+        assertEquals(-439, TimeParser.parseMillis("-0.439"));
+        assertEquals((14 * 3600 + 21 * 60 + 30) * 1000L, TimeParser.parseMillis("14:21:30"));
+    }
+
+    public void testNanos() {
+        assertEquals(92_456_789_000L, TimeParser.parseNanos("1:32.456789"));
+    }
+
+    public void testMalformedValuesAreRejected() {
+        String[] malformed = {"", "+", "1:", ":12", "1.", "1:32.", "1.2.3", "1:32,456", "+1 Lap", "1:2:3:4"};
+        for (String value : malformed) {
+            try {
+                TimeParser.parseMillis(value);
+                fail("Expected NumberFormatException for " + value);
+            } catch (NumberFormatException expected) {
+                // expected
+            }
+        }
+        assertEquals(TimeParser.NO_TIME, TimeParser.parseMillisOrNone(null));
+        assertEquals(TimeParser.NO_TIME, TimeParser.parseMillisOrNone(""));
+    }
+
+    public void testTypedAccessors() {
+        assertEquals(111214, new Timing("hamilton", 1, "1:51.214").getTimeMillis());
+        PitStop stop = new PitStop("hamilton", 1, 8, "17:21:30", "21.854");
+        assertEquals(21854, stop.getDurationMillis());
+        assertEquals((17 * 3600 + 21 * 60 + 30) * 1000L, stop.getTimeMillis());
+        assertEquals(439, new Time(5687914, "+0.439").getTimeMillis());
+        assertEquals(104127, new FastestLap(1, 52, new Time(0, "1:44.127"), null).getTimeMillis());
+        assertEquals(TimeParser.NO_TIME, new FastestLap().getTimeMillis());
+    }
+}
@@ -0,0 +1,135 @@
+package ergast.scheduler;
+
+import ergast.exceptions.ErgastHttpException;
+import junit.framework.TestCase;
+
+import javax.net.ssl.SSLSession;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpHeaders;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class RequestSchedulerTest extends TestCase {
+
+    public void testTokenBucketAllowsBurstThenWaits() {
+        AtomicLong now = new AtomicLong();
+        TokenBucket bucket = new TokenBucket(4, 2, now::get);
+
+        assertEquals(0, bucket.tryAcquire());
+        assertEquals(0, bucket.tryAcquire());
+        assertEquals(Duration.ofMillis(250).toNanos(), bucket.tryAcquire());
+
+        now.addAndGet(Duration.ofMillis(250).toNanos());
+        assertEquals(0, bucket.tryAcquire());
+
+        bucket.pause(Duration.ofSeconds(2));
+        assertEquals(Duration.ofSeconds(2).toNanos(), bucket.tryAcquire());
+    }
+
+    public void testRetryAfterIsHonored() {
+        assertEquals(Duration.ofSeconds(3), RetryPolicy.parseRetryAfter("3"));
+        assertNull(RetryPolicy.parseRetryAfter("soon"));
+        Duration backoff = RetryPolicy.defaults().delay(3, null);
+        assertTrue(backoff.compareTo(Duration.ofSeconds(2)) <= 0);
+    }
+
+    public void testTooManyRequestsIsRetried() throws Exception {
+        RequestScheduler scheduler = new RequestScheduler(new TokenBucket(1000, 10),
+                new RetryPolicy(3, Duration.ofMillis(1), Duration.ofMillis(10)));
+        AtomicInteger attempts = new AtomicInteger();
+
+        HttpResponse<String> response = scheduler.submit(Priority.INTERACTIVE,
+                () -> CompletableFuture.completedFuture(attempts.incrementAndGet() < 3
+                        ? response(429, "0") : response(200, null))).get();
+
+        assertEquals(200, response.statusCode());
+        assertEquals(3, attempts.get());
+    }
+
+    public void testFinalFailureReportsStatus() throws Exception {
+        RequestScheduler scheduler = new RequestScheduler(new TokenBucket(1000, 10), RetryPolicy.none());
+        try {
+            scheduler.submit(Priority.BULK, () -> CompletableFuture.completedFuture(response(429, null))).get();
+            fail("Expected the request to fail");
+        } catch (ExecutionException e) {
+            assertEquals(429, ((ErgastHttpException) e.getCause()).getStatusCode());
+        }
+    }
+
+    public void testInteractiveRequestsOvertakeBulk() throws Exception {
+        TokenBucket bucket = new TokenBucket(10, 1);
+        RequestScheduler scheduler = new RequestScheduler(bucket, RetryPolicy.none());
+        List<String> sent = new CopyOnWriteArrayList<>();
+        assertEquals(0, bucket.tryAcquire()); // Everything submitted below has to queue.
+
+        CompletableFuture<?> first = scheduler.submit(Priority.BULK, send(sent, "bulk-1"));
+        CompletableFuture<?> second = scheduler.submit(Priority.BULK, send(sent, "bulk-2"));
+        CompletableFuture<?> third = scheduler.submit(Priority.INTERACTIVE, send(sent, "interactive"));
+        CompletableFuture.allOf(first, second, third).get();
+
+        assertEquals(List.of("interactive", "bulk-1", "bulk-2"), sent);
+    }
+
+    private static java.util.function.Supplier<CompletableFuture<HttpResponse<String>>> send(List<String> sent, String name) {
+        return () -> {
+            sent.add(name);
+            return CompletableFuture.completedFuture(response(200, null));
+        };
+    }
+
+    private static HttpResponse<String> response(int status, String retryAfter) {
+        HttpHeaders headers = HttpHeaders.of(retryAfter == null ? Map.of() : Map.of("Retry-After", List.of(retryAfter)),
+                (name, value) -> true);
+        return new HttpResponse<String>() {
+            @Override
+            public int statusCode() {
+                return status;
+            }
+
+            @Override
+            public HttpRequest request() {
+                return HttpRequest.newBuilder(URI.create("http://localhost/")).build();
+            }
+
+            @Override
+            public Optional<HttpResponse<String>> previousResponse() {
+                return Optional.empty();
+            }
+
+            @Override
+            public HttpHeaders headers() {
+                return headers;
+            }
+
+            @Override
+            public String body() {
+                return "";
+            }
+
+            @Override
+            public Optional<SSLSession> sslSession() {
+                return Optional.empty();
+            }
+
+            @Override
+            public URI uri() {
+                return URI.create("http://localhost/");
+            }
+
+            @Override
+            public HttpClient.Version version() {
+                return HttpClient.Version.HTTP_1_1;
+            }
+        };
+    }
+}
@@ -0,0 +1,62 @@
+package ergast.snapshot;
+
+import ergast.ErgastClient;
+import ergast.Fixtures;
+import ergast.StubErgastServer;
+import junit.framework.TestCase;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+public class SeasonSnapshotLoaderTest extends TestCase {
+
+    public void testSeasonIsJoinedAndDeduplicated() throws Exception {
+        try (StubErgastServer server = new StubErgastServer()) {
+            server.respond("/2016/races.json", Fixtures.read("schedule_2016.json"));
+            for (String endpoint : new String[]{"results", "qualifying", "driverStandings", "constructorStandings"}) {
+                server.respond("/2016/21/" + endpoint + ".json", Fixtures.read(endpoint + "_2016_21.json"));
+            }
+            server.respond("/2016/21/laps.json", Fixtures.read("laps_2016_21.json"))
+                    .respond("/2016/21/pitstops.json", Fixtures.read("pitstops_2016_21.json"));
+            ErgastClient client = ErgastClient.builder().baseUrl(server.baseUrl()).build();
+
+            SeasonSnapshot snapshot = new SeasonSnapshotLoader(client, 3).load(2016);
+
+            assertEquals(1, snapshot.getRounds().size());
+            assertEquals(3, snapshot.getDrivers().size());
+            assertEquals(2, snapshot.getConstructors().size());
+            assertEquals(7, server.requestCount());
+
+            RoundSnapshot round = snapshot.getRound(21);
+            DriverRace hamilton = round.getDriverRace("hamilton");
+            assertSame(snapshot.getDriver("hamilton"), hamilton.getDriver());
+            assertSame(hamilton.getDriver(), hamilton.getQualification().getDriver());
+            assertSame(round.getResults().get(0), hamilton.getResult());
+            assertSame(hamilton.getDriver(), hamilton.getResult().getDriver());
+            assertSame(hamilton.getDriver(), round.getDriverStandings().get(1).getDriver());
+            assertSame(snapshot.getConstructor("mercedes"), round.getConstructorStandings().get(0).getConstructor());
+            assertEquals(3, hamilton.getLaps().size());
+            assertEquals("1:47.112", hamilton.getLaps().get(1).getTime());
+            assertEquals(1, hamilton.getPitStops().size());
+            assertEquals("hamilton", round.getDrivers().keySet().iterator().next());
+        }
+    }
+
+    public void testCancellingStopsTheQueuedRequests() throws Exception {
+        try (StubErgastServer server = new StubErgastServer()) {
+            server.respond("/2016/races.json", Fixtures.read("schedule_2016.json")).latency(300);
+            ErgastClient client = ErgastClient.builder().baseUrl(server.baseUrl()).build();
+
+            // One request at a time: the schedule, then the results, while the rest of the round waits.
+            CompletableFuture<SeasonSnapshot> snapshot = new SeasonSnapshotLoader(client, 1).loadAsync(2016);
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (server.requestCount() < 2 && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+            snapshot.cancel(true);
+            Thread.sleep(1500);
+
+            assertEquals(2, server.requestCount());
+        }
+    }
+}
@@ -0,0 +1,226 @@
+package ergast.standings;
+
+import ergast.Fixtures;
+import ergast.HistoricalRow;
+import ergast.objects.*;
+import ergast.parser.Parser;
+import junit.framework.TestCase;
+
+import java.util.*;
+
+public class StandingsEngineTest extends TestCase {
+
+    private static final Constructor MERCEDES = new Constructor("mercedes", null, null, null);
+    private static final Constructor FERRARI = new Constructor("ferrari", null, null, null);
+
+    private static RaceResult result(String driverId, Constructor constructor, String position, int fastestLapRank) {
+        int order = position.chars().allMatch(Character::isDigit) ? Integer.parseInt(position) : 20;
+        return new RaceResult(0, order, position, 0, Driver.builder().driverId(driverId).build(), constructor,
+                0, 0, "Finished", null, new FastestLap(fastestLapRank, 0, null, null));
+    }
+
+    // The 2016 finale: the tables after round 20 are the published ones less the recorded round 21 results.
+    public void testPublishedStandingsAfterTheFinale() {
+        List<RaceResult> results = new Parser<>(Fixtures.read("results_2016_21.json"),
+                new String[]{"RaceTable", "Races", "Results"}, RaceResult.class).parse();
+        List<DriverStandings> drivers = new Parser<>(Fixtures.read("driverStandings_2016_21.json"),
+                new String[]{"StandingsTable", "StandingsLists", "DriverStandings"}, DriverStandings.class).parse();
+        List<ConstructorStandings> constructors = new Parser<>(Fixtures.read("constructorStandings_2016_21.json"),
+                new String[]{"StandingsTable", "StandingsLists", "ConstructorStandings"}, ConstructorStandings.class)
+                .parse();
+
+        PointsSystem points = PointsSystem.forSeason(2016);
+        for (RaceResult result : results) {
+            assertEquals(result.getPoints(), points.driverPoints(result));
+        }
+
+        List<DriverStandings> afterRound20 = Arrays.asList(
+                standing(drivers.get(0), 385 - 18, 9),
+                standing(drivers.get(1), 380 - 25, 9),
+                standing(drivers.get(2), 212 - 15, 0));
+        List<ConstructorStandings> constructorsAfterRound20 = Arrays.asList(
+                ConstructorStandings.builder().constructor(MERCEDES).points(765 - 43).wins(18).build(),
+                ConstructorStandings.builder().constructor(FERRARI).points(398 - 15).wins(0).build());
+        StandingsEngine engine = StandingsEngine.resume(points, 20, afterRound20, constructorsAfterRound20);
+        engine.addRace(results);
+
+        assertEquals(21, engine.getRound());
+        List<DriverStandings> computed = engine.getDriverStandings();
+        assertEquals(drivers.size(), computed.size());
+        for (int i = 0; i < drivers.size(); i++) {
+            DriverStandings published = drivers.get(i);
+            assertEquals(published.getDriver().getDriverId(), computed.get(i).getDriver().getDriverId());
+            assertEquals(published.getPoints(), computed.get(i).getPoints());
+            assertEquals(published.getWins(), computed.get(i).getWins());
+            assertEquals(i + 1, computed.get(i).getPosition());
+        }
+        List<ConstructorStandings> computedConstructors = engine.getConstructorStandings();
+        assertEquals(constructors.size(), computedConstructors.size());
+        for (int i = 0; i < constructors.size(); i++) {
+            ConstructorStandings published = constructors.get(i);
+            assertEquals(published.getConstructor().getConstructorId(),
+                    computedConstructors.get(i).getConstructor().getConstructorId());
+            assertEquals(published.getPoints(), computedConstructors.get(i).getPoints());
+            assertEquals(published.getWins(), computedConstructors.get(i).getWins());
+        }
+    }
+
+    private static DriverStandings standing(DriverStandings published, int points, int wins) {
+        return DriverStandings.builder().driver(published.getDriver()).constructors(published.getConstructors())
+                .points(points).wins(wins).build();
+    }
+
+    // Every 2016 result of Mercedes, which scored all the points of its drivers, gives their final tables.
+    public void testPublishedFinalTablesOfASeason() {
+        List<HistoricalRow<RaceResult>> rows = new ArrayList<>();
+        new Parser<>(Fixtures.read("results_2016_mercedes.json"), new String[]{"RaceTable", "Races", "Results"},
+                RaceResult.class).forEach(Schedule.class, (race, result) -> rows.add(
+                new HistoricalRow<>(race.getSeason(), race.getRound(), race.getRaceName(), race.getCircuit(), result)));
+        List<DriverStandings> drivers = new Parser<>(Fixtures.read("driverStandings_2016_21.json"),
+                new String[]{"StandingsTable", "StandingsLists", "DriverStandings"}, DriverStandings.class).parse();
+        List<ConstructorStandings> constructors = new Parser<>(Fixtures.read("constructorStandings_2016_21.json"),
+                new String[]{"StandingsTable", "StandingsLists", "ConstructorStandings"}, ConstructorStandings.class)
+                .parse();
+
+        StandingsProgression season = StandingsProgression.of(rows);
+        assertEquals(21, season.getRounds().size());
+        List<DriverStandings> computed = season.getDriverStandings(21);
+        assertEquals(2, computed.size());
+        for (int i = 0; i < computed.size(); i++) {
+            DriverStandings published = drivers.get(i);
+            assertEquals(published.getDriver().getDriverId(), computed.get(i).getDriver().getDriverId());
+            assertEquals(published.getPosition(), computed.get(i).getPosition());
+            assertEquals(published.getPoints(), computed.get(i).getPoints());
+            assertEquals(published.getWins(), computed.get(i).getWins());
+        }
+        ConstructorStandings mercedes = season.getConstructorStandings(21).get(0);
+        assertEquals(constructors.get(0).getConstructor().getConstructorId(),
+                mercedes.getConstructor().getConstructorId());
+        assertEquals(constructors.get(0).getPoints(), mercedes.getPoints());
+        assertEquals(constructors.get(0).getWins(), mercedes.getWins());
+
+        // Halfway, after Hungary, Hamilton had overtaken Rosberg.
+        assertEquals(Arrays.asList("hamilton", "rosberg"), driversOf(season.getDriverStandings(11)));
+        assertEquals(Arrays.asList(192, 186), pointsOf(season.getDriverStandings(11)));
+    }
+
+    public void testTheFinaleOf2014ScoredDouble() {
+        StandingsEngine engine = StandingsEngine.resume(PointsSystem.forSeason(2014), 18, Arrays.asList(
+                DriverStandings.builder().driver(Driver.builder().driverId("hamilton").build()).points(334).wins(10)
+                        .build(),
+                DriverStandings.builder().driver(Driver.builder().driverId("rosberg").build()).points(317).wins(5)
+                        .build()), Collections.emptyList());
+        engine.addRace(Arrays.asList(result("hamilton", MERCEDES, "1", 0), result("rosberg", MERCEDES, "14", 0)));
+
+        assertEquals(19, engine.getRound());
+        assertEquals(Arrays.asList(384, 317), pointsOf(engine.getDriverStandings()));
+        assertEquals(50, engine.getConstructorStandings().get(0).getPoints());
+        assertEquals(1, PointsSystem.forSeason(2014).multiplier(18));
+        assertEquals(1, PointsSystem.published(2014).multiplier(19));
+    }
+
+    public void testProgressionBreaksTiesOnWinsThenPlaces() {
+        List<HistoricalRow<RaceResult>> rows = new ArrayList<>();
+        rows.add(row(3, result("hamilton", MERCEDES, "3", 2)));
+        rows.add(row(3, result("vettel", FERRARI, "1", 3)));
+        rows.add(row(3, result("leclerc", FERRARI, "4", 4)));
+        rows.add(row(3, result("bottas", MERCEDES, "11", 1)));
+        rows.add(row(1, result("hamilton", MERCEDES, "1", 2)));
+        rows.add(row(1, result("leclerc", FERRARI, "2", 1)));
+        rows.add(row(1, result("vettel", FERRARI, "3", 3)));
+        rows.add(row(2, result("leclerc", FERRARI, "1", 2)));
+        rows.add(row(2, result("vettel", FERRARI, "2", 3)));
+        rows.add(row(2, result("hamilton", MERCEDES, "3", 1)));
+
+        StandingsProgression season = StandingsProgression.of(rows);
+        assertEquals(2019, season.getSeason());
+        assertEquals(Arrays.asList(1, 2, 3), season.getRounds());
+
+        // 2019 gave a point for the fastest lap if it was set within the top ten.
+        assertEquals(Arrays.asList(25, 19, 15), pointsOf(season.getDriverStandings(1)));
+        assertEquals(Arrays.asList(44, 41, 33), pointsOf(season.getDriverStandings(2)));
+
+        // Bottas scores nothing for his fastest lap in 11th. Leclerc and Hamilton are level on points and wins;
+        // Leclerc's second place puts him ahead of Hamilton's two thirds.
+        List<DriverStandings> afterRound3 = season.getDriverStandings(3);
+        assertEquals(Arrays.asList(58, 56, 56, 0), pointsOf(afterRound3));
+        assertEquals(Arrays.asList("vettel", "leclerc", "hamilton", "bottas"), driversOf(afterRound3));
+        assertEquals(Arrays.asList(1, 1, 1, 0), winsOf(afterRound3));
+        assertEquals(3, afterRound3.get(2).getPosition());
+
+        List<ConstructorStandings> constructors = season.getConstructorStandings(3);
+        assertEquals("ferrari", constructors.get(0).getConstructor().getConstructorId());
+        assertEquals(58 + 56, constructors.get(0).getPoints());
+        assertEquals(2, constructors.get(0).getWins());
+        assertEquals(56, constructors.get(1).getPoints());
+        assertEquals(1, constructors.get(1).getWins());
+    }
+
+    public void testMoreWinsBreakATie() {
+        StandingsEngine engine = new StandingsEngine(PointsSystem.forSeason(2010));
+        engine.addRace(Arrays.asList(result("alonso", FERRARI, "2", 0), result("webber", FERRARI, "R", 0)));
+        engine.addRace(Arrays.asList(result("webber", FERRARI, "1", 0), result("alonso", FERRARI, "7", 0)));
+        engine.addRace(Collections.singletonList(result("alonso", FERRARI, "10", 0)));
+
+        List<DriverStandings> table = engine.getDriverStandings();
+        assertEquals(Arrays.asList(25, 25), pointsOf(table));
+        assertEquals(Arrays.asList("webber", "alonso"), driversOf(table));
+        assertEquals(Arrays.asList(1, 0), winsOf(table));
+        assertEquals(Collections.singletonList(FERRARI), table.get(1).getConstructors());
+    }
+
+    public void testOnlyTheBestCarScoredBefore1979() {
+        StandingsEngine engine = new StandingsEngine(PointsSystem.forSeason(1955));
+        engine.addRace(Arrays.asList(result("fangio", MERCEDES, "1", 2), result("moss", MERCEDES, "2", 1),
+                result("castellotti", FERRARI, "3", 3)));
+
+        // The fastest lap point went to Moss but not to Mercedes, which only scored for Fangio's win.
+        assertEquals(Arrays.asList(8, 7, 4), pointsOf(engine.getDriverStandings()));
+        List<ConstructorStandings> constructors = engine.getConstructorStandings();
+        assertEquals(8, constructors.get(0).getPoints());
+        assertEquals(4, constructors.get(1).getPoints());
+
+        assertTrue(PointsSystem.forSeason(1979).everyCarScores());
+        assertEquals(9, PointsSystem.forSeason(1975).driverPoints(result("lauda", FERRARI, "1", 1)));
+        assertEquals(25, PointsSystem.forSeason(2025).driverPoints(result("norris", MERCEDES, "1", 1)));
+    }
+
+    public void testSeasonsAreNotMixed() {
+        List<HistoricalRow<RaceResult>> rows = Arrays.asList(row(1, result("hamilton", MERCEDES, "1", 0)),
+                new HistoricalRow<>(2020, 1, null, null, result("bottas", MERCEDES, "1", 0)));
+        try {
+            StandingsProgression.of(rows);
+            fail("Expected results of two seasons to be rejected");
+        } catch (IllegalArgumentException expected) {
+            // Standings are reset every season.
+        }
+    }
+
+    private static HistoricalRow<RaceResult> row(int round, RaceResult result) {
+        return new HistoricalRow<>(2019, round, null, null, result);
+    }
+
+    private static List<Integer> pointsOf(List<DriverStandings> table) {
+        List<Integer> points = new ArrayList<>();
+        for (DriverStandings standing : table) {
+            points.add(standing.getPoints());
+        }
+        return points;
+    }
+
+    private static List<Integer> winsOf(List<DriverStandings> table) {
+        List<Integer> wins = new ArrayList<>();
+        for (DriverStandings standing : table) {
+            wins.add(standing.getWins());
+        }
+        return wins;
+    }
+
+    private static List<String> driversOf(List<DriverStandings> table) {
+        List<String> drivers = new ArrayList<>();
+        for (DriverStandings standing : table) {
+            drivers.add(standing.getDriver().getDriverId());
+        }
+        return drivers;
+    }
+}